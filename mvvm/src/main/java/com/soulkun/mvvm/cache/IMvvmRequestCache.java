@@ -0,0 +1,40 @@
+package com.soulkun.mvvm.cache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.soulkun.mvvm.model.MvvmRequest;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:29
+ * @description 数据请求结果缓存，请求ViewModel执行任务前先推送缓存结果，再执行请求并推送最新结果（stale-while-revalidate）
+ * 实现必须线程安全，允许在请求线程上调用
+ */
+public interface IMvvmRequestCache {
+
+    /**
+     * 获取未过期的缓存结果，不存在或已过期则返回Null
+     */
+    @Nullable
+    MvvmRequest<?> get(@NonNull String key);
+
+    /**
+     * 写入请求结果，只应写入成功的结果
+     */
+    void put(@NonNull String key, @NonNull MvvmRequest<?> request);
+
+    void remove(@NonNull String key);
+
+    void clear();
+
+    // 命中次数
+    long getHitCount();
+
+    // 未命中次数，包括已过期的条目
+    long getMissCount();
+
+    // 因容量或过期被淘汰的条目数量
+    long getEvictionCount();
+
+}
@@ -0,0 +1,297 @@
+package com.soulkun.mvvm.cache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.soulkun.mvvm.model.MvvmRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:29
+ * @description 磁盘请求结果缓存，每个条目为一个文件，通过内存映射读写，避免额外的缓冲区拷贝
+ * 按访问顺序LRU淘汰，文件总大小超过容量时删除最久未访问的文件；条目写入时记录过期时间，进程重启后仍然有效
+ * 结果数据通过{@link IResponseCodec}编解码，默认使用Java序列化，读取的结果来源均为{@link MvvmRequest.Source#LOCAL}
+ * 构造时不访问磁盘，缓存目录及索引在首次读写时于调用线程（请求线程）上创建和恢复，避免在主线程创建ViewModel时扫描目录
+ */
+public class MvvmDiskRequestCache implements IMvvmRequestCache {
+
+    private final static int FILE_MAGIC = 0x4D52_4331;
+    private final static Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final File mDirectory;
+    private final long mMaxSize;
+    private final long mTimeToLiveMillis;
+    private final IResponseCodec mCodec;
+
+    // 文件名到文件大小的访问顺序索引，只在持有锁时访问
+    private final LinkedHashMap<String, Long> mFileSizeMap = new LinkedHashMap<>(16, 0.75f, true);
+    private long mSize = 0;
+    // 索引是否已从缓存目录恢复，只在持有锁时访问
+    private boolean mIsIndexRestored = false;
+
+    private long mHitCount = 0;
+    private long mMissCount = 0;
+    private long mEvictionCount = 0;
+
+    public MvvmDiskRequestCache(final @NonNull File directory, final long maxSize, final long timeToLiveMillis) {
+        this(directory, maxSize, timeToLiveMillis, IResponseCodec.SERIALIZABLE);
+    }
+
+    public MvvmDiskRequestCache(final @NonNull File directory, final long maxSize, final long timeToLiveMillis, final @NonNull IResponseCodec codec) {
+        if (maxSize <= 0 || timeToLiveMillis <= 0) {
+            throw new IllegalArgumentException("缓存容量和存活时间必须大于0！");
+        }
+        mDirectory = directory;
+        mMaxSize = maxSize;
+        mTimeToLiveMillis = timeToLiveMillis;
+        mCodec = codec;
+    }
+
+    @Nullable
+    @Override
+    public synchronized MvvmRequest<?> get(final @NonNull String key) {
+        restoreIndex();
+        final String fileName = fileNameOf(key);
+        if (!mFileSizeMap.containsKey(fileName)) {
+            mMissCount++;
+            return null;
+        }
+        final File file = new File(mDirectory, fileName);
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+             FileChannel channel = randomAccessFile.getChannel()) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != FILE_MAGIC) {
+                throw new IOException("缓存文件格式错误！");
+            }
+            final long expireTime = buffer.getLong();
+            final boolean success = buffer.get() != 0;
+            final String code = new String(readBytes(buffer), UTF_8);
+            final String storedKey = new String(readBytes(buffer), UTF_8);
+            if (!storedKey.equals(key)) {
+                // 文件名摘要冲突
+                mMissCount++;
+                return null;
+            }
+            if (expireTime <= System.currentTimeMillis()) {
+                deleteFile(fileName);
+                mEvictionCount++;
+                mMissCount++;
+                return null;
+            }
+            final Object response = mCodec.decode(readBytes(buffer));
+            mHitCount++;
+            return new MvvmRequest<>(new MvvmRequest.Status(code, success, MvvmRequest.Source.LOCAL), response);
+        } catch (IOException e) {
+            e.printStackTrace();
+            deleteFile(fileName);
+            mMissCount++;
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized void put(final @NonNull String key, final @NonNull MvvmRequest<?> request) {
+        restoreIndex();
+        final String fileName = fileNameOf(key);
+        final File file = new File(mDirectory, fileName);
+        try {
+            final byte[] data = mCodec.encode(request.getResponse());
+            final MvvmRequest.Status status = request.getStatus();
+            final byte[] code = (status == null || status.getCode() == null ? "" : status.getCode()).getBytes(UTF_8);
+            final byte[] keyBytes = key.getBytes(UTF_8);
+            final int size = 4 + 8 + 1 + 4 + code.length + 4 + keyBytes.length + 4 + data.length;
+            deleteFile(fileName);
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+                 FileChannel channel = randomAccessFile.getChannel()) {
+                final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.putInt(FILE_MAGIC);
+                buffer.putLong(System.currentTimeMillis() + mTimeToLiveMillis);
+                buffer.put((byte) (request.isSuccess() ? 1 : 0));
+                buffer.putInt(code.length).put(code);
+                buffer.putInt(keyBytes.length).put(keyBytes);
+                buffer.putInt(data.length).put(data);
+            }
+            mFileSizeMap.put(fileName, (long) size);
+            mSize += size;
+            trimToSize();
+        } catch (IOException e) {
+            e.printStackTrace();
+            deleteFile(fileName);
+        }
+    }
+
+    @Override
+    public synchronized void remove(final @NonNull String key) {
+        restoreIndex();
+        deleteFile(fileNameOf(key));
+    }
+
+    @Override
+    public synchronized void clear() {
+        restoreIndex();
+        for (String fileName : mFileSizeMap.keySet().toArray(new String[0])) {
+            deleteFile(fileName);
+        }
+    }
+
+    // 缓存文件总大小，首次读写前索引尚未恢复时为0
+    public synchronized long getSize() {
+        return mSize;
+    }
+
+    @Override
+    public synchronized long getHitCount() {
+        return mHitCount;
+    }
+
+    @Override
+    public synchronized long getMissCount() {
+        return mMissCount;
+    }
+
+    @Override
+    public synchronized long getEvictionCount() {
+        return mEvictionCount;
+    }
+
+    // 首次读写时创建缓存目录并按最后修改时间恢复访问顺序索引，每个文件只读取一次属性再排序
+    private void restoreIndex() {
+        if (mIsIndexRestored) {
+            return;
+        }
+        mIsIndexRestored = true;
+        if (!mDirectory.isDirectory() && !mDirectory.mkdirs()) {
+            // 目录无法创建时读写均按未命中处理
+            new IOException("无法创建缓存目录" + mDirectory + "！").printStackTrace();
+            return;
+        }
+        final File[] files = mDirectory.listFiles();
+        if (files == null) {
+            return;
+        }
+        final List<IndexEntry> entries = new ArrayList<>(files.length);
+        for (File file : files) {
+            if (file.isFile()) {
+                entries.add(new IndexEntry(file.getName(), file.length(), file.lastModified()));
+            }
+        }
+        Collections.sort(entries, (first, second) -> Long.compare(first.mLastModified, second.mLastModified));
+        for (IndexEntry entry : entries) {
+            mFileSizeMap.put(entry.mFileName, entry.mLength);
+            mSize += entry.mLength;
+        }
+        trimToSize();
+    }
+
+    private void trimToSize() {
+        final Iterator<Map.Entry<String, Long>> iterator = mFileSizeMap.entrySet().iterator();
+        while (mSize > mMaxSize && iterator.hasNext()) {
+            final Map.Entry<String, Long> entry = iterator.next();
+            iterator.remove();
+            mSize -= entry.getValue();
+            mEvictionCount++;
+            // 删除失败的文件不在索引中，下次恢复索引时重新计入并淘汰
+            new File(mDirectory, entry.getKey()).delete();
+        }
+    }
+
+    private void deleteFile(final String fileName) {
+        final Long size = mFileSizeMap.remove(fileName);
+        if (size != null) {
+            mSize -= size;
+        }
+        new File(mDirectory, fileName).delete();
+    }
+
+    private static byte[] readBytes(final MappedByteBuffer buffer) throws IOException {
+        final int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("缓存文件已损坏！");
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    // 使用请求键的SHA-1摘要作为文件名，文件内保存原始请求键校验冲突
+    private static String fileNameOf(final String key) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(UTF_8));
+            final StringBuilder builder = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static final class IndexEntry {
+
+        private final String mFileName;
+        private final long mLength;
+        private final long mLastModified;
+
+        IndexEntry(final String fileName, final long length, final long lastModified) {
+            mFileName = fileName;
+            mLength = length;
+            mLastModified = lastModified;
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @description 结果数据编解码器
+     */
+    public interface IResponseCodec {
+
+        byte[] encode(@Nullable Object response) throws IOException;
+
+        @Nullable
+        Object decode(@NonNull byte[] bytes) throws IOException;
+
+        // 使用Java序列化，结果数据必须实现Serializable
+        IResponseCodec SERIALIZABLE = new IResponseCodec() {
+            @Override
+            public byte[] encode(@Nullable Object response) throws IOException {
+                final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream)) {
+                    objectOutputStream.writeObject(response);
+                }
+                return outputStream.toByteArray();
+            }
+
+            @Nullable
+            @Override
+            public Object decode(@NonNull byte[] bytes) throws IOException {
+                try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    return objectInputStream.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new IOException(e);
+                }
+            }
+        };
+
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.soulkun.mvvm.cache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.soulkun.mvvm.model.MvvmRequest;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:29
+ * @description 内存请求结果缓存，按访问顺序LRU淘汰，条目数超过容量时淘汰最久未访问的条目，超过存活时间的条目视为未命中并淘汰
+ */
+public class MvvmMemoryRequestCache implements IMvvmRequestCache {
+
+    private final int mMaxEntryCount;
+    private final long mTimeToLiveMillis;
+
+    // 访问顺序的LinkedHashMap，只在持有锁时访问
+    private final LinkedHashMap<String, Entry> mEntryMap = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long mHitCount = 0;
+    private long mMissCount = 0;
+    private long mEvictionCount = 0;
+
+    public MvvmMemoryRequestCache(final int maxEntryCount, final long timeToLiveMillis) {
+        if (maxEntryCount <= 0 || timeToLiveMillis <= 0) {
+            throw new IllegalArgumentException("缓存容量和存活时间必须大于0！");
+        }
+        mMaxEntryCount = maxEntryCount;
+        mTimeToLiveMillis = timeToLiveMillis;
+    }
+
+    @Nullable
+    @Override
+    public synchronized MvvmRequest<?> get(final @NonNull String key) {
+        final Entry entry = mEntryMap.get(key);
+        if (entry == null) {
+            mMissCount++;
+            return null;
+        }
+        if (entry.mExpireTime <= System.currentTimeMillis()) {
+            mEntryMap.remove(key);
+            mEvictionCount++;
+            mMissCount++;
+            return null;
+        }
+        mHitCount++;
+        return entry.mRequest;
+    }
+
+    @Override
+    public synchronized void put(final @NonNull String key, final @NonNull MvvmRequest<?> request) {
+        mEntryMap.put(key, new Entry(request, System.currentTimeMillis() + mTimeToLiveMillis));
+        final Iterator<Map.Entry<String, Entry>> iterator = mEntryMap.entrySet().iterator();
+        while (mEntryMap.size() > mMaxEntryCount && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            mEvictionCount++;
+        }
+    }
+
+    @Override
+    public synchronized void remove(final @NonNull String key) {
+        mEntryMap.remove(key);
+    }
+
+    @Override
+    public synchronized void clear() {
+        mEntryMap.clear();
+    }
+
+    public synchronized int size() {
+        return mEntryMap.size();
+    }
+
+    @Override
+    public synchronized long getHitCount() {
+        return mHitCount;
+    }
+
+    @Override
+    public synchronized long getMissCount() {
+        return mMissCount;
+    }
+
+    @Override
+    public synchronized long getEvictionCount() {
+        return mEvictionCount;
+    }
+
+    private static class Entry {
+
+        private final MvvmRequest<?> mRequest;
+        private final long mExpireTime;
+
+        private Entry(final MvvmRequest<?> request, final long expireTime) {
+            mRequest = request;
+            mExpireTime = expireTime;
+        }
+
+    }
+
+}
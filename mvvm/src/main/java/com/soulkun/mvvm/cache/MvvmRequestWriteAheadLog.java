@@ -0,0 +1,312 @@
+package com.soulkun.mvvm.cache;
+
+import androidx.annotation.NonNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:56
+ * @description 请求预写日志，变更类请求在执行前追加至只追加的日志文件，执行完成后追加提交记录，进程被杀死后重新打开日志即可得到未提交的请求并重放
+ * 每条记录为[魔数][长度][CRC32][内容]，只顺序写入；打开日志时逐条校验，遇到写入一半的记录即截断至最后一条完整记录
+ * 追加不等待落盘，执行请求前调用{@link #sync(long)}等待落盘，并发调用时由第一个线程一次fsync覆盖此前全部写入的记录（组提交），其余线程直接返回
+ * 打开时存在已提交的记录则将未提交的请求重写为新日志，运行期间全部请求已提交且文件超过{@link #COMPACT_THRESHOLD}时清空日志，文件不会无限增长
+ * 每条请求携带幂等键，重放的请求沿用原幂等键，服务端据此去重，确保提交记录丢失时重放也不会重复提交
+ * 读写使用RandomAccessFile而非FileChannel，请求线程被取消中断时不会导致日志文件被关闭
+ */
+public class MvvmRequestWriteAheadLog implements Closeable {
+
+    private final static int RECORD_MAGIC = 0x4D57_414C;
+    private final static int HEADER_SIZE = 12;
+    private final static int MAX_RECORD_SIZE = 16 * 1024 * 1024;
+    private final static byte TYPE_APPEND = 1;
+    private final static byte TYPE_COMMIT = 2;
+    private final static Charset UTF_8 = Charset.forName("UTF-8");
+
+    // 全部请求已提交时清空日志的文件大小阈值
+    public final static long COMPACT_THRESHOLD = 64 * 1024;
+
+    private final File mFile;
+    private RandomAccessFile mRandomAccessFile;
+
+    // 幂等键到未提交请求的映射，按追加顺序排列，只在持有锁时访问
+    private final LinkedHashMap<String, Entry> mPendingMap = new LinkedHashMap<>();
+
+    // 打开日志时恢复的未提交请求，只允许取出一次
+    private List<Entry> mRecoveredList;
+
+    // 已写入和已落盘的记录序号，序号单调递增，清空日志后不重置
+    private long mWrittenSequence = 0;
+    private volatile long mSyncedSequence = 0;
+    private final Object mSyncLock = new Object();
+
+    private final AtomicLong mSyncCount = new AtomicLong(0);
+    private volatile long mTruncatedBytes = 0;
+
+    public MvvmRequestWriteAheadLog(final @NonNull File file) throws IOException {
+        final File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("无法创建日志目录" + directory + "！");
+        }
+        mFile = file;
+        open();
+        final int recordCount = recover();
+        mRecoveredList = new ArrayList<>(mPendingMap.values());
+        if (recordCount > mPendingMap.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:56
+     * @description 追加请求记录，幂等键已存在时不重复追加，返回记录序号，需要落盘时以该序号调用{@link #sync(long)}
+     */
+    public synchronized long append(final @NonNull Entry entry) throws IOException {
+        if (mPendingMap.containsKey(entry.mIdempotencyKey)) {
+            return mWrittenSequence;
+        }
+        writeRecord(mRandomAccessFile, encodeAppend(entry));
+        mWrittenSequence++;
+        mPendingMap.put(entry.mIdempotencyKey, entry);
+        return mWrittenSequence;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:56
+     * @description 追加提交记录，提交后重新打开日志时不再恢复该请求，全部请求已提交且文件过大时清空日志
+     */
+    public synchronized void commit(final @NonNull String idempotencyKey) throws IOException {
+        if (mPendingMap.remove(idempotencyKey) == null) {
+            return;
+        }
+        if (mPendingMap.isEmpty() && mRandomAccessFile.length() >= COMPACT_THRESHOLD) {
+            mRandomAccessFile.setLength(0);
+            mRandomAccessFile.getFD().sync();
+            mSyncCount.incrementAndGet();
+            return;
+        }
+        final byte[] key = idempotencyKey.getBytes(UTF_8);
+        final ByteBuffer body = ByteBuffer.allocate(1 + 4 + key.length);
+        body.put(TYPE_COMMIT);
+        body.putInt(key.length).put(key);
+        writeRecord(mRandomAccessFile, body);
+        mWrittenSequence++;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:56
+     * @description 等待序号及之前的记录落盘，已落盘时直接返回；同一时刻只有一个线程执行fsync，等待的线程随后发现已被覆盖时直接返回
+     */
+    public void sync(final long sequence) throws IOException {
+        if (mSyncedSequence >= sequence) {
+            return;
+        }
+        synchronized (mSyncLock) {
+            if (mSyncedSequence >= sequence) {
+                return;
+            }
+            final long writtenSequence;
+            synchronized (this) {
+                writtenSequence = mWrittenSequence;
+            }
+            mRandomAccessFile.getFD().sync();
+            mSyncCount.incrementAndGet();
+            mSyncedSequence = writtenSequence;
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:56
+     * @description 取出打开日志时恢复的且仍未提交的请求，按追加顺序排列，只有第一次调用返回数据
+     */
+    @NonNull
+    public synchronized List<Entry> drainRecoveredEntries() {
+        if (mRecoveredList == null) {
+            return Collections.emptyList();
+        }
+        final List<Entry> entries = new ArrayList<>(mRecoveredList.size());
+        for (Entry entry : mRecoveredList) {
+            if (mPendingMap.containsKey(entry.mIdempotencyKey)) {
+                entries.add(entry);
+            }
+        }
+        mRecoveredList = null;
+        return entries;
+    }
+
+    // 未提交的请求数量
+    public synchronized int getPendingCount() {
+        return mPendingMap.size();
+    }
+
+    public synchronized long getSize() throws IOException {
+        return mRandomAccessFile.length();
+    }
+
+    // 累计fsync次数
+    public long getSyncCount() {
+        return mSyncCount.get();
+    }
+
+    // 打开日志时截断的不完整记录字节数
+    public long getTruncatedBytes() {
+        return mTruncatedBytes;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        mRandomAccessFile.getFD().sync();
+        mRandomAccessFile.close();
+    }
+
+    private void open() throws IOException {
+        mRandomAccessFile = new RandomAccessFile(mFile, "rw");
+        mRandomAccessFile.seek(mRandomAccessFile.length());
+    }
+
+    private static ByteBuffer encodeAppend(final Entry entry) {
+        final byte[] key = entry.mIdempotencyKey.getBytes(UTF_8);
+        final byte[] operation = entry.mOperation.getBytes(UTF_8);
+        final ByteBuffer body = ByteBuffer.allocate(1 + 4 + key.length + 4 + operation.length + 4 + entry.mPayload.length);
+        body.put(TYPE_APPEND);
+        body.putInt(key.length).put(key);
+        body.putInt(operation.length).put(operation);
+        body.putInt(entry.mPayload.length).put(entry.mPayload);
+        return body;
+    }
+
+    private static void writeRecord(final RandomAccessFile file, final ByteBuffer body) throws IOException {
+        body.flip();
+        final CRC32 crc32 = new CRC32();
+        crc32.update(body.array(), 0, body.limit());
+        final ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + body.limit());
+        record.putInt(RECORD_MAGIC).putInt(body.limit()).putInt((int) crc32.getValue()).put(body);
+        file.write(record.array());
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:56
+     * @description 顺序读取全部记录，重建未提交的请求，遇到不完整或校验失败的记录时截断文件，返回完整记录的数量
+     */
+    private int recover() throws IOException {
+        final long size = mRandomAccessFile.length();
+        final byte[] bytes = new byte[(int) Math.min(size, Integer.MAX_VALUE)];
+        mRandomAccessFile.seek(0);
+        mRandomAccessFile.readFully(bytes);
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int recordCount = 0;
+        long validSize = 0;
+        while (buffer.remaining() >= HEADER_SIZE) {
+            if (buffer.getInt() != RECORD_MAGIC) {
+                break;
+            }
+            final int length = buffer.getInt();
+            final int checksum = buffer.getInt();
+            if (length <= 0 || length > MAX_RECORD_SIZE || length > buffer.remaining()) {
+                break;
+            }
+            final CRC32 crc32 = new CRC32();
+            crc32.update(buffer.array(), buffer.position(), length);
+            if ((int) crc32.getValue() != checksum) {
+                break;
+            }
+            final ByteBuffer body = ByteBuffer.wrap(buffer.array(), buffer.position(), length).slice();
+            buffer.position(buffer.position() + length);
+            final byte type = body.get();
+            final String key = new String(readBytes(body), UTF_8);
+            if (type == TYPE_APPEND) {
+                final String operation = new String(readBytes(body), UTF_8);
+                mPendingMap.put(key, new Entry(key, operation, readBytes(body)));
+            } else {
+                mPendingMap.remove(key);
+            }
+            recordCount++;
+            validSize = buffer.position();
+        }
+        if (validSize < size) {
+            // 截断进程被杀死时写入一半的记录
+            mTruncatedBytes = size - validSize;
+            mRandomAccessFile.setLength(validSize);
+            mRandomAccessFile.getFD().sync();
+        }
+        mRandomAccessFile.seek(validSize);
+        return recordCount;
+    }
+
+    // 将未提交的请求写入临时文件后替换原日志
+    private void compact() throws IOException {
+        final File compactFile = new File(mFile.getPath() + ".compact");
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(compactFile, "rw")) {
+            randomAccessFile.setLength(0);
+            for (Entry entry : mPendingMap.values()) {
+                writeRecord(randomAccessFile, encodeAppend(entry));
+            }
+            randomAccessFile.getFD().sync();
+        }
+        mRandomAccessFile.close();
+        if (!compactFile.renameTo(mFile)) {
+            throw new IOException("无法替换日志文件" + mFile + "！");
+        }
+        open();
+    }
+
+    private static byte[] readBytes(final ByteBuffer buffer) throws IOException {
+        final int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("日志记录已损坏！");
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * @author soulkun
+     * @description 日志中的请求，operation为请求类型，用于重放时还原请求任务，payload为编码后的请求参数
+     */
+    public static final class Entry {
+
+        private final String mIdempotencyKey;
+        private final String mOperation;
+        private final byte[] mPayload;
+
+        public Entry(final @NonNull String idempotencyKey, final @NonNull String operation, final @NonNull byte[] payload) {
+            mIdempotencyKey = idempotencyKey;
+            mOperation = operation;
+            mPayload = payload;
+        }
+
+        @NonNull
+        public String getIdempotencyKey() {
+            return mIdempotencyKey;
+        }
+
+        @NonNull
+        public String getOperation() {
+            return mOperation;
+        }
+
+        @NonNull
+        public byte[] getPayload() {
+            return mPayload;
+        }
+
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.soulkun.mvvm.cache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.soulkun.mvvm.model.MvvmRequest;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:29
+ * @description 两级请求结果缓存，先读内存缓存，未命中再读磁盘缓存并回填内存缓存，写入时同时写入两级缓存
+ * 命中、未命中和淘汰统计为整体数据，各级缓存的统计数据通过各自实例获取
+ */
+public class MvvmTieredRequestCache implements IMvvmRequestCache {
+
+    private final IMvvmRequestCache mMemoryCache;
+    private final IMvvmRequestCache mDiskCache;
+
+    private long mHitCount = 0;
+    private long mMissCount = 0;
+
+    public MvvmTieredRequestCache(final @NonNull IMvvmRequestCache memoryCache, final @NonNull IMvvmRequestCache diskCache) {
+        mMemoryCache = memoryCache;
+        mDiskCache = diskCache;
+    }
+
+    @Nullable
+    @Override
+    public MvvmRequest<?> get(final @NonNull String key) {
+        MvvmRequest<?> request = mMemoryCache.get(key);
+        if (request == null) {
+            request = mDiskCache.get(key);
+            if (request != null) {
+                mMemoryCache.put(key, request);
+            }
+        }
+        synchronized (this) {
+            if (request == null) {
+                mMissCount++;
+            } else {
+                mHitCount++;
+            }
+        }
+        return request;
+    }
+
+    @Override
+    public void put(final @NonNull String key, final @NonNull MvvmRequest<?> request) {
+        mMemoryCache.put(key, request);
+        mDiskCache.put(key, request);
+    }
+
+    @Override
+    public void remove(final @NonNull String key) {
+        mMemoryCache.remove(key);
+        mDiskCache.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        mMemoryCache.clear();
+        mDiskCache.clear();
+    }
+
+    @NonNull
+    public IMvvmRequestCache getMemoryCache() {
+        return mMemoryCache;
+    }
+
+    @NonNull
+    public IMvvmRequestCache getDiskCache() {
+        return mDiskCache;
+    }
+
+    @Override
+    public synchronized long getHitCount() {
+        return mHitCount;
+    }
+
+    @Override
+    public synchronized long getMissCount() {
+        return mMissCount;
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return mMemoryCache.getEvictionCount() + mDiskCache.getEvictionCount();
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.soulkun.mvvm.enums;
+
+import androidx.annotation.Nullable;
+
+import com.soulkun.mvvm.livedata.IMvvmEqualityStrategy;
+
+import java.util.Objects;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 1:03
+ * @description LiveData防抖的内置比较策略
+ * IDENTITY：只比较引用，适用于每次赋值都创建新对象的不可变状态，O(1)；
+ * EQUALS：调用equals比较，默认策略，与原有防抖行为一致；
+ * VERSION_STAMP：值实现{@link IMvvmEqualityStrategy.IVersionStamped}时只比较版本号，O(1)，未实现时退化为EQUALS；
+ * STRUCTURAL_HASH：值实现{@link IMvvmEqualityStrategy.IStructuralHashed}时先比较缓存的结构哈希，不同的值绝大多数情况下O(1)返回，
+ * 哈希相同时再调用equals确认，去重结果与EQUALS一致，未实现时退化为EQUALS
+ */
+public enum MvvmEqualityStrategy implements IMvvmEqualityStrategy<Object> {
+
+    IDENTITY {
+        @Override
+        public boolean isSameValue(@Nullable final Object oldValue, @Nullable final Object newValue) {
+            return oldValue == newValue;
+        }
+    },
+
+    EQUALS {
+        @Override
+        public boolean isSameValue(@Nullable final Object oldValue, @Nullable final Object newValue) {
+            return Objects.equals(oldValue, newValue);
+        }
+    },
+
+    VERSION_STAMP {
+        @Override
+        public boolean isSameValue(@Nullable final Object oldValue, @Nullable final Object newValue) {
+            if (oldValue == newValue) {
+                return true;
+            }
+            if (oldValue instanceof IVersionStamped && newValue instanceof IVersionStamped) {
+                return oldValue.getClass() == newValue.getClass()
+                        && ((IVersionStamped) oldValue).getVersionStamp() == ((IVersionStamped) newValue).getVersionStamp();
+            }
+            return Objects.equals(oldValue, newValue);
+        }
+    },
+
+    STRUCTURAL_HASH {
+        @Override
+        public boolean isSameValue(@Nullable final Object oldValue, @Nullable final Object newValue) {
+            if (oldValue == newValue) {
+                return true;
+            }
+            if (oldValue instanceof IStructuralHashed && newValue instanceof IStructuralHashed
+                    && ((IStructuralHashed) oldValue).getStructuralHash() != ((IStructuralHashed) newValue).getStructuralHash()) {
+                return false;
+            }
+            return Objects.equals(oldValue, newValue);
+        }
+    }
+
+}
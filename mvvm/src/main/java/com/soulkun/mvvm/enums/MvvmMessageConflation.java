@@ -0,0 +1,70 @@
+package com.soulkun.mvvm.enums;
+
+import androidx.annotation.NonNull;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:14
+ * @description 消息总线按消息ID声明的合并策略
+ * KEEP_ALL：保留并推送每一条消息（默认）
+ * LATEST_ONLY：同一ID只保留并推送最新的消息，待分发期间的旧值被新值覆盖
+ * THROTTLE：同一ID在时间窗口内最多推送一次，窗口内到达的消息只保留最新值并在窗口结束时推送
+ * DEBOUNCE：同一ID在静默时间内没有新消息到达才推送最新值
+ * 合并后的消息在重放日志中同样只保留最新一条
+ */
+public final class MvvmMessageConflation {
+
+    public enum Mode {
+        KEEP_ALL, LATEST_ONLY, THROTTLE, DEBOUNCE
+    }
+
+    public static final MvvmMessageConflation KEEP_ALL = new MvvmMessageConflation(Mode.KEEP_ALL, 0);
+
+    public static final MvvmMessageConflation LATEST_ONLY = new MvvmMessageConflation(Mode.LATEST_ONLY, 0);
+
+    private final Mode mMode;
+
+    private final long mWindowMillis;
+
+    private MvvmMessageConflation(final @NonNull Mode mode, final long windowMillis) {
+        mMode = mode;
+        mWindowMillis = windowMillis;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:14
+     * @description 节流，windowMillis内最多推送一次
+     */
+    public static MvvmMessageConflation throttle(final long windowMillis) {
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("节流时间窗口必须大于0！");
+        }
+        return new MvvmMessageConflation(Mode.THROTTLE, windowMillis);
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:14
+     * @description 防抖，静默windowMillis后推送最新值
+     */
+    public static MvvmMessageConflation debounce(final long windowMillis) {
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("防抖时间窗口必须大于0！");
+        }
+        return new MvvmMessageConflation(Mode.DEBOUNCE, windowMillis);
+    }
+
+    public Mode getMode() {
+        return mMode;
+    }
+
+    public long getWindowMillis() {
+        return mWindowMillis;
+    }
+
+    public boolean isConflated() {
+        return mMode != Mode.KEEP_ALL;
+    }
+
+}
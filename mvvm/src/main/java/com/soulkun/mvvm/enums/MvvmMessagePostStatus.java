@@ -0,0 +1,16 @@
+package com.soulkun.mvvm.enums;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:18
+ * @description 消息总线跨线程发送消息的结果
+ * ACCEPTED：已进入待分发队列；CONFLATED：已合并至该消息ID的待分发槽位；
+ * REJECTED：消息鉴权未通过或ViewModel已销毁；FULL：该优先级通道待分发数量已达容量，生产者应降速后重试
+ */
+public enum MvvmMessagePostStatus {
+    ACCEPTED, CONFLATED, REJECTED, FULL;
+
+    public boolean isAccepted() {
+        return this == ACCEPTED || this == CONFLATED;
+    }
+}
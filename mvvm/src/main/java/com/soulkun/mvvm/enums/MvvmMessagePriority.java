@@ -0,0 +1,11 @@
+package com.soulkun.mvvm.enums;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:18
+ * @description 消息总线的消息优先级，每个优先级为一条独立通道，拥有独立的重放窗口和待分发容量
+ * 跨线程消息按优先级从高到低分发，低优先级消息的突发不会挤出高优先级消息
+ */
+public enum MvvmMessagePriority {
+    CRITICAL, HIGH, NORMAL, LOW
+}
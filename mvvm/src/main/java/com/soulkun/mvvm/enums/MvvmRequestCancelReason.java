@@ -0,0 +1,14 @@
+package com.soulkun.mvvm.enums;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:35
+ * @description 请求任务被取消的原因
+ * LIFECYCLE：绑定的生命周期结束或按暂停策略中断；
+ * TIMEOUT：超过任务截止时间或单次尝试的超时时间；
+ * HEDGED：对冲请求中较慢的一次尝试，另一尝试已先完成；
+ * PIPELINE：请求流水线中并行的其他分支已失败或流水线已取消
+ */
+public enum MvvmRequestCancelReason {
+    LIFECYCLE, TIMEOUT, HEDGED, PIPELINE
+}
@@ -0,0 +1,10 @@
+package com.soulkun.mvvm.enums;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:23
+ * @description 数据请求任务的执行通道，IO通道用于网络、数据库等阻塞任务，线程数较多；CPU通道用于解析、计算等任务，线程数不超过核心数
+ */
+public enum MvvmRequestLane {
+    IO, CPU
+}
@@ -0,0 +1,13 @@
+package com.soulkun.mvvm.enums;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:31
+ * @description 请求ViewModel待执行任务队列已满时的处理策略，被丢弃或拒绝的任务均回调取消
+ * DROP_OLDEST：丢弃最早进入队列的任务，新任务入队；
+ * REJECT：拒绝新任务；
+ * COALESCE_BY_KEY：同一缓存键（未声明时为请求键）已有待执行任务时由新任务替代旧任务，不占用额外容量，其余任务在队列已满时拒绝
+ */
+public enum MvvmRequestOverflowPolicy {
+    DROP_OLDEST, REJECT, COALESCE_BY_KEY
+}
@@ -0,0 +1,13 @@
+package com.soulkun.mvvm.enums;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:25
+ * @description 请求ViewModel绑定的生命周期变为非活跃时（ON_STOP或ON_PAUSE）的处理策略，ON_DESTROY始终取消全部任务
+ * CANCEL：取消全部任务，中断执行中的任务；
+ * SUSPEND：搁置尚未开始执行的任务，中断执行中的任务，恢复后继续执行被搁置的任务；
+ * SUSPEND_AND_FINISH：搁置尚未开始执行的任务，执行中的任务继续执行至结束，结果延迟至恢复后推送
+ */
+public enum MvvmRequestPausePolicy {
+    CANCEL, SUSPEND, SUSPEND_AND_FINISH
+}
@@ -0,0 +1,10 @@
+package com.soulkun.mvvm.enums;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:23
+ * @description 数据请求任务的优先级，同一执行通道内优先级高的任务先出队，同优先级按提交顺序执行
+ */
+public enum MvvmRequestPriority {
+    HIGH, NORMAL, LOW
+}
@@ -0,0 +1,13 @@
+package com.soulkun.mvvm.enums;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:51
+ * @description 请求任务的追踪阶段
+ * QUEUE_WAIT：从提交任务至开始执行，包括等待生命周期活跃的时间和调度器排队时间；
+ * EXECUTION：执行请求的耗时，包括全部重试、退避和对冲；
+ * DELIVERY：从结果进入结果通道至主线程setValue()分发给观察者结束
+ */
+public enum MvvmRequestTraceStage {
+    QUEUE_WAIT, EXECUTION, DELIVERY
+}
@@ -11,6 +11,7 @@ import androidx.navigation.NavController;
 import com.soulkun.mvvm.MvvmApplication;
 import com.soulkun.mvvm.component.MvvmAbstractService;
 import com.soulkun.mvvm.navigation.MvvmNavigationUtils;
+import com.soulkun.mvvm.viewmodel.MvvmEventBusViewModel;
 
 /**
  * @author soulkun
@@ -65,6 +66,15 @@ public class MvvmViewModelFactory {
         return new ViewModelProvider(MvvmApplication.getViewModelStoreOwner()).get(modelClass);
     }
 
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:21
+     * @description 获取生命周期绑定Application的事件总线，进程内所有事件通道共用该总线
+     */
+    public static MvvmEventBusViewModel getApplicationEventBus() {
+        return getApplicationViewModel(MvvmEventBusViewModel.class);
+    }
+
     /**
      * @author soulkun
      * @time 2022/10/13 20:32
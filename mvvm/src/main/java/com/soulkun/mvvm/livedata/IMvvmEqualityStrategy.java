@@ -0,0 +1,36 @@
+package com.soulkun.mvvm.livedata;
+
+import androidx.annotation.Nullable;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 1:03
+ * @description LiveData防抖时判断新值与当前值是否相同的策略，相同时忽略本次赋值
+ * 内置策略见{@link com.soulkun.mvvm.enums.MvvmEqualityStrategy}，也可自行实现，例如只比较状态对象中的部分字段
+ * 注意，赋值频繁的LiveData中比较的耗时会累加在每次赋值上，大列表或大状态对象推荐使用版本号或结构哈希策略避免逐元素比较
+ */
+public interface IMvvmEqualityStrategy<T> {
+
+    boolean isSameValue(@Nullable T oldValue, @Nullable T newValue);
+
+    /**
+     * @author soulkun
+     * @description 携带版本号的值，内容变化时必须生成新的版本号，版本号相同即视为相同的值
+     */
+    interface IVersionStamped {
+
+        long getVersionStamp();
+
+    }
+
+    /**
+     * @author soulkun
+     * @description 缓存结构哈希的值，不可变对象在创建时计算一次并保存，哈希不同即视为不同的值，哈希相同时再调用equals确认
+     */
+    interface IStructuralHashed {
+
+        int getStructuralHash();
+
+    }
+
+}
@@ -13,6 +13,7 @@ import java.util.Map;
  * @description 监听多观察者的变化，当且仅当全部的观察者最近一次变化满足条件返回true时才会赋值True并返回以供监听
  * 该LiveData用法像与门，只有全部1都会1
  * 使用时，必须addSource传入AndObserver！
+ * 开启批量模式后，同一帧内多个数据源变化时只赋值一次，不会先赋值false再赋值true
  */
 public class MvvmAndMediatorLiveData extends MvvmMutableMediatorLiveData<Boolean> {
 
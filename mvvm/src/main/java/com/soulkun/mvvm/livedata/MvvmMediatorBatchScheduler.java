@@ -0,0 +1,115 @@
+package com.soulkun.mvvm.livedata;
+
+import android.view.Choreographer;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.PriorityQueue;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 1:11
+ * @description 中介LiveData批量重算的调度器，开启批量模式的{@link MvvmMutableMediatorLiveData}数据源变化时只标记为待重算，
+ * 默认在Choreographer下一帧统一重算，每个中介LiveData每帧最多重算并通知观察者一次
+ * 待重算的中介LiveData按依赖层级由上游到下游依次重算，上游重算后通知的下游在同一帧内随后重算，下游不会先以上游的旧值计算而产生中间值
+ * 全部方法只允许在主线程调用
+ */
+public final class MvvmMediatorBatchScheduler {
+
+    // 待重算的中介LiveData，按依赖层级排序，同一层级按标记顺序排序
+    private static final PriorityQueue<MvvmMutableMediatorLiveData<?>> sDirtyQueue = new PriorityQueue<>(16,
+            (first, second) -> first.mBatchRank != second.mBatchRank
+                    ? Integer.compare(first.mBatchRank, second.mBatchRank)
+                    : Long.compare(first.mBatchSequence, second.mBatchSequence));
+
+    private static final Runnable sFlushRunnable = MvvmMediatorBatchScheduler::flush;
+    private static final Choreographer.FrameCallback sFrameCallback = frameTimeNanos -> flush();
+
+    // 只供单元测试替换，为空时对齐Choreographer下一帧
+    private static IBatchScheduler sScheduler = null;
+
+    private static boolean sIsFlushScheduled = false;
+    private static boolean sIsFlushing = false;
+    private static long sSequence = 0;
+
+    // 中介LiveData依赖关系的版本号，增删数据源时递增，依赖层级据此缓存
+    private static int sGraphVersion = 0;
+
+    private MvvmMediatorBatchScheduler() {
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 1:11
+     * @description 单元测试中没有Choreographer，替换重算的调度方式，例如传入手动执行的任务列表，传入null恢复为对齐下一帧
+     */
+    @VisibleForTesting
+    @MainThread
+    static void setScheduler(@Nullable final IBatchScheduler scheduler) {
+        sScheduler = scheduler;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 1:11
+     * @description 立即重算全部待重算的中介LiveData，重算期间新标记的中介LiveData在本次一并重算
+     */
+    @MainThread
+    public static void flush() {
+        if (sIsFlushing) {
+            return;
+        }
+        sIsFlushScheduled = false;
+        sIsFlushing = true;
+        try {
+            MvvmMutableMediatorLiveData<?> mediator;
+            while ((mediator = sDirtyQueue.poll()) != null) {
+                mediator.recomputeBatch();
+            }
+        } finally {
+            sIsFlushing = false;
+        }
+    }
+
+    // 待重算的中介LiveData数量
+    @MainThread
+    public static int getDirtyCount() {
+        return sDirtyQueue.size();
+    }
+
+    @MainThread
+    static void markDirty(@NonNull final MvvmMutableMediatorLiveData<?> mediator) {
+        if (mediator.mIsBatchQueued) {
+            return;
+        }
+        mediator.mIsBatchQueued = true;
+        mediator.mBatchRank = mediator.getBatchRank();
+        mediator.mBatchSequence = sSequence++;
+        sDirtyQueue.add(mediator);
+        if (!sIsFlushing && !sIsFlushScheduled) {
+            sIsFlushScheduled = true;
+            if (sScheduler == null) {
+                Choreographer.getInstance().postFrameCallback(sFrameCallback);
+            } else {
+                sScheduler.schedule(sFlushRunnable);
+            }
+        }
+    }
+
+    @MainThread
+    static void invalidateGraph() {
+        sGraphVersion++;
+    }
+
+    static int getGraphVersion() {
+        return sGraphVersion;
+    }
+
+    interface IBatchScheduler {
+        void schedule(@NonNull Runnable flushRunnable);
+    }
+
+}
@@ -1,8 +1,9 @@
 package com.soulkun.mvvm.livedata;
 
+import androidx.annotation.NonNull;
 import androidx.lifecycle.MutableLiveData;
 
-import java.util.Objects;
+import com.soulkun.mvvm.enums.MvvmEqualityStrategy;
 
 /**
  * @author soulkun
@@ -16,6 +17,8 @@ public class MvvmMutableLiveData<T> extends MutableLiveData<T> {
     private final boolean mIsNullValueAllowed;
     // 是否允许防抖处理，默认防抖即true
     private final boolean mIsDebouncing;
+    // 防抖时新值与当前值的比较策略，默认调用equals比较
+    private volatile IMvvmEqualityStrategy<? super T> mEqualityStrategy = MvvmEqualityStrategy.EQUALS;
     // 之前的值，当版本>=1时有效
     private T mLastValue = null;
 
@@ -35,7 +38,7 @@ public class MvvmMutableLiveData<T> extends MutableLiveData<T> {
 
     @Override
     public void setValue(final T value) {
-        if ((mIsNullValueAllowed || value != null) && (!mIsDebouncing || !Objects.equals(value, getValue()))) {
+        if ((mIsNullValueAllowed || value != null) && (!mIsDebouncing || !mEqualityStrategy.isSameValue(getValue(), value))) {
             setLastValue();
             super.setValue(value);
         }
@@ -43,12 +46,26 @@ public class MvvmMutableLiveData<T> extends MutableLiveData<T> {
 
     @Override
     public void postValue(final T value) {
-        if ((mIsNullValueAllowed || value != null) && (!mIsDebouncing || !Objects.equals(value, getValue()))) {
+        if ((mIsNullValueAllowed || value != null) && (!mIsDebouncing || !mEqualityStrategy.isSameValue(getValue(), value))) {
             setLastValue();
             super.postValue(value);
         }
     }
 
+    /**
+     * @author soulkun
+     * @time 2026/10/18 1:03
+     * @description 设置防抖时的比较策略，大列表或大状态对象赋值频繁时推荐使用{@link MvvmEqualityStrategy#IDENTITY}等O(1)策略
+     */
+    public void setEqualityStrategy(@NonNull final IMvvmEqualityStrategy<? super T> equalityStrategy) {
+        mEqualityStrategy = equalityStrategy;
+    }
+
+    @NonNull
+    public IMvvmEqualityStrategy<? super T> getEqualityStrategy() {
+        return mEqualityStrategy;
+    }
+
     private void setLastValue() {
         mLastValue = getValue();
     }
@@ -20,12 +20,29 @@ import java.util.Map;
  * @description 允许设置初始值的MediatorLiveData，该类解决了{@link MediatorLiveData}无法第一时间订阅{@link MvvmMutablePerfectLiveData}的问题
  *  无特殊情况一般使用该类代替{@link MediatorLiveData}类
  *  此外，还解决获取上次非本次的值、防抖处理以及防Null值这三个问题！
+ *  开启批量模式后，同一帧内多个数据源的变化只重算一次，详见{@link #setBatchingEnabled(boolean)}
  */
 public class MvvmMutableMediatorLiveData<T> extends MvvmMutablePerfectLiveData<T> {
 
     @SuppressLint("RestrictedApi")
     private final SafeIterableMap<LiveData<?>, MvvmSource<?>> mSources = new SafeIterableMap<>();
 
+    // 是否开启批量模式，默认关闭即数据源每次变化都立即回调
+    private boolean mIsBatchingEnabled = false;
+    // 是否正在批量重算，重算期间的赋值只保留最后一次，重算完成后统一赋值
+    private boolean mIsRecomputing = false;
+    private boolean mHasRecomputedValue = false;
+    private T mRecomputedValue = null;
+
+    // 以下字段由MvvmMediatorBatchScheduler在主线程访问
+    boolean mIsBatchQueued = false;
+    int mBatchRank = 0;
+    long mBatchSequence = 0;
+    // 依赖层级缓存，依赖关系版本号变化时重新计算
+    private int mCachedBatchRank = 0;
+    private int mBatchRankVersion = -1;
+    private boolean mIsRanking = false;
+
     public MvvmMutableMediatorLiveData() {
     }
 
@@ -51,7 +68,7 @@ public class MvvmMutableMediatorLiveData<T> extends MvvmMutablePerfectLiveData<T
 
     @MainThread
     public <S> void addSource(@NonNull final LiveData<S> source, @NonNull final Observer<? super S> onChanged) {
-        MvvmSource<S> e = new MvvmSource<>(source, onChanged);
+        MvvmSource<S> e = new MvvmSource<>(this, source, onChanged);
         @SuppressLint("RestrictedApi") MvvmSource<?> existing = mSources.putIfAbsent(source, e);
         if (existing != null && existing.mObserver != onChanged) {
             throw new IllegalArgumentException(
@@ -60,6 +77,7 @@ public class MvvmMutableMediatorLiveData<T> extends MvvmMutablePerfectLiveData<T
         if (existing != null) {
             return;
         }
+        MvvmMediatorBatchScheduler.invalidateGraph();
         if (hasActiveObservers()) {
             e.plug();
         }
@@ -69,15 +87,102 @@ public class MvvmMutableMediatorLiveData<T> extends MvvmMutablePerfectLiveData<T
     public <S> void removeSource(@NonNull final LiveData<S> toRemote) {
         @SuppressLint("RestrictedApi") MvvmSource<?> source = mSources.remove(toRemote);
         if (source != null) {
+            MvvmMediatorBatchScheduler.invalidateGraph();
             source.unplug();
         }
     }
 
+    /**
+     * @author soulkun
+     * @time 2026/10/18 1:11
+     * @description 开启或关闭批量模式，开启后数据源变化时只记录最新值并标记待重算，由{@link MvvmMediatorBatchScheduler}在下一帧统一回调变化的数据源观察者，
+     *    回调期间多次赋值只保留最后一次，重算完成后赋值一次，因此每帧最多通知观察者一次；多个中介LiveData串联时按依赖层级由上游到下游依次重算
+     *    注意，开启后观察者在下一帧才能收到变化，同一数据源在一帧内的多次变化只回调最新值
+     */
+    @MainThread
+    public void setBatchingEnabled(final boolean isBatchingEnabled) {
+        mIsBatchingEnabled = isBatchingEnabled;
+    }
+
+    public boolean isBatchingEnabled() {
+        return mIsBatchingEnabled;
+    }
+
+    @Override
+    public void setValue(T value) {
+        if (mIsRecomputing) {
+            mRecomputedValue = value;
+            mHasRecomputedValue = true;
+            return;
+        }
+        super.setValue(value);
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 1:11
+     * @description 回调全部有待处理值的数据源观察者，回调期间的赋值合并为一次
+     *    已没有活跃观察者时不回调，待处理值保留至重新活跃时再重算，与非批量模式下不活跃时不回调数据源观察者一致
+     */
+    @MainThread
+    void recomputeBatch() {
+        mIsBatchQueued = false;
+        if (!hasActiveObservers()) {
+            return;
+        }
+        mIsRecomputing = true;
+        try {
+            for (Map.Entry<LiveData<?>, MvvmSource<?>> source : mSources) {
+                source.getValue().dispatchPendingValue();
+            }
+        } finally {
+            mIsRecomputing = false;
+        }
+        if (mHasRecomputedValue) {
+            final T value = mRecomputedValue;
+            mHasRecomputedValue = false;
+            mRecomputedValue = null;
+            super.setValue(value);
+        }
+    }
+
+    // 依赖层级，没有中介LiveData数据源时为0，否则为数据源中最大层级加1
+    @MainThread
+    int getBatchRank() {
+        final int graphVersion = MvvmMediatorBatchScheduler.getGraphVersion();
+        if (mBatchRankVersion == graphVersion) {
+            return mCachedBatchRank;
+        }
+        if (mIsRanking) {
+            throw new RuntimeException("中介LiveData之间存在循环依赖，请检查代码！");
+        }
+        mIsRanking = true;
+        int rank = 0;
+        try {
+            for (Map.Entry<LiveData<?>, MvvmSource<?>> source : mSources) {
+                if (source.getKey() instanceof MvvmMutableMediatorLiveData) {
+                    rank = Math.max(rank, ((MvvmMutableMediatorLiveData<?>) source.getKey()).getBatchRank() + 1);
+                }
+            }
+        } finally {
+            mIsRanking = false;
+        }
+        mCachedBatchRank = rank;
+        mBatchRankVersion = graphVersion;
+        return rank;
+    }
+
     @CallSuper
     @Override
     protected void onActive() {
+        boolean hasPendingValue = false;
         for (Map.Entry<LiveData<?>, MvvmSource<?>> source : mSources) {
             source.getValue().plug();
+            hasPendingValue |= source.getValue().mHasPendingValue;
+        }
+        // 不活跃期间跳过重算的待处理值，重新活跃后重算
+        if (hasPendingValue) {
+            MvvmMediatorBatchScheduler.markDirty(this);
         }
     }
 
@@ -93,16 +198,28 @@ public class MvvmMutableMediatorLiveData<T> extends MvvmMutablePerfectLiveData<T
      * @author soulkun
      * @time 2022/10/16 15:53
      * @description Mvvm模块专用的Source源
+     *  非MvvmPerfectLiveData的数据源在观察期间每次回调均为新版本，无需比较版本号；只有重新观察时LiveData会重发当前值，
+     *  因此只在取消观察时记录数据源的版本号，重新观察后的第一次回调比较版本号，版本号未变化时忽略，与MediatorLiveData的行为一致
      */
     private static class MvvmSource<V> implements Observer<V> {
 
         private static final int START_VERSION = -1;
 
+        // LiveData获取版本号的方法为包私有，只反射查找一次并缓存
+        private static final Method GET_VERSION_METHOD = findGetVersionMethod();
+
+        final MvvmMutableMediatorLiveData<?> mMediator;
         final LiveData<V> mLiveData;
         final Observer<? super V> mObserver;
         int mVersion = START_VERSION;
+        // 重新观察后是否需要比较版本号，只对非MvvmPerfectLiveData的数据源有效
+        boolean mIsCheckingVersion = false;
+        // 批量模式下等待重算时回调的最新值
+        boolean mHasPendingValue = false;
+        V mPendingValue = null;
 
-        MvvmSource(LiveData<V> liveData, final Observer<? super V> observer) {
+        MvvmSource(final MvvmMutableMediatorLiveData<?> mediator, LiveData<V> liveData, final Observer<? super V> observer) {
+            mMediator = mediator;
             mLiveData = liveData;
             mObserver = observer;
         }
@@ -111,12 +228,17 @@ public class MvvmMutableMediatorLiveData<T> extends MvvmMutablePerfectLiveData<T
             if (mLiveData instanceof MvvmPerfectLiveData) {
                 ((MvvmPerfectLiveData<V>) mLiveData).observeStickyForever(this);
             }else {
+                mIsCheckingVersion = mVersion != START_VERSION;
                 mLiveData.observeForever(this);
             }
         }
 
         void unplug() {
             mLiveData.removeObserver(this);
+            if (!(mLiveData instanceof MvvmPerfectLiveData)) {
+                mVersion = getVersion(mLiveData);
+                mIsCheckingVersion = false;
+            }
         }
 
         @Override
@@ -124,24 +246,59 @@ public class MvvmMutableMediatorLiveData<T> extends MvvmMutablePerfectLiveData<T
             if (mLiveData instanceof MvvmPerfectLiveData) {
                 if (mVersion != ((MvvmPerfectLiveData<V>) mLiveData).getCurrentVersion()) {
                     mVersion = ((MvvmPerfectLiveData<V>) mLiveData).getCurrentVersion();
-                    mObserver.onChanged(v);
+                    dispatchValue(v);
                 }
             }else {
-                final Class<LiveData> liveDataClass = LiveData.class;
-                try {
-                    // 反射获取非MvvmPerfectLiveData外的LiveData的当前版本号，性能较差
-                    // 若性能需求较大，因此非MvvmPerfectLiveData父类的其他LiveData类推荐直接使用MediatorLiveData
-                    final Method getVersion = liveDataClass.getDeclaredMethod("getVersion");
-                    getVersion.setAccessible(true);
-                    int version = (int) getVersion.invoke(mLiveData);
-
-                    if (mVersion != version) {
-                        mVersion = version;
-                        mObserver.onChanged(v);
+                if (mIsCheckingVersion) {
+                    mIsCheckingVersion = false;
+                    if (getVersion(mLiveData) == mVersion) {
+                        return;
                     }
-                } catch (Exception e) {
-                    e.printStackTrace();
                 }
+                dispatchValue(v);
+            }
+        }
+
+        private void dispatchValue(final V v) {
+            if (mMediator.mIsBatchingEnabled) {
+                mPendingValue = v;
+                mHasPendingValue = true;
+                MvvmMediatorBatchScheduler.markDirty(mMediator);
+            } else {
+                mObserver.onChanged(v);
+            }
+        }
+
+        void dispatchPendingValue() {
+            if (mHasPendingValue) {
+                final V v = mPendingValue;
+                mHasPendingValue = false;
+                mPendingValue = null;
+                mObserver.onChanged(v);
+            }
+        }
+
+        private static int getVersion(final LiveData<?> liveData) {
+            if (GET_VERSION_METHOD == null) {
+                return START_VERSION;
+            }
+            try {
+                return (int) GET_VERSION_METHOD.invoke(liveData);
+            } catch (Exception e) {
+                e.printStackTrace();
+                return START_VERSION;
+            }
+        }
+
+        private static Method findGetVersionMethod() {
+            try {
+                final Method getVersion = LiveData.class.getDeclaredMethod("getVersion");
+                getVersion.setAccessible(true);
+                return getVersion;
+            } catch (Exception e) {
+                // 找不到时每次重新观察都会回调当前值
+                e.printStackTrace();
+                return null;
             }
         }
     }
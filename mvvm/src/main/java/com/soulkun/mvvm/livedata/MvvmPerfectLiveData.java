@@ -1,12 +1,22 @@
 package com.soulkun.mvvm.livedata;
 
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.MainThread;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.lifecycle.Lifecycle;
 import androidx.lifecycle.LifecycleOwner;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.Observer;
 
-import java.util.Objects;
+import com.soulkun.mvvm.enums.MvvmEqualityStrategy;
+
+import java.util.IdentityHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * @author soulkun
@@ -17,14 +27,29 @@ public class MvvmPerfectLiveData<T> extends LiveData<T> {
 
     public static final int START_VERSION = -1;
 
+    // 子线程赋值时投递主线程的调度器，只供单元测试替换，为空时使用主线程Handler
+    private static volatile IMainThreadScheduler sMainThreadScheduler = null;
+    private static volatile Handler sMainHandler = null;
+
     private final AtomicInteger mCurrentVersion = new AtomicInteger(START_VERSION);
 
     // 是否允许传入值为Null，默认不允许即false
     private final boolean mIsNullValueAllowed;
     // 是否允许防抖处理，默认防抖即true
     private final boolean mIsDebouncing;
-    // 之前的值，当版本>=1时有效
-    private T mLastValue = null;
+    // 防抖时新值与当前值的比较策略，默认调用equals比较
+    private volatile IMvvmEqualityStrategy<? super T> mEqualityStrategy = MvvmEqualityStrategy.EQUALS;
+    // 之前的值，当版本>=1时有效，只在主线程赋值
+    private volatile T mLastValue = null;
+
+    // 子线程投递的待赋值节点，非空时表示已投递到主线程但尚未赋值完成，此时逻辑上的最新值为该节点的值
+    // 每次投递新建节点，CAS比较节点引用，重复投递相同的值也不会出现ABA问题
+    private final AtomicReference<PendingValue<T>> mPendingValue = new AtomicReference<>();
+    private final Runnable mApplyPendingValueRunnable = this::applyPendingValue;
+
+    // 原始观察者到包装观察者的映射，按引用比较，重复观察时复用包装观察者，删除观察者时直接查找，只在主线程访问
+    // 生命周期销毁、removeObservers均会经过removeObserver删除映射，因此无需使用弱引用
+    private final IdentityHashMap<Observer<? super T>, ObserverWrapper> mObserverMap = new IdentityHashMap<>();
 
     public MvvmPerfectLiveData() {
         this(false, true);
@@ -62,6 +87,10 @@ public class MvvmPerfectLiveData<T> extends LiveData<T> {
      */
     @Override
     public void observe(@NonNull LifecycleOwner owner, @NonNull Observer<? super T> observer) {
+        // 与LiveData一致，已销毁的生命周期直接忽略，避免残留映射
+        if (owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+            return;
+        }
         super.observe(owner, wrapObserver(observer, mCurrentVersion.get()));
     }
 
@@ -81,6 +110,9 @@ public class MvvmPerfectLiveData<T> extends LiveData<T> {
      * @description 观察生命周期不敏感的粘性事件，使用时注意，能观察到方法调用前更新的值和调用后更新的值！
      */
     public void observeSticky(@NonNull LifecycleOwner owner, @NonNull Observer<? super T> observer) {
+        if (owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+            return;
+        }
         super.observe(owner, wrapObserver(observer, START_VERSION));
     }
 
@@ -98,11 +130,20 @@ public class MvvmPerfectLiveData<T> extends LiveData<T> {
      * @time 2022/10/16 15:56
      * @description 手动删除观察者，一般用于生命周期不敏感
      */
+    @Override
     public void removeObserver(@NonNull Observer<? super T> observer) {
-        if (observer.getClass().isAssignableFrom(ObserverWrapper.class)) {
-            super.removeObserver(observer);
+        final ObserverWrapper wrapper;
+        if (observer instanceof MvvmPerfectLiveData.ObserverWrapper) {
+            // LiveData内部回调删除时传入的是包装观察者
+            wrapper = (ObserverWrapper) observer;
+            if (mObserverMap.get(wrapper.mObserver) == wrapper) {
+                mObserverMap.remove(wrapper.mObserver);
+            }
         } else {
-            super.removeObserver(wrapObserver(observer, START_VERSION));
+            wrapper = mObserverMap.remove(observer);
+        }
+        if (wrapper != null) {
+            super.removeObserver(wrapper);
         }
     }
 
@@ -116,6 +157,20 @@ public class MvvmPerfectLiveData<T> extends LiveData<T> {
         super.setValue(null);
     }
 
+    /**
+     * @author soulkun
+     * @time 2026/10/18 1:03
+     * @description 设置防抖时的比较策略，大列表或大状态对象赋值频繁时推荐使用{@link MvvmEqualityStrategy#IDENTITY}等O(1)策略
+     */
+    public void setEqualityStrategy(@NonNull IMvvmEqualityStrategy<? super T> equalityStrategy) {
+        mEqualityStrategy = equalityStrategy;
+    }
+
+    @NonNull
+    public IMvvmEqualityStrategy<? super T> getEqualityStrategy() {
+        return mEqualityStrategy;
+    }
+
     // 返回最近一次非本次的数值
     public T getLastValue() {
         return mLastValue;
@@ -128,22 +183,87 @@ public class MvvmPerfectLiveData<T> extends LiveData<T> {
 
     @Override
     protected void setValue(T value) {
-        if ((mIsNullValueAllowed || value != null) && (!mIsDebouncing || !Objects.equals(value, getValue()))) {
+        if ((mIsNullValueAllowed || value != null) && (!mIsDebouncing || !mEqualityStrategy.isSameValue(getValue(), value))) {
             mCurrentVersion.getAndIncrement();
             setLastValue();
             super.setValue(value);
         }
     }
 
+    /**
+     * @author soulkun
+     * @time 2026/10/18 1:05
+     * @description 任意线程赋值，与待赋值的值（没有时为当前值）比较防抖，通过CAS替换待赋值节点，由空变为非空的线程负责投递主线程
+     *    版本号与之前的值只在主线程赋值时更新，多次投递在主线程赋值前会被合并，只回调最新的值
+     */
     @Override
     protected void postValue(T value) {
-        if ((mIsNullValueAllowed || value != null) && (!mIsDebouncing || !Objects.equals(value, getValue()))) {
-            mCurrentVersion.getAndIncrement();
-            setLastValue();
-            super.postValue(value);
+        if (!mIsNullValueAllowed && value == null) {
+            return;
+        }
+        final PendingValue<T> next = new PendingValue<>(value);
+        while (true) {
+            final PendingValue<T> pending = mPendingValue.get();
+            final T latestValue = pending != null ? pending.mValue : getValue();
+            if (mIsDebouncing && mEqualityStrategy.isSameValue(latestValue, value)) {
+                return;
+            }
+            if (mPendingValue.compareAndSet(pending, next)) {
+                if (pending == null) {
+                    postToMainThread(mApplyPendingValueRunnable);
+                }
+                return;
+            }
         }
     }
 
+    /**
+     * @author soulkun
+     * @time 2026/10/18 1:05
+     * @description 主线程赋值待赋值节点，赋值完成后才清空节点，赋值期间被其他线程替换时继续赋值新节点
+     *    清空前子线程始终与待赋值的值比较防抖，不会与尚未更新的当前值比较而误判
+     */
+    @MainThread
+    private void applyPendingValue() {
+        PendingValue<T> pending = mPendingValue.get();
+        while (pending != null) {
+            setValue(pending.mValue);
+            if (mPendingValue.compareAndSet(pending, null)) {
+                return;
+            }
+            pending = mPendingValue.get();
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 1:37
+     * @description 单元测试中没有主线程Looper，替换子线程赋值时投递主线程的调度器，例如传入单线程线程池的execute，传入null恢复为主线程Handler
+     */
+    @VisibleForTesting
+    static void setMainThreadScheduler(@Nullable IMainThreadScheduler scheduler) {
+        sMainThreadScheduler = scheduler;
+    }
+
+    // 投递至主线程，主线程Handler在首次投递时创建
+    private static void postToMainThread(@NonNull Runnable runnable) {
+        final IMainThreadScheduler scheduler = sMainThreadScheduler;
+        if (scheduler != null) {
+            scheduler.schedule(runnable);
+            return;
+        }
+        Handler mainHandler = sMainHandler;
+        if (mainHandler == null) {
+            synchronized (MvvmPerfectLiveData.class) {
+                if (sMainHandler == null) {
+                    sMainHandler = new Handler(Looper.getMainLooper());
+                }
+                mainHandler = sMainHandler;
+            }
+        }
+        mainHandler.post(runnable);
+    }
+
     // 设置最近一次非本次数值
     private void setLastValue() {
         if (mCurrentVersion.get() >= 1) {
@@ -151,6 +271,15 @@ public class MvvmPerfectLiveData<T> extends LiveData<T> {
         }
     }
 
+    private static final class PendingValue<T> {
+
+        private final T mValue;
+
+        PendingValue(T value) {
+            mValue = value;
+        }
+    }
+
     private class ObserverWrapper implements Observer<T> {
 
         private final Observer<? super T> mObserver;
@@ -169,27 +298,29 @@ public class MvvmPerfectLiveData<T> extends LiveData<T> {
                 mVersion = mCurrentVersion.get();
             }
         }
+    }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
-            }
-            ObserverWrapper that = (ObserverWrapper) o;
-            return Objects.equals(mObserver, that.mObserver);
+    /**
+     * @author soulkun
+     * @time 2026/10/18 1:01
+     * @description 获取观察者对应的包装观察者，已观察时复用原包装观察者，交由LiveData按原有规则处理重复观察
+     */
+    private ObserverWrapper wrapObserver(@NonNull Observer<? super T> observer, int version) {
+        ObserverWrapper wrapper = mObserverMap.get(observer);
+        if (wrapper == null) {
+            wrapper = new ObserverWrapper(observer, version);
+            mObserverMap.put(observer, wrapper);
         }
+        return wrapper;
+    }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(mObserver);
-        }
+    // 已注册的观察者数量
+    int getObserverCount() {
+        return mObserverMap.size();
     }
 
-    private ObserverWrapper wrapObserver(@NonNull Observer<? super T> observer, int version) {
-        return new ObserverWrapper(observer, version);
+    interface IMainThreadScheduler {
+        void schedule(@NonNull Runnable runnable);
     }
 
 }
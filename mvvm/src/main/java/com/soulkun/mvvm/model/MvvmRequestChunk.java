@@ -0,0 +1,39 @@
+package com.soulkun.mvvm.model;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:45
+ * @description MVVM框架下的流式请求分片，由流式请求任务按解析顺序产生，只读不改
+ * 序号从0开始连续递增，最后一个分片的terminal为true，其状态即整个流式请求的结果状态
+ */
+public class MvvmRequestChunk<T> {
+
+    private final long sequence;
+
+    private final boolean terminal;
+
+    private final MvvmRequest<T> request;
+
+    public MvvmRequestChunk(final long sequence, final boolean terminal, final MvvmRequest<T> request) {
+        this.sequence = sequence;
+        this.terminal = terminal;
+        this.request = request;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public boolean isTerminal() {
+        return terminal;
+    }
+
+    public MvvmRequest<T> getRequest() {
+        return request;
+    }
+
+    public T getResponse() {
+        return request.getResponse();
+    }
+
+}
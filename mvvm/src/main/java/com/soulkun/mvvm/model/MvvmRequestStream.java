@@ -0,0 +1,92 @@
+package com.soulkun.mvvm.model;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Observer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:45
+ * @description MVVM框架下的流式请求结果，按序追加分片，流式请求任务的LiveData每产生一个分片推送一次同一个实例
+ * postValue()在主线程处理前的多次推送会被合并，但分片保存在实例中不会丢失，观察者应使用{@link ChunkObserver}按序号逐一处理新分片
+ * 分片追加与读取线程安全，实例会保留全部分片直至被释放
+ */
+public class MvvmRequestStream<T> {
+
+    // 只在持有锁时访问
+    private final List<MvvmRequestChunk<T>> chunks = new ArrayList<>();
+
+    private boolean complete = false;
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:45
+     * @description 追加分片，返回分片，终止后不允许追加
+     */
+    @NonNull
+    public synchronized MvvmRequestChunk<T> append(final @NonNull MvvmRequest<T> request, final boolean terminal) {
+        if (complete) {
+            throw new IllegalStateException("流式请求已结束，无法追加分片！");
+        }
+        final MvvmRequestChunk<T> chunk = new MvvmRequestChunk<>(chunks.size(), terminal, request);
+        chunks.add(chunk);
+        complete = terminal;
+        return chunk;
+    }
+
+    // 获取序号不小于sequence的分片
+    @NonNull
+    public synchronized List<MvvmRequestChunk<T>> getChunksFrom(final long sequence) {
+        if (sequence >= chunks.size()) {
+            return new ArrayList<>(0);
+        }
+        return new ArrayList<>(chunks.subList((int) Math.max(0, sequence), chunks.size()));
+    }
+
+    @NonNull
+    public List<MvvmRequestChunk<T>> getChunks() {
+        return getChunksFrom(0);
+    }
+
+    public synchronized int size() {
+        return chunks.size();
+    }
+
+    public synchronized boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @author soulkun
+     * @description 流式请求观察者，记录已处理的序号，每次收到推送时按序回调尚未处理的分片，被合并的推送不会造成分片丢失或重复
+     * 每个观察者各自记录序号，同一流可被多个观察者观察，收到新的流实例时从头开始回调
+     */
+    public abstract static class ChunkObserver<T> implements Observer<MvvmRequest<MvvmRequestStream<T>>> {
+
+        private MvvmRequestStream<T> stream;
+
+        private long nextSequence = 0;
+
+        @Override
+        public void onChanged(final MvvmRequest<MvvmRequestStream<T>> request) {
+            if (request == null || request.getResponse() == null) {
+                return;
+            }
+            if (request.getResponse() != stream) {
+                // 同一LiveData开始了新的流式请求
+                stream = request.getResponse();
+                nextSequence = 0;
+            }
+            for (MvvmRequestChunk<T> chunk : stream.getChunksFrom(nextSequence)) {
+                nextSequence = chunk.getSequence() + 1;
+                onChunk(chunk);
+            }
+        }
+
+        protected abstract void onChunk(@NonNull MvvmRequestChunk<T> chunk);
+
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.soulkun.mvvm.viewmodel;
+
+import androidx.annotation.NonNull;
+
+import com.soulkun.mvvm.enums.MvvmRequestLane;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:43
+ * @description 请求调度器的执行后端，{@link MvvmRequestScheduler}的每个通道对应一个后端
+ * 提交的任务均实现Comparable（按优先级和提交顺序），有排队的后端应按此顺序出队；
+ * 任务自身处理取消、暂停与中断，后端只负责在某个线程上执行，{@link #remove}只是尽早释放排队中已取消的任务
+ */
+public interface IMvvmRequestExecutorBackend {
+
+    void execute(@NonNull Runnable task);
+
+    // 从排队中移除任务，不支持排队的后端直接返回false
+    boolean remove(@NonNull Runnable task);
+
+    void shutdownNow();
+
+    // 累计创建的线程数量
+    int getCreatedThreadCount();
+
+    // 当前的线程数量
+    int getPoolSize();
+
+    // 最大线程数量，不限制时返回Integer.MAX_VALUE
+    int getMaxPoolSize();
+
+    // 排队等待执行的任务数量
+    int getQueuedCount();
+
+    /**
+     * @author soulkun
+     * @description 执行后端工厂，按通道创建后端
+     */
+    interface IFactory {
+
+        @NonNull
+        IMvvmRequestExecutorBackend create(@NonNull MvvmRequestLane lane);
+
+    }
+
+}
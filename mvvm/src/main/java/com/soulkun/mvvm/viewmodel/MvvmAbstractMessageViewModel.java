@@ -2,7 +2,7 @@ package com.soulkun.mvvm.viewmodel;
 
 import android.os.Handler;
 import android.os.Looper;
-import android.os.Message;
+import android.os.SystemClock;
 
 import androidx.annotation.NonNull;
 import androidx.lifecycle.Lifecycle;
@@ -11,46 +11,102 @@ import androidx.lifecycle.LifecycleOwner;
 import androidx.lifecycle.Observer;
 import androidx.lifecycle.ViewModel;
 
-import com.soulkun.mvvm.livedata.MvvmMutablePerfectLiveData;
-import com.soulkun.mvvm.livedata.MvvmPerfectLiveData;
+import com.soulkun.mvvm.enums.MvvmMessageConflation;
+import com.soulkun.mvvm.enums.MvvmMessagePostStatus;
+import com.soulkun.mvvm.enums.MvvmMessagePriority;
 import com.soulkun.mvvm.model.MvvmMessage;
 
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.ListIterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author soulkun
  * @date 2022/11/7 16:04
  * @description MVVM框架实现消息总线，接收粘性事件则推送最近的一条消息，否则只推送新消息
  * 接收消息使用{@link #observe}等方法，发送消息使用{@link #send}和{@link #post}方法
+ * 消息存储于固定长度的环形重放日志中，观察者持有读游标，生命周期非活跃时暂存游标，重新活跃时补发游标之后的消息
+ * 每个优先级{@link MvvmMessagePriority}为一条独立通道，拥有独立的重放日志和待分发容量，跨线程消息按优先级从高到低分发，
+ * 需要背压时使用{@link #offer}方法发送，通道已满时返回{@link MvvmMessagePostStatus#FULL}或阻塞等待
+ * 主线程调度与时钟由{@link #initMessageScheduler()}提供，默认为主线程Handler和SystemClock，单元测试中可替换为手动调度器
  */
 public abstract class MvvmAbstractMessageViewModel<M extends MvvmMessage> extends ViewModel implements LifecycleEventObserver {
 
     private final static int DEFAULT_MESSAGE_QUEUE_LENGTH = 16;
     private final static long DEFAULT_MESSAGE_CLEAR_TIME = 5 * 60 * 1000L;
+    // 过期时间轮的槽位数，tick为消息清除时间除以槽位数
+    private final static int MESSAGE_EXPIRY_WHEEL_SIZE = 64;
+    private final static long MIN_MESSAGE_EXPIRY_TICK_TIME = 16L;
+    // 单次排空跨线程消息的默认预算，耗时约为一帧的四分之一
+    private final static int DEFAULT_MESSAGE_DRAIN_BUDGET_COUNT = 256;
+    private final static long DEFAULT_MESSAGE_DRAIN_BUDGET_TIME = 4L;
+    // 每条优先级通道默认的待分发容量
+    private final static int DEFAULT_MESSAGE_PENDING_CAPACITY = 1024;
+    // 消息键的高位存放通道序号，低位存放通道内的消息序号
+    private final static int MESSAGE_KEY_LANE_SHIFT = 56;
+    private final static long MESSAGE_KEY_SEQUENCE_MASK = (1L << MESSAGE_KEY_LANE_SHIFT) - 1;
+    private final static MvvmMessagePriority[] PRIORITIES = MvvmMessagePriority.values();
 
-    private final Map<Integer, MessageObserver> mIdToObserverMap = new ConcurrentHashMap<>();
+    // 以观察者身份为键、按生命周期持有者分组的观察者登记表
+    private final MvvmMessageObserverRegistry<MessageObserver> mObserverRegistry = new MvvmMessageObserverRegistry<>();
 
-    private final MvvmFixedLengthList<MvvmMutablePerfectLiveData<M>> mMessageQueue = new MvvmFixedLengthList<>(initMessageQueueLength(), new IFixedLengthListCallback<MvvmMutablePerfectLiveData<M>>() {
-        @Override
-        public void onRemoveFirst(MvvmMutablePerfectLiveData<M> liveData) {
-            // 元素删除时
-            mClearMessageHandler.removeMessages(liveData.hashCode());
-            mIdToObserverMap.values().forEach(messageObserver -> liveData.removeObserver(messageObserver));
-        }
-    });
+    // 消息ID到观察者的索引，分发消息时只遍历订阅该ID的观察者
+    private final MvvmMessageSubscriberIndex<MessageObserver> mSubscriberIndex = new MvvmMessageSubscriberIndex<>();
+
+    // 每条优先级通道的消息重放日志，长度即重放窗口大小，超出长度时覆盖该通道最旧的消息
+    private final MvvmMessageRingBuffer<M>[] mMessageQueues = createMessageQueues();
+
+    // 跨通道的消息时间戳，用于粘性观察时查找最近一条消息
+    private long mMessageStamp = 0;
+
+    // 消息ID的优先级缓存
+    private final Map<Integer, MvvmMessagePriority> mPriorityMap = new ConcurrentHashMap<>();
+
+    // 主线程调度器，负责排空任务、延时任务以及时钟
+    private final IMessageScheduler mMainScheduler = initMessageScheduler();
+
+    // 消息过期时间轮，所有消息共用一个定时tick批量过期，而非每条消息发送一个延时Message
+    private final MvvmMessageExpiryWheel mExpiryWheel = new MvvmMessageExpiryWheel(
+            Math.max(MIN_MESSAGE_EXPIRY_TICK_TIME, initMessageClearTime() / MESSAGE_EXPIRY_WHEEL_SIZE), MESSAGE_EXPIRY_WHEEL_SIZE);
+
+    // 时间轮条目数超过该阈值时删除已被覆盖或丢弃的消息条目，阈值为全部通道容量之和的两倍，时间轮条目数不会超过该阈值
+    private final int mExpiryPurgeThreshold = createExpiryPurgeThreshold();
+
+    private final MvvmMessageExpiryWheel.IStaleFilter mStaleMessageFilter = this::isMessageStale;
+
+    private final Runnable mExpiryTickRunnable = this::sweepExpiredMessages;
+
+    private boolean mIsExpiryTickScheduled = false;
+
+    // 按消息ID合并高频消息，只推送最新值
+    private final MvvmMessageConflator<M> mConflator = new MvvmMessageConflator<>(this::conflateMessage, mMainScheduler,
+            new MvvmMessageConflator.IConflationDispatcher<M>() {
+                @Override
+                public long dispatch(final @NonNull M message) {
+                    return dispatchMessage(message);
+                }
 
-    // 清空LiveData消息的Handler
-    private final MessageClearHandler mClearMessageHandler = new MessageClearHandler(Looper.getMainLooper());
+                @Override
+                public void discard(final long sequence) {
+                    removeMessage(sequence);
+                }
+            });
+
+    // 跨线程消息的合并队列，所有post的消息由单个主线程排空任务批量分发，合并的消息ID以其合并状态入队
+    private final MvvmMessagePostDrainer<Object> mPostDrainer = new MvvmMessagePostDrainer<>(
+            mMainScheduler, this::dispatchPosted, initMessageDrainBudgetCount(), initMessageDrainBudgetTime() * 1_000_000L,
+            createMessagePendingCapacities());
 
     @Override
     public void onStateChanged(final @NonNull LifecycleOwner source, final @NonNull Lifecycle.Event event) {
         if (event == Lifecycle.Event.ON_DESTROY) {
             // 解绑LifeCycle
             unBind(source);
+        } else if (event == Lifecycle.Event.ON_START) {
+            // 生命周期重新活跃，补发非活跃期间的消息
+            for (Object messageObserver : mObserverRegistry.getSubscribers(source)) {
+                ((MessageObserver) messageObserver).deliver();
+            }
         }
     }
 
@@ -61,7 +117,17 @@ public abstract class MvvmAbstractMessageViewModel<M extends MvvmMessage> extend
      */
     public void observe(final @NonNull LifecycleOwner lifecycleOwner, final @NonNull Observer<M> observer) {
         lifecycleOwner.getLifecycle().addObserver(this);
-        new MessageObserver(false, observer).bind(lifecycleOwner);
+        new MessageObserver(false, null, observer).bind(lifecycleOwner);
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:08
+     * @description 观察生命周期敏感的指定ID的非粘性事件，注意，必须在主线程上调用
+     */
+    public void observe(final @NonNull LifecycleOwner lifecycleOwner, final @NonNull int[] messageIds, final @NonNull Observer<M> observer) {
+        lifecycleOwner.getLifecycle().addObserver(this);
+        new MessageObserver(false, messageIds, observer).bind(lifecycleOwner);
     }
 
     /**
@@ -71,7 +137,17 @@ public abstract class MvvmAbstractMessageViewModel<M extends MvvmMessage> extend
      */
     public void observeSticky(final @NonNull LifecycleOwner lifecycleOwner, final @NonNull Observer<M> observer) {
         lifecycleOwner.getLifecycle().addObserver(this);
-        new MessageObserver(true, observer).bind(lifecycleOwner);
+        new MessageObserver(true, null, observer).bind(lifecycleOwner);
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:08
+     * @description 观察生命周期敏感的指定ID的粘性事件，粘性推送的是指定ID中最近的一条消息，注意，必须在主线程上调用
+     */
+    public void observeSticky(final @NonNull LifecycleOwner lifecycleOwner, final @NonNull int[] messageIds, final @NonNull Observer<M> observer) {
+        lifecycleOwner.getLifecycle().addObserver(this);
+        new MessageObserver(true, messageIds, observer).bind(lifecycleOwner);
     }
 
     /**
@@ -80,7 +156,16 @@ public abstract class MvvmAbstractMessageViewModel<M extends MvvmMessage> extend
      * @description 永久观察非粘性事件，需要手动解除，否则造成内存泄漏，注意，必须在主线程上调用
      */
     public void observeForever(final @NonNull Observer<M> observer) {
-        new MessageObserver(false, observer).bind(null);
+        new MessageObserver(false, null, observer).bind(null);
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:08
+     * @description 永久观察指定ID的非粘性事件，需要手动解除，否则造成内存泄漏，注意，必须在主线程上调用
+     */
+    public void observeForever(final @NonNull int[] messageIds, final @NonNull Observer<M> observer) {
+        new MessageObserver(false, messageIds, observer).bind(null);
     }
 
     /**
@@ -89,7 +174,16 @@ public abstract class MvvmAbstractMessageViewModel<M extends MvvmMessage> extend
      * @description 永久观察粘性事件，需要手动解除，否则造成内存泄漏，注意，必须在主线程上调用
      */
     public void observeStickyForever(final @NonNull Observer<M> observer) {
-        new MessageObserver(true, observer).bind(null);
+        new MessageObserver(true, null, observer).bind(null);
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:08
+     * @description 永久观察指定ID的粘性事件，需要手动解除，否则造成内存泄漏，注意，必须在主线程上调用
+     */
+    public void observeStickyForever(final @NonNull int[] messageIds, final @NonNull Observer<M> observer) {
+        new MessageObserver(true, messageIds, observer).bind(null);
     }
 
     /**
@@ -98,9 +192,9 @@ public abstract class MvvmAbstractMessageViewModel<M extends MvvmMessage> extend
      * @description 解除观察，注意，必须在主线程上调用
      */
     public void unObserve(final @NonNull Observer<M> observer) {
-        final MessageObserver messageObserver = mIdToObserverMap.get(observer.hashCode());
+        final MessageObserver messageObserver = mObserverRegistry.remove(observer);
         if (messageObserver != null) {
-            messageObserver.unObserve();
+            messageObserver.detach();
         }
     }
 
@@ -110,13 +204,8 @@ public abstract class MvvmAbstractMessageViewModel<M extends MvvmMessage> extend
      * @description 解除生命周期的观察，注意，必须在主线程上调用
      */
     public void unBind(final @NonNull LifecycleOwner lifecycleOwner) {
-        mMessageQueue.forEach(liveData -> liveData.removeObservers(lifecycleOwner));
-        final Iterator<Map.Entry<Integer, MessageObserver>> iterator = mIdToObserverMap.entrySet().iterator();
-        while (iterator.hasNext()) {
-            final Map.Entry<Integer, MessageObserver> entry = iterator.next();
-            if (entry.getValue().mLifecycleOwner != null && entry.getValue().mLifecycleOwner == lifecycleOwner) {
-                iterator.remove();
-            }
+        for (Object messageObserver : mObserverRegistry.removeOwner(lifecycleOwner)) {
+            ((MessageObserver) messageObserver).detach();
         }
     }
 
@@ -127,14 +216,12 @@ public abstract class MvvmAbstractMessageViewModel<M extends MvvmMessage> extend
      */
     public boolean send(final @NonNull M message) {
         if (authenticateMessage(message)) {
-            // 观察
-            final MvvmMutablePerfectLiveData<M> liveData = new MvvmMutablePerfectLiveData<>(message, false);
-            mIdToObserverMap.values().forEach(messageObserver -> messageObserver.handleMessage(liveData));
-            mMessageQueue.add(liveData);
-
-            // 发送清空消息
-            mClearMessageHandler.sendMessage(liveData);
-
+            final MvvmMessageConflator<M>.State state = mConflator.getState(message.getId());
+            if (state == null) {
+                dispatchMessage(message);
+            } else {
+                mConflator.offer(state, message);
+            }
             return true;
         }else {
             return false;
@@ -144,26 +231,82 @@ public abstract class MvvmAbstractMessageViewModel<M extends MvvmMessage> extend
     /**
      * @author soulkun
      * @time 2022/11/7 17:02
-     * @description 跨线程发送消息
+     * @description 跨线程发送消息，消息进入无锁队列，由主线程批量分发，忽略通道容量，ViewModel已销毁时返回false
      */
     public boolean post(final @NonNull M message) {
         if (authenticateMessage(message)) {
-            new Handler(Looper.getMainLooper()).post(() -> {
-                // 观察
-                final MvvmMutablePerfectLiveData<M> liveData = new MvvmMutablePerfectLiveData<>(message, false);
-                mIdToObserverMap.values().forEach(messageObserver -> messageObserver.handleMessage(liveData));
-                mMessageQueue.add(liveData);
-
-                // 发送清空消息
-                mClearMessageHandler.sendMessage(liveData);
-            });
+            final int lane = getMessageLane(message.getId());
+            final MvvmMessageConflator<M>.State state = mConflator.getState(message.getId());
+            if (state == null) {
+                return mPostDrainer.post(message, lane);
+            } else if (mConflator.offerPending(state, message)) {
+                // 同一合并ID在排空前只入队一次，后续消息直接覆盖待分发槽位
+                return mPostDrainer.post(state, lane);
+            }
 
-            return true;
+            return !mPostDrainer.isCleared();
         }else {
             return false;
         }
     }
 
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:18
+     * @description 跨线程发送消息，该消息优先级通道的待分发数量已达容量时立即返回{@link MvvmMessagePostStatus#FULL}，
+     * 生产者应据此降速，而非让低价值消息无限堆积
+     */
+    @NonNull
+    public MvvmMessagePostStatus offer(final @NonNull M message) {
+        if (mPostDrainer.isCleared() || !authenticateMessage(message)) {
+            return MvvmMessagePostStatus.REJECTED;
+        }
+        final int lane = getMessageLane(message.getId());
+        final MvvmMessageConflator<M>.State state = mConflator.getState(message.getId());
+        if (state != null) {
+            // 合并消息只占用一个槽位，不受容量限制
+            if (mConflator.offerPending(state, message)) {
+                mPostDrainer.post(state, lane);
+            }
+            return MvvmMessagePostStatus.CONFLATED;
+        }
+        return toPostStatus(mPostDrainer.offer(message, lane));
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:18
+     * @description 跨线程发送消息，通道已满时阻塞当前线程直至有容量或超时，超时返回{@link MvvmMessagePostStatus#FULL}
+     * 注意，只允许在后台线程上调用，禁止在主线程上调用，否则主线程无法排空导致一直阻塞至超时
+     */
+    @NonNull
+    public MvvmMessagePostStatus offer(final @NonNull M message, final long timeout, final @NonNull TimeUnit unit) throws InterruptedException {
+        if (mMainScheduler.isMainThread()) {
+            throw new IllegalStateException("禁止在主线程上阻塞发送消息！");
+        }
+        if (mPostDrainer.isCleared() || !authenticateMessage(message)) {
+            return MvvmMessagePostStatus.REJECTED;
+        }
+        final int lane = getMessageLane(message.getId());
+        final MvvmMessageConflator<M>.State state = mConflator.getState(message.getId());
+        if (state != null) {
+            if (mConflator.offerPending(state, message)) {
+                mPostDrainer.post(state, lane);
+            }
+            return MvvmMessagePostStatus.CONFLATED;
+        }
+        return toPostStatus(mPostDrainer.offer(message, lane, timeout, unit));
+    }
+
+    // 发送失败时区分通道已满与ViewModel已销毁
+    @NonNull
+    private MvvmMessagePostStatus toPostStatus(final boolean isAccepted) {
+        if (isAccepted) {
+            return MvvmMessagePostStatus.ACCEPTED;
+        }
+        return mPostDrainer.isCleared() ? MvvmMessagePostStatus.REJECTED : MvvmMessagePostStatus.FULL;
+    }
+
     /**
      * @author soulkun
      * @time 2022/11/7 16:12
@@ -171,15 +314,57 @@ public abstract class MvvmAbstractMessageViewModel<M extends MvvmMessage> extend
      */
     protected abstract boolean authenticateMessage(final @NonNull M message);
 
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:14
+     * @description 声明消息ID的合并策略，默认{@link MvvmMessageConflation#KEEP_ALL}
+     * 进度、下载百分比等高频状态消息可声明为{@link MvvmMessageConflation#LATEST_ONLY}、节流或防抖，只推送最新值
+     * 注意，每个ID只调用一次并缓存结果，可能在任意线程上调用，返回值必须仅由消息ID决定
+     */
+    @NonNull
+    protected MvvmMessageConflation conflateMessage(final int messageId) {
+        return MvvmMessageConflation.KEEP_ALL;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:18
+     * @description 声明消息ID的优先级，默认{@link MvvmMessagePriority#NORMAL}
+     * 登出、鉴权过期等关键消息可声明为{@link MvvmMessagePriority#CRITICAL}，不会被低优先级消息挤出重放窗口
+     * 注意，每个ID只调用一次并缓存结果，可能在任意线程上调用，返回值必须仅由消息ID决定
+     */
+    @NonNull
+    protected MvvmMessagePriority prioritizeMessage(final int messageId) {
+        return MvvmMessagePriority.NORMAL;
+    }
+
     /**
      * @author soulkun
      * @time 2022/11/7 16:12
-     * @description 初始化消息队列长度
+     * @description 初始化消息队列长度，即重放窗口大小，观察者非活跃期间超出该长度的旧消息将被覆盖不再补发
      */
     protected int initMessageQueueLength() {
         return DEFAULT_MESSAGE_QUEUE_LENGTH;
     }
 
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:18
+     * @description 初始化指定优先级通道的消息队列长度，默认均为{@link #initMessageQueueLength()}
+     */
+    protected int initMessageQueueLength(final @NonNull MvvmMessagePriority priority) {
+        return initMessageQueueLength();
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:18
+     * @description 初始化指定优先级通道跨线程待分发消息的容量，仅{@link #offer}方法受该容量限制
+     */
+    protected int initMessagePendingCapacity(final @NonNull MvvmMessagePriority priority) {
+        return DEFAULT_MESSAGE_PENDING_CAPACITY;
+    }
+
     /**
      * @author soulkun
      * @time 2022/11/7 16:13
@@ -189,144 +374,351 @@ public abstract class MvvmAbstractMessageViewModel<M extends MvvmMessage> extend
         return DEFAULT_MESSAGE_CLEAR_TIME;
     }
 
-    private class MessageClearHandler extends Handler {
+    /**
+     * @author soulkun
+     * @time 2026/10/18 1:26
+     * @description 初始化主线程调度器，默认为主线程Handler和SystemClock，注意，在构造方法中调用
+     * 单元测试等没有主线程Looper的环境可返回手动推进的调度器
+     */
+    @NonNull
+    protected IMessageScheduler initMessageScheduler() {
+        return new MainLooperMessageScheduler();
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:12
+     * @description 初始化单次排空跨线程消息的最大数量
+     */
+    protected int initMessageDrainBudgetCount() {
+        return DEFAULT_MESSAGE_DRAIN_BUDGET_COUNT;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:12
+     * @description 初始化单次排空跨线程消息的最大耗时（毫秒），超出后剩余消息留待下一次主线程排空
+     */
+    protected long initMessageDrainBudgetTime() {
+        return DEFAULT_MESSAGE_DRAIN_BUDGET_TIME;
+    }
 
-        public MessageClearHandler(final @NonNull Looper looper) {
-            super(looper);
+    // 待主线程分发的跨线程消息数量
+    public int getPostQueueDepth() {
+        return mPostDrainer.getQueueDepth();
+    }
+
+    // 指定优先级通道待主线程分发的跨线程消息数量
+    public int getPostQueueDepth(final @NonNull MvvmMessagePriority priority) {
+        return mPostDrainer.getQueueDepth(priority.ordinal());
+    }
+
+    // 因通道已满被拒绝的消息数量
+    public long getRejectedMessageCount() {
+        return mPostDrainer.getRejectedCount();
+    }
+
+    // 跨线程消息排空任务从调度到开始执行的最大延迟（纳秒）
+    public long getMaxPostDrainLatencyNanos() {
+        return mPostDrainer.getMaxDrainLatencyNanos();
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:11
+     * @description 每次过期扫描后回调，expiredCount为本次批量过期的消息数量，
+     * 累计数据可通过{@link #getExpiredMessageCount()}和{@link #getMessageSweepCount()}获取，在主线程上回调
+     */
+    protected void onMessageExpirySweep(final int expiredCount) {
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:21
+     * @description 观察者被移除后回调，包括手动解除、生命周期销毁以及重复观察时替换，在主线程上回调
+     */
+    protected void onObserverRemoved(final @NonNull Observer<M> observer) {
+    }
+
+    // 累计过期的消息数量
+    public long getExpiredMessageCount() {
+        return mExpiryWheel.getTotalExpiredCount();
+    }
+
+    // 累计过期扫描次数
+    public long getMessageSweepCount() {
+        return mExpiryWheel.getSweepCount();
+    }
+
+    @Override
+    protected void onCleared() {
+        // 先停止跨线程消息的排空，之后发送的消息均被拒绝，不会再写入已清空的重放日志或重新调度过期扫描
+        mPostDrainer.clear();
+        mMainScheduler.removeCallbacks(mExpiryTickRunnable);
+        mIsExpiryTickScheduled = false;
+        mConflator.clear();
+        mExpiryWheel.clear();
+        for (MvvmMessageRingBuffer<M> messageQueue : mMessageQueues) {
+            messageQueue.clear();
+        }
+
+        super.onCleared();
+    }
+
+    // 主线程排空跨线程消息
+    @SuppressWarnings("unchecked")
+    private void dispatchPosted(final @NonNull Object element) {
+        if (element instanceof MvvmMessageConflator.State) {
+            mConflator.drain((MvvmMessageConflator<M>.State) element);
+        } else {
+            dispatchMessage((M) element);
+        }
+    }
+
+    // 分发消息，写入所属通道的重放日志后只通知订阅该消息ID的观察者以及全量观察者，返回消息键
+    private long dispatchMessage(final @NonNull M message) {
+        final int lane = getMessageLane(message.getId());
+        final long sequence = mMessageQueues[lane].add(message, mMessageStamp++);
+        mSubscriberIndex.dispatch(message.getId(), MessageObserver::deliver);
+
+        // 登记过期时间
+        final long key = ((long) lane << MESSAGE_KEY_LANE_SHIFT) | sequence;
+        mExpiryWheel.schedule(key, mMainScheduler.uptimeMillis() + initMessageClearTime());
+        if (mExpiryWheel.getPendingCount() > mExpiryPurgeThreshold) {
+            // 未失效的条目不超过通道容量之和，每次删除后至少再登记相同数量的消息才会再次删除，均摊O(1)
+            mExpiryWheel.purge(mStaleMessageFilter);
+        }
+        scheduleExpiryTick();
+        return key;
+    }
+
+    // 根据消息键删除重放日志中的消息
+    private boolean removeMessage(final long key) {
+        return mMessageQueues[(int) (key >>> MESSAGE_KEY_LANE_SHIFT)].remove(key & MESSAGE_KEY_SEQUENCE_MASK);
+    }
+
+    // 消息已被覆盖或移除
+    private boolean isMessageStale(final long key) {
+        return mMessageQueues[(int) (key >>> MESSAGE_KEY_LANE_SHIFT)].get(key & MESSAGE_KEY_SEQUENCE_MASK) == null;
+    }
+
+    private int getMessageLane(final int messageId) {
+        MvvmMessagePriority priority = mPriorityMap.get(messageId);
+        if (priority == null) {
+            priority = mPriorityMap.computeIfAbsent(messageId, this::prioritizeMessage);
+        }
+        return priority.ordinal();
+    }
+
+    @SuppressWarnings("unchecked")
+    private MvvmMessageRingBuffer<M>[] createMessageQueues() {
+        final MvvmMessageRingBuffer<M>[] messageQueues = new MvvmMessageRingBuffer[PRIORITIES.length];
+        for (MvvmMessagePriority priority : PRIORITIES) {
+            messageQueues[priority.ordinal()] = new MvvmMessageRingBuffer<>(initMessageQueueLength(priority));
+        }
+        return messageQueues;
+    }
+
+    private int createExpiryPurgeThreshold() {
+        int capacity = 0;
+        for (MvvmMessageRingBuffer<M> messageQueue : mMessageQueues) {
+            capacity += messageQueue.getCapacity();
+        }
+        return capacity * 2;
+    }
+
+    private int[] createMessagePendingCapacities() {
+        final int[] capacities = new int[PRIORITIES.length];
+        for (MvvmMessagePriority priority : PRIORITIES) {
+            capacities[priority.ordinal()] = initMessagePendingCapacity(priority);
+        }
+        return capacities;
+    }
+
+    // 时间轮非空且尚未安排tick时安排下一次tick，任意时刻最多只有一个待执行的tick
+    private void scheduleExpiryTick() {
+        if (!mIsExpiryTickScheduled && !mExpiryWheel.isEmpty()) {
+            mIsExpiryTickScheduled = true;
+            mMainScheduler.postDelayed(mExpiryTickRunnable, mExpiryWheel.getTickMillis());
+        }
+    }
+
+    // 批量过期到期的消息，已被覆盖的消息序号不会匹配，由登记时的阈值删除及时释放
+    private void sweepExpiredMessages() {
+        mIsExpiryTickScheduled = false;
+        final int expiredCount = mExpiryWheel.advance(mMainScheduler.uptimeMillis(), this::removeMessage);
+        onMessageExpirySweep(expiredCount);
+        scheduleExpiryTick();
+    }
+
+    /**
+     * @author soulkun
+     * @description 消息总线的主线程调度器，schedule投递排空任务，postDelayed投递过期与合并的延时任务，uptimeMillis为两者共用的时钟
+     */
+    public interface IMessageScheduler extends MvvmMessagePostDrainer.IDrainScheduler, MvvmMessageConflator.IConflationScheduler {
+        // 当前线程是否为主线程，阻塞发送时据此拒绝在主线程上调用
+        boolean isMainThread();
+    }
+
+    // 默认的主线程调度器
+    private static class MainLooperMessageScheduler implements IMessageScheduler {
+
+        private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void schedule(final @NonNull Runnable drainRunnable) {
+            mMainHandler.post(drainRunnable);
         }
 
         @Override
-        public void handleMessage(final @NonNull Message msg) {
-            final MvvmMutablePerfectLiveData liveData = (MvvmMutablePerfectLiveData) msg.obj;
-            // 删除LiveData
-            mMessageQueue.remove(liveData);
-            // 删除观察者
-            mIdToObserverMap.values().forEach(messageObserver -> liveData.removeObserver(messageObserver));
+        public long uptimeMillis() {
+            return SystemClock.uptimeMillis();
         }
 
-        public void sendMessage(MvvmMutablePerfectLiveData<M> liveData) {
-            sendMessageDelayed(Message.obtain(this, liveData.getValue().hashCode(), liveData), initMessageClearTime());
+        @Override
+        public void postDelayed(final @NonNull Runnable runnable, final long delayMillis) {
+            mMainHandler.postDelayed(runnable, delayMillis);
         }
 
+        @Override
+        public void removeCallbacks(final @NonNull Runnable runnable) {
+            mMainHandler.removeCallbacks(runnable);
+        }
+
+        @Override
+        public boolean isMainThread() {
+            return Looper.getMainLooper().isCurrentThread();
+        }
     }
 
-    private class MessageObserver implements Observer<M> {
+    private class MessageObserver implements MvvmMessageRingBuffer.IMessageFilter<M>, MvvmMessageRingBuffer.IMessageVisitor<M> {
 
         private final boolean mIsSticky;
 
+        // 订阅的消息ID，为Null则订阅全部消息
+        private final int[] mMessageIds;
+
         private final Observer<M> mObserver;
 
         private boolean mIsForever;
 
         private LifecycleOwner mLifecycleOwner;
 
-        public MessageObserver(final boolean isSticky, final Observer<M> observer) {
+        // 每条通道的读游标，即该通道下一条待推送消息的序号
+        private final long[] mCursors = new long[PRIORITIES.length];
+
+        // 正在推送的通道
+        private int mDeliveringLane;
+
+        // 是否正在推送，推送过程中重入发送的消息由当前推送循环补发，保证顺序
+        private boolean mIsDelivering;
+
+        private boolean mIsRemoved;
+
+        public MessageObserver(final boolean isSticky, final int[] messageIds, final Observer<M> observer) {
             mIsSticky = isSticky;
+            mMessageIds = messageIds == null ? null : messageIds.clone();
             mObserver = observer;
         }
 
-        @Override
-        public void onChanged(final M m) {
-            mObserver.onChanged(m);
-        }
-
         // 绑定生命周期
         private void bind(final LifecycleOwner lifecycleOwner) {
             // 设置参数
             mLifecycleOwner = lifecycleOwner;
             mIsForever = lifecycleOwner == null;
 
-            // 存储Observer
-            int id = mObserver.hashCode();
-            final MessageObserver observer = mIdToObserverMap.get(id);
-            if (observer != null) {
-                observer.unObserve();
+            // 存储Observer，同一Observer重复观察时替换之前的观察
+            final MessageObserver previous = mObserverRegistry.put(mObserver, lifecycleOwner, this);
+            if (previous != null) {
+                previous.detach();
             }
-            mIdToObserverMap.put(id, this);
-
-            // 绑定LiveData
-            if (mIsForever) {
-                final ListIterator<MvvmMutablePerfectLiveData<M>> iterator = mMessageQueue.listIterator();
-                while (iterator.hasNext()) {
-                    final MvvmMutablePerfectLiveData<M> next = iterator.next();
-                    if (iterator.hasNext()) {
-                        next.observeForever(this);
-                    } else {
-                        if (mIsSticky) {
-                            // 最近一个消息粘性观察
-                            next.observeStickyForever(this);
-                        } else {
-                            next.observeForever(this);
-                        }
-                    }
-                }
-            } else {
-                final ListIterator<MvvmMutablePerfectLiveData<M>> iterator = mMessageQueue.listIterator();
-                while (iterator.hasNext()) {
-                    final MvvmMutablePerfectLiveData<M> next = iterator.next();
-                    if (iterator.hasNext()) {
-                        next.observe(lifecycleOwner, this);
-                    } else {
-                        if (mIsSticky) {
-                            // 最近一个消息粘性观察
-                            next.observeSticky(lifecycleOwner, this);
-                        } else {
-                            next.observe(lifecycleOwner, this);
-                        }
+            mSubscriberIndex.add(mMessageIds, this);
+
+            // 非粘性观察只读取新消息
+            int latestLane = -1;
+            long latestSequence = -1;
+            long latestStamp = -1;
+            for (int lane = 0; lane < mMessageQueues.length; lane++) {
+                final MvvmMessageRingBuffer<M> messageQueue = mMessageQueues[lane];
+                mCursors[lane] = messageQueue.getNextSequence();
+                if (mIsSticky) {
+                    // 粘性观察查找所有通道中最近一个订阅的消息
+                    final long sequence = messageQueue.findLatestSequence(this);
+                    final long stamp = messageQueue.getStamp(sequence);
+                    if (stamp > latestStamp) {
+                        latestLane = lane;
+                        latestSequence = sequence;
+                        latestStamp = stamp;
                     }
                 }
             }
+            // 粘性观察从最近一个订阅的消息开始读取
+            if (latestLane >= 0) {
+                mCursors[latestLane] = latestSequence;
+            }
+            deliver();
         }
 
-        // 解绑LiveData
-        private void unObserve() {
-            final int id = mObserver.hashCode();
-            mMessageQueue.forEach(liveData -> liveData.removeObserver(this));
-            mIdToObserverMap.remove(id);
+        // 从消息索引中解绑，登记表由调用方删除
+        private void detach() {
+            mSubscriberIndex.remove(mMessageIds, this);
+            mIsRemoved = true;
+            onObserverRemoved(mObserver);
         }
 
-        // 处理消息，无论Observer是否粘性都当作粘性处理
-        private void handleMessage(MvvmPerfectLiveData<M> message) {
-            if (mIsForever) {
-                message.observeStickyForever(this);
-            } else {
-                message.observeSticky(mLifecycleOwner, this);
+        // 按优先级从高到低推送各通道游标之后的消息，生命周期非活跃时暂不推送
+        // 推送过程中重入发送的消息可能位于任意通道，因此循环直至所有通道均无新消息
+        private void deliver() {
+            if (mIsDelivering || !isActive()) {
+                return;
+            }
+            mIsDelivering = true;
+            try {
+                boolean isProgressed = true;
+                while (isProgressed && isActive()) {
+                    isProgressed = false;
+                    for (int lane = 0; lane < mMessageQueues.length && isActive(); lane++) {
+                        final MvvmMessageRingBuffer<M> messageQueue = mMessageQueues[lane];
+                        if (mCursors[lane] < messageQueue.getNextSequence()) {
+                            mDeliveringLane = lane;
+                            mCursors[lane] = messageQueue.deliver(mCursors[lane], this, this);
+                            isProgressed = true;
+                        }
+                    }
+                }
+            } finally {
+                mIsDelivering = false;
             }
         }
 
-    }
-
-    /**
-     * @author soulkun
-     * @time 2022/8/22 17:58
-     * @description 固定长度的List数据结构类，当List达到最大长度时新增数据会将List中的第一个数据删除，并执行删除回调
-     */
-    private class MvvmFixedLengthList<E> extends LinkedList<E> {
-
-        private final int maxLength;
-
-        private final IFixedLengthListCallback<E> iFixedLengthListCallback;
-
-        public MvvmFixedLengthList(final int maxLength, final IFixedLengthListCallback<E> iFixedLengthListCallback) {
-            this.maxLength = maxLength;
-            this.iFixedLengthListCallback = iFixedLengthListCallback;
+        // 与LiveData保持一致，至少STARTED状态才视为活跃
+        private boolean isActive() {
+            return !mIsRemoved && (mIsForever || mLifecycleOwner.getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.STARTED));
         }
 
+        // 判断消息是否被订阅
         @Override
-        public boolean add(E e) {
-            if (size() + 1 > maxLength) {
-                final E removeElement = super.removeFirst();
-                if (iFixedLengthListCallback != null) {
-                    iFixedLengthListCallback.onRemoveFirst(removeElement);
+        public boolean accept(final M message) {
+            if (mMessageIds == null) {
+                return true;
+            }
+            final int messageId = message.getId();
+            for (int id : mMessageIds) {
+                if (id == messageId) {
+                    return true;
                 }
             }
-            return super.add(e);
+            return false;
         }
 
-    }
+        @Override
+        public boolean visit(final M message, final long nextCursor) {
+            mCursors[mDeliveringLane] = nextCursor;
+            mObserver.onChanged(message);
+            // 回调中解除观察或生命周期变为非活跃则停止推送
+            return isActive();
+        }
 
-    private interface IFixedLengthListCallback<E>{
-        void onRemoveFirst(E t);
     }
 
 }
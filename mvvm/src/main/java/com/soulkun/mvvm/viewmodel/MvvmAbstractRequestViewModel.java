@@ -1,42 +1,127 @@
 package com.soulkun.mvvm.viewmodel;
 
+import android.os.Handler;
+import android.os.Looper;
+
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.lifecycle.Lifecycle;
 import androidx.lifecycle.LifecycleEventObserver;
 import androidx.lifecycle.LifecycleOwner;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
+import com.soulkun.mvvm.cache.IMvvmRequestCache;
+import com.soulkun.mvvm.cache.MvvmRequestWriteAheadLog;
 import com.soulkun.mvvm.enums.MvvmLifecycleCouple;
+import com.soulkun.mvvm.enums.MvvmRequestCancelReason;
+import com.soulkun.mvvm.enums.MvvmRequestOverflowPolicy;
+import com.soulkun.mvvm.enums.MvvmRequestPausePolicy;
+import com.soulkun.mvvm.enums.MvvmRequestLane;
+import com.soulkun.mvvm.enums.MvvmRequestPriority;
+import com.soulkun.mvvm.enums.MvvmRequestTraceStage;
 import com.soulkun.mvvm.model.MvvmRequest;
+import com.soulkun.mvvm.model.MvvmRequestStream;
 
-import java.lang.ref.SoftReference;
+import java.io.IOException;
 import java.lang.ref.WeakReference;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.ListIterator;
-import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * @author soulkun
  * @time 2022/8/19 9:36
  * @description Mvvm框架实现Request数据请求模块，自动实现生命周期内开启和关闭、中断数据请求
  * 使用步骤：
- * 1.从容器中获取对应的ViewModel，此时线程池生命周期自动绑定容器生命周期，容器销毁时线程池自动销毁，简化操作
+ * 1.从容器中获取对应的ViewModel，任务提交至进程共享的{@link MvvmRequestScheduler}，每个执行生命周期对应一个任务作用域，生命周期结束时只取消本ViewModel的任务
  * 2.请求方法全部返回LiveData<MvvmRequest<T>>类型，并在方法中使用execute(MvvmAbstractRequestTask<T> task)方法执行任务
  * 3.使用时，调用{@link #bindTaskLifecycle)}方法绑定执行任务的生命周期，再发起数据请求，在执行任务的生命周期内执行任务，否则不执行或执行取消回调
  *
  * 注意，ViewModel存放的容器生命周期和其待执行任务的生命周期可能存在不同生命周期的问题（如此设计是为了允许执行非任务生命周期中断任务或等待其重新达到任务生命周期后再执行任务的目的），需要业务人员根据需求绑定
  * {@link MvvmAbstractRequestTask#checkCancel()}方法允许重新检查当前中断状态达到中断效果
+ * 生命周期变为非活跃时的处理方式由{@link #initRequestPausePolicy()}决定，默认取消全部任务
+ * 任务声明请求键{@link MvvmAbstractRequestTask#getRequestKey()}后，同一请求键的任务共享一次执行，所有任务的LiveData均收到同一结果
+ * 重写{@link #initRequestCache()}并由任务声明缓存键{@link MvvmAbstractRequestTask#getCacheKey()}后，先推送来源为LOCAL的缓存结果，再执行请求推送最新结果
+ * 非执行生命周期内提交的任务进入有界的待执行队列，容量和溢出策略由{@link #initRequestPendingCapacity()}和{@link #initRequestOverflowPolicy()}决定，被丢弃的任务回调取消
+ * 每个执行中的任务持有{@link MvvmCancellationToken}，生命周期结束或超过{@link MvvmAbstractRequestTask#getTimeoutMillis()}时取消令牌并回调取消，
+ * 任务可通过{@link MvvmAbstractRequestTask#getRetryPolicy()}声明重试与对冲策略
+ * 存在依赖关系的多个请求使用{@link MvvmRequestPipeline}组合后通过{@link MvvmRequestPipelineTask}执行，中间结果不经过主线程，只推送最终结果
+ * 分页或分块的结果使用{@link MvvmAbstractStreamingRequestTask}边解析边推送分片，观察者使用{@link MvvmRequestStream.ChunkObserver}按序处理
+ * 请求结果默认经由无损结果通道推送：结果按完成顺序入队，由单个主线程排空任务批量setValue()，不会像postValue()一样只保留最后一个值，
+ * 同一批次的多个结果只占用一条主线程消息，可通过{@link #initRequestResultScheduler()}返回Null恢复postValue()推送
+ * 重写{@link #initRequestTracer()}启用请求追踪，记录每个任务的排队、执行和推送耗时
+ * 重写{@link #initRequestWriteAheadLog()}后，{@link MvvmAbstractDurableRequestTask}在提交时写入预写日志，执行成功或得到终态结果后提交，
+ * 进程被杀死时未完成的请求在下次生命周期活跃时通过{@link #restoreRequest}还原并以原幂等键重放；日志的打开、恢复与追加均在IO通道上按提交顺序串行执行
  */
 public abstract class MvvmAbstractRequestViewModel extends ViewModel implements LifecycleEventObserver {
 
-    private ThreadPoolExecutor mRequestThreadPoolExecutor;
+    // 生命周期变为活跃时每批提交的待执行任务数量
+    private final static int PENDING_DRAIN_BATCH_SIZE = 16;
+
+    // 单次排空请求结果的最大耗时（毫秒），超出后剩余结果留待下一次主线程排空
+    private final static long RESULT_DRAIN_BUDGET_TIME = 4L;
+
+    // 共享的请求调度器
+    private final MvvmRequestScheduler mRequestScheduler = initRequestScheduler();
+
+    // 当前执行生命周期的任务作用域，为Null则不在执行生命周期内
+    private volatile MvvmRequestScheduler.Scope mRequestScope;
+
+    // 任务作用域暂停期间完成的请求结果，恢复后再推送
+    private final List<Runnable> mDeferredResultList = new ArrayList<>();
+    private boolean mIsRequestPaused = false;
+
+    // 无损结果通道，为Null则使用postValue()推送
+    private final MvvmMessagePostDrainer<RequestResult<?>> mResultDrainer = createResultDrainer();
+
+    // 请求追踪器，为Null则不追踪
+    private final MvvmRequestTracer mRequestTracer = initRequestTracer();
 
-    // 使用软引用保证任务太久不执行的可释放性
-    private final List<SoftReference<MvvmAbstractRequestTask>> mRequestTaskList = new LinkedList<>();
+    // 请求结果缓存，为Null则不缓存
+    private final IMvvmRequestCache mRequestCache = initRequestCache();
+
+    // 变更类请求的预写日志，在日志通道上首次使用时打开，为Null则不持久化
+    private volatile MvvmRequestWriteAheadLog mRequestLog;
+    // 日志是否已打开，由mRequestLogLock保护
+    private final Object mRequestLogLock = new Object();
+    private boolean mIsRequestLogOpened = false;
+    // 日志通道，日志的打开、恢复与追加在IO通道上按提交顺序串行执行，不随生命周期取消，避免在主线程上读写文件
+    private final MvvmRequestScheduler.Scope mRequestLogScope = mRequestScheduler.newScope();
+    private final MvvmMessagePostDrainer<Runnable> mRequestLogDrainer = new MvvmMessagePostDrainer<>(
+            drainRunnable -> mRequestLogScope.execute(drainRunnable, MvvmRequestLane.IO, MvvmRequestPriority.HIGH),
+            Runnable::run, Integer.MAX_VALUE, Long.MAX_VALUE);
+    private final AtomicBoolean mIsRequestLogReplayed = new AtomicBoolean(false);
+    private final AtomicLong mReplayedRequestCount = new AtomicLong(0);
+
+    // 请求键到执行中请求的映射，同一请求键的后续任务附加至执行中的请求
+    private final Map<Object, InFlightRequest> mInFlightRequestMap = new ConcurrentHashMap<>();
+    private final AtomicLong mExecutedRequestCount = new AtomicLong(0);
+    private final AtomicLong mCoalescedRequestCount = new AtomicLong(0);
+
+    // 执行中的任务，生命周期结束时取消其令牌
+    private final Set<MvvmAbstractRequestTask<?>> mRunningTaskSet = ConcurrentHashMap.newKeySet();
+
+    // 超时、重试与取消统计
+    private final AtomicLong mTimedOutRequestCount = new AtomicLong(0);
+    private final AtomicLong mTimedOutAttemptCount = new AtomicLong(0);
+    private final AtomicLong mRetriedAttemptCount = new AtomicLong(0);
+    private final AtomicLong mHedgedAttemptCount = new AtomicLong(0);
+    private final AtomicLong mCancelledRequestCount = new AtomicLong(0);
+
+    // 非执行生命周期内提交的待执行任务，强引用直至执行、被丢弃或取消，被丢弃的任务回调取消
+    private final MvvmRequestPendingQueue<MvvmAbstractRequestTask<?>> mPendingRequestQueue = new MvvmRequestPendingQueue<>(
+            initRequestPendingCapacity(), initRequestOverflowPolicy(),
+            task -> task.getCacheKey() != null ? task.getCacheKey() : task.getRequestKey(), this::cancelRequest);
 
     // 待执行任务逻辑的执行生命周期，非生命周期则不予执行
     private WeakReference<Lifecycle> mLifecycleWeakRef;
@@ -63,14 +148,11 @@ public abstract class MvvmAbstractRequestViewModel extends ViewModel implements
         }
     }
 
-    // 解绑执行任务的生命周期并关闭线程池
+    // 解绑执行任务的生命周期并取消任务作用域
     public void unbindTaskLifecycleInAdvance() {
         if (mLifecycleWeakRef != null && mLifecycleWeakRef.get() != null) {
             mLifecycleWeakRef.get().removeObserver(this);
-            if (mRequestThreadPoolExecutor != null) {
-                mRequestThreadPoolExecutor.shutdownNow();
-                mRequestThreadPoolExecutor = null;
-            }
+            cancelRequestScope();
             mLifecycleCouple = null;
             mLifecycleWeakRef = null;
         }
@@ -79,42 +161,39 @@ public abstract class MvvmAbstractRequestViewModel extends ViewModel implements
     /**
      * @author soulkun
      * @time 2022/10/19 19:10
-     * @description 监听Request绑定的生命周期，绑定的生命周期开始时开始执行待执行任务或直接执行，结束后立即销毁线程池
+     * @description 监听Request绑定的生命周期，绑定的生命周期开始时开始执行待执行任务或直接执行，结束后按暂停策略暂停或取消任务作用域
+     * 无论绑定何种生命周期，ON_DESTROY始终取消任务作用域，暂停的作用域及其延迟推送的结果不会留给重新绑定的生命周期
      */
     @Override
     public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
         if (mLifecycleCouple == null) {
             throw new RuntimeException("非法使用生命周期！");
         }
+        if (event == Lifecycle.Event.ON_DESTROY) {
+            cancelRequestScope();
+            return;
+        }
 
         switch (mLifecycleCouple) {
             case CREATE_DESTROY: {
                 if (event == Lifecycle.Event.ON_CREATE) {
-                    mRequestThreadPoolExecutor = initRequestThreadPoolExecutor();
-                    executeRequestTaskList();
-                } else if (event == Lifecycle.Event.ON_DESTROY) {
-                    mRequestThreadPoolExecutor.shutdownNow();
-                    mRequestThreadPoolExecutor = null;
+                    startRequestScope();
                 }
             }
             break;
             case START_STOP: {
                 if (event == Lifecycle.Event.ON_START) {
-                    mRequestThreadPoolExecutor = initRequestThreadPoolExecutor();
-                    executeRequestTaskList();
+                    startRequestScope();
                 } else if (event == Lifecycle.Event.ON_STOP) {
-                    mRequestThreadPoolExecutor.shutdownNow();
-                    mRequestThreadPoolExecutor = null;
+                    pauseRequestScope();
                 }
             }
             break;
             case RESUME_PAUSE: {
                 if (event == Lifecycle.Event.ON_RESUME) {
-                    mRequestThreadPoolExecutor = initRequestThreadPoolExecutor();
-                    executeRequestTaskList();
+                    startRequestScope();
                 } else if (event == Lifecycle.Event.ON_PAUSE) {
-                    mRequestThreadPoolExecutor.shutdownNow();
-                    mRequestThreadPoolExecutor = null;
+                    pauseRequestScope();
                 }
             }
             break;
@@ -123,7 +202,11 @@ public abstract class MvvmAbstractRequestViewModel extends ViewModel implements
 
     @Override
     protected void onCleared() {
-        mRequestTaskList.clear();
+        cancelRequestScope();
+        for (MvvmAbstractRequestTask<?> task : mPendingRequestQueue.clear()) {
+            cancelRequest(task);
+        }
+        mInFlightRequestMap.clear();
 
         super.onCleared();
     }
@@ -131,42 +214,733 @@ public abstract class MvvmAbstractRequestViewModel extends ViewModel implements
     /**
      * @author soulkun
      * @time 2022/10/7 9:12
-     * @description 内部线程池自动执行任务，到绑定生命周期时允许执行否则存储至List中等待
+     * @description 共享调度器自动执行任务，到绑定生命周期时允许执行否则进入待执行队列等待
      */
     protected <T> void execute(MvvmAbstractRequestTask<T> task) {
-        if (mRequestThreadPoolExecutor != null && !mRequestThreadPoolExecutor.isShutdown()) {
-            mRequestThreadPoolExecutor.execute(task);
+        if (coalesceRequest(task)) {
+            return;
+        }
+        writeAheadRequest(task);
+        if (mRequestTracer != null) {
+            task.mSubmitNanos = System.nanoTime();
+        }
+        final MvvmRequestScheduler.Scope requestScope = mRequestScope;
+        if (requestScope == null || !requestScope.execute(task, task.getLane(), task.getPriority())) {
+            if (mPendingRequestQueue.offer(task) && mRequestScope != null) {
+                // 入队期间生命周期恰好变为活跃，立即提交
+                executePendingRequestQueue();
+            }
+        }
+    }
+
+    // 实际执行doRequest()的请求数量
+    public long getExecutedRequestCount() {
+        return mExecutedRequestCount.get();
+    }
+
+    // 附加至执行中请求而未重复执行的请求数量
+    public long getCoalescedRequestCount() {
+        return mCoalescedRequestCount.get();
+    }
+
+    // 超过截止时间被取消的任务数量
+    public long getTimedOutRequestCount() {
+        return mTimedOutRequestCount.get();
+    }
+
+    // 超过单次尝试超时时间的尝试数量
+    public long getTimedOutAttemptCount() {
+        return mTimedOutAttemptCount.get();
+    }
+
+    // 重试的尝试数量，不含首次尝试
+    public long getRetriedAttemptCount() {
+        return mRetriedAttemptCount.get();
+    }
+
+    // 发起的对冲尝试数量
+    public long getHedgedAttemptCount() {
+        return mHedgedAttemptCount.get();
+    }
+
+    // 回调取消的任务数量，包括附加的任务和被丢弃的待执行任务
+    public long getCancelledRequestCount() {
+        return mCancelledRequestCount.get();
+    }
+
+    @Nullable
+    public MvvmRequestTracer getRequestTracer() {
+        return mRequestTracer;
+    }
+
+    // 无损结果通道中等待主线程推送的结果数量
+    public int getPendingResultCount() {
+        return mResultDrainer != null ? mResultDrainer.getQueueDepth() : 0;
+    }
+
+    // 无损结果通道的排空次数，即推送结果占用的主线程消息数量
+    public long getResultDrainCount() {
+        return mResultDrainer != null ? mResultDrainer.getDrainCount() : 0;
+    }
+
+    // 从预写日志还原并重放的请求数量
+    public long getReplayedRequestCount() {
+        return mReplayedRequestCount.get();
+    }
+
+    // 待执行队列中的任务数量
+    public int getPendingRequestCount() {
+        return mPendingRequestQueue.size();
+    }
+
+    // 因待执行队列已满被丢弃、拒绝或替代的任务数量
+    public long getOverflowRequestCount() {
+        return mPendingRequestQueue.getDroppedCount() + mPendingRequestQueue.getRejectedCount() + mPendingRequestQueue.getCoalescedCount();
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:23
+     * @description 初始化请求调度器，默认使用进程共享的调度器，注意，在构造方法中调用
+     * 执行后端可通过{@link MvvmRequestScheduler#setDefaultBackendFactory}全局替换，或在此返回使用指定后端的调度器，
+     * 如JVM单元测试中返回new MvvmRequestScheduler(MvvmVirtualThreadRequestExecutorBackend.FACTORY)，注意每个调度器各自持有线程
+     */
+    @NonNull
+    protected MvvmRequestScheduler initRequestScheduler() {
+        return MvvmRequestScheduler.getDefault();
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:47
+     * @description 初始化无损结果通道的排空调度器，默认为主线程Handler的post，任意时刻最多只有一条待执行的排空消息，注意，在构造方法中调用
+     * 返回Null则直接使用postValue()推送，连续推送的多个结果只有最后一个会被分发
+     */
+    @Nullable
+    protected MvvmMessagePostDrainer.IDrainScheduler initRequestResultScheduler() {
+        return new Handler(Looper.getMainLooper())::post;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:51
+     * @description 初始化请求追踪器，默认为Null不追踪，可返回进程共享的{@link MvvmRequestTracer}汇总多个ViewModel的数据，注意，在构造方法中调用
+     * 推送耗时只在启用无损结果通道时记录，使用postValue()推送时无法得知观察者收到结果的时间
+     */
+    @Nullable
+    protected MvvmRequestTracer initRequestTracer() {
+        return null;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:56
+     * @description 初始化变更类请求的预写日志，默认为Null不持久化，在IO线程上首次需要读写日志时调用一次，打开日志会读取并截断日志文件
+     * 日志文件记录的请求由本ViewModel还原，不同类型的ViewModel应使用不同的日志文件，日志由调用方负责关闭
+     */
+    @Nullable
+    protected MvvmRequestWriteAheadLog initRequestWriteAheadLog() {
+        return null;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:56
+     * @description 按预写日志中的请求类型和参数还原请求任务，还原的任务必须使用带幂等键的构造方法，默认返回Null，
+     * 返回Null的请求视为已废弃并直接提交；在首次开始任务作用域后于IO线程上按日志顺序调用
+     */
+    @Nullable
+    protected MvvmAbstractDurableRequestTask<?> restoreRequest(@NonNull MvvmRequestWriteAheadLog.Entry entry) {
+        return null;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:29
+     * @description 初始化请求结果缓存，默认为Null不缓存，可返回进程共享的{@link com.soulkun.mvvm.cache.MvvmMemoryRequestCache}
+     * 或{@link com.soulkun.mvvm.cache.MvvmTieredRequestCache}，注意，在构造方法中调用
+     */
+    @Nullable
+    protected IMvvmRequestCache initRequestCache() {
+        return null;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:31
+     * @description 初始化待执行队列容量，默认64，注意，在构造方法中调用
+     */
+    protected int initRequestPendingCapacity() {
+        return 64;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:31
+     * @description 初始化待执行队列已满时的溢出策略，默认丢弃最早的任务，注意，在构造方法中调用
+     */
+    @NonNull
+    protected MvvmRequestOverflowPolicy initRequestOverflowPolicy() {
+        return MvvmRequestOverflowPolicy.DROP_OLDEST;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:25
+     * @description 初始化生命周期变为非活跃（ON_STOP或ON_PAUSE）时的暂停策略，默认取消全部任务
+     * 频繁弹出对话框、权限请求的页面可使用{@link MvvmRequestPausePolicy#SUSPEND_AND_FINISH}，避免中断执行中的请求
+     */
+    @NonNull
+    protected MvvmRequestPausePolicy initRequestPausePolicy() {
+        return MvvmRequestPausePolicy.CANCEL;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:25
+     * @description 开始任务作用域，作用域处于暂停时恢复作用域并推送暂停期间完成的结果，否则新建作用域
+     */
+    private void startRequestScope() {
+        final MvvmRequestScheduler.Scope requestScope = mRequestScope;
+        if (requestScope != null && requestScope.isPaused()) {
+            requestScope.resume();
+            final List<Runnable> deferredResultList;
+            synchronized (mDeferredResultList) {
+                mIsRequestPaused = false;
+                deferredResultList = new ArrayList<>(mDeferredResultList);
+                mDeferredResultList.clear();
+            }
+            for (Runnable deferredResult : deferredResultList) {
+                deferredResult.run();
+            }
         } else {
-            synchronized (mRequestTaskList) {
-                mRequestTaskList.add(new SoftReference<>(task));
+            mRequestScope = mRequestScheduler.newScope();
+            replayRequestLog();
+        }
+        executePendingRequestQueue();
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:56
+     * @description 重放上次进程未完成的请求，只在首次开始任务作用域时执行一次
+     */
+    private void replayRequestLog() {
+        if (!mIsRequestLogReplayed.compareAndSet(false, true)) {
+            return;
+        }
+        mRequestLogDrainer.post(() -> {
+            final MvvmRequestWriteAheadLog requestLog = openRequestLog();
+            if (requestLog == null) {
+                return;
+            }
+            for (MvvmRequestWriteAheadLog.Entry entry : requestLog.drainRecoveredEntries()) {
+                final MvvmAbstractDurableRequestTask<?> task = restoreRequest(entry);
+                if (task == null) {
+                    commitRequestLog(entry.getIdempotencyKey());
+                    continue;
+                }
+                if (!task.getIdempotencyKey().equals(entry.getIdempotencyKey())) {
+                    throw new RuntimeException("还原的请求任务必须沿用日志中的幂等键，请检查代码！");
+                }
+                mReplayedRequestCount.incrementAndGet();
+                execute(task);
+            }
+        });
+    }
+
+    // 首次使用时打开预写日志，在日志通道或认领了追加的工作线程上调用
+    @Nullable
+    private MvvmRequestWriteAheadLog openRequestLog() {
+        synchronized (mRequestLogLock) {
+            if (!mIsRequestLogOpened) {
+                mIsRequestLogOpened = true;
+                mRequestLog = initRequestWriteAheadLog();
+            }
+            return mRequestLog;
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:56
+     * @description 提交时在日志通道上将变更类请求追加至预写日志，不等待落盘，同一幂等键只追加一次
+     */
+    private void writeAheadRequest(final MvvmAbstractRequestTask<?> task) {
+        if (!(task instanceof MvvmAbstractDurableRequestTask)) {
+            return;
+        }
+        final MvvmAbstractDurableRequestTask<?> durableTask = (MvvmAbstractDurableRequestTask<?>) task;
+        mRequestLogDrainer.post(() -> appendRequestLog(durableTask));
+    }
+
+    // 追加日志，日志通道与执行请求的工作线程先认领者追加，另一方跳过
+    private void appendRequestLog(final MvvmAbstractDurableRequestTask<?> durableTask) {
+        if (!durableTask.mIsLogClaimed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            final MvvmRequestWriteAheadLog requestLog = openRequestLog();
+            if (requestLog != null) {
+                durableTask.mLogSequence = requestLog.append(new MvvmRequestWriteAheadLog.Entry(durableTask.getIdempotencyKey(),
+                        durableTask.getOperation(), durableTask.encodeOperation()));
+            }
+        } catch (IOException e) {
+            durableTask.mLogException = e;
+        } finally {
+            durableTask.mLogAppended.countDown();
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 1:36
+     * @description 执行请求前等待日志追加并落盘，保证请求产生副作用前已持久化；追加或落盘失败时抛出异常，请求不会执行，
+     * 日志中的记录未提交，下次启动时仍会重放
+     */
+    private void syncRequestLog(final MvvmAbstractRequestTask<?> task) throws InterruptedException, IOException {
+        if (!(task instanceof MvvmAbstractDurableRequestTask)) {
+            return;
+        }
+        final MvvmAbstractDurableRequestTask<?> durableTask = (MvvmAbstractDurableRequestTask<?>) task;
+        // 日志通道尚未追加时由工作线程直接追加，避免工作线程都在等待排在其后的日志通道
+        appendRequestLog(durableTask);
+        durableTask.mLogAppended.await();
+        if (durableTask.mLogException != null) {
+            throw durableTask.mLogException;
+        }
+        final MvvmRequestWriteAheadLog requestLog = mRequestLog;
+        if (requestLog != null) {
+            requestLog.sync(durableTask.mLogSequence);
+        }
+    }
+
+    // 请求结果为终态时提交日志
+    private <T> void commitDurableRequest(final MvvmAbstractDurableRequestTask<T> task, final MvvmRequest<T> request) {
+        if (task.isCommittable(request)) {
+            commitRequestLog(task.getIdempotencyKey());
+        }
+    }
+
+    private void commitRequestLog(final String idempotencyKey) {
+        final MvvmRequestWriteAheadLog requestLog = mRequestLog;
+        if (requestLog == null) {
+            return;
+        }
+        try {
+            requestLog.commit(idempotencyKey);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:25
+     * @description 按暂停策略暂停任务作用域，暂停期间提交的任务进入作用域但不会开始执行
+     */
+    private void pauseRequestScope() {
+        final MvvmRequestPausePolicy pausePolicy = initRequestPausePolicy();
+        final MvvmRequestScheduler.Scope requestScope = mRequestScope;
+        if (requestScope == null || pausePolicy == MvvmRequestPausePolicy.CANCEL) {
+            cancelRequestScope();
+            return;
+        }
+        synchronized (mDeferredResultList) {
+            mIsRequestPaused = true;
+        }
+        requestScope.pause();
+        if (pausePolicy == MvvmRequestPausePolicy.SUSPEND) {
+            cancelRunningRequests();
+            requestScope.interruptRunning();
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:23
+     * @description 取消当前任务作用域，中断执行中的任务，尚未开始执行的任务直接回调取消
+     */
+    private void cancelRequestScope() {
+        final MvvmRequestScheduler.Scope requestScope = mRequestScope;
+        mRequestScope = null;
+        synchronized (mDeferredResultList) {
+            mIsRequestPaused = false;
+            mDeferredResultList.clear();
+        }
+        cancelRunningRequests();
+        if (requestScope != null) {
+            for (Runnable runnable : requestScope.cancelAll()) {
+                // 对冲尝试不是独立的任务，由发起的任务处理取消
+                if (!(runnable instanceof MvvmAbstractRequestTask)) {
+                    continue;
+                }
+                final MvvmAbstractRequestTask<?> task = (MvvmAbstractRequestTask<?>) runnable;
+                if (task.mAttempt > 0) {
+                    // 退避后重新提交的任务，令牌已由上方取消，执行时只走取消流程并释放定时器
+                    task.run();
+                } else {
+                    cancelRequest(task);
+                }
+            }
+        }
+    }
+
+    // 以生命周期原因取消全部执行中任务的令牌
+    private void cancelRunningRequests() {
+        for (MvvmAbstractRequestTask<?> task : mRunningTaskSet) {
+            final MvvmCancellationToken cancellationToken = task.mCancellationToken;
+            if (cancellationToken != null) {
+                cancellationToken.cancel(MvvmRequestCancelReason.LIFECYCLE);
+            }
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:27
+     * @description 同一请求键已有执行中的请求时附加至该请求并返回true，否则登记为该请求键的执行任务并返回false
+     */
+    private boolean coalesceRequest(final MvvmAbstractRequestTask<?> task) {
+        final Object requestKey = task.getRequestKey();
+        if (requestKey == null) {
+            return false;
+        }
+        while (true) {
+            final InFlightRequest inFlightRequest = new InFlightRequest(requestKey, task);
+            final InFlightRequest existing = mInFlightRequestMap.putIfAbsent(requestKey, inFlightRequest);
+            if (existing == null) {
+                task.mInFlightRequest = inFlightRequest;
+                return false;
+            }
+            if (existing.attach(task)) {
+                mCoalescedRequestCount.incrementAndGet();
+                return true;
+            }
+            // 执行中的请求恰好结束，移除后重试
+            mInFlightRequestMap.remove(requestKey, existing);
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:27
+     * @description 结束任务登记的执行中请求，返回附加的任务，重复调用返回空列表
+     */
+    private List<MvvmAbstractRequestTask<?>> releaseRequest(final MvvmAbstractRequestTask<?> task) {
+        final InFlightRequest inFlightRequest = task.mInFlightRequest;
+        if (inFlightRequest == null) {
+            return Collections.emptyList();
+        }
+        task.mInFlightRequest = null;
+        mInFlightRequestMap.remove(inFlightRequest.mRequestKey, inFlightRequest);
+        return inFlightRequest.release();
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:29
+     * @description 推送缓存结果至任务及当前附加的任务，结果来源统一为LOCAL，在请求线程上调用
+     */
+    @SuppressWarnings("unchecked")
+    private <T> void emitCachedRequest(final MvvmAbstractRequestTask<T> task) {
+        final String cacheKey = task.getCacheKey();
+        if (mRequestCache == null || cacheKey == null) {
+            return;
+        }
+        final MvvmRequest<?> cachedRequest = mRequestCache.get(cacheKey);
+        if (cachedRequest == null) {
+            return;
+        }
+        final MvvmRequest.Status status = cachedRequest.getStatus();
+        final MvvmRequest<T> localRequest = new MvvmRequest<>(status == null ? new MvvmRequest.Status(MvvmRequest.Source.LOCAL)
+                : new MvvmRequest.Status(status.getCode(), status.isSuccess(), MvvmRequest.Source.LOCAL), (T) cachedRequest.getResponse());
+        publishRequest(task, localRequest);
+    }
+
+    // 推送中间结果至任务及当前附加的任务，不结束执行中的请求
+    @SuppressWarnings("unchecked")
+    private <T> void publishRequest(final MvvmAbstractRequestTask<T> task, final MvvmRequest<T> request) {
+        deliverRequest(task, request);
+        final InFlightRequest inFlightRequest = task.mInFlightRequest;
+        if (inFlightRequest != null) {
+            for (MvvmAbstractRequestTask<?> follower : inFlightRequest.getFollowers()) {
+                deliverRequest((MvvmAbstractRequestTask<T>) follower, request);
+            }
+        }
+    }
+
+    // 推送请求结果至任务及附加的任务，成功的结果写入缓存
+    @SuppressWarnings("unchecked")
+    private <T> void completeRequest(final MvvmAbstractRequestTask<T> task, final MvvmRequest<T> request) {
+        final String cacheKey = task.getCacheKey();
+        if (mRequestCache != null && cacheKey != null && request.isSuccess()) {
+            mRequestCache.put(cacheKey, request);
+        }
+        deliverRequest(task, request);
+        for (MvvmAbstractRequestTask<?> follower : releaseRequest(task)) {
+            deliverRequest((MvvmAbstractRequestTask<T>) follower, request);
+        }
+    }
+
+    // 取消任务及附加的任务
+    private void cancelRequest(final MvvmAbstractRequestTask<?> task) {
+        mCancelledRequestCount.incrementAndGet();
+        task.doCancel();
+        for (MvvmAbstractRequestTask<?> follower : releaseRequest(task)) {
+            mCancelledRequestCount.incrementAndGet();
+            follower.doCancel();
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:35
+     * @description 按重试策略执行请求，失败或单次尝试超时后退避重试，返回成功的结果或最后一次尝试的结果，
+     * 最后一次尝试超时则以超时原因取消任务令牌；需要退避时记录退避时间并返回Null，由任务结束本次执行后定时重新提交，退避期间不占用线程
+     */
+    @Nullable
+    private <T> MvvmRequest<T> executeAttempts(final MvvmAbstractRequestTask<T> task, final MvvmCancellationToken cancellationToken) throws InterruptedException {
+        final MvvmRequestRetryPolicy retryPolicy = task.getRetryPolicy();
+        for (int attempt = task.mAttempt; ; attempt++) {
+            cancellationToken.throwIfCancelled();
+            final RequestAttempt<T> requestAttempt = attempt == 1 && retryPolicy.isHedged()
+                    ? executeHedgedAttempt(task, cancellationToken, retryPolicy)
+                    : executeAttempt(task, cancellationToken.newChild(0), retryPolicy.getAttemptTimeoutMillis());
+            if (requestAttempt.isSuccess()) {
+                return requestAttempt.mRequest;
+            }
+            if (attempt >= retryPolicy.getMaxAttempts()) {
+                if (requestAttempt.mException != null) {
+                    throw requestAttempt.mException;
+                }
+                if (requestAttempt.mRequest != null) {
+                    return requestAttempt.mRequest;
+                }
+                cancellationToken.cancel(MvvmRequestCancelReason.TIMEOUT);
+                throw new InterruptedException("请求尝试全部超时！");
+            }
+            final long backoffMillis = Math.min(retryPolicy.getBackoffMillis(attempt), cancellationToken.getRemainingMillis());
+            mRetriedAttemptCount.incrementAndGet();
+            if (backoffMillis > 0) {
+                task.mAttempt = attempt + 1;
+                task.mBackoffMillis = backoffMillis;
+                return null;
+            }
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 1:31
+     * @description 退避结束后将任务重新提交至当前任务作用域，从下一次尝试继续执行；退避期间令牌被取消或作用域不可用时立即在当前线程上结束任务，
+     * 此时令牌已取消，任务不会再发起请求，只走取消流程
+     */
+    private void scheduleRetry(final MvvmAbstractRequestTask<?> task, final MvvmCancellationToken cancellationToken) {
+        final AtomicBoolean isResumed = new AtomicBoolean(false);
+        final Runnable resumeRunnable = () -> {
+            if (!isResumed.compareAndSet(false, true)) {
+                return;
+            }
+            final MvvmRequestScheduler.Scope requestScope = mRequestScope;
+            if (cancellationToken.isCancelled() || requestScope == null
+                    || !requestScope.execute(task, task.getLane(), task.getPriority())) {
+                cancellationToken.cancel(MvvmRequestCancelReason.LIFECYCLE);
+                task.run();
+            }
+        };
+        final ScheduledFuture<?> retryFuture = mRequestScheduler.schedule(resumeRunnable, task.mBackoffMillis);
+        cancellationToken.onCancel(() -> {
+            retryFuture.cancel(false);
+            resumeRunnable.run();
+        });
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:35
+     * @description 在当前线程上执行一次尝试，尝试超时视为失败并清除超时造成的中断，其他取消原因抛出中断异常
+     */
+    private <T> RequestAttempt<T> executeAttempt(final MvvmAbstractRequestTask<T> task, final MvvmCancellationToken attemptToken,
+                                                 final long attemptTimeoutMillis) throws InterruptedException {
+        final RequestAttempt<T> requestAttempt = new RequestAttempt<>();
+        attemptToken.bind();
+        final ScheduledFuture<?> timeoutFuture = attemptTimeoutMillis > 0
+                ? mRequestScheduler.schedule(() -> attemptToken.cancel(MvvmRequestCancelReason.TIMEOUT), attemptTimeoutMillis) : null;
+        try {
+            attemptToken.throwIfCancelled();
+            final MvvmRequest<T> request = task.doRequest();
+            if (request == null) {
+                throw new RuntimeException("doRequest()方法不允许返回Null值，请检查代码！");
+            }
+            attemptToken.throwIfCancelled();
+            requestAttempt.mRequest = request;
+        } catch (InterruptedException e) {
+            if (attemptToken.getReason() != MvvmRequestCancelReason.TIMEOUT || isParentCancelled(task)) {
+                throw e;
+            }
+            mTimedOutAttemptCount.incrementAndGet();
+        } catch (RuntimeException e) {
+            requestAttempt.mException = e;
+        } finally {
+            if (timeoutFuture != null) {
+                timeoutFuture.cancel(false);
+            }
+            attemptToken.unbind();
+            // 只由尝试超时或对冲造成的中断不影响后续尝试
+            if (attemptToken.isCancelled() && !isParentCancelled(task)) {
+                Thread.interrupted();
+            }
+        }
+        return requestAttempt;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:35
+     * @description 首次尝试在当前线程上执行，超过对冲延迟仍未完成时在同一作用域提交一次对冲尝试，先成功的尝试生效并取消另一尝试；
+     * 当前尝试失败而对冲尝试仍在执行时等待对冲尝试的结果，对冲尝试尚未开始则由当前线程认领并直接执行，
+     * 避免在有界线程池已满或作用域暂停时等待一个永远不会开始的任务
+     */
+    private <T> RequestAttempt<T> executeHedgedAttempt(final MvvmAbstractRequestTask<T> task, final MvvmCancellationToken cancellationToken,
+                                                       final MvvmRequestRetryPolicy retryPolicy) throws InterruptedException {
+        final MvvmCancellationToken primaryToken = cancellationToken.newChild(0);
+        final MvvmCancellationToken hedgeToken = cancellationToken.newChild(0);
+        final AtomicReference<RequestAttempt<T>> winner = new AtomicReference<>();
+        final AtomicReference<RequestAttempt<T>> hedgeAttempt = new AtomicReference<>();
+        final AtomicBoolean isHedgeLaunched = new AtomicBoolean(false);
+        final AtomicBoolean isHedgeClaimed = new AtomicBoolean(false);
+        final CountDownLatch hedgeDone = new CountDownLatch(1);
+        final Runnable hedgeRunnable = () -> {
+            if (!isHedgeClaimed.compareAndSet(false, true)) {
+                // 已由发起的线程认领
+                return;
             }
+            try {
+                final RequestAttempt<T> requestAttempt = executeAttempt(task, hedgeToken, retryPolicy.getAttemptTimeoutMillis());
+                hedgeAttempt.set(requestAttempt);
+                if (requestAttempt.isSuccess() && winner.compareAndSet(null, requestAttempt)) {
+                    primaryToken.cancel(MvvmRequestCancelReason.HEDGED);
+                }
+            } catch (InterruptedException ignored) {
+                // 对冲尝试被取消
+            } finally {
+                hedgeDone.countDown();
+            }
+        };
+        final ScheduledFuture<?> hedgeFuture = mRequestScheduler.schedule(() -> {
+            final MvvmRequestScheduler.Scope requestScope = mRequestScope;
+            if (winner.get() == null && !hedgeToken.isCancelled() && requestScope != null) {
+                // 先记录再提交，对冲尝试可能在提交返回前已执行完毕
+                isHedgeLaunched.set(true);
+                mHedgedAttemptCount.incrementAndGet();
+                if (!requestScope.execute(hedgeRunnable, task.getLane(), MvvmRequestPriority.HIGH)) {
+                    isHedgeLaunched.set(false);
+                    mHedgedAttemptCount.decrementAndGet();
+                }
+            }
+        }, retryPolicy.getHedgeDelayMillis());
+        try {
+            final RequestAttempt<T> primaryAttempt;
+            try {
+                primaryAttempt = executeAttempt(task, primaryToken, retryPolicy.getAttemptTimeoutMillis());
+            } catch (InterruptedException e) {
+                if (primaryToken.getReason() != MvvmRequestCancelReason.HEDGED || isParentCancelled(task)) {
+                    throw e;
+                }
+                // 对冲尝试已先成功
+                return winner.get();
+            }
+            if (primaryAttempt.isSuccess() && winner.compareAndSet(null, primaryAttempt)) {
+                return primaryAttempt;
+            }
+            if (winner.get() != null) {
+                return winner.get();
+            }
+            if (isHedgeLaunched.get()) {
+                if (isHedgeClaimed.compareAndSet(false, true)) {
+                    // 对冲尝试仍在队列中，在当前线程上执行
+                    hedgeAttempt.set(executeAttempt(task, hedgeToken, retryPolicy.getAttemptTimeoutMillis()));
+                } else {
+                    hedgeDone.await();
+                }
+                final RequestAttempt<T> requestAttempt = hedgeAttempt.get();
+                if (requestAttempt != null && requestAttempt.isSuccess()) {
+                    return requestAttempt;
+                }
+            }
+            return primaryAttempt;
+        } finally {
+            hedgeFuture.cancel(false);
+            // 尚未开始的对冲尝试不再执行
+            isHedgeClaimed.set(true);
+            hedgeToken.cancel(MvvmRequestCancelReason.HEDGED);
+            primaryToken.cancel(MvvmRequestCancelReason.HEDGED);
         }
     }
 
+    private static boolean isParentCancelled(final MvvmAbstractRequestTask<?> task) {
+        final MvvmCancellationToken cancellationToken = task.mCancellationToken;
+        return cancellationToken != null && cancellationToken.isCancelled();
+    }
+
     /**
      * @author soulkun
-     * @time 2022/10/19 19:09
-     * @description 生成固定的线程池
+     * @time 2026/10/18 0:25
+     * @description 推送请求结果，任务作用域暂停期间暂存结果，恢复后再推送
      */
-    private ThreadPoolExecutor initRequestThreadPoolExecutor() {
-        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<Runnable>());
+    private <T> void deliverRequest(final MvvmAbstractRequestTask<T> task, final MvvmRequest<T> request) {
+        synchronized (mDeferredResultList) {
+            if (mIsRequestPaused) {
+                mDeferredResultList.add(() -> dispatchRequest(task, request));
+                return;
+            }
+        }
+        dispatchRequest(task, request);
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:47
+     * @description 将请求结果放入无损结果通道，由主线程排空任务按入队顺序setValue()，未启用结果通道时使用postValue()
+     */
+    private <T> void dispatchRequest(final MvvmAbstractRequestTask<T> task, final MvvmRequest<T> request) {
+        if (mResultDrainer == null) {
+            task.requestLiveData.postValue(request);
+            return;
+        }
+        mResultDrainer.post(mRequestTracer == null ? new RequestResult<>(task.requestLiveData, request)
+                : new TracedRequestResult<>(task.requestLiveData, request, mRequestTracer, task.getTraceName()));
+    }
+
+    @Nullable
+    private MvvmMessagePostDrainer<RequestResult<?>> createResultDrainer() {
+        final MvvmMessagePostDrainer.IDrainScheduler resultScheduler = initRequestResultScheduler();
+        if (resultScheduler == null) {
+            return null;
+        }
+        return new MvvmMessagePostDrainer<>(resultScheduler, RequestResult::dispatch, Integer.MAX_VALUE, RESULT_DRAIN_BUDGET_TIME * 1_000_000L);
     }
 
     /**
      * @author soulkun
      * @time 2022/10/19 19:36
-     * @description 逐一执行待执行任务列表，并删除执行完毕的任务
+     * @description 按入队顺序分批提交待执行任务，作用域在提交期间被取消时，未提交的任务重新进入待执行队列
      */
-    private void executeRequestTaskList() {
-        synchronized (mRequestTaskList) {
-            final ListIterator<SoftReference<MvvmAbstractRequestTask>> listIterator = mRequestTaskList.listIterator();
-            while (listIterator.hasNext()) {
-                final SoftReference<MvvmAbstractRequestTask> taskSoftReference = listIterator.next();
-                if (taskSoftReference.get() != null) {
-                    mRequestThreadPoolExecutor.execute(taskSoftReference.get());
+    private void executePendingRequestQueue() {
+        final List<MvvmAbstractRequestTask<?>> batch = new ArrayList<>(PENDING_DRAIN_BATCH_SIZE);
+        while (mPendingRequestQueue.drainTo(batch, PENDING_DRAIN_BATCH_SIZE) > 0) {
+            final MvvmRequestScheduler.Scope requestScope = mRequestScope;
+            for (int i = 0; i < batch.size(); i++) {
+                final MvvmAbstractRequestTask<?> task = batch.get(i);
+                if (requestScope == null || !requestScope.execute(task, task.getLane(), task.getPriority())) {
+                    for (int j = i; j < batch.size(); j++) {
+                        mPendingRequestQueue.offer(batch.get(j));
+                    }
+                    return;
                 }
-                listIterator.remove();
             }
+            batch.clear();
         }
     }
 
@@ -178,6 +952,23 @@ public abstract class MvvmAbstractRequestViewModel extends ViewModel implements
 
         private MutableLiveData<MvvmRequest<T>> requestLiveData;
 
+        // 作为执行任务登记的执行中请求
+        private volatile InFlightRequest mInFlightRequest;
+
+        // 执行期间的取消令牌，退避重试时沿用
+        private volatile MvvmCancellationToken mCancellationToken;
+
+        // 下一次执行的尝试序号，0为尚未开始执行，大于1为退避后重新提交的执行
+        private volatile int mAttempt = 0;
+        // 本次退避的时间
+        private volatile long mBackoffMillis;
+        // 任务截止时间的定时器，退避重试时沿用
+        private volatile ScheduledFuture<?> mTimeoutFuture;
+
+        // 提交任务的时间与开始执行的时间，只在启用追踪时记录
+        private long mSubmitNanos;
+        private volatile long mStartNanos;
+
         protected abstract MvvmRequest<T> doRequest() throws InterruptedException;
 
         protected abstract void doCancel();
@@ -188,24 +979,384 @@ public abstract class MvvmAbstractRequestViewModel extends ViewModel implements
 
         @Override
         public void run() {
+            final boolean isRetry = mAttempt > 0;
+            final MvvmCancellationToken cancellationToken;
+            if (isRetry) {
+                cancellationToken = mCancellationToken;
+            } else {
+                final long timeoutMillis = getTimeoutMillis();
+                cancellationToken = new MvvmCancellationToken(null, timeoutMillis);
+                mCancellationToken = cancellationToken;
+                mAttempt = 1;
+                mRunningTaskSet.add(this);
+                mTimeoutFuture = timeoutMillis > 0
+                        ? mRequestScheduler.schedule(() -> cancellationToken.cancel(MvvmRequestCancelReason.TIMEOUT), timeoutMillis) : null;
+                mStartNanos = mRequestTracer != null ? System.nanoTime() : 0;
+                if (mRequestTracer != null) {
+                    mRequestTracer.record(MvvmRequestTraceStage.QUEUE_WAIT, getTraceName(), mStartNanos - mSubmitNanos);
+                }
+            }
+            cancellationToken.bind();
+            boolean isRetryScheduled = false;
             try {
-                checkCancel();
-                final MvvmRequest<T> request = doRequest();
+                if (!isRetry) {
+                    checkCancel();
+                    emitCachedRequest(this);
+                    mExecutedRequestCount.incrementAndGet();
+                    syncRequestLog(this);
+                }
+                final MvvmRequest<T> request = executeAttempts(this, cancellationToken);
                 if (request == null) {
-                    throw new RuntimeException("doRequest()方法不允许返回Null值，请检查代码！");
+                    // 退避期间释放线程，解绑令牌后再定时重新提交
+                    isRetryScheduled = true;
+                    return;
+                }
+                if (this instanceof MvvmAbstractDurableRequestTask) {
+                    commitDurableRequest((MvvmAbstractDurableRequestTask<T>) this, request);
+                }
+                if (mRequestTracer != null) {
+                    mRequestTracer.record(MvvmRequestTraceStage.EXECUTION, getTraceName(), System.nanoTime() - mStartNanos);
                 }
                 checkCancel();
-                requestLiveData.postValue(request);
+                completeRequest(this, request);
             } catch (InterruptedException e) {
+                if (cancellationToken.getReason() == MvvmRequestCancelReason.TIMEOUT) {
+                    mTimedOutRequestCount.incrementAndGet();
+                } else {
+                    e.printStackTrace();
+                }
+                cancelRequest(this);
+            } catch (IOException e) {
+                // 预写日志未能持久化，请求不执行，留待下次启动时重放
                 e.printStackTrace();
-                doCancel();
+                cancelRequest(this);
+            } finally {
+                cancellationToken.unbind();
+                if (isRetryScheduled) {
+                    scheduleRetry(this, cancellationToken);
+                } else {
+                    final ScheduledFuture<?> timeoutFuture = mTimeoutFuture;
+                    if (timeoutFuture != null) {
+                        timeoutFuture.cancel(false);
+                    }
+                    mRunningTaskSet.remove(this);
+                    // 执行异常时取消附加的任务，避免同一请求键的后续任务附加至已结束的请求
+                    for (MvvmAbstractRequestTask<?> follower : releaseRequest(this)) {
+                        follower.doCancel();
+                    }
+                }
             }
         }
 
+        /**
+         * @author soulkun
+         * @time 2026/10/18 0:27
+         * @description 请求键，默认为Null不共享执行；同一请求键的任务在前一个任务执行结束前只执行一次，
+         * 请求键必须实现equals和hashCode，且只应由请求参数决定，注意，结果对象会被多个LiveData共享，必须只读
+         */
+        protected Object getRequestKey() {
+            return null;
+        }
+
+        // 追踪记录中的任务名称，默认为任务类名
+        @NonNull
+        protected String getTraceName() {
+            return getClass().getName();
+        }
+
+        /**
+         * @author soulkun
+         * @time 2026/10/18 0:35
+         * @description 任务截止时间，从开始执行算起，包括全部重试和退避，超时后取消令牌、中断请求并回调取消，默认0为不限
+         */
+        protected long getTimeoutMillis() {
+            return 0;
+        }
+
+        // 重试与对冲策略，默认不重试
+        @NonNull
+        protected MvvmRequestRetryPolicy getRetryPolicy() {
+            return MvvmRequestRetryPolicy.NONE;
+        }
+
+        /**
+         * @author soulkun
+         * @time 2026/10/18 0:29
+         * @description 缓存键，默认为Null不使用缓存，ViewModel未设置缓存时无效
+         */
+        @Nullable
+        protected String getCacheKey() {
+            return null;
+        }
+
+        // 执行通道，默认为IO通道，解析、计算等任务可重写为CPU通道
+        @NonNull
+        protected MvvmRequestLane getLane() {
+            return MvvmRequestLane.IO;
+        }
+
+        // 任务优先级，默认为普通优先级
+        @NonNull
+        protected MvvmRequestPriority getPriority() {
+            return MvvmRequestPriority.NORMAL;
+        }
+
+        // 检查当前线程是否被中断或当前尝试的令牌是否已取消
         public void checkCancel() throws InterruptedException {
             if (Thread.currentThread().isInterrupted()) {
                 throw new InterruptedException();
             }
+            final MvvmCancellationToken cancellationToken = MvvmCancellationToken.current();
+            if (cancellationToken != null) {
+                cancellationToken.throwIfCancelled();
+            }
+        }
+
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:41
+     * @description 执行请求流水线的任务，流水线作为一次请求尝试，超时、重试、缓存与请求键共享均对整条流水线生效，
+     * 并行分支以任务的执行通道和优先级提交至当前任务作用域，作用域不可用时由任务线程依次执行
+     */
+    protected abstract class MvvmRequestPipelineTask<T> extends MvvmAbstractRequestTask<T> {
+
+        private final MvvmRequestPipeline<T> mPipeline;
+
+        public MvvmRequestPipelineTask(MutableLiveData<MvvmRequest<T>> requestLiveData, @NonNull MvvmRequestPipeline<T> pipeline) {
+            super(requestLiveData);
+            mPipeline = pipeline;
+        }
+
+        @Override
+        protected final MvvmRequest<T> doRequest() throws InterruptedException {
+            return mPipeline.execute(branch -> {
+                final MvvmRequestScheduler.Scope requestScope = mRequestScope;
+                if (requestScope != null) {
+                    requestScope.execute(branch, getLane(), getPriority());
+                }
+            });
+        }
+
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:45
+     * @description 流式请求任务，doStream()中每解析出一个分片即通过发射器推送，首个分片解析完成后页面即可显示内容，而非等待完整结果
+     * 每次推送的是同一个{@link MvvmRequestStream}实例，即使使用postValue()合并推送分片也不会丢失；doStream()返回的结果作为终止分片，其状态即最终结果的状态
+     * 已推送的分片无法撤回，因此流式任务不使用缓存且不重试
+     */
+    protected abstract class MvvmAbstractStreamingRequestTask<T> extends MvvmAbstractRequestTask<MvvmRequestStream<T>> {
+
+        public MvvmAbstractStreamingRequestTask(MutableLiveData<MvvmRequest<MvvmRequestStream<T>>> requestLiveData) {
+            super(requestLiveData);
+        }
+
+        @NonNull
+        protected abstract MvvmRequest<T> doStream(@NonNull IRequestChunkEmitter<T> emitter) throws InterruptedException;
+
+        @Override
+        protected final MvvmRequest<MvvmRequestStream<T>> doRequest() throws InterruptedException {
+            final MvvmRequestStream<T> stream = new MvvmRequestStream<>();
+            final MvvmRequest<T> terminalRequest = doStream(request -> {
+                checkCancel();
+                stream.append(request, false);
+                publishRequest(this, new MvvmRequest<>(request.getStatus(), stream));
+            });
+            if (terminalRequest == null) {
+                throw new RuntimeException("doStream()方法不允许返回Null值，请检查代码！");
+            }
+            stream.append(terminalRequest, true);
+            return new MvvmRequest<>(terminalRequest.getStatus(), stream);
+        }
+
+        @Nullable
+        @Override
+        protected final String getCacheKey() {
+            return null;
+        }
+
+        @NonNull
+        @Override
+        protected final MvvmRequestRetryPolicy getRetryPolicy() {
+            return MvvmRequestRetryPolicy.NONE;
+        }
+
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:56
+     * @description 变更类请求任务，如提交订单、上传拜访记录，启用预写日志时提交即持久化，进程被杀死后下次启动时重放
+     * 每个任务持有幂等键，请求中应将幂等键发送至服务端去重，重试、对冲和重放均使用同一幂等键；
+     * 重放时由{@link #restoreRequest}按{@link #getOperation()}和{@link #encodeOperation()}的结果还原任务，并使用带幂等键的构造方法
+     * 变更类请求不共享执行也不使用缓存；从内存的待执行队列中丢弃不影响日志，下次启动时仍会重放
+     */
+    protected abstract class MvvmAbstractDurableRequestTask<T> extends MvvmAbstractRequestTask<T> {
+
+        private final String mIdempotencyKey;
+
+        // 预写日志中的记录序号，执行前等待该序号落盘
+        private volatile long mLogSequence;
+        // 日志通道追加完成，追加失败时记录异常
+        private final AtomicBoolean mIsLogClaimed = new AtomicBoolean(false);
+        private final CountDownLatch mLogAppended = new CountDownLatch(1);
+        private volatile IOException mLogException;
+
+        public MvvmAbstractDurableRequestTask(MutableLiveData<MvvmRequest<T>> requestLiveData) {
+            this(requestLiveData, UUID.randomUUID().toString());
+        }
+
+        public MvvmAbstractDurableRequestTask(MutableLiveData<MvvmRequest<T>> requestLiveData, @NonNull String idempotencyKey) {
+            super(requestLiveData);
+            mIdempotencyKey = idempotencyKey;
+        }
+
+        // 请求类型，重放时据此还原任务
+        @NonNull
+        protected abstract String getOperation();
+
+        // 编码请求参数，重放时据此还原任务
+        @NonNull
+        protected abstract byte[] encodeOperation() throws IOException;
+
+        @NonNull
+        public final String getIdempotencyKey() {
+            return mIdempotencyKey;
+        }
+
+        @Override
+        protected final Object getRequestKey() {
+            return null;
+        }
+
+        @Nullable
+        @Override
+        protected final String getCacheKey() {
+            return null;
+        }
+
+        @NonNull
+        @Override
+        protected String getTraceName() {
+            return getOperation();
+        }
+
+        /**
+         * @author soulkun
+         * @time 2026/10/18 1:36
+         * @description 请求结果是否为终态，终态的请求提交日志不再重放，默认只有成功的结果为终态；
+         * 失败的结果留在日志中，下次启动时以同一幂等键重放，服务端明确拒绝且重放也不会成功的结果（如参数错误）应重写为终态
+         */
+        protected boolean isCommittable(@NonNull MvvmRequest<T> request) {
+            return request.isSuccess();
+        }
+
+    }
+
+    /**
+     * @author soulkun
+     * @description 流式请求分片发射器，在请求线程上调用，任务已取消时抛出中断异常
+     */
+    protected interface IRequestChunkEmitter<T> {
+
+        void emit(@NonNull MvvmRequest<T> request) throws InterruptedException;
+
+    }
+
+    // 一次尝试的结果，成功的结果、不成功的结果、运行时异常三者至多一个，均为空表示尝试超时
+    private static class RequestAttempt<T> {
+
+        private volatile MvvmRequest<T> mRequest;
+        private volatile RuntimeException mException;
+
+        private boolean isSuccess() {
+            return mRequest != null && mRequest.isSuccess();
+        }
+
+    }
+
+    /**
+     * @author soulkun
+     * @description 无损结果通道中待推送的请求结果，在主线程上setValue()
+     */
+    private static class RequestResult<T> {
+
+        private final MutableLiveData<MvvmRequest<T>> mRequestLiveData;
+        private final MvvmRequest<T> mRequest;
+
+        private RequestResult(final MutableLiveData<MvvmRequest<T>> requestLiveData, final MvvmRequest<T> request) {
+            mRequestLiveData = requestLiveData;
+            mRequest = request;
+        }
+
+        void dispatch() {
+            mRequestLiveData.setValue(mRequest);
+        }
+
+    }
+
+    // 启用追踪时的请求结果，记录从入队至观察者处理结束的耗时
+    private static final class TracedRequestResult<T> extends RequestResult<T> {
+
+        private final MvvmRequestTracer mTracer;
+        private final String mTaskName;
+        private final long mEnqueueNanos = System.nanoTime();
+
+        private TracedRequestResult(final MutableLiveData<MvvmRequest<T>> requestLiveData, final MvvmRequest<T> request,
+                                    final MvvmRequestTracer tracer, final String taskName) {
+            super(requestLiveData, request);
+            mTracer = tracer;
+            mTaskName = taskName;
+        }
+
+        @Override
+        void dispatch() {
+            super.dispatch();
+            mTracer.record(MvvmRequestTraceStage.DELIVERY, mTaskName, System.nanoTime() - mEnqueueNanos);
+        }
+
+    }
+
+    /**
+     * @author soulkun
+     * @description 执行中的请求，记录附加的任务，结束后不再允许附加
+     */
+    private static class InFlightRequest {
+
+        private final Object mRequestKey;
+
+        // 强引用执行任务，避免等待执行期间被回收导致请求键无法释放
+        private final MvvmAbstractRequestTask<?> mTask;
+
+        private final List<MvvmAbstractRequestTask<?>> mFollowers = new ArrayList<>();
+
+        private boolean mIsReleased = false;
+
+        private InFlightRequest(final Object requestKey, final MvvmAbstractRequestTask<?> task) {
+            mRequestKey = requestKey;
+            mTask = task;
+        }
+
+        private synchronized boolean attach(final MvvmAbstractRequestTask<?> task) {
+            if (mIsReleased) {
+                return false;
+            }
+            mFollowers.add(task);
+            return true;
+        }
+
+        private synchronized List<MvvmAbstractRequestTask<?>> getFollowers() {
+            return new ArrayList<>(mFollowers);
+        }
+
+        private synchronized List<MvvmAbstractRequestTask<?>> release() {
+            mIsReleased = true;
+            final List<MvvmAbstractRequestTask<?>> followers = new ArrayList<>(mFollowers);
+            mFollowers.clear();
+            return followers;
         }
 
     }
@@ -0,0 +1,159 @@
+package com.soulkun.mvvm.viewmodel;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.soulkun.mvvm.enums.MvvmRequestCancelReason;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:35
+ * @description 请求任务的协作式取消令牌，每个任务及其每次尝试各持有一个令牌，父令牌取消时子令牌一并取消
+ * 令牌取消时中断绑定的线程并回调{@link #onCancel}注册的回调，doRequest()中可通过{@link #current()}获取当前尝试的令牌，
+ * 将取消传递至网络请求等不响应中断的操作（如注册取消OkHttp的Call）
+ */
+public final class MvvmCancellationToken {
+
+    private static final ThreadLocal<MvvmCancellationToken> sCurrentToken = new ThreadLocal<>();
+
+    @Nullable
+    private final MvvmCancellationToken mParent;
+
+    // 截止时间，0为不限
+    private final long mDeadlineNanos;
+
+    private volatile MvvmRequestCancelReason mReason;
+
+    // 以下字段只在持有锁时访问
+    private Thread mThread;
+    private final List<Runnable> mCallbacks = new ArrayList<>();
+    private final List<MvvmCancellationToken> mChildren = new ArrayList<>();
+
+    MvvmCancellationToken(final @Nullable MvvmCancellationToken parent, final long timeoutMillis) {
+        mParent = parent;
+        mDeadlineNanos = timeoutMillis > 0 ? System.nanoTime() + timeoutMillis * 1_000_000L : 0;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:35
+     * @description 当前线程正在执行的请求尝试的令牌，不在请求线程上调用时返回Null
+     */
+    @Nullable
+    public static MvvmCancellationToken current() {
+        return sCurrentToken.get();
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:35
+     * @description 取消令牌及全部子令牌，中断绑定的线程并执行取消回调，重复取消返回false
+     */
+    public boolean cancel(final @NonNull MvvmRequestCancelReason reason) {
+        final List<Runnable> callbacks;
+        final List<MvvmCancellationToken> children;
+        synchronized (this) {
+            if (mReason != null) {
+                return false;
+            }
+            mReason = reason;
+            if (mThread != null) {
+                mThread.interrupt();
+            }
+            callbacks = new ArrayList<>(mCallbacks);
+            mCallbacks.clear();
+            children = new ArrayList<>(mChildren);
+        }
+        for (MvvmCancellationToken child : children) {
+            child.cancel(reason);
+        }
+        for (Runnable callback : callbacks) {
+            callback.run();
+        }
+        return true;
+    }
+
+    public boolean isCancelled() {
+        return mReason != null;
+    }
+
+    // 取消原因，未取消时返回Null
+    @Nullable
+    public MvvmRequestCancelReason getReason() {
+        return mReason;
+    }
+
+    public void throwIfCancelled() throws InterruptedException {
+        if (mReason != null) {
+            throw new InterruptedException("请求已取消：" + mReason);
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:35
+     * @description 注册取消回调，在取消的线程上执行，令牌已取消时立即执行
+     */
+    public void onCancel(final @NonNull Runnable callback) {
+        synchronized (this) {
+            if (mReason == null) {
+                mCallbacks.add(callback);
+                return;
+            }
+        }
+        callback.run();
+    }
+
+    // 距截止时间的剩余毫秒数，未设置截止时间时返回Long.MAX_VALUE
+    public long getRemainingMillis() {
+        if (mDeadlineNanos == 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, (mDeadlineNanos - System.nanoTime()) / 1_000_000L);
+    }
+
+    // 创建子令牌，子令牌的截止时间不晚于本令牌
+    MvvmCancellationToken newChild(final long timeoutMillis) {
+        final long remainingMillis = getRemainingMillis();
+        final MvvmCancellationToken child = new MvvmCancellationToken(this,
+                timeoutMillis > 0 ? Math.min(timeoutMillis, remainingMillis) : (remainingMillis == Long.MAX_VALUE ? 0 : remainingMillis));
+        synchronized (this) {
+            if (mReason == null) {
+                mChildren.add(child);
+                return child;
+            }
+        }
+        child.cancel(mReason);
+        return child;
+    }
+
+    // 绑定当前线程，取消时中断该线程
+    void bind() {
+        synchronized (this) {
+            mThread = Thread.currentThread();
+        }
+        sCurrentToken.set(this);
+    }
+
+    // 解绑当前线程并从父令牌移除
+    void unbind() {
+        synchronized (this) {
+            mThread = null;
+        }
+        MvvmCancellationToken current = null;
+        if (mParent != null) {
+            synchronized (mParent) {
+                mParent.mChildren.remove(this);
+                if (mParent.mThread == Thread.currentThread()) {
+                    current = mParent;
+                }
+            }
+        }
+        // 在同一线程上执行的子令牌解绑后恢复父令牌
+        sCurrentToken.set(current);
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.soulkun.mvvm.viewmodel;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.Observer;
+
+import com.soulkun.mvvm.enums.MvvmMessageConflation;
+import com.soulkun.mvvm.enums.MvvmMessagePriority;
+import com.soulkun.mvvm.factory.MvvmViewModelFactory;
+import com.soulkun.mvvm.model.MvvmMessage;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:21
+ * @description 进程级的类型化事件总线，多个类型化事件通道{@link MvvmEventChannel}复用同一个消息分发引擎，
+ * 所有通道共用一个排空任务、一个过期时间轮、一份观察者登记表和消息索引，每个通道只占用一个消息ID，
+ * 增加通道不会增加Handler、重放日志或定时任务的数量
+ * 通道的重放窗口按优先级通道共享，高频通道可能挤出低频通道的粘性消息，重要通道应声明更高的优先级
+ * 通过{@link MvvmViewModelFactory#getApplicationEventBus()}获取绑定Application生命周期的实例
+ */
+public class MvvmEventBusViewModel extends MvvmAbstractMessageViewModel<MvvmMessage<Object>> {
+
+    // 多个通道共享重放日志，默认长度大于普通消息总线
+    private final static int DEFAULT_EVENT_QUEUE_LENGTH = 256;
+
+    private final Object mChannelLock = new Object();
+
+    // 通道名称到通道的映射，只在持有锁时访问
+    private final Map<String, MvvmEventChannel<?>> mChannelMap = new HashMap<>();
+
+    // 以通道ID为下标的通道数组，写时复制，任意线程无锁读取
+    private volatile MvvmEventChannel<?>[] mChannels = new MvvmEventChannel<?>[1];
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:21
+     * @description 获取事件通道，使用默认优先级且不合并事件，允许任意线程调用
+     */
+    @NonNull
+    public <T> MvvmEventChannel<T> getChannel(final @NonNull String name, final @NonNull Class<T> eventType) {
+        return getChannel(name, eventType, MvvmMessagePriority.NORMAL, MvvmMessageConflation.KEEP_ALL);
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:21
+     * @description 获取事件通道，同名通道只创建一次，优先级和合并策略以首次创建时为准，允许任意线程调用
+     * 同名通道的事件类型不一致时抛出异常
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public <T> MvvmEventChannel<T> getChannel(final @NonNull String name, final @NonNull Class<T> eventType,
+                                              final @NonNull MvvmMessagePriority priority, final @NonNull MvvmMessageConflation conflation) {
+        synchronized (mChannelLock) {
+            final MvvmEventChannel<?> channel = mChannelMap.get(name);
+            if (channel != null) {
+                if (channel.getEventType() != eventType) {
+                    throw new IllegalArgumentException("事件通道" + name + "的类型不一致！");
+                }
+                return (MvvmEventChannel<T>) channel;
+            }
+            // 通道ID从1开始，与数组下标一致
+            final int channelId = mChannelMap.size() + 1;
+            final MvvmEventChannel<T> newChannel = new MvvmEventChannel<>(this, channelId, name, eventType, priority, conflation);
+            final MvvmEventChannel<?>[] channels = Arrays.copyOf(mChannels, channelId + 1);
+            channels[channelId] = newChannel;
+            mChannels = channels;
+            mChannelMap.put(name, newChannel);
+            return newChannel;
+        }
+    }
+
+    // 已创建的通道数量
+    public int getChannelCount() {
+        return mChannels.length - 1;
+    }
+
+    @Override
+    protected boolean authenticateMessage(final @NonNull MvvmMessage<Object> message) {
+        return findChannel(message.getId()) != null;
+    }
+
+    @NonNull
+    @Override
+    protected MvvmMessageConflation conflateMessage(final int messageId) {
+        final MvvmEventChannel<?> channel = findChannel(messageId);
+        return channel == null ? MvvmMessageConflation.KEEP_ALL : channel.getConflation();
+    }
+
+    @NonNull
+    @Override
+    protected MvvmMessagePriority prioritizeMessage(final int messageId) {
+        final MvvmEventChannel<?> channel = findChannel(messageId);
+        return channel == null ? MvvmMessagePriority.NORMAL : channel.getPriority();
+    }
+
+    @Override
+    protected int initMessageQueueLength() {
+        return DEFAULT_EVENT_QUEUE_LENGTH;
+    }
+
+    @Override
+    protected void onObserverRemoved(final @NonNull Observer<MvvmMessage<Object>> observer) {
+        // 生命周期销毁时同步清理通道的观察者映射
+        if (observer instanceof MvvmEventChannel.ChannelObserver) {
+            ((MvvmEventChannel<?>.ChannelObserver) observer).onRemoved();
+        }
+    }
+
+    @Nullable
+    private MvvmEventChannel<?> findChannel(final int channelId) {
+        final MvvmEventChannel<?>[] channels = mChannels;
+        return channelId > 0 && channelId < channels.length ? channels[channelId] : null;
+    }
+
+}
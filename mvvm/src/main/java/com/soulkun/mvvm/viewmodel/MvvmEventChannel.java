@@ -0,0 +1,156 @@
+package com.soulkun.mvvm.viewmodel;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.Observer;
+
+import com.soulkun.mvvm.enums.MvvmMessageConflation;
+import com.soulkun.mvvm.enums.MvvmMessagePostStatus;
+import com.soulkun.mvvm.enums.MvvmMessagePriority;
+import com.soulkun.mvvm.model.MvvmMessage;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:21
+ * @description 事件总线{@link MvvmEventBusViewModel}上的类型化事件通道，通道仅为总线上一个消息ID的轻量视图，
+ * 发送与观察的语义与{@link MvvmAbstractMessageViewModel}一致，观察方法必须在主线程上调用
+ */
+public final class MvvmEventChannel<T> {
+
+    private final MvvmEventBusViewModel mBus;
+    private final int mId;
+    private final int[] mMessageIds;
+    private final String mName;
+    private final Class<T> mEventType;
+    private final MvvmMessagePriority mPriority;
+    private final MvvmMessageConflation mConflation;
+
+    // 原始观察者到总线观察者的映射，只在主线程上访问
+    private final Map<Observer<T>, ChannelObserver> mObserverMap = new IdentityHashMap<>();
+
+    MvvmEventChannel(final @NonNull MvvmEventBusViewModel bus, final int id, final @NonNull String name, final @NonNull Class<T> eventType,
+                     final @NonNull MvvmMessagePriority priority, final @NonNull MvvmMessageConflation conflation) {
+        mBus = bus;
+        mId = id;
+        mMessageIds = new int[]{id};
+        mName = name;
+        mEventType = eventType;
+        mPriority = priority;
+        mConflation = conflation;
+    }
+
+    // 主线程发送事件
+    public boolean send(final @Nullable T event) {
+        return mBus.send(new MvvmMessage<>(mId, event));
+    }
+
+    // 跨线程发送事件
+    public boolean post(final @Nullable T event) {
+        return mBus.post(new MvvmMessage<>(mId, event));
+    }
+
+    // 跨线程发送事件，所属优先级通道已满时返回FULL
+    @NonNull
+    public MvvmMessagePostStatus offer(final @Nullable T event) {
+        return mBus.offer(new MvvmMessage<>(mId, event));
+    }
+
+    // 跨线程发送事件，所属优先级通道已满时阻塞等待，禁止在主线程上调用
+    @NonNull
+    public MvvmMessagePostStatus offer(final @Nullable T event, final long timeout, final @NonNull TimeUnit unit) throws InterruptedException {
+        return mBus.offer(new MvvmMessage<>(mId, event), timeout, unit);
+    }
+
+    public void observe(final @NonNull LifecycleOwner lifecycleOwner, final @NonNull Observer<T> observer) {
+        mBus.observe(lifecycleOwner, mMessageIds, wrap(observer));
+    }
+
+    public void observeSticky(final @NonNull LifecycleOwner lifecycleOwner, final @NonNull Observer<T> observer) {
+        mBus.observeSticky(lifecycleOwner, mMessageIds, wrap(observer));
+    }
+
+    public void observeForever(final @NonNull Observer<T> observer) {
+        mBus.observeForever(mMessageIds, wrap(observer));
+    }
+
+    public void observeStickyForever(final @NonNull Observer<T> observer) {
+        mBus.observeStickyForever(mMessageIds, wrap(observer));
+    }
+
+    public void unObserve(final @NonNull Observer<T> observer) {
+        final ChannelObserver channelObserver = mObserverMap.get(observer);
+        if (channelObserver != null) {
+            mBus.unObserve(channelObserver);
+        }
+    }
+
+    public int getId() {
+        return mId;
+    }
+
+    @NonNull
+    public String getName() {
+        return mName;
+    }
+
+    @NonNull
+    public Class<T> getEventType() {
+        return mEventType;
+    }
+
+    @NonNull
+    public MvvmMessagePriority getPriority() {
+        return mPriority;
+    }
+
+    @NonNull
+    public MvvmMessageConflation getConflation() {
+        return mConflation;
+    }
+
+    // 当前观察者数量
+    public int getObserverCount() {
+        return mObserverMap.size();
+    }
+
+    // 同一观察者重复观察时替换之前的观察
+    private ChannelObserver wrap(final Observer<T> observer) {
+        final ChannelObserver previous = mObserverMap.get(observer);
+        if (previous != null) {
+            mBus.unObserve(previous);
+        }
+        final ChannelObserver channelObserver = new ChannelObserver(observer);
+        mObserverMap.put(observer, channelObserver);
+        return channelObserver;
+    }
+
+    // 将总线消息解包为事件的观察者，以自身身份登记在总线上，同一原始观察者可同时观察多个通道
+    final class ChannelObserver implements Observer<MvvmMessage<Object>> {
+
+        private final Observer<T> mObserver;
+
+        private ChannelObserver(final Observer<T> observer) {
+            mObserver = observer;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onChanged(final MvvmMessage<Object> message) {
+            mObserver.onChanged((T) message.getData());
+        }
+
+        // 从总线移除后回调，仅当映射仍指向自身时删除
+        void onRemoved() {
+            if (mObserverMap.get(mObserver) == this) {
+                mObserverMap.remove(mObserver);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.soulkun.mvvm.viewmodel;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:51
+ * @description 无锁的延迟直方图，按对数-线性分桶记录纳秒耗时：每个2的幂区间等分为32个桶，相对误差不超过1/32，
+ * 小于32纳秒的值精确记录，超过{@link #MAX_TRACKABLE_NANOS}的值记为最大值；记录只需一次桶计数的原子自增和一次分段累加，允许任意线程并发调用
+ * 读取统计数据时不阻塞记录，并发记录期间读取的分位值可能未包含正在记录的值
+ */
+public class MvvmLatencyHistogram {
+
+    // 每个2的幂区间的桶数量为2^SUB_BUCKET_BITS
+    private final static int SUB_BUCKET_BITS = 5;
+    private final static int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    // 可记录的最大耗时约18分钟
+    public final static long MAX_TRACKABLE_NANOS = (1L << 40) - 1;
+
+    private final static int BUCKET_COUNT = (40 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray mCounts = new AtomicLongArray(BUCKET_COUNT);
+    // 总耗时使用分段累加，避免多线程记录时竞争同一计数
+    private final LongAdder mTotalNanos = new LongAdder();
+    private final AtomicLong mMaxNanos = new AtomicLong(0);
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:51
+     * @description 记录一次耗时，负值记为0
+     */
+    public void record(final long nanos) {
+        final long value = Math.min(Math.max(nanos, 0), MAX_TRACKABLE_NANOS);
+        mCounts.incrementAndGet(indexOf(value));
+        mTotalNanos.add(value);
+        long max;
+        // 最大值只在变大时写入，稳定后记录不再竞争
+        while (value > (max = mMaxNanos.get())) {
+            if (mMaxNanos.compareAndSet(max, value)) {
+                break;
+            }
+        }
+    }
+
+    // 总次数由各桶计数累加得到
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += mCounts.get(i);
+        }
+        return count;
+    }
+
+    public long getMaxNanos() {
+        return mMaxNanos.get();
+    }
+
+    public double getMeanNanos() {
+        final long count = getCount();
+        return count == 0 ? 0 : (double) mTotalNanos.sum() / count;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:51
+     * @description 获取指定百分位（0~100）的耗时，返回所在桶的上界且不超过最大值，尚无记录时返回0
+     */
+    public long getValueAtPercentile(final double percentile) {
+        final long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = mCounts.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long target = Math.max(1, (long) Math.ceil(Math.min(Math.max(percentile, 0), 100) / 100 * total));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return Math.min(highestValueOf(i), mMaxNanos.get());
+            }
+        }
+        return mMaxNanos.get();
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:51
+     * @description 清空统计数据，与并发记录之间不保证原子性
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            mCounts.set(i, 0);
+        }
+        mTotalNanos.reset();
+        mMaxNanos.set(0);
+    }
+
+    // 值所在的桶，小于2*SUB_BUCKET_COUNT的值与桶序号一一对应
+    static int indexOf(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        final int shift = magnitude - SUB_BUCKET_BITS;
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+    }
+
+    // 桶内的最大值
+    static long highestValueOf(final int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int magnitude = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        final int shift = magnitude - SUB_BUCKET_BITS;
+        final long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+}
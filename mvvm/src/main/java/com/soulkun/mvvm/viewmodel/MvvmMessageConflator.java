@@ -0,0 +1,227 @@
+package com.soulkun.mvvm.viewmodel;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.soulkun.mvvm.enums.MvvmMessageConflation;
+import com.soulkun.mvvm.model.MvvmMessage;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:14
+ * @description 消息总线的合并器，按消息ID维护合并状态，只将需要推送的最新值交给分发器
+ * 跨线程发送时同一ID只占用一个待分发槽位，新值直接覆盖旧值；主线程上按策略立即推送或延时推送
+ * 同一ID合并后推送的消息会丢弃重放日志中该ID的上一条消息，保证重放日志中只保留最新值
+ */
+public class MvvmMessageConflator<M extends MvvmMessage> {
+
+    private final Map<Integer, State> mStates = new ConcurrentHashMap<>();
+
+    private final IConflationPolicy mPolicy;
+    private final IConflationScheduler mScheduler;
+    private final IConflationDispatcher<M> mDispatcher;
+
+    // 统计数据，只在主线程上修改
+    private long mOfferedCount = 0;
+    private long mDispatchedCount = 0;
+
+    public MvvmMessageConflator(final @NonNull IConflationPolicy policy, final @NonNull IConflationScheduler scheduler,
+                                final @NonNull IConflationDispatcher<M> dispatcher) {
+        mPolicy = policy;
+        mScheduler = scheduler;
+        mDispatcher = dispatcher;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:14
+     * @description 获取消息ID的合并状态，不合并的ID返回Null，允许任意线程调用
+     */
+    @Nullable
+    public State getState(final int messageId) {
+        State state = mStates.get(messageId);
+        if (state == null) {
+            state = mStates.computeIfAbsent(messageId, id -> new State(mPolicy.conflateMessage(id)));
+        }
+        return state.mConflation.isConflated() ? state : null;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:14
+     * @description 跨线程写入待分发槽位，返回true表示槽位原本为空，需要调度一次{@link #drain}，允许任意线程调用
+     */
+    public boolean offerPending(final @NonNull State state, final @NonNull M message) {
+        return state.mPendingSlot.getAndSet(message) == null;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:14
+     * @description 取出待分发槽位中的最新值并按策略处理，只在主线程上调用
+     */
+    @SuppressWarnings("unchecked")
+    public void drain(final @NonNull State state) {
+        final M message = (M) state.mPendingSlot.getAndSet(null);
+        if (message != null) {
+            offer(state, message);
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:14
+     * @description 按策略处理消息，只在主线程上调用
+     */
+    public void offer(final @NonNull State state, final @NonNull M message) {
+        mOfferedCount++;
+        final long now = mScheduler.uptimeMillis();
+        final long window = state.mConflation.getWindowMillis();
+        switch (state.mConflation.getMode()) {
+            case LATEST_ONLY: {
+                dispatch(state, message);
+            }
+            break;
+            case THROTTLE: {
+                if (state.mPending == null && now - state.mLastDispatchTime >= window) {
+                    // 窗口外立即推送
+                    state.mLastDispatchTime = now;
+                    dispatch(state, message);
+                } else {
+                    // 窗口内保留最新值，窗口结束时推送
+                    state.mPending = message;
+                    schedule(state, state.mLastDispatchTime + window - now);
+                }
+            }
+            break;
+            case DEBOUNCE: {
+                // 只记录到达时间，计时到期时再判断是否静默，避免每条消息都重新调度
+                state.mPending = message;
+                state.mLastOfferTime = now;
+                schedule(state, window);
+            }
+            break;
+            default: {
+                dispatch(state, message);
+            }
+            break;
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:14
+     * @description 取消全部延时推送并清空状态，只在主线程上调用
+     */
+    public void clear() {
+        for (State state : mStates.values()) {
+            if (state.mIsScheduled) {
+                mScheduler.removeCallbacks(state.mFlushRunnable);
+                state.mIsScheduled = false;
+            }
+            state.mPending = null;
+            state.mPendingSlot.set(null);
+        }
+    }
+
+    // 累计进入合并器的消息数量
+    public long getOfferedCount() {
+        return mOfferedCount;
+    }
+
+    // 累计合并后实际推送的消息数量
+    public long getDispatchedCount() {
+        return mDispatchedCount;
+    }
+
+    private void schedule(final State state, final long delayMillis) {
+        if (!state.mIsScheduled) {
+            state.mIsScheduled = true;
+            mScheduler.postDelayed(state.mFlushRunnable, Math.max(0, delayMillis));
+        }
+    }
+
+    private void flush(final State state) {
+        state.mIsScheduled = false;
+        if (state.mPending == null) {
+            return;
+        }
+        final long now = mScheduler.uptimeMillis();
+        final long window = state.mConflation.getWindowMillis();
+        if (state.mConflation.getMode() == MvvmMessageConflation.Mode.DEBOUNCE && now - state.mLastOfferTime < window) {
+            // 计时期间有新消息到达，顺延至静默结束
+            schedule(state, state.mLastOfferTime + window - now);
+            return;
+        }
+        @SuppressWarnings("unchecked") final M message = (M) state.mPending;
+        state.mPending = null;
+        state.mLastDispatchTime = now;
+        dispatch(state, message);
+    }
+
+    private void dispatch(final State state, final M message) {
+        mDispatchedCount++;
+        final long previousSequence = state.mLastSequence;
+        state.mLastSequence = mDispatcher.dispatch(message);
+        if (previousSequence >= 0) {
+            mDispatcher.discard(previousSequence);
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:14
+     * @description 单个消息ID的合并状态
+     */
+    public final class State {
+
+        private final MvvmMessageConflation mConflation;
+
+        // 跨线程待分发槽位
+        private final AtomicReference<Object> mPendingSlot = new AtomicReference<>();
+
+        private final Runnable mFlushRunnable = () -> flush(this);
+
+        // 以下字段只在主线程上访问
+        private Object mPending;
+        private long mLastDispatchTime = Long.MIN_VALUE / 2;
+        private long mLastOfferTime;
+        private long mLastSequence = -1;
+        private boolean mIsScheduled;
+
+        private State(final @NonNull MvvmMessageConflation conflation) {
+            mConflation = conflation;
+        }
+
+        public MvvmMessageConflation getConflation() {
+            return mConflation;
+        }
+
+    }
+
+    public interface IConflationPolicy {
+        @NonNull
+        MvvmMessageConflation conflateMessage(int messageId);
+    }
+
+    public interface IConflationScheduler {
+        long uptimeMillis();
+
+        void postDelayed(@NonNull Runnable runnable, long delayMillis);
+
+        void removeCallbacks(@NonNull Runnable runnable);
+    }
+
+    public interface IConflationDispatcher<M> {
+        // 分发消息并返回其在重放日志中的序号
+        long dispatch(@NonNull M message);
+
+        // 丢弃重放日志中的旧消息
+        void discard(long sequence);
+    }
+
+}
@@ -0,0 +1,194 @@
+package com.soulkun.mvvm.viewmodel;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:11
+ * @description 消息总线的过期时间轮，按消息序号登记过期时间，由外部以固定间隔调用{@link #advance}推进并批量过期
+ * 时间轮共有wheelSize个槽位，每个槽位对应一个tick，超过一圈的过期时间按圈数在同一槽位等待
+ * 槽位使用原始类型数组存储，登记和过期均无对象分配，注意，非线程安全，必须在同一线程上使用
+ */
+public class MvvmMessageExpiryWheel {
+
+    private static final int DEFAULT_BUCKET_CAPACITY = 8;
+
+    private final long mTickMillis;
+    private final Bucket[] mBuckets;
+
+    // 已处理到的tick，-1表示尚未开始
+    private long mCurrentTick = -1;
+    private int mPendingCount = 0;
+
+    // 统计数据
+    private long mSweepCount = 0;
+    private long mTotalExpiredCount = 0;
+    private int mLastSweepExpiredCount = 0;
+    private int mMaxSweepExpiredCount = 0;
+
+    public MvvmMessageExpiryWheel(final long tickMillis, final int wheelSize) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("时间轮的tick和槽位数必须大于0！");
+        }
+        mTickMillis = tickMillis;
+        mBuckets = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            mBuckets[i] = new Bucket();
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:11
+     * @description 登记消息过期时间，到期后在推进时向回调传入该消息序号
+     */
+    public void schedule(final long sequence, final long deadlineMillis) {
+        // 向上取整，保证不会早于过期时间过期
+        long deadlineTick = (deadlineMillis + mTickMillis - 1) / mTickMillis;
+        if (deadlineTick <= mCurrentTick) {
+            deadlineTick = mCurrentTick + 1;
+        }
+        mBuckets[(int) (deadlineTick % mBuckets.length)].add(sequence, deadlineTick);
+        mPendingCount++;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:11
+     * @description 推进时间轮至当前时间，批量过期到期的消息，返回本次过期的消息数量
+     */
+    public int advance(final long nowMillis, final @NonNull IExpiryCallback callback) {
+        final long targetTick = nowMillis / mTickMillis;
+        int expiredCount = 0;
+        // 落后超过一圈时只需每个槽位扫描一次，首次推进前登记的条目同样会被扫描到
+        final long fromTick = Math.max(mCurrentTick + 1, targetTick - mBuckets.length + 1);
+        for (long tick = fromTick; tick <= targetTick && mPendingCount > 0; tick++) {
+            expiredCount += mBuckets[(int) (tick % mBuckets.length)].expire(targetTick, callback);
+        }
+        mCurrentTick = Math.max(mCurrentTick, targetTick);
+        mPendingCount -= expiredCount;
+
+        mSweepCount++;
+        mTotalExpiredCount += expiredCount;
+        mLastSweepExpiredCount = expiredCount;
+        mMaxSweepExpiredCount = Math.max(mMaxSweepExpiredCount, expiredCount);
+        return expiredCount;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 1:21
+     * @description 删除已失效的条目，例如消息已被覆盖或丢弃，返回删除的数量，被删除的条目不再回调过期
+     * 用于在条目数超过阈值时及时释放时间轮容量，避免条目数随发送频率与过期时间的乘积增长
+     */
+    public int purge(final @NonNull IStaleFilter filter) {
+        int purgedCount = 0;
+        for (Bucket bucket : mBuckets) {
+            purgedCount += bucket.purge(filter);
+        }
+        mPendingCount -= purgedCount;
+        return purgedCount;
+    }
+
+    public void clear() {
+        for (Bucket bucket : mBuckets) {
+            bucket.mSize = 0;
+        }
+        mPendingCount = 0;
+    }
+
+    public boolean isEmpty() {
+        return mPendingCount == 0;
+    }
+
+    public long getTickMillis() {
+        return mTickMillis;
+    }
+
+    // 待过期的消息数量
+    public int getPendingCount() {
+        return mPendingCount;
+    }
+
+    // 推进次数
+    public long getSweepCount() {
+        return mSweepCount;
+    }
+
+    // 累计过期的消息数量
+    public long getTotalExpiredCount() {
+        return mTotalExpiredCount;
+    }
+
+    // 最近一次推进过期的消息数量
+    public int getLastSweepExpiredCount() {
+        return mLastSweepExpiredCount;
+    }
+
+    // 单次推进过期消息数量的最大值
+    public int getMaxSweepExpiredCount() {
+        return mMaxSweepExpiredCount;
+    }
+
+    public interface IExpiryCallback {
+        void onExpired(long sequence);
+    }
+
+    public interface IStaleFilter {
+        boolean isStale(long sequence);
+    }
+
+    private static class Bucket {
+
+        private long[] mSequences = new long[DEFAULT_BUCKET_CAPACITY];
+        private long[] mDeadlineTicks = new long[DEFAULT_BUCKET_CAPACITY];
+        private int mSize = 0;
+
+        private void add(final long sequence, final long deadlineTick) {
+            if (mSize == mSequences.length) {
+                mSequences = Arrays.copyOf(mSequences, mSize << 1);
+                mDeadlineTicks = Arrays.copyOf(mDeadlineTicks, mSize << 1);
+            }
+            mSequences[mSize] = sequence;
+            mDeadlineTicks[mSize] = deadlineTick;
+            mSize++;
+        }
+
+        // 过期到期的条目并压缩数组，未满圈数的条目保留
+        private int expire(final long targetTick, final IExpiryCallback callback) {
+            int kept = 0;
+            int expired = 0;
+            for (int i = 0; i < mSize; i++) {
+                if (mDeadlineTicks[i] <= targetTick) {
+                    callback.onExpired(mSequences[i]);
+                    expired++;
+                } else {
+                    mSequences[kept] = mSequences[i];
+                    mDeadlineTicks[kept] = mDeadlineTicks[i];
+                    kept++;
+                }
+            }
+            mSize = kept;
+            return expired;
+        }
+
+        // 删除失效的条目并压缩数组
+        private int purge(final IStaleFilter filter) {
+            int kept = 0;
+            for (int i = 0; i < mSize; i++) {
+                if (!filter.isStale(mSequences[i])) {
+                    mSequences[kept] = mSequences[i];
+                    mDeadlineTicks[kept] = mDeadlineTicks[i];
+                    kept++;
+                }
+            }
+            final int purged = mSize - kept;
+            mSize = kept;
+            return purged;
+        }
+
+    }
+
+}
@@ -0,0 +1,178 @@
+package com.soulkun.mvvm.viewmodel;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:15
+ * @description 消息总线的观察者登记表，以观察者对象身份（而非hashCode）为键，不存在哈希冲突互相覆盖的问题
+ * 同时按生命周期持有者分组存储订阅者数组，解绑生命周期时只访问该持有者的订阅者，登记与单个删除均为O(1)
+ * 永久观察者（持有者为Null）不分组，注意，非线程安全，必须在同一线程上使用
+ */
+public class MvvmMessageObserverRegistry<S> {
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private final Map<Object, Entry> mObserverToEntryMap = new IdentityHashMap<>();
+
+    private final Map<Object, Group> mOwnerToGroupMap = new IdentityHashMap<>();
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:15
+     * @description 登记观察者对应的订阅者，返回该观察者之前登记的订阅者，不存在则返回Null
+     */
+    @Nullable
+    public S put(final @NonNull Object observer, final @Nullable Object owner, final @NonNull S subscriber) {
+        final S previous = remove(observer);
+        final Entry entry = new Entry(observer, owner, subscriber);
+        mObserverToEntryMap.put(observer, entry);
+        if (owner != null) {
+            Group group = mOwnerToGroupMap.get(owner);
+            if (group == null) {
+                group = new Group();
+                mOwnerToGroupMap.put(owner, group);
+            }
+            group.add(entry);
+        }
+        return previous;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:15
+     * @description 获取观察者对应的订阅者
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public S get(final @NonNull Object observer) {
+        final Entry entry = mObserverToEntryMap.get(observer);
+        return entry == null ? null : (S) entry.mSubscriber;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:15
+     * @description 删除观察者，返回其对应的订阅者，不存在则返回Null
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public S remove(final @NonNull Object observer) {
+        final Entry entry = mObserverToEntryMap.remove(observer);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.mOwner != null) {
+            final Group group = mOwnerToGroupMap.get(entry.mOwner);
+            if (group != null) {
+                group.remove(entry);
+                if (group.mSize == 0) {
+                    mOwnerToGroupMap.remove(entry.mOwner);
+                }
+            }
+        }
+        return (S) entry.mSubscriber;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:15
+     * @description 删除生命周期持有者的全部观察者，返回被删除的订阅者，只访问该持有者的订阅者
+     */
+    @NonNull
+    public Object[] removeOwner(final @NonNull Object owner) {
+        final Group group = mOwnerToGroupMap.remove(owner);
+        if (group == null) {
+            return EMPTY;
+        }
+        final Object[] subscribers = new Object[group.mSize];
+        for (int i = 0; i < group.mSize; i++) {
+            final Entry entry = group.mEntries[i];
+            mObserverToEntryMap.remove(entry.mObserver);
+            subscribers[i] = entry.mSubscriber;
+        }
+        return subscribers;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:15
+     * @description 返回生命周期持有者的订阅者快照
+     */
+    @NonNull
+    public Object[] getSubscribers(final @NonNull Object owner) {
+        final Group group = mOwnerToGroupMap.get(owner);
+        if (group == null) {
+            return EMPTY;
+        }
+        final Object[] subscribers = new Object[group.mSize];
+        for (int i = 0; i < group.mSize; i++) {
+            subscribers[i] = group.mEntries[i].mSubscriber;
+        }
+        return subscribers;
+    }
+
+    public int size() {
+        return mObserverToEntryMap.size();
+    }
+
+    public int getOwnerCount() {
+        return mOwnerToGroupMap.size();
+    }
+
+    public void clear() {
+        mObserverToEntryMap.clear();
+        mOwnerToGroupMap.clear();
+    }
+
+    private static class Entry {
+
+        private final Object mObserver;
+        private final Object mOwner;
+        private final Object mSubscriber;
+
+        // 在所属分组数组中的位置
+        private int mIndex = -1;
+
+        private Entry(final Object observer, final Object owner, final Object subscriber) {
+            mObserver = observer;
+            mOwner = owner;
+            mSubscriber = subscriber;
+        }
+
+    }
+
+    private static class Group {
+
+        private Entry[] mEntries = new Entry[4];
+        private int mSize = 0;
+
+        private void add(final Entry entry) {
+            if (mSize == mEntries.length) {
+                mEntries = Arrays.copyOf(mEntries, mSize << 1);
+            }
+            entry.mIndex = mSize;
+            mEntries[mSize++] = entry;
+        }
+
+        // 与末尾元素交换后删除
+        private void remove(final Entry entry) {
+            final int index = entry.mIndex;
+            if (index < 0 || index >= mSize || mEntries[index] != entry) {
+                return;
+            }
+            final Entry last = mEntries[--mSize];
+            mEntries[index] = last;
+            last.mIndex = index;
+            mEntries[mSize] = null;
+            entry.mIndex = -1;
+        }
+
+    }
+
+}
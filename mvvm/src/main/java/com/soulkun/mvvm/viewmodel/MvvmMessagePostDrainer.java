@@ -0,0 +1,357 @@
+package com.soulkun.mvvm.viewmodel;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:12
+ * @description 合并跨线程发送的消息，生产者将消息放入无锁MPSC队列，由单个排空任务在消费线程（一般为主线程）上批量分发
+ * 任意时刻最多只有一个待执行的排空任务，单次排空受数量和耗时预算限制，超出预算时剩余消息留待下一次排空，避免主线程掉帧
+ * 支持多条优先级通道，每条通道独立排队，排空时按通道序号从小到大（优先级从高到低）分发；
+ * 每条通道可设置待分发容量，{@link #offer}在容量已满时返回false或阻塞等待，允许生产者降速而非无限堆积
+ * 提供队列深度、排空延迟（排空任务调度至开始执行的耗时）以及排空耗时等统计数据
+ * 消费方销毁时调用{@link #clear()}，丢弃待分发的消息并拒绝之后发送的消息
+ */
+public class MvvmMessagePostDrainer<E> {
+
+    private final MvvmMpscQueue<E>[] mQueues;
+    private final int[] mLaneCapacities;
+
+    private final IDrainScheduler mScheduler;
+    private final IDrainConsumer<E> mConsumer;
+    private final int mMaxDrainCount;
+    private final long mMaxDrainNanos;
+
+    private final AtomicBoolean mIsDrainScheduled = new AtomicBoolean(false);
+    // 是否已清空，清空后拒绝发送，排空时直接丢弃消息
+    private volatile boolean mIsCleared = false;
+    private final Runnable mDrainRunnable = this::drain;
+
+    // 等待容量的生产者
+    private final Object mCapacityLock = new Object();
+    private final AtomicInteger mCapacityWaiterCount = new AtomicInteger(0);
+
+    // 统计数据
+    private final AtomicInteger[] mLaneDepths;
+    private final AtomicInteger mQueueDepth = new AtomicInteger(0);
+    private final AtomicInteger mMaxQueueDepth = new AtomicInteger(0);
+    private final AtomicLong mPostedCount = new AtomicLong(0);
+    private final AtomicLong mRejectedCount = new AtomicLong(0);
+    private volatile long mScheduledNanos;
+    private volatile long mDrainCount = 0;
+    private volatile long mDrainedCount = 0;
+    private volatile long mLastDrainLatencyNanos = 0;
+    private volatile long mMaxDrainLatencyNanos = 0;
+    private volatile long mLastDrainDurationNanos = 0;
+    private volatile long mMaxDrainDurationNanos = 0;
+
+    /**
+     * @param scheduler     排空任务的调度器，如主线程Handler的post
+     * @param consumer      在消费线程上分发消息
+     * @param maxDrainCount 单次排空的最大消息数量
+     * @param maxDrainNanos 单次排空的最大耗时，至少分发一条消息
+     */
+    public MvvmMessagePostDrainer(final @NonNull IDrainScheduler scheduler, final @NonNull IDrainConsumer<E> consumer,
+                                  final int maxDrainCount, final long maxDrainNanos) {
+        this(scheduler, consumer, maxDrainCount, maxDrainNanos, new int[]{Integer.MAX_VALUE});
+    }
+
+    /**
+     * @param laneCapacities 每条通道的待分发容量，数组长度即通道数量，序号越小优先级越高
+     */
+    @SuppressWarnings("unchecked")
+    public MvvmMessagePostDrainer(final @NonNull IDrainScheduler scheduler, final @NonNull IDrainConsumer<E> consumer,
+                                  final int maxDrainCount, final long maxDrainNanos, final @NonNull int[] laneCapacities) {
+        if (maxDrainCount <= 0 || maxDrainNanos <= 0) {
+            throw new IllegalArgumentException("排空预算必须大于0！");
+        }
+        if (laneCapacities.length == 0) {
+            throw new IllegalArgumentException("至少需要一条通道！");
+        }
+        mScheduler = scheduler;
+        mConsumer = consumer;
+        mMaxDrainCount = maxDrainCount;
+        mMaxDrainNanos = maxDrainNanos;
+        mLaneCapacities = laneCapacities.clone();
+        mQueues = new MvvmMpscQueue[laneCapacities.length];
+        mLaneDepths = new AtomicInteger[laneCapacities.length];
+        for (int i = 0; i < laneCapacities.length; i++) {
+            if (laneCapacities[i] <= 0) {
+                throw new IllegalArgumentException("通道容量必须大于0！");
+            }
+            mQueues[i] = new MvvmMpscQueue<>();
+            mLaneDepths[i] = new AtomicInteger(0);
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:12
+     * @description 发送消息，允许任意线程调用，仅当尚无待执行的排空任务时才调度排空任务，已清空时返回false
+     */
+    public boolean post(final @NonNull E element) {
+        return post(element, 0);
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:18
+     * @description 发送消息至指定通道，忽略通道容量，允许任意线程调用，已清空时返回false
+     */
+    public boolean post(final @NonNull E element, final int lane) {
+        if (mIsCleared) {
+            mRejectedCount.incrementAndGet();
+            return false;
+        }
+        mLaneDepths[lane].incrementAndGet();
+        enqueue(element, lane);
+        return true;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:18
+     * @description 尝试发送消息至指定通道，通道待分发数量已达容量或已清空时返回false，允许任意线程调用
+     */
+    public boolean offer(final @NonNull E element, final int lane) {
+        if (mIsCleared || !tryAcquire(lane)) {
+            mRejectedCount.incrementAndGet();
+            return false;
+        }
+        enqueue(element, lane);
+        return true;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:18
+     * @description 发送消息至指定通道，通道已满时阻塞等待直至有容量或超时，超时或已清空返回false，不允许在消费线程上调用
+     */
+    public boolean offer(final @NonNull E element, final int lane, final long timeout, final @NonNull TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (mIsCleared || !tryAcquire(lane)) {
+            final long remaining = deadline - System.nanoTime();
+            if (mIsCleared || remaining <= 0) {
+                mRejectedCount.incrementAndGet();
+                return false;
+            }
+            mCapacityWaiterCount.incrementAndGet();
+            try {
+                synchronized (mCapacityLock) {
+                    // 加锁后再次检查，避免错过消费线程或清空时的唤醒
+                    if (!mIsCleared && mLaneDepths[lane].get() >= mLaneCapacities[lane]) {
+                        TimeUnit.NANOSECONDS.timedWait(mCapacityLock, remaining);
+                    }
+                }
+            } finally {
+                mCapacityWaiterCount.decrementAndGet();
+            }
+        }
+        enqueue(element, lane);
+        return true;
+    }
+
+    private boolean tryAcquire(final int lane) {
+        final AtomicInteger depth = mLaneDepths[lane];
+        final int capacity = mLaneCapacities[lane];
+        int current;
+        do {
+            current = depth.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!depth.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void enqueue(final E element, final int lane) {
+        mQueues[lane].offer(element);
+        mPostedCount.incrementAndGet();
+        final int depth = mQueueDepth.incrementAndGet();
+        int maxDepth;
+        while (depth > (maxDepth = mMaxQueueDepth.get())) {
+            if (mMaxQueueDepth.compareAndSet(maxDepth, depth)) {
+                break;
+            }
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 1:47
+     * @description 丢弃全部待分发的消息并唤醒等待容量的生产者，之后发送的消息均被拒绝，已调度的排空任务不再分发，只在消费线程上调用
+     */
+    public void clear() {
+        mIsCleared = true;
+        discardAll();
+        synchronized (mCapacityLock) {
+            mCapacityLock.notifyAll();
+        }
+    }
+
+    public boolean isCleared() {
+        return mIsCleared;
+    }
+
+    // 丢弃全部待分发的消息，只在消费线程上执行
+    private void discardAll() {
+        for (int lane = 0; lane < mQueues.length; lane++) {
+            while (mQueues[lane].poll() != null) {
+                mLaneDepths[lane].decrementAndGet();
+                mQueueDepth.decrementAndGet();
+            }
+        }
+    }
+
+    // 排空队列，按通道优先级分发，只在消费线程上执行
+    // 消费者抛出异常时仍释放调度标记并重新调度剩余消息，再向上抛出，避免之后的消息永远无法分发
+    private void drain() {
+        if (mIsCleared) {
+            // 清空前已调度的排空任务，或与清空并发入队的消息，直接丢弃
+            mIsDrainScheduled.set(false);
+            discardAll();
+            return;
+        }
+        final long startNanos = System.nanoTime();
+        final long latencyNanos = startNanos - mScheduledNanos;
+        int drained = 0;
+        try {
+            boolean isOverBudget = false;
+            for (int lane = 0; lane < mQueues.length && !isOverBudget; lane++) {
+                final MvvmMpscQueue<E> queue = mQueues[lane];
+                E element;
+                while ((element = queue.poll()) != null) {
+                    // 分发前先更新计数，消费者抛出异常时计数仍与队列一致
+                    mLaneDepths[lane].decrementAndGet();
+                    mQueueDepth.decrementAndGet();
+                    drained++;
+                    mConsumer.accept(element);
+                    if (drained >= mMaxDrainCount || System.nanoTime() - startNanos >= mMaxDrainNanos) {
+                        isOverBudget = true;
+                        break;
+                    }
+                    if (lane > 0 && hasHigherPriority(lane)) {
+                        // 分发期间高优先级通道有新消息，优先处理
+                        lane = -1;
+                        break;
+                    }
+                }
+            }
+        } finally {
+            final long durationNanos = System.nanoTime() - startNanos;
+
+            mDrainCount++;
+            mDrainedCount += drained;
+            mLastDrainLatencyNanos = latencyNanos;
+            mMaxDrainLatencyNanos = Math.max(mMaxDrainLatencyNanos, latencyNanos);
+            mLastDrainDurationNanos = durationNanos;
+            mMaxDrainDurationNanos = Math.max(mMaxDrainDurationNanos, durationNanos);
+
+            // 唤醒等待容量的生产者
+            if (drained > 0 && mCapacityWaiterCount.get() > 0) {
+                synchronized (mCapacityLock) {
+                    mCapacityLock.notifyAll();
+                }
+            }
+
+            // 先释放调度标记再检查计数，保证并发入队的消息不会滞留
+            mIsDrainScheduled.set(false);
+            if (mQueueDepth.get() > 0) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private boolean hasHigherPriority(final int lane) {
+        for (int i = 0; i < lane; i++) {
+            if (mLaneDepths[i].get() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void scheduleDrain() {
+        if (mIsDrainScheduled.compareAndSet(false, true)) {
+            mScheduledNanos = System.nanoTime();
+            mScheduler.schedule(mDrainRunnable);
+        }
+    }
+
+    public int getLaneCount() {
+        return mQueues.length;
+    }
+
+    // 当前队列深度
+    public int getQueueDepth() {
+        return mQueueDepth.get();
+    }
+
+    // 指定通道当前待分发数量
+    public int getQueueDepth(final int lane) {
+        return mLaneDepths[lane].get();
+    }
+
+    // 指定通道剩余容量
+    public int getRemainingCapacity(final int lane) {
+        return Math.max(0, mLaneCapacities[lane] - mLaneDepths[lane].get());
+    }
+
+    // 队列深度最大值
+    public int getMaxQueueDepth() {
+        return mMaxQueueDepth.get();
+    }
+
+    // 累计发送的消息数量
+    public long getPostedCount() {
+        return mPostedCount.get();
+    }
+
+    // 累计因容量已满被拒绝的消息数量
+    public long getRejectedCount() {
+        return mRejectedCount.get();
+    }
+
+    // 累计排空次数
+    public long getDrainCount() {
+        return mDrainCount;
+    }
+
+    // 累计排空分发的消息数量
+    public long getDrainedCount() {
+        return mDrainedCount;
+    }
+
+    // 最近一次排空任务从调度到开始执行的延迟
+    public long getLastDrainLatencyNanos() {
+        return mLastDrainLatencyNanos;
+    }
+
+    public long getMaxDrainLatencyNanos() {
+        return mMaxDrainLatencyNanos;
+    }
+
+    // 最近一次排空的执行耗时
+    public long getLastDrainDurationNanos() {
+        return mLastDrainDurationNanos;
+    }
+
+    public long getMaxDrainDurationNanos() {
+        return mMaxDrainDurationNanos;
+    }
+
+    public interface IDrainScheduler {
+        void schedule(@NonNull Runnable drainRunnable);
+    }
+
+    public interface IDrainConsumer<E> {
+        void accept(@NonNull E element);
+    }
+
+}
@@ -0,0 +1,164 @@
+package com.soulkun.mvvm.viewmodel;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:10
+ * @description 消息总线的重放日志，预分配的环形缓冲区，每条消息分配一个递增的序号
+ * 写入消息仅为一次数组赋值，缓冲区满时覆盖最旧的消息；观察者持有读游标（下一个待读取的序号），
+ * 粘性观察者从最近一条消息开始读取，非粘性观察者从下一条写入的消息开始读取
+ * 注意，非线程安全，必须在同一线程上使用
+ */
+public class MvvmMessageRingBuffer<M> {
+
+    private final Object[] mMessages;
+    private final long[] mSequences;
+    // 消息的外部时间戳，多个缓冲区之间比较先后顺序
+    private final long[] mStamps;
+
+    // 下一条写入消息的序号
+    private long mNextSequence = 0;
+
+    public MvvmMessageRingBuffer(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("消息队列长度必须大于0！");
+        }
+        mMessages = new Object[capacity];
+        mSequences = new long[capacity];
+        mStamps = new long[capacity];
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:10
+     * @description 写入消息并返回其序号，缓冲区满时覆盖最旧的消息
+     */
+    public long add(final @NonNull M message) {
+        return add(message, mNextSequence);
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:18
+     * @description 写入消息及其外部时间戳并返回其序号，时间戳用于多个缓冲区之间比较消息先后
+     */
+    public long add(final @NonNull M message, final long stamp) {
+        final long sequence = mNextSequence++;
+        final int slot = slotOf(sequence);
+        mMessages[slot] = message;
+        mSequences[slot] = sequence;
+        mStamps[slot] = stamp;
+        return sequence;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:10
+     * @description 获取指定序号的消息，已被覆盖或移除则返回Null
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public M get(final long sequence) {
+        if (sequence < getFirstSequence() || sequence >= mNextSequence) {
+            return null;
+        }
+        final int slot = slotOf(sequence);
+        return mSequences[slot] == sequence ? (M) mMessages[slot] : null;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:18
+     * @description 获取指定序号消息的外部时间戳，消息已被覆盖或移除则返回-1
+     */
+    public long getStamp(final long sequence) {
+        return get(sequence) == null ? -1 : mStamps[slotOf(sequence)];
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:10
+     * @description 移除指定序号的消息，仅当该序号的消息仍在缓冲区内才会移除
+     */
+    public boolean remove(final long sequence) {
+        if (get(sequence) == null) {
+            return false;
+        }
+        mMessages[slotOf(sequence)] = null;
+        return true;
+    }
+
+    public void clear() {
+        for (int i = 0; i < mMessages.length; i++) {
+            mMessages[i] = null;
+        }
+    }
+
+    // 缓冲区内最旧消息的序号
+    public long getFirstSequence() {
+        return Math.max(0, mNextSequence - mMessages.length);
+    }
+
+    // 下一条写入消息的序号，即非粘性观察者的起始游标
+    public long getNextSequence() {
+        return mNextSequence;
+    }
+
+    public int getCapacity() {
+        return mMessages.length;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:10
+     * @description 从后向前查找最近一条满足条件的消息序号，即粘性观察者的起始游标，不存在则返回{@link #getNextSequence()}
+     */
+    public long findLatestSequence(final @Nullable IMessageFilter<M> filter) {
+        final long first = getFirstSequence();
+        for (long sequence = mNextSequence - 1; sequence >= first; sequence--) {
+            final M message = get(sequence);
+            if (message != null && (filter == null || filter.accept(message))) {
+                return sequence;
+            }
+        }
+        return mNextSequence;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:10
+     * @description 从游标开始向访问者依次推送消息直至最新消息，跳过已被覆盖、移除或不满足条件的消息，返回新的游标
+     * 游标在回调前先行推进，回调中重入发送消息也不会重复推送
+     */
+    public long deliver(final long cursor, final @Nullable IMessageFilter<M> filter, final @NonNull IMessageVisitor<M> visitor) {
+        long next = Math.max(cursor, getFirstSequence());
+        while (next < mNextSequence) {
+            final M message = get(next);
+            next++;
+            if (message != null && (filter == null || filter.accept(message))) {
+                if (!visitor.visit(message, next)) {
+                    break;
+                }
+            }
+        }
+        return next;
+    }
+
+    private int slotOf(final long sequence) {
+        return (int) (sequence % mMessages.length);
+    }
+
+    public interface IMessageFilter<M> {
+        boolean accept(M message);
+    }
+
+    public interface IMessageVisitor<M> {
+        /**
+         * 访问消息，nextCursor为访问该消息后的游标，返回false则停止推送
+         */
+        boolean visit(M message, long nextCursor);
+    }
+
+}
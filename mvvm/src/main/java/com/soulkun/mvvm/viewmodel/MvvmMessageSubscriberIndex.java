@@ -0,0 +1,206 @@
+package com.soulkun.mvvm.viewmodel;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:08
+ * @description 消息总线的订阅者索引，以消息ID（int原始类型，开放寻址哈希，无装箱）索引订阅者数组
+ * 消息分发时只需遍历该ID的订阅者与全量订阅者（未指定消息ID的订阅者），与其他无关订阅者数量无关
+ * 订阅者数组采用写时复制，分发过程中允许订阅者增删而不影响本次遍历，注意，非线程安全，必须在同一线程上使用
+ */
+public class MvvmMessageSubscriberIndex<S> {
+
+    private static final Object[] EMPTY = new Object[0];
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // 开放寻址表，key为消息ID，value为对应的订阅者数组
+    private int[] mKeys;
+    private Object[][] mValues;
+    private boolean[] mUsed;
+    private int mSize;
+
+    // 未指定消息ID的订阅者，接收全部消息
+    private Object[] mWildcardSubscribers = EMPTY;
+
+    public MvvmMessageSubscriberIndex() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MvvmMessageSubscriberIndex(final int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(initialCapacity, 4) - 1) << 1;
+        mKeys = new int[capacity];
+        mValues = new Object[capacity][];
+        mUsed = new boolean[capacity];
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:08
+     * @description 增加订阅者，messageIds为Null则订阅全部消息
+     */
+    public void add(final @Nullable int[] messageIds, final @NonNull S subscriber) {
+        if (messageIds == null) {
+            mWildcardSubscribers = append(mWildcardSubscribers, subscriber);
+            return;
+        }
+        for (int id : messageIds) {
+            final int slot = findOrInsertSlot(id);
+            mValues[slot] = append(mValues[slot], subscriber);
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:08
+     * @description 删除订阅者，messageIds必须与增加时一致
+     */
+    public void remove(final @Nullable int[] messageIds, final @NonNull S subscriber) {
+        if (messageIds == null) {
+            mWildcardSubscribers = removeElement(mWildcardSubscribers, subscriber);
+            return;
+        }
+        for (int id : messageIds) {
+            final int slot = findSlot(id);
+            if (slot >= 0) {
+                mValues[slot] = removeElement(mValues[slot], subscriber);
+            }
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:08
+     * @description 返回指定消息ID的订阅者快照，不包含全量订阅者，返回数组不可修改
+     */
+    @NonNull
+    public Object[] getSubscribers(final int messageId) {
+        final int slot = findSlot(messageId);
+        return slot >= 0 ? mValues[slot] : EMPTY;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:08
+     * @description 返回全量订阅者快照，返回数组不可修改
+     */
+    @NonNull
+    public Object[] getWildcardSubscribers() {
+        return mWildcardSubscribers;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:08
+     * @description 遍历指定消息ID需要分发的全部订阅者，返回遍历的订阅者数量
+     */
+    @SuppressWarnings("unchecked")
+    public int dispatch(final int messageId, final @NonNull ISubscriberVisitor<S> visitor) {
+        final Object[] subscribers = getSubscribers(messageId);
+        final Object[] wildcardSubscribers = mWildcardSubscribers;
+        for (Object subscriber : subscribers) {
+            visitor.visit((S) subscriber);
+        }
+        for (Object subscriber : wildcardSubscribers) {
+            visitor.visit((S) subscriber);
+        }
+        return subscribers.length + wildcardSubscribers.length;
+    }
+
+    public void clear() {
+        Arrays.fill(mKeys, 0);
+        Arrays.fill(mValues, null);
+        Arrays.fill(mUsed, false);
+        mSize = 0;
+        mWildcardSubscribers = EMPTY;
+    }
+
+    private int findSlot(final int id) {
+        final int mask = mKeys.length - 1;
+        int slot = mix(id) & mask;
+        while (mUsed[slot]) {
+            if (mKeys[slot] == id) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int findOrInsertSlot(final int id) {
+        final int existing = findSlot(id);
+        if (existing >= 0) {
+            return existing;
+        }
+        // 负载因子超过0.5时扩容
+        if ((mSize + 1) * 2 > mKeys.length) {
+            rehash(mKeys.length << 1);
+        }
+        final int mask = mKeys.length - 1;
+        int slot = mix(id) & mask;
+        while (mUsed[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        mUsed[slot] = true;
+        mKeys[slot] = id;
+        mValues[slot] = EMPTY;
+        mSize++;
+        return slot;
+    }
+
+    private void rehash(final int newCapacity) {
+        final int[] oldKeys = mKeys;
+        final Object[][] oldValues = mValues;
+        final boolean[] oldUsed = mUsed;
+        mKeys = new int[newCapacity];
+        mValues = new Object[newCapacity][];
+        mUsed = new boolean[newCapacity];
+        final int mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (mUsed[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                mUsed[slot] = true;
+                mKeys[slot] = oldKeys[i];
+                mValues[slot] = oldValues[i];
+            }
+        }
+    }
+
+    // 打散连续的消息ID，避免线性探测聚集
+    private static int mix(final int id) {
+        final int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static Object[] append(final Object[] array, final Object element) {
+        final Object[] newArray = Arrays.copyOf(array, array.length + 1);
+        newArray[array.length] = element;
+        return newArray;
+    }
+
+    private static Object[] removeElement(final Object[] array, final Object element) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == element) {
+                if (array.length == 1) {
+                    return EMPTY;
+                }
+                final Object[] newArray = new Object[array.length - 1];
+                System.arraycopy(array, 0, newArray, 0, i);
+                System.arraycopy(array, i + 1, newArray, i, array.length - i - 1);
+                return newArray;
+            }
+        }
+        return array;
+    }
+
+    public interface ISubscriberVisitor<S> {
+        void visit(S subscriber);
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.soulkun.mvvm.viewmodel;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:12
+ * @description 无锁的多生产者单消费者队列（Vyukov MPSC链表队列）
+ * 任意线程均可调用{@link #offer}入队，入队仅为一次原子交换；{@link #poll}只允许单一消费者线程调用
+ * 注意，生产者交换头节点与链接节点之间存在短暂窗口，此时消费者可能暂时读不到该元素，需要由调用方结合计数重新调度
+ */
+public class MvvmMpscQueue<E> {
+
+    private final AtomicReference<Node<E>> mHead;
+
+    // 仅消费者线程访问
+    private Node<E> mTail;
+
+    public MvvmMpscQueue() {
+        final Node<E> stub = new Node<>(null);
+        mHead = new AtomicReference<>(stub);
+        mTail = stub;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:12
+     * @description 入队，允许任意线程调用
+     */
+    public void offer(final @NonNull E element) {
+        final Node<E> node = new Node<>(element);
+        final Node<E> previous = mHead.getAndSet(node);
+        Node.NEXT_UPDATER.lazySet(previous, node);
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:12
+     * @description 出队，只允许消费者线程调用，队列为空时返回Null
+     */
+    @Nullable
+    public E poll() {
+        final Node<E> next = mTail.mNext;
+        if (next == null) {
+            return null;
+        }
+        final E element = next.mValue;
+        next.mValue = null;
+        mTail = next;
+        return element;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:12
+     * @description 是否为空，只允许消费者线程调用
+     */
+    public boolean isEmpty() {
+        return mTail.mNext == null && mHead.get() == mTail;
+    }
+
+    private static class Node<E> {
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<Node, Node> NEXT_UPDATER =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "mNext");
+
+        private E mValue;
+
+        private volatile Node<E> mNext;
+
+        private Node(final E value) {
+            mValue = value;
+        }
+
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.soulkun.mvvm.viewmodel;
+
+import androidx.annotation.NonNull;
+
+import com.soulkun.mvvm.enums.MvvmRequestLane;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:43
+ * @description 有界平台线程池执行后端，核心线程数与最大线程数相同，超出的任务在优先级队列中排队，空闲线程保活一段时间后回收
+ */
+public class MvvmPlatformRequestExecutorBackend implements IMvvmRequestExecutorBackend {
+
+    private final static long THREAD_KEEP_ALIVE_TIME = 30_000L;
+
+    private final ThreadPoolExecutor mExecutor;
+
+    private final AtomicInteger mCreatedThreadCount = new AtomicInteger(0);
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:43
+     * @description 按核心数确定线程数的工厂，IO通道线程数为核心数的4倍（8至64），CPU通道线程数为核心数（至少2）
+     */
+    public static final IFactory FACTORY = lane -> {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        return lane == MvvmRequestLane.IO
+                ? new MvvmPlatformRequestExecutorBackend("mvvm-request-io-", Math.min(64, Math.max(8, processors * 4)))
+                : new MvvmPlatformRequestExecutorBackend("mvvm-request-cpu-", Math.max(2, processors));
+    };
+
+    public MvvmPlatformRequestExecutorBackend(final @NonNull String namePrefix, final int threadCount) {
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("线程数必须大于0！");
+        }
+        final AtomicInteger threadNumber = new AtomicInteger(0);
+        // 核心线程数与最大线程数相同，队列无界时超出的任务排队而非新建线程
+        mExecutor = new ThreadPoolExecutor(threadCount, threadCount, THREAD_KEEP_ALIVE_TIME, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<Runnable>(), runnable -> {
+            mCreatedThreadCount.incrementAndGet();
+            final Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        mExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(final @NonNull Runnable task) {
+        mExecutor.execute(task);
+    }
+
+    @Override
+    public boolean remove(final @NonNull Runnable task) {
+        return mExecutor.remove(task);
+    }
+
+    @Override
+    public void shutdownNow() {
+        mExecutor.shutdownNow();
+    }
+
+    @Override
+    public int getCreatedThreadCount() {
+        return mCreatedThreadCount.get();
+    }
+
+    @Override
+    public int getPoolSize() {
+        return mExecutor.getPoolSize();
+    }
+
+    @Override
+    public int getMaxPoolSize() {
+        return mExecutor.getMaximumPoolSize();
+    }
+
+    @Override
+    public int getQueuedCount() {
+        return mExecutor.getQueue().size();
+    }
+
+}
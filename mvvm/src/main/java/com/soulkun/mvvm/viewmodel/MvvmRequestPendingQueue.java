@@ -0,0 +1,192 @@
+package com.soulkun.mvvm.viewmodel;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.soulkun.mvvm.enums.MvvmRequestOverflowPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:31
+ * @description 有界的待执行任务队列，按入队顺序出队，强引用任务直至出队、被丢弃或被拒绝，保证每个任务最终执行或回调取消
+ * 入队和出队均为无锁操作，允许任意线程入队；容量通过计数预留，队列已满时按{@link MvvmRequestOverflowPolicy}处理，
+ * 被丢弃、替代或拒绝的任务交由{@link IOverflowListener}回调
+ */
+public class MvvmRequestPendingQueue<E> {
+
+    private final int mCapacity;
+    private final MvvmRequestOverflowPolicy mOverflowPolicy;
+    private final IKeySelector<E> mKeySelector;
+    private final IOverflowListener<E> mOverflowListener;
+
+    private final ConcurrentLinkedDeque<E> mDeque = new ConcurrentLinkedDeque<>();
+
+    // 已预留的容量，可能短暂大于队列中实际的元素数量
+    private final AtomicInteger mSize = new AtomicInteger(0);
+
+    // 合并键到待执行任务的映射，只在COALESCE_BY_KEY策略下使用
+    private final Map<Object, E> mKeyedElementMap = new ConcurrentHashMap<>();
+
+    // 统计数据
+    private final AtomicLong mDroppedCount = new AtomicLong(0);
+    private final AtomicLong mRejectedCount = new AtomicLong(0);
+    private final AtomicLong mCoalescedCount = new AtomicLong(0);
+
+    public MvvmRequestPendingQueue(final int capacity, final @NonNull MvvmRequestOverflowPolicy overflowPolicy,
+                                   final @NonNull IKeySelector<E> keySelector, final @NonNull IOverflowListener<E> overflowListener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("队列容量必须大于0！");
+        }
+        mCapacity = capacity;
+        mOverflowPolicy = overflowPolicy;
+        mKeySelector = keySelector;
+        mOverflowListener = overflowListener;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:31
+     * @description 入队，允许任意线程调用，新任务被拒绝时返回false
+     */
+    public boolean offer(final @NonNull E element) {
+        final Object key = mOverflowPolicy == MvvmRequestOverflowPolicy.COALESCE_BY_KEY ? mKeySelector.keyOf(element) : null;
+        if (key != null) {
+            final E previous = mKeyedElementMap.put(key, element);
+            // 旧任务仍在队列中时由新任务接替其容量，旧任务已出队则按普通任务入队
+            if (previous != null && mDeque.removeFirstOccurrence(previous)) {
+                mDeque.offerLast(element);
+                mCoalescedCount.incrementAndGet();
+                mOverflowListener.onOverflow(previous);
+                return true;
+            }
+        }
+        while (true) {
+            final int size = mSize.get();
+            if (size < mCapacity) {
+                if (mSize.compareAndSet(size, size + 1)) {
+                    break;
+                }
+                continue;
+            }
+            if (mOverflowPolicy == MvvmRequestOverflowPolicy.DROP_OLDEST) {
+                final E oldest = mDeque.pollFirst();
+                if (oldest == null) {
+                    // 容量已被其他线程预留但元素尚未入队，重试
+                    continue;
+                }
+                // 新任务接替被丢弃任务的容量
+                mDroppedCount.incrementAndGet();
+                mOverflowListener.onOverflow(oldest);
+                break;
+            }
+            if (key != null) {
+                mKeyedElementMap.remove(key, element);
+            }
+            mRejectedCount.incrementAndGet();
+            mOverflowListener.onOverflow(element);
+            return false;
+        }
+        mDeque.offerLast(element);
+        return true;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:31
+     * @description 按入队顺序取出至多maxCount个任务至列表，返回取出的数量，允许任意线程调用
+     */
+    public int drainTo(final @NonNull List<E> list, final int maxCount) {
+        int count = 0;
+        while (count < maxCount) {
+            final E element = mDeque.pollFirst();
+            if (element == null) {
+                break;
+            }
+            onRemoved(element);
+            list.add(element);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:31
+     * @description 取出全部任务，不回调溢出监听
+     */
+    @NonNull
+    public List<E> clear() {
+        final List<E> list = new ArrayList<>();
+        drainTo(list, Integer.MAX_VALUE);
+        return list;
+    }
+
+    // 已预留的容量，即队列中及正在入队的任务数量
+    public int size() {
+        return mSize.get();
+    }
+
+    public int getCapacity() {
+        return mCapacity;
+    }
+
+    @NonNull
+    public MvvmRequestOverflowPolicy getOverflowPolicy() {
+        return mOverflowPolicy;
+    }
+
+    // 因队列已满被丢弃的最早任务数量
+    public long getDroppedCount() {
+        return mDroppedCount.get();
+    }
+
+    // 因队列已满被拒绝的新任务数量
+    public long getRejectedCount() {
+        return mRejectedCount.get();
+    }
+
+    // 被同一合并键的新任务替代的任务数量
+    public long getCoalescedCount() {
+        return mCoalescedCount.get();
+    }
+
+    private void onRemoved(final E element) {
+        mSize.decrementAndGet();
+        if (mOverflowPolicy == MvvmRequestOverflowPolicy.COALESCE_BY_KEY) {
+            final Object key = mKeySelector.keyOf(element);
+            if (key != null) {
+                mKeyedElementMap.remove(key, element);
+            }
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @description 合并键选择器，返回Null则不参与合并
+     */
+    public interface IKeySelector<E> {
+
+        @Nullable
+        Object keyOf(@NonNull E element);
+
+    }
+
+    /**
+     * @author soulkun
+     * @description 溢出监听，在入队线程上回调被丢弃、替代或拒绝的任务
+     */
+    public interface IOverflowListener<E> {
+
+        void onOverflow(@NonNull E element);
+
+    }
+
+}
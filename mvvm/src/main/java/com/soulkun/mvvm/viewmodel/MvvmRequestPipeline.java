@@ -0,0 +1,342 @@
+package com.soulkun.mvvm.viewmodel;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.soulkun.mvvm.enums.MvvmRequestCancelReason;
+import com.soulkun.mvvm.model.MvvmRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:41
+ * @description 可组合的请求流水线，描述多个请求步骤之间的依赖关系，整体在请求线程上执行，只推送最终结果，步骤之间不经过主线程
+ * then：上一步成功后以其结果执行下一步；zip：两条流水线并行执行后合并结果；fanOut：以上一步结果展开为多条并行的流水线，结果按顺序汇集为列表，再通过then汇总（fan-in）
+ * 任一步骤返回不成功的结果时流水线立即结束并返回该状态的结果，并行的其他分支以{@link MvvmRequestCancelReason#PIPELINE}取消
+ * 并行分支提交至{@link IBranchExecutor}，执行流水线的线程在等待期间直接执行尚未被取出的分支，线程池已满时不会死锁
+ * 流水线不可变且不持有状态，同一实例可重复执行；在请求ViewModel中通过{@link MvvmAbstractRequestViewModel.MvvmRequestPipelineTask}执行
+ */
+public abstract class MvvmRequestPipeline<T> {
+
+    MvvmRequestPipeline() {
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:41
+     * @description 以单个请求步骤开始流水线
+     */
+    @NonNull
+    public static <T> MvvmRequestPipeline<T> from(final @NonNull IStage<T> stage) {
+        return new MvvmRequestPipeline<T>() {
+            @NonNull
+            @Override
+            MvvmRequest<T> evaluate(final @NonNull IBranchExecutor branchExecutor) throws InterruptedException {
+                return checkNotNull(stage.request());
+            }
+        };
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:41
+     * @description 并行执行多条流水线，全部成功后按顺序汇集结果
+     */
+    @NonNull
+    public static <T> MvvmRequestPipeline<List<T>> all(final @NonNull List<? extends MvvmRequestPipeline<T>> pipelines) {
+        final List<MvvmRequestPipeline<T>> pipelineList = new ArrayList<>(pipelines);
+        return new MvvmRequestPipeline<List<T>>() {
+            @NonNull
+            @Override
+            MvvmRequest<List<T>> evaluate(final @NonNull IBranchExecutor branchExecutor) throws InterruptedException {
+                return evaluateAll(pipelineList, branchExecutor);
+            }
+        };
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:41
+     * @description 本流水线成功后以其结果执行下一步
+     */
+    @NonNull
+    public <R> MvvmRequestPipeline<R> then(final @NonNull IStep<? super T, R> step) {
+        final MvvmRequestPipeline<T> upstream = this;
+        return new MvvmRequestPipeline<R>() {
+            @NonNull
+            @Override
+            MvvmRequest<R> evaluate(final @NonNull IBranchExecutor branchExecutor) throws InterruptedException {
+                final MvvmRequest<T> request = upstream.evaluate(branchExecutor);
+                if (!request.isSuccess()) {
+                    return failure(request);
+                }
+                checkCancel();
+                return checkNotNull(step.request(request.getResponse()));
+            }
+        };
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:41
+     * @description 与另一条流水线并行执行，两者均成功后合并结果
+     */
+    @NonNull
+    public <U, R> MvvmRequestPipeline<R> zip(final @NonNull MvvmRequestPipeline<U> other, final @NonNull IZipper<? super T, ? super U, R> zipper) {
+        final MvvmRequestPipeline<T> upstream = this;
+        return new MvvmRequestPipeline<R>() {
+            @NonNull
+            @Override
+            @SuppressWarnings("unchecked")
+            MvvmRequest<R> evaluate(final @NonNull IBranchExecutor branchExecutor) throws InterruptedException {
+                final List<MvvmRequestPipeline<Object>> pipelineList = new ArrayList<>(2);
+                pipelineList.add((MvvmRequestPipeline<Object>) upstream);
+                pipelineList.add((MvvmRequestPipeline<Object>) other);
+                final MvvmRequest<List<Object>> request = evaluateAll(pipelineList, branchExecutor);
+                if (!request.isSuccess()) {
+                    return failure(request);
+                }
+                checkCancel();
+                final List<Object> responses = request.getResponse();
+                return checkNotNull(zipper.request((T) responses.get(0), (U) responses.get(1)));
+            }
+        };
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:41
+     * @description 本流水线成功后以其结果展开为多条并行的流水线，全部成功后按展开顺序汇集结果
+     */
+    @NonNull
+    public <E> MvvmRequestPipeline<List<E>> fanOut(final @NonNull IFanOut<? super T, E> fanOut) {
+        final MvvmRequestPipeline<T> upstream = this;
+        return new MvvmRequestPipeline<List<E>>() {
+            @NonNull
+            @Override
+            MvvmRequest<List<E>> evaluate(final @NonNull IBranchExecutor branchExecutor) throws InterruptedException {
+                final MvvmRequest<T> request = upstream.evaluate(branchExecutor);
+                if (!request.isSuccess()) {
+                    return failure(request);
+                }
+                checkCancel();
+                return evaluateAll(new ArrayList<>(fanOut.expand(request.getResponse())), branchExecutor);
+            }
+        };
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:41
+     * @description 在当前线程上执行流水线，并行分支提交至branchExecutor，请求线程被中断或令牌取消时抛出中断异常
+     */
+    @NonNull
+    public MvvmRequest<T> execute(final @NonNull IBranchExecutor branchExecutor) throws InterruptedException {
+        return evaluate(branchExecutor);
+    }
+
+    @NonNull
+    abstract MvvmRequest<T> evaluate(@NonNull IBranchExecutor branchExecutor) throws InterruptedException;
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:41
+     * @description 并行执行多条流水线，第一条在当前线程上执行，其余提交至branchExecutor，当前线程随后执行尚未被取出的分支，
+     * 任一分支失败时取消其余分支并返回该失败结果，分支抛出的运行时异常在当前线程上重新抛出
+     */
+    @NonNull
+    private static <E> MvvmRequest<List<E>> evaluateAll(final List<MvvmRequestPipeline<E>> pipelineList,
+                                                        final IBranchExecutor branchExecutor) throws InterruptedException {
+        if (pipelineList.isEmpty()) {
+            return new MvvmRequest<>(Collections.<E>emptyList());
+        }
+        final MvvmCancellationToken current = MvvmCancellationToken.current();
+        final MvvmCancellationToken parentToken = current != null ? current : new MvvmCancellationToken(null, 0);
+        final CountDownLatch doneLatch = new CountDownLatch(pipelineList.size());
+        final List<Branch<E>> branchList = new ArrayList<>(pipelineList.size());
+        for (MvvmRequestPipeline<E> pipeline : pipelineList) {
+            branchList.add(new Branch<>(pipeline, branchExecutor, parentToken.newChild(0), branchList, doneLatch));
+        }
+        try {
+            for (int i = 1; i < branchList.size(); i++) {
+                branchExecutor.execute(branchList.get(i));
+            }
+            for (Branch<E> branch : branchList) {
+                // 执行尚未被其他线程取出的分支，已被取出的分支直接跳过
+                branch.run();
+            }
+            doneLatch.await();
+        } catch (InterruptedException e) {
+            cancelBranches(branchList);
+            throw e;
+        }
+        parentToken.throwIfCancelled();
+        final List<E> responses = new ArrayList<>(branchList.size());
+        for (Branch<E> branch : branchList) {
+            if (branch.mException != null) {
+                throw branch.mException;
+            }
+            final MvvmRequest<E> request = branch.mRequest;
+            if (request == null) {
+                // 分支因其他分支失败被取消
+                continue;
+            }
+            if (!request.isSuccess()) {
+                return failure(request);
+            }
+            responses.add(request.getResponse());
+        }
+        if (responses.size() != branchList.size()) {
+            throw new InterruptedException("请求流水线分支已取消！");
+        }
+        return new MvvmRequest<>(responses);
+    }
+
+    private static <E> void cancelBranches(final List<Branch<E>> branchList) {
+        for (Branch<E> branch : branchList) {
+            branch.mToken.cancel(MvvmRequestCancelReason.PIPELINE);
+        }
+    }
+
+    // 以失败结果的状态构造另一类型的失败结果
+    @NonNull
+    private static <R> MvvmRequest<R> failure(final @NonNull MvvmRequest<?> request) {
+        return new MvvmRequest<>(request.getStatus(), (R) null);
+    }
+
+    private static <R> MvvmRequest<R> checkNotNull(final @Nullable MvvmRequest<R> request) {
+        if (request == null) {
+            throw new RuntimeException("请求流水线的步骤不允许返回Null值，请检查代码！");
+        }
+        return request;
+    }
+
+    private static void checkCancel() throws InterruptedException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+        }
+        final MvvmCancellationToken cancellationToken = MvvmCancellationToken.current();
+        if (cancellationToken != null) {
+            cancellationToken.throwIfCancelled();
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @description 流水线的首个请求步骤
+     */
+    public interface IStage<T> {
+
+        MvvmRequest<T> request() throws InterruptedException;
+
+    }
+
+    /**
+     * @author soulkun
+     * @description 以上一步结果执行的请求步骤
+     */
+    public interface IStep<T, R> {
+
+        MvvmRequest<R> request(T response) throws InterruptedException;
+
+    }
+
+    /**
+     * @author soulkun
+     * @description 合并两条并行流水线结果的请求步骤
+     */
+    public interface IZipper<T, U, R> {
+
+        MvvmRequest<R> request(T first, U second) throws InterruptedException;
+
+    }
+
+    /**
+     * @author soulkun
+     * @description 以上一步结果展开的并行流水线
+     */
+    public interface IFanOut<T, E> {
+
+        @NonNull
+        List<? extends MvvmRequestPipeline<E>> expand(T response);
+
+    }
+
+    /**
+     * @author soulkun
+     * @description 并行分支的执行器，无法提交时直接返回，分支由执行流水线的线程执行
+     */
+    public interface IBranchExecutor {
+
+        void execute(@NonNull Runnable branch);
+
+        // 在当前线程上执行全部分支
+        IBranchExecutor INLINE = branch -> {
+        };
+
+    }
+
+    // 并行分支，只会被一个线程取出执行
+    private static final class Branch<E> implements Runnable {
+
+        private final MvvmRequestPipeline<E> mPipeline;
+        private final IBranchExecutor mBranchExecutor;
+        private final MvvmCancellationToken mToken;
+        private final List<Branch<E>> mSiblings;
+        private final CountDownLatch mDoneLatch;
+
+        private final AtomicBoolean mIsClaimed = new AtomicBoolean(false);
+
+        private volatile MvvmRequest<E> mRequest;
+        private volatile RuntimeException mException;
+
+        private Branch(final MvvmRequestPipeline<E> pipeline, final IBranchExecutor branchExecutor, final MvvmCancellationToken token,
+                       final List<Branch<E>> siblings, final CountDownLatch doneLatch) {
+            mPipeline = pipeline;
+            mBranchExecutor = branchExecutor;
+            mToken = token;
+            mSiblings = siblings;
+            mDoneLatch = doneLatch;
+        }
+
+        @Override
+        public void run() {
+            if (!mIsClaimed.compareAndSet(false, true)) {
+                return;
+            }
+            mToken.bind();
+            try {
+                mToken.throwIfCancelled();
+                mRequest = mPipeline.evaluate(mBranchExecutor);
+                if (!mRequest.isSuccess()) {
+                    cancelBranches(mSiblings);
+                }
+            } catch (InterruptedException ignored) {
+                // 分支被取消
+            } catch (RuntimeException e) {
+                mException = e;
+                cancelBranches(mSiblings);
+            } finally {
+                final boolean isCancelled = mToken.isCancelled();
+                mToken.unbind();
+                // 分支取消造成的中断不影响执行流水线的线程
+                if (isCancelled && !isParentCancelled()) {
+                    Thread.interrupted();
+                }
+                mDoneLatch.countDown();
+            }
+        }
+
+        private boolean isParentCancelled() {
+            final MvvmCancellationToken current = MvvmCancellationToken.current();
+            return current != null && current.isCancelled();
+        }
+
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.soulkun.mvvm.viewmodel;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:35
+ * @description 请求任务的重试与对冲策略，不可变，通过with方法派生
+ * 失败（doRequest()返回不成功的结果或抛出运行时异常）或单次尝试超时后，按指数退避等待后重试，退避时间取[0, min(上限, 初始值×2^(n-1))]内的随机值（full jitter），
+ * 避免大量客户端同时重试；设置对冲延迟后，首次尝试超过该延迟仍未完成时在另一线程上并行发起一次尝试，先完成者的结果生效，另一尝试被取消
+ * 注意，重试和对冲会多次甚至并行调用doRequest()，该方法必须可重入且请求必须幂等
+ */
+public final class MvvmRequestRetryPolicy {
+
+    // 不重试、不对冲
+    public static final MvvmRequestRetryPolicy NONE = new MvvmRequestRetryPolicy(1, 0, 0, 0, 0);
+
+    private final int mMaxAttempts;
+    private final long mInitialBackoffMillis;
+    private final long mMaxBackoffMillis;
+    private final long mAttemptTimeoutMillis;
+    private final long mHedgeDelayMillis;
+
+    private MvvmRequestRetryPolicy(final int maxAttempts, final long initialBackoffMillis, final long maxBackoffMillis,
+                                   final long attemptTimeoutMillis, final long hedgeDelayMillis) {
+        mMaxAttempts = maxAttempts;
+        mInitialBackoffMillis = initialBackoffMillis;
+        mMaxBackoffMillis = maxBackoffMillis;
+        mAttemptTimeoutMillis = attemptTimeoutMillis;
+        mHedgeDelayMillis = hedgeDelayMillis;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:35
+     * @description 指数退避重试，maxAttempts包括首次尝试
+     */
+    public static MvvmRequestRetryPolicy exponential(final int maxAttempts, final long initialBackoffMillis, final long maxBackoffMillis) {
+        if (maxAttempts <= 0 || initialBackoffMillis < 0 || maxBackoffMillis < initialBackoffMillis) {
+            throw new IllegalArgumentException("重试次数必须大于0，退避上限不得小于初始值！");
+        }
+        return new MvvmRequestRetryPolicy(maxAttempts, initialBackoffMillis, maxBackoffMillis, 0, 0);
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:35
+     * @description 单次尝试的超时时间，超时的尝试被取消并计为失败，0为不限
+     */
+    public MvvmRequestRetryPolicy withAttemptTimeout(final long attemptTimeoutMillis) {
+        if (attemptTimeoutMillis < 0) {
+            throw new IllegalArgumentException("超时时间不得小于0！");
+        }
+        return new MvvmRequestRetryPolicy(mMaxAttempts, mInitialBackoffMillis, mMaxBackoffMillis, attemptTimeoutMillis, mHedgeDelayMillis);
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:35
+     * @description 首次尝试超过hedgeDelayMillis仍未完成时发起对冲尝试，一般取该请求延迟的p95，0为不对冲
+     */
+    public MvvmRequestRetryPolicy withHedge(final long hedgeDelayMillis) {
+        if (hedgeDelayMillis < 0) {
+            throw new IllegalArgumentException("对冲延迟不得小于0！");
+        }
+        return new MvvmRequestRetryPolicy(mMaxAttempts, mInitialBackoffMillis, mMaxBackoffMillis, mAttemptTimeoutMillis, hedgeDelayMillis);
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:35
+     * @description 第attempt次尝试失败后的退避时间，attempt从1开始
+     */
+    public long getBackoffMillis(final int attempt) {
+        if (mInitialBackoffMillis == 0) {
+            return 0;
+        }
+        final int shift = Math.min(attempt - 1, 30);
+        final long ceiling = mInitialBackoffMillis > (mMaxBackoffMillis >> shift) ? mMaxBackoffMillis : mInitialBackoffMillis << shift;
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    public int getMaxAttempts() {
+        return mMaxAttempts;
+    }
+
+    public long getAttemptTimeoutMillis() {
+        return mAttemptTimeoutMillis;
+    }
+
+    public long getHedgeDelayMillis() {
+        return mHedgeDelayMillis;
+    }
+
+    public boolean isHedged() {
+        return mHedgeDelayMillis > 0;
+    }
+
+}
@@ -0,0 +1,384 @@
+package com.soulkun.mvvm.viewmodel;
+
+import androidx.annotation.NonNull;
+
+import com.soulkun.mvvm.enums.MvvmRequestLane;
+import com.soulkun.mvvm.enums.MvvmRequestPriority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:23
+ * @description 进程共享的数据请求调度器，按{@link MvvmRequestLane}划分IO与CPU两个执行后端，默认为按核心数确定线程数的有界线程池，
+ * 空闲线程保活一段时间后回收，所有请求ViewModel共用，避免每个请求新建线程；执行后端可通过{@link IMvvmRequestExecutorBackend.IFactory}替换
+ * 同一通道内按{@link MvvmRequestPriority}出队，同优先级按提交顺序执行
+ * 每个ViewModel通过{@link Scope}提交任务，取消作用域时只移除和中断该作用域的任务，不影响其他ViewModel；
+ * 作用域可暂停，暂停期间出队的任务被搁置，恢复后重新入队，线程池始终保持复用
+ * 另有一个单线程定时器用于请求超时和对冲延迟，定时任务只应执行取消令牌、提交任务等轻量操作
+ */
+public class MvvmRequestScheduler {
+
+    private static volatile MvvmRequestScheduler sDefault;
+
+    private static volatile IMvvmRequestExecutorBackend.IFactory sDefaultBackendFactory = MvvmPlatformRequestExecutorBackend.FACTORY;
+
+    private final IMvvmRequestExecutorBackend[] mBackends;
+
+    // 超时与对冲定时器，首次使用时创建
+    private volatile ScheduledThreadPoolExecutor mTimer;
+
+    // 提交序号，保证同优先级任务先进先出
+    private final AtomicLong mSequence = new AtomicLong(0);
+
+    // 统计数据，线程数只包括定时器线程，执行后端的线程数由后端统计
+    private final AtomicInteger mCreatedThreadCount = new AtomicInteger(0);
+    private final AtomicLong mSubmittedCount = new AtomicLong(0);
+    private final AtomicLong mCancelledCount = new AtomicLong(0);
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:23
+     * @description 获取进程默认调度器，执行后端由{@link #setDefaultBackendFactory}决定，默认IO通道线程数为核心数的4倍（8至64），CPU通道线程数为核心数（至少2）
+     */
+    @NonNull
+    public static MvvmRequestScheduler getDefault() {
+        if (sDefault == null) {
+            synchronized (MvvmRequestScheduler.class) {
+                if (sDefault == null) {
+                    sDefault = new MvvmRequestScheduler(sDefaultBackendFactory);
+                }
+            }
+        }
+        return sDefault;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:43
+     * @description 设置进程默认调度器的执行后端工厂，必须在首次获取默认调度器之前调用，如JVM单元测试中使用
+     * {@link MvvmVirtualThreadRequestExecutorBackend#FACTORY}
+     */
+    public static void setDefaultBackendFactory(final @NonNull IMvvmRequestExecutorBackend.IFactory factory) {
+        synchronized (MvvmRequestScheduler.class) {
+            if (sDefault != null) {
+                throw new IllegalStateException("默认调度器已创建，无法更换执行后端！");
+            }
+            sDefaultBackendFactory = factory;
+        }
+    }
+
+    public MvvmRequestScheduler(final int ioThreadCount, final int cpuThreadCount) {
+        this(new MvvmPlatformRequestExecutorBackend("mvvm-request-io-", ioThreadCount),
+                new MvvmPlatformRequestExecutorBackend("mvvm-request-cpu-", cpuThreadCount));
+    }
+
+    public MvvmRequestScheduler(final @NonNull IMvvmRequestExecutorBackend.IFactory factory) {
+        this(factory.create(MvvmRequestLane.IO), factory.create(MvvmRequestLane.CPU));
+    }
+
+    public MvvmRequestScheduler(final @NonNull IMvvmRequestExecutorBackend ioBackend, final @NonNull IMvvmRequestExecutorBackend cpuBackend) {
+        mBackends = new IMvvmRequestExecutorBackend[MvvmRequestLane.values().length];
+        mBackends[MvvmRequestLane.IO.ordinal()] = ioBackend;
+        mBackends[MvvmRequestLane.CPU.ordinal()] = cpuBackend;
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:23
+     * @description 创建任务作用域，一般每个请求ViewModel的每个活跃生命周期对应一个作用域
+     */
+    @NonNull
+    public Scope newScope() {
+        return new Scope();
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:23
+     * @description 关闭调度器并中断所有任务，默认调度器不应关闭
+     */
+    public void shutdownNow() {
+        for (IMvvmRequestExecutorBackend backend : mBackends) {
+            backend.shutdownNow();
+        }
+        if (mTimer != null) {
+            mTimer.shutdownNow();
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:35
+     * @description 延迟执行轻量的定时任务，取消后立即从定时器队列移除
+     */
+    @NonNull
+    public ScheduledFuture<?> schedule(final @NonNull Runnable runnable, final long delayMillis) {
+        if (mTimer == null) {
+            synchronized (this) {
+                if (mTimer == null) {
+                    final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, timerRunnable -> {
+                        mCreatedThreadCount.incrementAndGet();
+                        final Thread thread = new Thread(timerRunnable, "mvvm-request-timer");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    timer.setRemoveOnCancelPolicy(true);
+                    mTimer = timer;
+                }
+            }
+        }
+        return mTimer.schedule(runnable, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // 累计创建的线程数量，包括定时器线程
+    public int getCreatedThreadCount() {
+        int createdThreadCount = mCreatedThreadCount.get();
+        for (IMvvmRequestExecutorBackend backend : mBackends) {
+            createdThreadCount += backend.getCreatedThreadCount();
+        }
+        return createdThreadCount;
+    }
+
+    // 指定通道当前的线程数量
+    public int getPoolSize(final @NonNull MvvmRequestLane lane) {
+        return mBackends[lane.ordinal()].getPoolSize();
+    }
+
+    public int getMaxPoolSize(final @NonNull MvvmRequestLane lane) {
+        return mBackends[lane.ordinal()].getMaxPoolSize();
+    }
+
+    // 指定通道排队等待执行的任务数量
+    public int getQueuedCount(final @NonNull MvvmRequestLane lane) {
+        return mBackends[lane.ordinal()].getQueuedCount();
+    }
+
+    @NonNull
+    public IMvvmRequestExecutorBackend getBackend(final @NonNull MvvmRequestLane lane) {
+        return mBackends[lane.ordinal()];
+    }
+
+    public long getSubmittedCount() {
+        return mSubmittedCount.get();
+    }
+
+    public long getCancelledCount() {
+        return mCancelledCount.get();
+    }
+
+    /**
+     * @author soulkun
+     * @description 任务作用域，记录已提交但尚未结束的任务，允许任意线程提交
+     */
+    public final class Scope {
+
+        private final Set<ScheduledTask> mTasks = ConcurrentHashMap.newKeySet();
+
+        private volatile boolean mIsCancelled = false;
+
+        // 暂停期间出队的任务，只在持有作用域锁时访问
+        private final List<ScheduledTask> mParkedTasks = new ArrayList<>();
+        private boolean mIsPaused = false;
+
+        private Scope() {
+        }
+
+        /**
+         * @author soulkun
+         * @time 2026/10/18 0:23
+         * @description 提交任务，作用域已取消时返回false
+         */
+        public boolean execute(final @NonNull Runnable runnable, final @NonNull MvvmRequestLane lane, final @NonNull MvvmRequestPriority priority) {
+            if (mIsCancelled) {
+                return false;
+            }
+            final ScheduledTask task = new ScheduledTask(this, runnable, lane, priority, mSequence.getAndIncrement());
+            mTasks.add(task);
+            // 添加后再次检查，避免与取消并发时任务滞留
+            if (mIsCancelled) {
+                mTasks.remove(task);
+                return false;
+            }
+            mSubmittedCount.incrementAndGet();
+            mBackends[lane.ordinal()].execute(task);
+            return true;
+        }
+
+        /**
+         * @author soulkun
+         * @time 2026/10/18 0:23
+         * @description 取消作用域，移除排队中的任务并中断执行中的任务，返回尚未开始执行的任务，由调用方回调取消
+         */
+        @NonNull
+        public List<Runnable> cancelAll() {
+            mIsCancelled = true;
+            final List<Runnable> notStarted = new ArrayList<>();
+            // 先取消全部未开始的任务再中断执行中的任务，避免被中断的线程立即取出同一作用域的下一个任务
+            for (ScheduledTask task : mTasks) {
+                if (task.cancel()) {
+                    notStarted.add(task.mRunnable);
+                }
+            }
+            interruptRunning();
+            mTasks.clear();
+            synchronized (this) {
+                mParkedTasks.clear();
+            }
+            return notStarted;
+        }
+
+        /**
+         * @author soulkun
+         * @time 2026/10/18 0:25
+         * @description 暂停作用域，尚未开始执行的任务被搁置，执行中的任务不受影响
+         */
+        public void pause() {
+            synchronized (this) {
+                mIsPaused = true;
+            }
+        }
+
+        /**
+         * @author soulkun
+         * @time 2026/10/18 0:25
+         * @description 恢复作用域，按原优先级和提交顺序重新入队被搁置的任务
+         */
+        public void resume() {
+            final List<ScheduledTask> parkedTasks;
+            synchronized (this) {
+                mIsPaused = false;
+                parkedTasks = new ArrayList<>(mParkedTasks);
+                mParkedTasks.clear();
+            }
+            for (ScheduledTask task : parkedTasks) {
+                mBackends[task.mLane.ordinal()].execute(task);
+            }
+        }
+
+        /**
+         * @author soulkun
+         * @time 2026/10/18 0:25
+         * @description 中断执行中的任务，排队及搁置中的任务不受影响
+         */
+        public void interruptRunning() {
+            for (ScheduledTask task : mTasks) {
+                task.interrupt();
+            }
+        }
+
+        public boolean isCancelled() {
+            return mIsCancelled;
+        }
+
+        public boolean isPaused() {
+            synchronized (this) {
+                return mIsPaused;
+            }
+        }
+
+        // 暂停期间被搁置的任务数量
+        public int getParkedCount() {
+            synchronized (this) {
+                return mParkedTasks.size();
+            }
+        }
+
+        // 已提交但尚未结束的任务数量
+        public int getInFlightCount() {
+            return mTasks.size();
+        }
+
+    }
+
+    // 可比较优先级的任务包装，中断只作用于执行本任务期间的线程
+    private final class ScheduledTask implements Runnable, Comparable<ScheduledTask> {
+
+        private static final int STATE_NEW = 0;
+        private static final int STATE_RUNNING = 1;
+        private static final int STATE_DONE = 2;
+        private static final int STATE_CANCELLED = 3;
+
+        private final Scope mScope;
+        private final Runnable mRunnable;
+        private final MvvmRequestLane mLane;
+        private final MvvmRequestPriority mPriority;
+        private final long mSequence;
+
+        private int mState = STATE_NEW;
+        private Thread mRunner;
+
+        private ScheduledTask(final Scope scope, final Runnable runnable, final MvvmRequestLane lane,
+                              final MvvmRequestPriority priority, final long sequence) {
+            mScope = scope;
+            mRunnable = runnable;
+            mLane = lane;
+            mPriority = priority;
+            mSequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            synchronized (mScope) {
+                if (mScope.mIsPaused) {
+                    // 作用域暂停，搁置任务并释放线程
+                    mScope.mParkedTasks.add(this);
+                    return;
+                }
+            }
+            synchronized (this) {
+                if (mState != STATE_NEW) {
+                    return;
+                }
+                mState = STATE_RUNNING;
+                mRunner = Thread.currentThread();
+            }
+            try {
+                mRunnable.run();
+            } finally {
+                synchronized (this) {
+                    mState = STATE_DONE;
+                    mRunner = null;
+                }
+                // 清除取消时设置的中断标记，避免影响该线程执行的下一个任务
+                Thread.interrupted();
+                mScope.mTasks.remove(this);
+            }
+        }
+
+        private synchronized void interrupt() {
+            if (mState == STATE_RUNNING) {
+                mRunner.interrupt();
+            }
+        }
+
+        // 取消尚未开始执行的任务，成功时返回true
+        private boolean cancel() {
+            synchronized (this) {
+                if (mState != STATE_NEW) {
+                    return false;
+                }
+                mState = STATE_CANCELLED;
+            }
+            mBackends[mLane.ordinal()].remove(this);
+            mCancelledCount.incrementAndGet();
+            return true;
+        }
+
+        @Override
+        public int compareTo(final ScheduledTask other) {
+            final int result = mPriority.compareTo(other.mPriority);
+            return result != 0 ? result : Long.compare(mSequence, other.mSequence);
+        }
+
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.soulkun.mvvm.viewmodel;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.soulkun.mvvm.MvvmApplication;
+import com.soulkun.mvvm.enums.MvvmRequestTraceStage;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:51
+ * @description 请求追踪器，按{@link MvvmRequestTraceStage}将每个任务的排队、执行和推送耗时记录至各自的{@link MvvmLatencyHistogram}，
+ * 并同步回调已注册的{@link IListener}，可导出至性能监控平台；同一实例允许多个ViewModel共享，统计数据为全部ViewModel的汇总
+ * 在请求ViewModel中通过{@link MvvmAbstractRequestViewModel#initRequestTracer()}启用，默认不启用，不启用时不产生任何记录开销
+ */
+public class MvvmRequestTracer {
+
+    private final MvvmLatencyHistogram[] mHistograms = new MvvmLatencyHistogram[MvvmRequestTraceStage.values().length];
+
+    private final List<IListener> mListenerList = new CopyOnWriteArrayList<>();
+
+    public MvvmRequestTracer() {
+        for (int i = 0; i < mHistograms.length; i++) {
+            mHistograms[i] = new MvvmLatencyHistogram();
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:51
+     * @description 记录一次耗时并回调监听器，在请求线程（排队、执行）或主线程（推送）上调用
+     */
+    public void record(final @NonNull MvvmRequestTraceStage stage, final @NonNull String taskName, final long nanos) {
+        mHistograms[stage.ordinal()].record(nanos);
+        for (IListener listener : mListenerList) {
+            listener.onTrace(stage, taskName, nanos);
+        }
+    }
+
+    @NonNull
+    public MvvmLatencyHistogram getHistogram(final @NonNull MvvmRequestTraceStage stage) {
+        return mHistograms[stage.ordinal()];
+    }
+
+    public void addListener(final @NonNull IListener listener) {
+        mListenerList.add(listener);
+    }
+
+    public void removeListener(final @NonNull IListener listener) {
+        mListenerList.remove(listener);
+    }
+
+    public void reset() {
+        for (MvvmLatencyHistogram histogram : mHistograms) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:51
+     * @description 输出各阶段的次数、平均值、P50/P90/P99和最大值（毫秒）
+     */
+    @NonNull
+    public String dump() {
+        final StringBuilder builder = new StringBuilder();
+        for (MvvmRequestTraceStage stage : MvvmRequestTraceStage.values()) {
+            final MvvmLatencyHistogram histogram = mHistograms[stage.ordinal()];
+            builder.append(String.format(Locale.US, "%s count=%d mean=%.2fms p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms%n",
+                    stage, histogram.getCount(), histogram.getMeanNanos() / 1e6,
+                    histogram.getValueAtPercentile(50) / 1e6, histogram.getValueAtPercentile(90) / 1e6,
+                    histogram.getValueAtPercentile(99) / 1e6, histogram.getMaxNanos() / 1e6));
+        }
+        return builder.toString();
+    }
+
+    // 调试模式下输出至Logcat
+    public void dump(final @NonNull String tag) {
+        if (MvvmApplication.isDebug()) {
+            Log.d(tag, dump());
+        }
+    }
+
+    /**
+     * @author soulkun
+     * @description 追踪记录的监听器，在记录的线程上同步回调，不应执行耗时操作
+     */
+    public interface IListener {
+
+        void onTrace(@NonNull MvvmRequestTraceStage stage, @NonNull String taskName, long nanos);
+
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.soulkun.mvvm.viewmodel;
+
+import androidx.annotation.NonNull;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 0:43
+ * @description 每个任务一个虚拟线程的执行后端，只在支持虚拟线程的JVM（Java 21及以上，JVM单元测试或桌面端）上可用，Android不支持
+ * 任务不排队，提交即开始执行，因此不按优先级出队，适合在JVM单元测试中廉价地模拟成千上万个阻塞的doRequest()；
+ * 项目源码级别为Java 8，通过反射调用Thread.ofVirtual()，使用前应先检查{@link #isSupported()}
+ */
+public class MvvmVirtualThreadRequestExecutorBackend implements IMvvmRequestExecutorBackend {
+
+    private static final ThreadFactory sVirtualThreadFactory = createVirtualThreadFactory();
+
+    /**
+     * @author soulkun
+     * @time 2026/10/18 0:43
+     * @description 支持虚拟线程时创建虚拟线程后端，否则回退为{@link MvvmPlatformRequestExecutorBackend#FACTORY}
+     */
+    public static final IFactory FACTORY = lane -> isSupported()
+            ? new MvvmVirtualThreadRequestExecutorBackend("mvvm-request-" + lane.name().toLowerCase() + "-virtual-")
+            : MvvmPlatformRequestExecutorBackend.FACTORY.create(lane);
+
+    private final String mNamePrefix;
+
+    // 正在执行任务的虚拟线程，关闭时逐一中断
+    private final Set<Thread> mThreads = ConcurrentHashMap.newKeySet();
+    private volatile boolean mIsShutdown = false;
+
+    private final AtomicInteger mCreatedThreadCount = new AtomicInteger(0);
+
+    public MvvmVirtualThreadRequestExecutorBackend(final @NonNull String namePrefix) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("当前JVM不支持虚拟线程！");
+        }
+        mNamePrefix = namePrefix;
+    }
+
+    public static boolean isSupported() {
+        return sVirtualThreadFactory != null;
+    }
+
+    @Override
+    public void execute(final @NonNull Runnable task) {
+        if (mIsShutdown) {
+            throw new RejectedExecutionException("执行后端已关闭！");
+        }
+        final Thread thread = sVirtualThreadFactory.newThread(() -> {
+            try {
+                task.run();
+            } finally {
+                mThreads.remove(Thread.currentThread());
+            }
+        });
+        thread.setName(mNamePrefix + mCreatedThreadCount.incrementAndGet());
+        mThreads.add(thread);
+        thread.start();
+    }
+
+    @Override
+    public boolean remove(final @NonNull Runnable task) {
+        return false;
+    }
+
+    @Override
+    public void shutdownNow() {
+        mIsShutdown = true;
+        for (Thread thread : mThreads) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public int getCreatedThreadCount() {
+        return mCreatedThreadCount.get();
+    }
+
+    // 正在执行任务的虚拟线程数量
+    @Override
+    public int getPoolSize() {
+        return mThreads.size();
+    }
+
+    @Override
+    public int getMaxPoolSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int getQueuedCount() {
+        return 0;
+    }
+
+    // 通过反射获取Thread.ofVirtual().factory()，不支持时返回Null
+    private static ThreadFactory createVirtualThreadFactory() {
+        try {
+            final Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            final Object builder = ofVirtual.invoke(null);
+            final Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.soulkun.mvvm;
+
+import org.junit.Assume;
+
+/**
+ * @author soulkun
+ * @time 2026/10/18 1:55
+ * @description 基准测试开关，基准测试依赖墙钟耗时，默认跳过以保证单元测试结果稳定，通过 ./gradlew test -Pmvvm.benchmark=true 开启
+ */
+public final class MvvmBenchmark {
+
+    public static final String PROPERTY_ENABLED = "mvvm.benchmark";
+
+    private MvvmBenchmark() {
+    }
+
+    /**
+     * 未开启基准测试时跳过当前测试
+     */
+    public static void assumeEnabled() {
+        Assume.assumeTrue("基准测试默认跳过，通过-Pmvvm.benchmark=true开启", Boolean.getBoolean(PROPERTY_ENABLED));
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.soulkun.mvvm.cache;
+
+import com.soulkun.mvvm.model.MvvmRequest;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * 请求结果缓存的单元测试
+ */
+public class MvvmRequestCacheTest {
+
+    @Test
+    public void memory_evictsLeastRecentlyUsed() {
+        final MvvmMemoryRequestCache cache = new MvvmMemoryRequestCache(2, 60_000L);
+        cache.put("a", new MvvmRequest<>("a"));
+        cache.put("b", new MvvmRequest<>("b"));
+        // 访问a后b成为最久未访问的条目
+        assertNotNull(cache.get("a"));
+        cache.put("c", new MvvmRequest<>("c"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+        assertEquals(3, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void memory_expiresAfterTimeToLive() throws InterruptedException {
+        final MvvmMemoryRequestCache cache = new MvvmMemoryRequestCache(2, 10L);
+        cache.put("a", new MvvmRequest<>("a"));
+        Thread.sleep(20L);
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void disk_survivesNewInstanceAndTrimsToSize() throws IOException {
+        final File directory = Files.createTempDirectory("mvvm-cache").toFile();
+        final MvvmDiskRequestCache cache = new MvvmDiskRequestCache(directory, 4096, 60_000L);
+        cache.put("profile", new MvvmRequest<>(new MvvmRequest.Status("200", true, MvvmRequest.Source.NETWORK), "alice"));
+
+        final MvvmDiskRequestCache reopened = new MvvmDiskRequestCache(directory, 4096, 60_000L);
+        final MvvmRequest<?> request = reopened.get("profile");
+        assertNotNull(request);
+        assertEquals("alice", request.getResponse());
+        assertEquals("200", request.getStatus().getCode());
+        assertEquals(MvvmRequest.Source.LOCAL, request.getStatus().getSource());
+
+        // 写入大量条目后总大小不超过容量
+        for (int i = 0; i < 100; i++) {
+            reopened.put("key-" + i, new MvvmRequest<>(new String(new char[200])));
+        }
+        assertTrue(reopened.getSize() <= 4096);
+        assertTrue(reopened.getEvictionCount() > 0);
+        assertNull(reopened.get("profile"));
+        reopened.clear();
+    }
+
+    @Test
+    public void disk_defersDirectoryAccessUntilFirstUse() throws IOException {
+        final File directory = new File(Files.createTempDirectory("mvvm-cache").toFile(), "lazy");
+        final MvvmDiskRequestCache cache = new MvvmDiskRequestCache(directory, 4096, 60_000L);
+        // 构造时不创建目录也不扫描索引
+        assertFalse(directory.exists());
+        assertNull(cache.get("profile"));
+        assertTrue(directory.isDirectory());
+        cache.put("profile", new MvvmRequest<>("alice"));
+        assertTrue(cache.getSize() > 0);
+        cache.clear();
+    }
+
+    @Test
+    public void tiered_backfillsMemoryFromDisk() throws IOException {
+        final File directory = Files.createTempDirectory("mvvm-cache").toFile();
+        final MvvmMemoryRequestCache memoryCache = new MvvmMemoryRequestCache(4, 60_000L);
+        final MvvmDiskRequestCache diskCache = new MvvmDiskRequestCache(directory, 4096, 60_000L);
+        diskCache.put("feed", new MvvmRequest<>("page"));
+
+        final MvvmTieredRequestCache cache = new MvvmTieredRequestCache(memoryCache, diskCache);
+        assertEquals("page", cache.get("feed").getResponse());
+        assertEquals("page", cache.get("feed").getResponse());
+        assertEquals(1, diskCache.getHitCount());
+        assertEquals(1, memoryCache.getHitCount());
+        assertEquals(2, cache.getHitCount());
+        cache.clear();
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.soulkun.mvvm.cache;
+
+import com.soulkun.mvvm.MvvmBenchmark;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * 请求预写日志的落盘基准测试，默认跳过
+ */
+public class MvvmRequestWriteAheadLogBenchmark {
+
+    /**
+     * 基准测试：8线程并发追加并等待落盘，统计实际fsync次数与耗时
+     */
+    @Test
+    public void benchmark_concurrentSync() throws Exception {
+        MvvmBenchmark.assumeEnabled();
+        final File file = MvvmRequestWriteAheadLogTest.newLogFile();
+        final MvvmRequestWriteAheadLog log = new MvvmRequestWriteAheadLog(file);
+        final int threadCount = 8;
+        final int perThread = 50;
+        final CountDownLatch done = new CountDownLatch(threadCount);
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        final long startNanos = System.nanoTime();
+        for (int t = 0; t < threadCount; t++) {
+            final int thread = t;
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        log.sync(log.append(MvvmRequestWriteAheadLogTest.entry(thread + "-" + i)));
+                    }
+                } catch (IOException e) {
+                    failure.set(e);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        done.await();
+        final double elapsedMillis = (System.nanoTime() - startNanos) / 1e6;
+        assertNull(failure.get());
+        assertEquals(threadCount * perThread, log.getPendingCount());
+        System.out.println(String.format("write-ahead log %d durable appends, %d fsyncs, %.1fms",
+                threadCount * perThread, log.getSyncCount(), elapsedMillis));
+        log.close();
+    }
+
+}
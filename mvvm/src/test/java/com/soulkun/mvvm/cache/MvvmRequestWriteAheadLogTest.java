@@ -0,0 +1,169 @@
+package com.soulkun.mvvm.cache;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * 请求预写日志的单元测试
+ */
+public class MvvmRequestWriteAheadLogTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Test
+    public void reopen_recoversOnlyUncommittedEntriesInOrder() throws IOException {
+        final File file = newLogFile();
+        final MvvmRequestWriteAheadLog log = new MvvmRequestWriteAheadLog(file);
+        log.sync(log.append(entry("a")));
+        log.sync(log.append(entry("b")));
+        log.sync(log.append(entry("c")));
+        // 同一幂等键不重复追加
+        log.append(entry("b"));
+        log.commit("b");
+        assertEquals(2, log.getPendingCount());
+        log.close();
+
+        final MvvmRequestWriteAheadLog reopened = new MvvmRequestWriteAheadLog(file);
+        final List<MvvmRequestWriteAheadLog.Entry> entries = reopened.drainRecoveredEntries();
+        assertEquals(Arrays.asList("a", "c"), keysOf(entries));
+        assertEquals("submit-order", entries.get(0).getOperation());
+        assertEquals("payload-a", new String(entries.get(0).getPayload(), UTF_8));
+        // 只允许取出一次
+        assertTrue(reopened.drainRecoveredEntries().isEmpty());
+        assertEquals(2, reopened.getPendingCount());
+        reopened.close();
+    }
+
+    @Test
+    public void reopen_truncatesTornRecord() throws IOException {
+        final File file = newLogFile();
+        final MvvmRequestWriteAheadLog log = new MvvmRequestWriteAheadLog(file);
+        log.sync(log.append(entry("a")));
+        log.sync(log.append(entry("b")));
+        log.close();
+        // 模拟写入第二条记录时进程被杀死
+        final long intactSize;
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            intactSize = randomAccessFile.length();
+            randomAccessFile.setLength(intactSize - 3);
+        }
+
+        final MvvmRequestWriteAheadLog reopened = new MvvmRequestWriteAheadLog(file);
+        assertEquals(Arrays.asList("a"), keysOf(reopened.drainRecoveredEntries()));
+        assertTrue(reopened.getTruncatedBytes() > 0);
+        // 截断后继续追加的记录完整可读
+        reopened.sync(reopened.append(entry("c")));
+        reopened.close();
+        assertEquals(Arrays.asList("a", "c"), keysOf(new MvvmRequestWriteAheadLog(file).drainRecoveredEntries()));
+    }
+
+    @Test
+    public void compaction_dropsCommittedRecords() throws IOException {
+        final File file = newLogFile();
+        final MvvmRequestWriteAheadLog log = new MvvmRequestWriteAheadLog(file);
+        for (int i = 0; i < 100; i++) {
+            log.append(entry("key-" + i));
+        }
+        for (int i = 0; i < 99; i++) {
+            log.commit("key-" + i);
+        }
+        final long size = log.getSize();
+        log.close();
+
+        // 重新打开时只保留未提交的请求
+        final MvvmRequestWriteAheadLog reopened = new MvvmRequestWriteAheadLog(file);
+        assertTrue(reopened.getSize() * 50 < size);
+        assertEquals(Arrays.asList("key-99"), keysOf(reopened.drainRecoveredEntries()));
+
+        // 全部提交且超过阈值时清空日志
+        final byte[] payload = new byte[1024];
+        for (int i = 0; i < 80; i++) {
+            reopened.append(new MvvmRequestWriteAheadLog.Entry("big-" + i, "upload", payload));
+        }
+        reopened.commit("key-99");
+        for (int i = 0; i < 80; i++) {
+            reopened.commit("big-" + i);
+        }
+        assertEquals(0, reopened.getSize());
+        assertEquals(0, reopened.getPendingCount());
+        reopened.close();
+    }
+
+    @Test
+    public void sync_coversEveryEarlierRecordWithOneFsync() throws IOException {
+        final MvvmRequestWriteAheadLog log = new MvvmRequestWriteAheadLog(newLogFile());
+        final long syncCount = log.getSyncCount();
+        final long[] sequences = new long[10];
+        for (int i = 0; i < sequences.length; i++) {
+            sequences[i] = log.append(entry("key-" + i));
+        }
+        log.sync(sequences[sequences.length - 1]);
+        for (long sequence : sequences) {
+            log.sync(sequence);
+        }
+        assertEquals(syncCount + 1, log.getSyncCount());
+        log.close();
+    }
+
+    /**
+     * 8线程并发追加并等待落盘，并发等待的追加合并落盘
+     */
+    @Test
+    public void concurrentSync_batchesFsync() throws Exception {
+        final File file = newLogFile();
+        final MvvmRequestWriteAheadLog log = new MvvmRequestWriteAheadLog(file);
+        final int threadCount = 8;
+        final int perThread = 50;
+        final CountDownLatch done = new CountDownLatch(threadCount);
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        for (int t = 0; t < threadCount; t++) {
+            final int thread = t;
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        log.sync(log.append(entry(thread + "-" + i)));
+                    }
+                } catch (IOException e) {
+                    failure.set(e);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        done.await();
+        assertNull(failure.get());
+        assertEquals(threadCount * perThread, log.getPendingCount());
+        assertTrue(log.getSyncCount() <= threadCount * perThread);
+        log.close();
+        assertEquals(threadCount * perThread, new MvvmRequestWriteAheadLog(file).drainRecoveredEntries().size());
+    }
+
+    static MvvmRequestWriteAheadLog.Entry entry(final String key) {
+        return new MvvmRequestWriteAheadLog.Entry(key, "submit-order", ("payload-" + key).getBytes(UTF_8));
+    }
+
+    private static List<String> keysOf(final List<MvvmRequestWriteAheadLog.Entry> entries) {
+        final List<String> keys = new ArrayList<>();
+        for (MvvmRequestWriteAheadLog.Entry entry : entries) {
+            keys.add(entry.getIdempotencyKey());
+        }
+        return keys;
+    }
+
+    static File newLogFile() throws IOException {
+        return new File(Files.createTempDirectory("mvvm-wal").toFile(), "request.log");
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.soulkun.mvvm.livedata;
+
+import androidx.lifecycle.MutableLiveData;
+
+import com.soulkun.mvvm.MvvmBenchmark;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 可设置初始值的MediatorLiveData的回调吞吐量基准测试，默认跳过
+ */
+public class MvvmMutableMediatorLiveDataBenchmark {
+
+    /**
+     * 基准测试：20个普通MutableLiveData数据源轮流赋值时中介LiveData每秒处理的回调次数
+     */
+    @Test
+    public void benchmark_plainSourceEmissions() {
+        MvvmBenchmark.assumeEnabled();
+        MvvmPerfectLiveDataTest.useTestThreadAsMainThread();
+        final int sourceCount = 20;
+        final List<MutableLiveData<Integer>> sources = new ArrayList<>(sourceCount);
+        final MvvmMutableMediatorLiveData<Integer> mediator = new MvvmMutableMediatorLiveData<>(0);
+        final int[] received = {0};
+        for (int i = 0; i < sourceCount; i++) {
+            final MutableLiveData<Integer> source = new MutableLiveData<>();
+            sources.add(source);
+            mediator.addSource(source, value -> received[0]++);
+        }
+        mediator.observeForever(value -> {
+        });
+        final int emissions = 1_000_000;
+        long startNanos = 0;
+        // 前一半赋值用于预热
+        for (int i = -emissions; i < emissions; i++) {
+            if (i == 0) {
+                startNanos = System.nanoTime();
+                received[0] = 0;
+            }
+            sources.get((i + emissions) % sourceCount).setValue(i);
+        }
+        final long costNanos = System.nanoTime() - startNanos;
+        assertEquals(emissions, received[0]);
+        System.out.println(String.format("mediator 20 plain sources=%.0f emissions/s", emissions * 1_000_000_000.0 / costNanos));
+    }
+
+}
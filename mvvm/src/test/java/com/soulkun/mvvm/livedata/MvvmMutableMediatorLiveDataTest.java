@@ -0,0 +1,228 @@
+package com.soulkun.mvvm.livedata;
+
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 可设置初始值的MediatorLiveData的单元测试
+ */
+public class MvvmMutableMediatorLiveDataTest {
+
+    @Test
+    public void plainSource_deliversEveryChange() {
+        MvvmPerfectLiveDataTest.useTestThreadAsMainThread();
+        final MutableLiveData<Integer> first = new MutableLiveData<>(1);
+        final MutableLiveData<Integer> second = new MutableLiveData<>();
+        final MvvmMutableMediatorLiveData<Integer> mediator = new MvvmMutableMediatorLiveData<>();
+        mediator.addSource(first, mediator::setValue);
+        mediator.addSource(second, mediator::setValue);
+        final List<Integer> received = new ArrayList<>();
+        mediator.observeForever(received::add);
+        assertEquals(1, received.size());
+
+        second.setValue(2);
+        first.setValue(3);
+        // 数据源赋相同的值时仍会回调数据源观察者，由中介LiveData防抖
+        first.setValue(3);
+        assertEquals(3, received.size());
+        assertEquals(Integer.valueOf(3), received.get(2));
+    }
+
+    @Test
+    public void replug_skipsUnchangedPlainSource() {
+        MvvmPerfectLiveDataTest.useTestThreadAsMainThread();
+        final MutableLiveData<String> source = new MutableLiveData<>("A");
+        final MvvmMutableMediatorLiveData<String> mediator = new MvvmMutableMediatorLiveData<>(true, false);
+        final List<String> sourceValues = new ArrayList<>();
+        mediator.addSource(source, value -> sourceValues.add(value));
+        final Observer<String> observer = value -> {
+        };
+
+        mediator.observeForever(observer);
+        assertEquals(1, sourceValues.size());
+
+        // 重新观察时数据源未变化，不重复回调
+        mediator.removeObserver(observer);
+        assertFalse(source.hasObservers());
+        mediator.observeForever(observer);
+        assertEquals(1, sourceValues.size());
+        source.setValue("B");
+        assertEquals(2, sourceValues.size());
+
+        // 取消观察期间数据源变化，重新观察时回调最新值
+        mediator.removeObserver(observer);
+        source.setValue("C");
+        source.setValue("C");
+        mediator.observeForever(observer);
+        assertEquals(3, sourceValues.size());
+        assertEquals("C", sourceValues.get(2));
+    }
+
+    @Test
+    public void batching_recomputesOncePerFrame() {
+        MvvmPerfectLiveDataTest.useTestThreadAsMainThread();
+        final List<Runnable> frames = new ArrayList<>();
+        MvvmMediatorBatchScheduler.setScheduler(frames::add);
+        try {
+            final MutableLiveData<Integer> first = new MutableLiveData<>(1);
+            final MutableLiveData<Integer> second = new MutableLiveData<>(2);
+            final MvvmMutableMediatorLiveData<Integer> sum = new MvvmMutableMediatorLiveData<>();
+            sum.setBatchingEnabled(true);
+            final int[] recomputeCount = {0};
+            final Observer<Integer> recompute = value -> {
+                recomputeCount[0]++;
+                sum.setValue(first.getValue() + second.getValue());
+            };
+            sum.addSource(first, recompute);
+            sum.addSource(second, recompute);
+            final List<Integer> received = new ArrayList<>();
+            sum.observeForever(received::add);
+            runFrames(frames);
+            assertEquals(1, received.size());
+            assertEquals(Integer.valueOf(3), received.get(0));
+
+            first.setValue(10);
+            second.setValue(20);
+            first.setValue(100);
+            second.setValue(200);
+            assertEquals(1, received.size());
+            assertEquals(1, frames.size());
+            assertEquals(1, MvvmMediatorBatchScheduler.getDirtyCount());
+
+            recomputeCount[0] = 0;
+            runFrames(frames);
+            // 每个变化的数据源回调一次，只通知观察者一次
+            assertEquals(2, recomputeCount[0]);
+            assertEquals(2, received.size());
+            assertEquals(Integer.valueOf(300), received.get(1));
+            assertEquals(0, MvvmMediatorBatchScheduler.getDirtyCount());
+        } finally {
+            MvvmMediatorBatchScheduler.setScheduler(null);
+        }
+    }
+
+    @Test
+    public void batching_propagatesChainInTopologicalOrder() {
+        MvvmPerfectLiveDataTest.useTestThreadAsMainThread();
+        final List<Runnable> frames = new ArrayList<>();
+        MvvmMediatorBatchScheduler.setScheduler(frames::add);
+        try {
+            final MutableLiveData<Integer> source = new MutableLiveData<>(1);
+            // sum = source + 1，result = source * sum，result同时依赖source和sum，构成菱形依赖
+            final MvvmMutableMediatorLiveData<Integer> sum = new MvvmMutableMediatorLiveData<>();
+            final MvvmMutableMediatorLiveData<Integer> result = new MvvmMutableMediatorLiveData<>();
+            sum.setBatchingEnabled(true);
+            result.setBatchingEnabled(true);
+            sum.addSource(source, value -> sum.setValue(value + 1));
+            final Observer<Object> recomputeResult = value -> {
+                if (sum.getValue() != null) {
+                    result.setValue(source.getValue() * sum.getValue());
+                }
+            };
+            // 先添加source，source变化时result先于sum被标记
+            result.addSource(source, recomputeResult);
+            result.addSource(sum, recomputeResult);
+            final List<Integer> received = new ArrayList<>();
+            result.observeForever(received::add);
+            runFrames(frames);
+            assertEquals(1, received.size());
+            assertEquals(Integer.valueOf(2), received.get(0));
+
+            source.setValue(3);
+            runFrames(frames);
+            // result只在sum重算后重算一次，不会以sum的旧值得到中间值3*2
+            assertEquals(2, received.size());
+            assertEquals(Integer.valueOf(12), received.get(1));
+            assertEquals(0, sum.getBatchRank());
+            assertEquals(1, result.getBatchRank());
+        } finally {
+            MvvmMediatorBatchScheduler.setScheduler(null);
+        }
+    }
+
+    @Test
+    public void batching_appliesToAndMediator() {
+        MvvmPerfectLiveDataTest.useTestThreadAsMainThread();
+        final List<Runnable> frames = new ArrayList<>();
+        MvvmMediatorBatchScheduler.setScheduler(frames::add);
+        try {
+            final MvvmAndMediatorLiveData and = new MvvmAndMediatorLiveData(false, false, false);
+            and.setBatchingEnabled(true);
+            final List<MutableLiveData<Boolean>> sources = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                final MutableLiveData<Boolean> source = new MutableLiveData<>(false);
+                sources.add(source);
+                and.addSource(source, and.new MvvmAndObserver<Boolean>() {
+                    @Override
+                    public boolean onValueChanged(Boolean value) {
+                        return value;
+                    }
+                });
+            }
+            final List<Boolean> received = new ArrayList<>();
+            and.observeForever(received::add);
+            runFrames(frames);
+            assertEquals(1, received.size());
+
+            for (MutableLiveData<Boolean> source : sources) {
+                source.setValue(true);
+            }
+            runFrames(frames);
+            assertEquals(2, received.size());
+            assertTrue(received.get(1));
+        } finally {
+            MvvmMediatorBatchScheduler.setScheduler(null);
+        }
+    }
+
+    @Test
+    public void batching_skipsInactiveMediatorUntilReactivated() {
+        MvvmPerfectLiveDataTest.useTestThreadAsMainThread();
+        final List<Runnable> frames = new ArrayList<>();
+        MvvmMediatorBatchScheduler.setScheduler(frames::add);
+        try {
+            final MutableLiveData<Integer> source = new MutableLiveData<>(1);
+            final MvvmMutableMediatorLiveData<Integer> mediator = new MvvmMutableMediatorLiveData<>();
+            mediator.setBatchingEnabled(true);
+            final List<Integer> sourceValues = new ArrayList<>();
+            mediator.addSource(source, value -> {
+                sourceValues.add(value);
+                mediator.setValue(value);
+            });
+            final Observer<Integer> observer = value -> {
+            };
+            mediator.observeForever(observer);
+            runFrames(frames);
+            assertEquals(1, sourceValues.size());
+
+            // 标记待重算后、下一帧前取消观察，下一帧不再回调数据源观察者
+            source.setValue(2);
+            mediator.removeObserver(observer);
+            runFrames(frames);
+            assertEquals(1, sourceValues.size());
+            assertEquals(Integer.valueOf(1), mediator.getValue());
+
+            // 重新观察后重算保留的最新值
+            mediator.observeForever(observer);
+            runFrames(frames);
+            assertEquals(2, sourceValues.size());
+            assertEquals(Integer.valueOf(2), mediator.getValue());
+        } finally {
+            MvvmMediatorBatchScheduler.setScheduler(null);
+        }
+    }
+
+    private static void runFrames(final List<Runnable> frames) {
+        while (!frames.isEmpty()) {
+            frames.remove(0).run();
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.soulkun.mvvm.livedata;
+
+import androidx.lifecycle.Observer;
+
+import com.soulkun.mvvm.MvvmBenchmark;
+import com.soulkun.mvvm.enums.MvvmEqualityStrategy;
+import com.soulkun.mvvm.livedata.MvvmPerfectLiveDataTest.ListState;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.Assert.*;
+
+/**
+ * 完美LiveData的耗时基准测试，默认跳过
+ */
+public class MvvmPerfectLiveDataBenchmark {
+
+    /**
+     * 基准测试：1000个观察者反复观察与删除的单次耗时
+     */
+    @Test
+    public void benchmark_observeRemoveCycle() {
+        MvvmBenchmark.assumeEnabled();
+        MvvmPerfectLiveDataTest.useTestThreadAsMainThread();
+        final MvvmMutablePerfectLiveData<Integer> liveData = new MvvmMutablePerfectLiveData<>(0);
+        final int observerCount = 1000;
+        final List<Observer<Integer>> observers = new ArrayList<>(observerCount);
+        for (int i = 0; i < observerCount; i++) {
+            observers.add(value -> {
+            });
+        }
+        // 预热
+        MvvmPerfectLiveDataTest.runCycles(liveData, observers, 20);
+        final int rounds = 200;
+        final long startNanos = System.nanoTime();
+        MvvmPerfectLiveDataTest.runCycles(liveData, observers, rounds);
+        final double cycleNanos = (System.nanoTime() - startNanos) / (double) (rounds * observerCount);
+        assertEquals(0, liveData.getObserverCount());
+        System.out.println(String.format("perfect livedata observe+remove=%.1fns/op", cycleNanos));
+    }
+
+    /**
+     * 基准测试：10000个元素的状态对象逐次赋值内容不同的新对象时，各比较策略的单次防抖耗时
+     */
+    @Test
+    public void benchmark_equalityStrategy() {
+        MvvmBenchmark.assumeEnabled();
+        MvvmPerfectLiveDataTest.useTestThreadAsMainThread();
+        final List<ListState> states = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            // 只有最后一个元素不同，equals需要比较全部元素
+            states.add(new ListState(i, 10_000));
+        }
+        for (MvvmEqualityStrategy strategy : MvvmEqualityStrategy.values()) {
+            final MvvmMutablePerfectLiveData<ListState> liveData = new MvvmMutablePerfectLiveData<>(states.get(0));
+            liveData.setEqualityStrategy(strategy);
+            final int rounds = 2000;
+            long startNanos = 0;
+            for (int round = -rounds; round < rounds; round++) {
+                if (round == 0) {
+                    startNanos = System.nanoTime();
+                }
+                liveData.setValue(states.get((round + rounds + 1) % states.size()));
+            }
+            System.out.println(String.format("perfect livedata %s setValue=%.1fns/op", strategy, (System.nanoTime() - startNanos) / (double) rounds));
+        }
+    }
+
+    /**
+     * 基准测试：16个线程并发postValue，统计主线程实际回调次数与总耗时
+     */
+    @Test
+    public void benchmark_concurrentPostDelivery() throws Exception {
+        MvvmBenchmark.assumeEnabled();
+        final ExecutorService mainExecutor = MvvmPerfectLiveDataTest.useExecutorAsMainThread();
+        try {
+            final MvvmMutablePerfectLiveData<Integer> liveData = new MvvmMutablePerfectLiveData<>(0);
+            final int[] deliveredCount = {0};
+            mainExecutor.submit(() -> liveData.observeForever(value -> deliveredCount[0]++)).get();
+
+            final int threadCount = 16;
+            final int perThread = 20_000;
+            final CountDownLatch done = new CountDownLatch(threadCount);
+            final long startNanos = System.nanoTime();
+            for (int t = 0; t < threadCount; t++) {
+                final int thread = t;
+                new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        liveData.postValue(thread * perThread + i);
+                    }
+                    done.countDown();
+                }).start();
+            }
+            done.await();
+            // 等待主线程处理完所有已投递的赋值，Future.get()保证回调计数可见
+            mainExecutor.submit(() -> {
+            }).get();
+            final double elapsedMillis = (System.nanoTime() - startNanos) / 1e6;
+            System.out.println(String.format("perfect livedata concurrent post delivered=%d/%d %.1fms",
+                    deliveredCount[0], threadCount * perThread, elapsedMillis));
+        } finally {
+            MvvmPerfectLiveData.setMainThreadScheduler(null);
+            mainExecutor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,377 @@
+package com.soulkun.mvvm.livedata;
+
+import androidx.arch.core.executor.ArchTaskExecutor;
+import androidx.arch.core.executor.TaskExecutor;
+import androidx.lifecycle.Observer;
+
+import com.soulkun.mvvm.enums.MvvmEqualityStrategy;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * 完美LiveData观察者包装的单元测试
+ */
+public class MvvmPerfectLiveDataTest {
+
+    @Test
+    public void observeAndRemove_keepsOneWrapperPerObserver() {
+        useTestThreadAsMainThread();
+        final MvvmMutablePerfectLiveData<Integer> liveData = new MvvmMutablePerfectLiveData<>(0);
+        final List<Integer> received = new ArrayList<>();
+        final Observer<Integer> observer = received::add;
+
+        liveData.observeForever(observer);
+        // 重复观察复用原包装观察者，不会重复回调
+        liveData.observeForever(observer);
+        liveData.observeStickyForever(observer);
+        assertEquals(1, liveData.getObserverCount());
+
+        liveData.setValue(1);
+        assertEquals(1, received.size());
+
+        liveData.removeObserver(observer);
+        assertEquals(0, liveData.getObserverCount());
+        assertFalse(liveData.hasObservers());
+        liveData.setValue(2);
+        assertEquals(1, received.size());
+
+        // 未观察过的观察者删除时直接忽略
+        liveData.removeObserver(observer);
+        liveData.removeObserver(value -> fail());
+        assertEquals(0, liveData.getObserverCount());
+    }
+
+    @Test
+    public void observe_keepsStickyAndNonStickySemantics() {
+        useTestThreadAsMainThread();
+        final MvvmMutablePerfectLiveData<String> liveData = new MvvmMutablePerfectLiveData<>("first");
+        final List<String> sticky = new ArrayList<>();
+        final List<String> nonSticky = new ArrayList<>();
+        liveData.observeStickyForever(sticky::add);
+        liveData.observeForever(nonSticky::add);
+        assertEquals(1, sticky.size());
+        assertTrue(nonSticky.isEmpty());
+
+        liveData.setValue("second");
+        assertEquals(2, sticky.size());
+        assertEquals(1, nonSticky.size());
+        assertEquals("second", nonSticky.get(0));
+    }
+
+    @Test
+    public void removeObserver_insideCallbackRemovesMapping() {
+        useTestThreadAsMainThread();
+        final MvvmMutablePerfectLiveData<Integer> liveData = new MvvmMutablePerfectLiveData<>();
+        final int[] count = {0};
+        final Observer<Integer> observer = new Observer<Integer>() {
+            @Override
+            public void onChanged(Integer value) {
+                count[0]++;
+                liveData.removeObserver(this);
+            }
+        };
+        liveData.observeForever(observer);
+        liveData.setValue(1);
+        liveData.setValue(2);
+        assertEquals(1, count[0]);
+        assertEquals(0, liveData.getObserverCount());
+
+        // 删除后重新观察得到新的包装观察者
+        liveData.observeStickyForever(observer);
+        assertEquals(2, count[0]);
+    }
+
+    @Test
+    public void equalityStrategy_controlsDebouncing() {
+        useTestThreadAsMainThread();
+        final MvvmMutablePerfectLiveData<ListState> liveData = new MvvmMutablePerfectLiveData<>(new ListState(1, 1000));
+        final int[] count = {0};
+        liveData.observeForever(value -> count[0]++);
+
+        // 默认equals：内容相同的新对象被防抖
+        liveData.setValue(new ListState(1, 1000));
+        assertEquals(0, count[0]);
+
+        liveData.setEqualityStrategy(MvvmEqualityStrategy.IDENTITY);
+        liveData.setValue(new ListState(1, 1000));
+        assertEquals(1, count[0]);
+        liveData.setValue(liveData.getValue());
+        assertEquals(1, count[0]);
+
+        // 版本号相同即视为相同，不比较内容
+        liveData.setEqualityStrategy(MvvmEqualityStrategy.VERSION_STAMP);
+        liveData.setValue(new ListState(1, 5));
+        assertEquals(1, count[0]);
+        liveData.setValue(new ListState(2, 5));
+        assertEquals(2, count[0]);
+
+        // 结构哈希相同时仍以equals为准
+        liveData.setEqualityStrategy(MvvmEqualityStrategy.STRUCTURAL_HASH);
+        liveData.setValue(new ListState(2, 5));
+        assertEquals(2, count[0]);
+        liveData.setValue(new ListState(3, 5));
+        assertEquals(3, count[0]);
+        assertEquals(5, liveData.getLastValue().mItems.size());
+    }
+
+    @Test
+    public void equalityStrategy_appliesToMutableLiveData() {
+        useTestThreadAsMainThread();
+        final MvvmMutableLiveData<ListState> liveData = new MvvmMutableLiveData<>(new ListState(1, 10));
+        final int[] count = {0};
+        liveData.observeForever(value -> count[0]++);
+        count[0] = 0;
+        liveData.setEqualityStrategy(MvvmEqualityStrategy.VERSION_STAMP);
+        liveData.setValue(new ListState(1, 20));
+        assertEquals(0, count[0]);
+        liveData.setEqualityStrategy((oldValue, newValue) -> false);
+        liveData.setValue(liveData.getValue());
+        assertEquals(1, count[0]);
+    }
+
+    @Test
+    public void postValue_debouncesAgainstPendingValue() throws Exception {
+        final ExecutorService mainExecutor = useExecutorAsMainThread();
+        try {
+            final MvvmMutablePerfectLiveData<String> liveData = new MvvmMutablePerfectLiveData<>("A");
+            final List<String> received = new ArrayList<>();
+            mainExecutor.submit(() -> liveData.observeForever(received::add)).get();
+
+            // 阻塞主线程，B尚未赋值时再投递A，A不能与尚未更新的当前值A比较而被防抖
+            final CountDownLatch blocked = new CountDownLatch(1);
+            mainExecutor.execute(() -> {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
+                }
+            });
+            liveData.postValue("B");
+            liveData.postValue("A");
+            // 与待赋值的A相同，被防抖
+            liveData.postValue("A");
+            assertEquals(0, liveData.getCurrentVersion());
+            blocked.countDown();
+
+            mainExecutor.submit(() -> {
+                assertEquals("A", liveData.getValue());
+                assertEquals(0, liveData.getCurrentVersion());
+                assertTrue(received.isEmpty());
+            }).get();
+
+            liveData.postValue("C");
+            mainExecutor.submit(() -> {
+                assertEquals("C", liveData.getValue());
+                assertEquals("A", liveData.getLastValue());
+                assertEquals(1, liveData.getCurrentVersion());
+                assertEquals(1, received.size());
+            }).get();
+        } finally {
+            MvvmPerfectLiveData.setMainThreadScheduler(null);
+            mainExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 压力测试：16个线程并发投递，回调的版本号严格递增、相邻回调的值不同、之前的值正确，最终值不会被误防抖
+     */
+    @Test
+    public void postValue_concurrentPostersDeliverMonotonicVersions() throws Exception {
+        final ExecutorService mainExecutor = useExecutorAsMainThread();
+        try {
+            final MvvmMutablePerfectLiveData<Integer> liveData = new MvvmMutablePerfectLiveData<>(0);
+            final AtomicReference<String> error = new AtomicReference<>();
+            final int[] lastVersion = {liveData.getCurrentVersion()};
+            final int[] deliveredCount = {0};
+            final Integer[] lastDelivered = {0};
+            mainExecutor.submit(() -> liveData.observeForever(value -> {
+                final int version = liveData.getCurrentVersion();
+                if (version <= lastVersion[0]) {
+                    error.compareAndSet(null, "版本号未递增：" + lastVersion[0] + "->" + version);
+                }
+                if (value.equals(lastDelivered[0])) {
+                    error.compareAndSet(null, "相邻回调的值相同：" + value);
+                }
+                if (!lastDelivered[0].equals(liveData.getLastValue())) {
+                    error.compareAndSet(null, "之前的值错误：" + liveData.getLastValue() + "!=" + lastDelivered[0]);
+                }
+                lastVersion[0] = version;
+                lastDelivered[0] = value;
+                deliveredCount[0]++;
+            })).get();
+
+            final int threadCount = 16;
+            final int perThread = 20_000;
+            final CyclicBarrier barrier = new CyclicBarrier(threadCount);
+            final CountDownLatch done = new CountDownLatch(threadCount);
+            for (int t = 0; t < threadCount; t++) {
+                final long seed = t;
+                new Thread(() -> {
+                    try {
+                        final Random random = new Random(seed);
+                        for (int i = 0; i < perThread; i++) {
+                            liveData.postValue(random.nextInt(4));
+                        }
+                        barrier.await();
+                        liveData.postValue(99);
+                    } catch (Exception e) {
+                        error.compareAndSet(null, e.toString());
+                    } finally {
+                        done.countDown();
+                    }
+                }).start();
+            }
+            done.await();
+
+            mainExecutor.submit(() -> {
+                assertNull(error.get());
+                assertEquals(Integer.valueOf(99), liveData.getValue());
+                assertEquals(Integer.valueOf(99), lastDelivered[0]);
+                assertEquals(lastVersion[0], liveData.getCurrentVersion());
+                assertEquals(deliveredCount[0], liveData.getCurrentVersion());
+            }).get();
+
+            // 待赋值节点已清空，子线程投递新值不会被误防抖
+            final Thread poster = new Thread(() -> liveData.postValue(7));
+            poster.start();
+            poster.join();
+            mainExecutor.submit(() -> {
+                assertEquals(Integer.valueOf(7), lastDelivered[0]);
+                assertEquals(Integer.valueOf(99), liveData.getLastValue());
+            }).get();
+        } finally {
+            MvvmPerfectLiveData.setMainThreadScheduler(null);
+            mainExecutor.shutdownNow();
+        }
+    }
+
+    // 以单线程线程池作为主线程，postValue投递至该线程池执行，LiveData仍通过ArchTaskExecutor检查主线程
+    static ExecutorService useExecutorAsMainThread() {
+        final Thread[] mainThread = new Thread[1];
+        final ExecutorService mainExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            mainThread[0] = new Thread(runnable, "main");
+            return mainThread[0];
+        });
+        ArchTaskExecutor.getInstance().setDelegate(new TaskExecutor() {
+            @Override
+            public void executeOnDiskIO(Runnable runnable) {
+                runnable.run();
+            }
+
+            @Override
+            public void postToMainThread(Runnable runnable) {
+                // postValue经由主线程调度器投递，不使用受限的ArchTaskExecutor
+                throw new AssertionError("postToMainThread");
+            }
+
+            @Override
+            public boolean isMainThread() {
+                return Thread.currentThread() == mainThread[0];
+            }
+        });
+        MvvmPerfectLiveData.setMainThreadScheduler(mainExecutor::execute);
+        return mainExecutor;
+    }
+
+    // 将测试线程视为主线程，postValue直接在当前线程执行
+    static void useTestThreadAsMainThread() {
+        ArchTaskExecutor.getInstance().setDelegate(new TaskExecutor() {
+            @Override
+            public void executeOnDiskIO(Runnable runnable) {
+                runnable.run();
+            }
+
+            @Override
+            public void postToMainThread(Runnable runnable) {
+                runnable.run();
+            }
+
+            @Override
+            public boolean isMainThread() {
+                return true;
+            }
+        });
+    }
+
+    /**
+     * 1000个观察者反复观察与删除，删除后不残留观察者，重新观察不会重放观察前的值
+     */
+    @Test
+    public void observeRemoveCycle_leavesNoObservers() {
+        useTestThreadAsMainThread();
+        final MvvmMutablePerfectLiveData<Integer> liveData = new MvvmMutablePerfectLiveData<>(0);
+        final int observerCount = 1000;
+        final int[] deliveredCount = new int[1];
+        final List<Observer<Integer>> observers = new ArrayList<>(observerCount);
+        for (int i = 0; i < observerCount; i++) {
+            observers.add(value -> deliveredCount[0]++);
+        }
+        runCycles(liveData, observers, 3);
+        assertEquals(0, liveData.getObserverCount());
+        assertFalse(liveData.hasObservers());
+        assertEquals(0, deliveredCount[0]);
+    }
+
+    static void runCycles(final MvvmMutablePerfectLiveData<Integer> liveData, final List<Observer<Integer>> observers, final int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            for (Observer<Integer> observer : observers) {
+                liveData.observeForever(observer);
+            }
+            for (Observer<Integer> observer : observers) {
+                liveData.removeObserver(observer);
+            }
+        }
+    }
+
+    // 测试用的不可变列表状态，创建时计算并缓存结构哈希
+    static final class ListState implements IMvvmEqualityStrategy.IVersionStamped, IMvvmEqualityStrategy.IStructuralHashed {
+
+        private final long mVersion;
+        private final List<Integer> mItems;
+        private final int mHash;
+
+        ListState(final long version, final int size) {
+            final List<Integer> items = new ArrayList<>(size);
+            for (int i = 0; i < size - 1; i++) {
+                items.add(i);
+            }
+            items.add((int) version);
+            mVersion = version;
+            mItems = Collections.unmodifiableList(items);
+            mHash = mItems.hashCode();
+        }
+
+        @Override
+        public long getVersionStamp() {
+            return mVersion;
+        }
+
+        @Override
+        public int getStructuralHash() {
+            return mHash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ListState && mItems.equals(((ListState) o).mItems);
+        }
+
+        @Override
+        public int hashCode() {
+            return mHash;
+        }
+    }
+
+}
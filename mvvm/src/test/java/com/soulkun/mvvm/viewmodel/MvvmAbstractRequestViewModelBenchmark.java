@@ -0,0 +1,156 @@
+package com.soulkun.mvvm.viewmodel;
+
+import androidx.lifecycle.Lifecycle;
+
+import com.soulkun.mvvm.MvvmBenchmark;
+import com.soulkun.mvvm.enums.MvvmLifecycleCouple;
+import com.soulkun.mvvm.enums.MvvmRequestPausePolicy;
+import com.soulkun.mvvm.model.MvvmRequest;
+import com.soulkun.mvvm.model.MvvmRequestStream;
+import com.soulkun.mvvm.viewmodel.MvvmAbstractRequestViewModelTest.FakeLifecycleOwner;
+import com.soulkun.mvvm.viewmodel.MvvmAbstractRequestViewModelTest.RecordingLiveData;
+import com.soulkun.mvvm.viewmodel.MvvmAbstractRequestViewModelTest.SimulatedMainThread;
+import com.soulkun.mvvm.viewmodel.MvvmAbstractRequestViewModelTest.TestRequestViewModel;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * 数据请求ViewModel的延迟基准测试，复用单元测试的手动生命周期与测试ViewModel，默认跳过
+ */
+public class MvvmAbstractRequestViewModelBenchmark {
+
+    private static final long REQUEST_TIME = 100L;
+    private static final long PAUSE_AFTER = 20L;
+    private static final long PAUSE_DURATION = 150L;
+
+    /**
+     * 基准测试：请求执行中弹出对话框（ON_PAUSE），对话框关闭（ON_RESUME）后到第一个结果推送的延迟，
+     * 取消策略需重新请求，完成策略直接推送暂停期间完成的结果
+     */
+    @Test
+    public void benchmark_resumeToFirstResultLatency() throws InterruptedException {
+        MvvmBenchmark.assumeEnabled();
+        final double cancelLatency = measureResumeToFirstResult(MvvmRequestPausePolicy.CANCEL);
+        final double finishLatency = measureResumeToFirstResult(MvvmRequestPausePolicy.SUSPEND_AND_FINISH);
+        assertTrue(finishLatency < cancelLatency);
+        System.out.println(String.format("resume-to-first-result cancel=%.1fms suspendAndFinish=%.1fms", cancelLatency, finishLatency));
+    }
+
+    private static double measureResumeToFirstResult(final MvvmRequestPausePolicy pausePolicy) throws InterruptedException {
+        final TestRequestViewModel viewModel = new TestRequestViewModel(pausePolicy);
+        final FakeLifecycleOwner owner = new FakeLifecycleOwner();
+        viewModel.bindTaskLifecycle(owner.getLifecycle(), MvvmLifecycleCouple.RESUME_PAUSE);
+        owner.dispatch(viewModel, Lifecycle.Event.ON_RESUME);
+
+        RecordingLiveData<String> liveData = viewModel.request("a", REQUEST_TIME);
+        Thread.sleep(PAUSE_AFTER);
+        owner.dispatch(viewModel, Lifecycle.Event.ON_PAUSE);
+        Thread.sleep(PAUSE_DURATION);
+
+        final long resumeNanos = System.nanoTime();
+        owner.dispatch(viewModel, Lifecycle.Event.ON_RESUME);
+        if (viewModel.mCancelCount.get() > 0) {
+            // 请求已被取消，页面恢复后重新发起
+            liveData = viewModel.request("a", REQUEST_TIME);
+        }
+        assertTrue(liveData.mPosted.await(5, TimeUnit.SECONDS));
+        return (liveData.mPostedNanos - resumeNanos) / 1e6;
+    }
+
+    /**
+     * 基准测试：每10次尝试中有1次耗时300ms的不稳定链路，对比不对冲与30ms对冲延迟下的请求延迟p99
+     */
+    @Test
+    public void benchmark_hedgedLatencyOnFlakyLink() throws InterruptedException {
+        MvvmBenchmark.assumeEnabled();
+        final double plainP99 = measureFlakyLinkP99(MvvmRequestRetryPolicy.NONE);
+        final double hedgedP99 = measureFlakyLinkP99(MvvmRequestRetryPolicy.NONE.withHedge(30L));
+        assertTrue(hedgedP99 < plainP99);
+        System.out.println(String.format("flaky-link p99 plain=%.1fms hedged=%.1fms", plainP99, hedgedP99));
+    }
+
+    private static double measureFlakyLinkP99(final MvvmRequestRetryPolicy retryPolicy) throws InterruptedException {
+        final TestRequestViewModel viewModel = MvvmAbstractRequestViewModelTest.startedViewModel();
+        final AtomicInteger attemptCounter = new AtomicInteger(0);
+        final int requestCount = 40;
+        final double[] latencies = new double[requestCount];
+        for (int i = 0; i < requestCount; i++) {
+            final long startNanos = System.nanoTime();
+            final RecordingLiveData<String> liveData = viewModel.request(attempt -> {
+                Thread.sleep(attemptCounter.incrementAndGet() % 10 == 0 ? 300L : 5L);
+                return new MvvmRequest<>("ok");
+            }, 0, retryPolicy);
+            assertTrue(liveData.mPosted.await(5, TimeUnit.SECONDS));
+            latencies[i] = (liveData.mPostedNanos - startNanos) / 1e6;
+        }
+        Arrays.sort(latencies);
+        return latencies[(int) Math.ceil(requestCount * 0.99) - 1];
+    }
+
+    /**
+     * 基准测试：资料→动态→3张缩略图的请求链，每步10ms；逐级由主线程观察者发起下一请求，对比使用流水线一次执行，
+     * 模拟主线程每16ms执行8ms的帧任务，统计每条请求链的主线程跳转次数与端到端延迟
+     */
+    @Test
+    public void benchmark_pipelineRemovesMainThreadHops() throws InterruptedException {
+        MvvmBenchmark.assumeEnabled();
+        final SimulatedMainThread mainThread = new SimulatedMainThread();
+        mainThread.simulateFrames();
+        final TestRequestViewModel viewModel = MvvmAbstractRequestViewModelTest.startedViewModel();
+        final int rounds = 20;
+        long chainedNanos = 0;
+        long pipelineNanos = 0;
+        for (int i = 0; i < rounds; i++) {
+            final long startNanos = System.nanoTime();
+            MvvmAbstractRequestViewModelTest.runChained(viewModel, mainThread);
+            chainedNanos += System.nanoTime() - startNanos;
+        }
+        final int chainedHops = mainThread.mHopCount.getAndSet(0);
+        for (int i = 0; i < rounds; i++) {
+            final long startNanos = System.nanoTime();
+            MvvmAbstractRequestViewModelTest.runPipeline(viewModel, mainThread);
+            pipelineNanos += System.nanoTime() - startNanos;
+        }
+        final int pipelineHops = mainThread.mHopCount.getAndSet(0);
+        mainThread.shutdown();
+        assertEquals(5 * rounds, chainedHops);
+        assertEquals(rounds, pipelineHops);
+        assertTrue(pipelineNanos < chainedNanos);
+        System.out.println(String.format("request chain main-thread hops chained=%d pipeline=%d, latency chained=%.1fms pipeline=%.1fms",
+                chainedHops / rounds, pipelineHops / rounds, chainedNanos / 1e6 / rounds, pipelineNanos / 1e6 / rounds));
+    }
+
+    /**
+     * 基准测试：10个分片、每个分片解析20ms的分页结果，对比完整解析后一次推送与流式推送的首个内容可见延迟
+     */
+    @Test
+    public void benchmark_streamingTimeToFirstContent() throws InterruptedException {
+        MvvmBenchmark.assumeEnabled();
+        final TestRequestViewModel viewModel = MvvmAbstractRequestViewModelTest.startedViewModel();
+        final long materializedStartNanos = System.nanoTime();
+        final RecordingLiveData<String> materialized = viewModel.request(attempt -> {
+            final StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < 10; i++) {
+                Thread.sleep(20L);
+                builder.append(i);
+            }
+            return new MvvmRequest<>(builder.toString());
+        }, 0, MvvmRequestRetryPolicy.NONE);
+        assertTrue(materialized.mPosted.await(5, TimeUnit.SECONDS));
+        final double materializedMillis = (materialized.mPostedNanos - materializedStartNanos) / 1e6;
+
+        final long streamingStartNanos = System.nanoTime();
+        final RecordingLiveData<MvvmRequestStream<Integer>> streaming = viewModel.stream(10, 20L);
+        assertTrue(streaming.mPosted.await(5, TimeUnit.SECONDS));
+        final double streamingMillis = (streaming.mPostedNanos - streamingStartNanos) / 1e6;
+        assertTrue(streamingMillis * 3 < materializedMillis);
+        System.out.println(String.format("time-to-first-content materialized=%.1fms streaming=%.1fms", materializedMillis, streamingMillis));
+    }
+
+}
@@ -0,0 +1,1072 @@
+package com.soulkun.mvvm.viewmodel;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.MutableLiveData;
+
+import com.soulkun.mvvm.cache.IMvvmRequestCache;
+import com.soulkun.mvvm.cache.MvvmRequestWriteAheadLog;
+import com.soulkun.mvvm.cache.MvvmMemoryRequestCache;
+import com.soulkun.mvvm.enums.MvvmLifecycleCouple;
+import com.soulkun.mvvm.enums.MvvmRequestPausePolicy;
+import com.soulkun.mvvm.enums.MvvmRequestTraceStage;
+import com.soulkun.mvvm.model.MvvmRequest;
+import com.soulkun.mvvm.model.MvvmRequestChunk;
+import com.soulkun.mvvm.model.MvvmRequestStream;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * 数据请求ViewModel的单元测试，使用手动驱动的生命周期
+ */
+public class MvvmAbstractRequestViewModelTest {
+
+    private static final long REQUEST_TIME = 100L;
+    private static final long PAUSE_AFTER = 20L;
+    private static final long PAUSE_DURATION = 150L;
+
+    @Test
+    public void suspendAndFinish_deliversResultAfterResume() throws InterruptedException {
+        final TestRequestViewModel viewModel = new TestRequestViewModel(MvvmRequestPausePolicy.SUSPEND_AND_FINISH);
+        final FakeLifecycleOwner owner = new FakeLifecycleOwner();
+        viewModel.bindTaskLifecycle(owner.getLifecycle(), MvvmLifecycleCouple.RESUME_PAUSE);
+        owner.dispatch(viewModel, Lifecycle.Event.ON_RESUME);
+
+        final RecordingLiveData<String> liveData = viewModel.request("a", REQUEST_TIME);
+        Thread.sleep(PAUSE_AFTER);
+        owner.dispatch(viewModel, Lifecycle.Event.ON_PAUSE);
+        Thread.sleep(PAUSE_DURATION);
+        // 请求已在暂停期间完成，但结果延迟推送
+        assertFalse(liveData.mPosted.await(0, TimeUnit.MILLISECONDS));
+        assertEquals(0, viewModel.mCancelCount.get());
+
+        owner.dispatch(viewModel, Lifecycle.Event.ON_RESUME);
+        assertTrue(liveData.mPosted.await(0, TimeUnit.MILLISECONDS));
+        assertEquals("a", liveData.mValue.getResponse());
+    }
+
+    @Test
+    public void destroy_cancelsPausedScopeBeforeRebind() throws InterruptedException {
+        final TestRequestViewModel viewModel = new TestRequestViewModel(MvvmRequestPausePolicy.SUSPEND_AND_FINISH);
+        final FakeLifecycleOwner owner = new FakeLifecycleOwner();
+        viewModel.bindTaskLifecycle(owner.getLifecycle(), MvvmLifecycleCouple.RESUME_PAUSE);
+        owner.dispatch(viewModel, Lifecycle.Event.ON_RESUME);
+
+        final RecordingLiveData<String> finished = viewModel.request("a", REQUEST_TIME);
+        Thread.sleep(PAUSE_AFTER);
+        owner.dispatch(viewModel, Lifecycle.Event.ON_PAUSE);
+        // 暂停期间提交的任务被搁置
+        final RecordingLiveData<String> parked = viewModel.request("b", 0);
+        Thread.sleep(PAUSE_DURATION);
+        owner.dispatch(viewModel, Lifecycle.Event.ON_STOP);
+        owner.dispatch(viewModel, Lifecycle.Event.ON_DESTROY);
+        // 搁置的任务直接回调取消
+        assertEquals(1, viewModel.mCancelCount.get());
+
+        // 重新绑定后不会恢复旧的作用域，也不会推送已销毁生命周期的延迟结果
+        final FakeLifecycleOwner newOwner = new FakeLifecycleOwner();
+        viewModel.bindTaskLifecycle(newOwner.getLifecycle(), MvvmLifecycleCouple.RESUME_PAUSE);
+        newOwner.dispatch(viewModel, Lifecycle.Event.ON_RESUME);
+        assertFalse(finished.mPosted.await(PAUSE_AFTER, TimeUnit.MILLISECONDS));
+        assertFalse(parked.mPosted.await(0, TimeUnit.MILLISECONDS));
+
+        // 新的作用域正常执行
+        assertTrue(viewModel.request("c", 0).mPosted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void cancel_interruptsInFlightRequest() throws InterruptedException {
+        final TestRequestViewModel viewModel = new TestRequestViewModel(MvvmRequestPausePolicy.CANCEL);
+        final FakeLifecycleOwner owner = new FakeLifecycleOwner();
+        viewModel.bindTaskLifecycle(owner.getLifecycle(), MvvmLifecycleCouple.START_STOP);
+        owner.dispatch(viewModel, Lifecycle.Event.ON_START);
+
+        final RecordingLiveData<String> liveData = viewModel.request("a", REQUEST_TIME);
+        Thread.sleep(PAUSE_AFTER);
+        owner.dispatch(viewModel, Lifecycle.Event.ON_STOP);
+        Thread.sleep(PAUSE_AFTER);
+        assertEquals(1, viewModel.mCancelCount.get());
+        assertFalse(liveData.mPosted.await(REQUEST_TIME, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void requestKey_sharesOneExecutionAcrossTasks() throws InterruptedException {
+        final TestRequestViewModel viewModel = new TestRequestViewModel(MvvmRequestPausePolicy.CANCEL);
+        final FakeLifecycleOwner owner = new FakeLifecycleOwner();
+        viewModel.bindTaskLifecycle(owner.getLifecycle(), MvvmLifecycleCouple.START_STOP);
+        owner.dispatch(viewModel, Lifecycle.Event.ON_START);
+
+        final List<RecordingLiveData<String>> liveDataList = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            liveDataList.add(viewModel.request("feed", "page-" + i, REQUEST_TIME));
+        }
+        final RecordingLiveData<String> other = viewModel.request("profile", "profile", REQUEST_TIME);
+        for (RecordingLiveData<String> liveData : liveDataList) {
+            assertTrue(liveData.mPosted.await(5, TimeUnit.SECONDS));
+            // 所有任务收到同一个结果
+            assertSame(liveDataList.get(0).mValue, liveData.mValue);
+        }
+        assertTrue(other.mPosted.await(5, TimeUnit.SECONDS));
+        assertEquals(2, viewModel.getExecutedRequestCount());
+        assertEquals(9, viewModel.getCoalescedRequestCount());
+
+        // 执行结束后同一请求键重新执行
+        assertTrue(viewModel.request("feed", "again", 0).mPosted.await(5, TimeUnit.SECONDS));
+        assertEquals(3, viewModel.getExecutedRequestCount());
+    }
+
+    @Test
+    public void requestKey_cancelPropagatesToAttachedTasks() throws InterruptedException {
+        final TestRequestViewModel viewModel = new TestRequestViewModel(MvvmRequestPausePolicy.CANCEL);
+        final FakeLifecycleOwner owner = new FakeLifecycleOwner();
+        viewModel.bindTaskLifecycle(owner.getLifecycle(), MvvmLifecycleCouple.START_STOP);
+        owner.dispatch(viewModel, Lifecycle.Event.ON_START);
+
+        viewModel.request("feed", "a", REQUEST_TIME);
+        viewModel.request("feed", "b", REQUEST_TIME);
+        viewModel.request("feed", "c", REQUEST_TIME);
+        Thread.sleep(PAUSE_AFTER);
+        owner.dispatch(viewModel, Lifecycle.Event.ON_STOP);
+        Thread.sleep(PAUSE_AFTER);
+        assertEquals(3, viewModel.mCancelCount.get());
+    }
+
+    @Test
+    public void cacheKey_emitsLocalThenNetwork() throws InterruptedException {
+        final TestRequestViewModel viewModel = new TestRequestViewModel(MvvmRequestPausePolicy.CANCEL);
+        final FakeLifecycleOwner owner = new FakeLifecycleOwner();
+        viewModel.bindTaskLifecycle(owner.getLifecycle(), MvvmLifecycleCouple.START_STOP);
+        owner.dispatch(viewModel, Lifecycle.Event.ON_START);
+        viewModel.mCacheKey = "profile";
+
+        final RecordingLiveData<String> first = viewModel.request("v1", 0);
+        assertTrue(first.mPosted.await(5, TimeUnit.SECONDS));
+        assertEquals(1, first.mValues.size());
+
+        final RecordingLiveData<String> second = viewModel.request("v2", PAUSE_AFTER);
+        Thread.sleep(PAUSE_AFTER * 3);
+        assertEquals(2, second.mValues.size());
+        assertEquals(MvvmRequest.Source.LOCAL, second.mValues.get(0).getStatus().getSource());
+        assertEquals("v1", second.mValues.get(0).getResponse());
+        assertEquals(MvvmRequest.Source.NETWORK, second.mValues.get(1).getStatus().getSource());
+        assertEquals("v2", second.mValues.get(1).getResponse());
+    }
+
+    @Test
+    public void pendingQueue_dropsOldestWithCancelAndDrainsOnStart() throws InterruptedException {
+        final TestRequestViewModel viewModel = new TestRequestViewModel(MvvmRequestPausePolicy.CANCEL);
+        final FakeLifecycleOwner owner = new FakeLifecycleOwner();
+        viewModel.bindTaskLifecycle(owner.getLifecycle(), MvvmLifecycleCouple.START_STOP);
+
+        // 生命周期未活跃，任务进入容量为4的待执行队列
+        final List<RecordingLiveData<String>> liveDataList = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            liveDataList.add(viewModel.request("pending-" + i, 0));
+        }
+        assertEquals(4, viewModel.getPendingRequestCount());
+        assertEquals(2, viewModel.getOverflowRequestCount());
+        assertEquals(2, viewModel.mCancelCount.get());
+
+        owner.dispatch(viewModel, Lifecycle.Event.ON_START);
+        for (int i = 2; i < 6; i++) {
+            assertTrue(liveDataList.get(i).mPosted.await(5, TimeUnit.SECONDS));
+            assertEquals("pending-" + i, liveDataList.get(i).mValue.getResponse());
+        }
+        assertEquals(0, liveDataList.get(0).mValues.size());
+        assertEquals(0, viewModel.getPendingRequestCount());
+    }
+
+    @Test
+    public void timeout_cancelsHungRequest() throws InterruptedException {
+        final TestRequestViewModel viewModel = startedViewModel();
+        final RecordingLiveData<String> liveData = viewModel.request(attempt -> {
+            Thread.sleep(5_000L);
+            return new MvvmRequest<>("late");
+        }, 50L, MvvmRequestRetryPolicy.NONE);
+        assertTrue(viewModel.mCancelled.await(5, TimeUnit.SECONDS));
+        assertEquals(1, viewModel.getTimedOutRequestCount());
+        assertEquals(1, viewModel.getCancelledRequestCount());
+        assertEquals(0, liveData.mValues.size());
+    }
+
+    @Test
+    public void retry_backsOffUntilSuccess() throws InterruptedException {
+        final TestRequestViewModel viewModel = startedViewModel();
+        final RecordingLiveData<String> liveData = viewModel.request(attempt -> attempt < 3
+                        ? new MvvmRequest<>(false, MvvmRequest.Source.NETWORK, "failed-" + attempt)
+                        : new MvvmRequest<>("ok-" + attempt),
+                0, MvvmRequestRetryPolicy.exponential(5, 5L, 20L));
+        assertTrue(liveData.mPosted.await(5, TimeUnit.SECONDS));
+        assertEquals("ok-3", liveData.mValue.getResponse());
+        assertEquals(1, liveData.mValues.size());
+        assertEquals(2, viewModel.getRetriedAttemptCount());
+    }
+
+    @Test
+    public void retry_deliversLastFailureWhenAttemptsExhausted() throws InterruptedException {
+        final TestRequestViewModel viewModel = startedViewModel();
+        final RecordingLiveData<String> liveData = viewModel.request(attempt ->
+                new MvvmRequest<>(false, MvvmRequest.Source.NETWORK, "failed-" + attempt), 0, MvvmRequestRetryPolicy.exponential(2, 0L, 0L));
+        assertTrue(liveData.mPosted.await(5, TimeUnit.SECONDS));
+        assertEquals("failed-2", liveData.mValue.getResponse());
+        assertFalse(liveData.mValue.isSuccess());
+    }
+
+    @Test
+    public void attemptTimeout_retriesHungAttempt() throws InterruptedException {
+        final TestRequestViewModel viewModel = startedViewModel();
+        final RecordingLiveData<String> liveData = viewModel.request(attempt -> {
+            if (attempt == 1) {
+                Thread.sleep(5_000L);
+            }
+            return new MvvmRequest<>("attempt-" + attempt);
+        }, 0, MvvmRequestRetryPolicy.exponential(3, 0L, 0L).withAttemptTimeout(30L));
+        assertTrue(liveData.mPosted.await(1, TimeUnit.SECONDS));
+        assertEquals("attempt-2", liveData.mValue.getResponse());
+        assertEquals(1, viewModel.getTimedOutAttemptCount());
+        assertEquals(0, viewModel.getTimedOutRequestCount());
+        assertEquals(0, viewModel.getCancelledRequestCount());
+    }
+
+    @Test
+    public void hedge_firstSuccessfulAttemptWins() throws InterruptedException {
+        final TestRequestViewModel viewModel = startedViewModel();
+        final AtomicInteger interrupted = new AtomicInteger(0);
+        final RecordingLiveData<String> liveData = viewModel.request(attempt -> {
+            if (attempt == 1) {
+                try {
+                    Thread.sleep(5_000L);
+                } catch (InterruptedException e) {
+                    interrupted.incrementAndGet();
+                    throw e;
+                }
+            }
+            return new MvvmRequest<>("attempt-" + attempt);
+        }, 0, MvvmRequestRetryPolicy.NONE.withHedge(30L));
+        assertTrue(liveData.mPosted.await(1, TimeUnit.SECONDS));
+        assertEquals("attempt-2", liveData.mValue.getResponse());
+        assertEquals(1, viewModel.getHedgedAttemptCount());
+        Thread.sleep(PAUSE_AFTER);
+        // 较慢的首次尝试被取消，任务本身不回调取消
+        assertEquals(1, interrupted.get());
+        assertEquals(0, viewModel.getCancelledRequestCount());
+    }
+
+    @Test
+    public void hedge_primaryFailureRunsQueuedHedgeInline() throws InterruptedException {
+        // 唯一的IO线程被首次尝试占用，对冲尝试只能在队列中等待
+        final TestRequestViewModel viewModel = startedViewModel(new SingleThreadRequestViewModel());
+        final CountDownLatch hedgeLaunched = new CountDownLatch(1);
+        final RecordingLiveData<String> liveData = viewModel.request(attempt -> {
+            if (attempt == 1) {
+                while (viewModel.getHedgedAttemptCount() == 0) {
+                    Thread.sleep(5L);
+                }
+                hedgeLaunched.countDown();
+                return new MvvmRequest<>(false, MvvmRequest.Source.NETWORK, "failed-1");
+            }
+            return new MvvmRequest<>("attempt-" + attempt);
+        }, 0, MvvmRequestRetryPolicy.NONE.withHedge(10L));
+        assertTrue(hedgeLaunched.await(5, TimeUnit.SECONDS));
+        assertTrue(liveData.mPosted.await(5, TimeUnit.SECONDS));
+        assertEquals("attempt-2", liveData.mValue.getResponse());
+        assertEquals(1, viewModel.getHedgedAttemptCount());
+    }
+
+    @Test
+    public void retry_backoffReleasesWorkerThread() throws InterruptedException {
+        final TestRequestViewModel viewModel = startedViewModel(new SingleThreadRequestViewModel());
+        final RecordingLiveData<String> retried = viewModel.request(attempt -> attempt == 1
+                        ? new MvvmRequest<>(false, MvvmRequest.Source.NETWORK, "failed-1")
+                        : new MvvmRequest<>("attempt-" + attempt),
+                0, MvvmRequestRetryPolicy.exponential(2, 60_000L, 60_000L));
+        final RecordingLiveData<String> other = viewModel.request(attempt -> new MvvmRequest<>("other"), 0, MvvmRequestRetryPolicy.NONE);
+        // 退避期间唯一的IO线程执行其他任务
+        assertTrue(other.mPosted.await(5, TimeUnit.SECONDS));
+        assertEquals(0, retried.mValues.size());
+        assertEquals(1, viewModel.getRetriedAttemptCount());
+    }
+
+    @Test
+    public void retry_lifecycleStopCancelsTaskInBackoff() throws InterruptedException {
+        final TestRequestViewModel viewModel = new SingleThreadRequestViewModel();
+        final FakeLifecycleOwner owner = new FakeLifecycleOwner();
+        viewModel.bindTaskLifecycle(owner.getLifecycle(), MvvmLifecycleCouple.START_STOP);
+        owner.dispatch(viewModel, Lifecycle.Event.ON_START);
+        final AtomicInteger attemptCount = new AtomicInteger(0);
+        final RecordingLiveData<String> liveData = viewModel.request(attempt -> {
+            attemptCount.incrementAndGet();
+            return new MvvmRequest<>(false, MvvmRequest.Source.NETWORK, "failed-" + attempt);
+        }, 0, MvvmRequestRetryPolicy.exponential(3, 60_000L, 60_000L));
+        while (viewModel.getRetriedAttemptCount() == 0) {
+            Thread.sleep(5L);
+        }
+        owner.dispatch(viewModel, Lifecycle.Event.ON_STOP);
+        // 不等待退避结束，立即回调取消
+        assertTrue(viewModel.mCancelled.await(5, TimeUnit.SECONDS));
+        assertEquals(1, attemptCount.get());
+        assertEquals(0, liveData.mValues.size());
+    }
+
+    @Test
+    public void lifecycleStop_cancelsRunningToken() throws InterruptedException {
+        final TestRequestViewModel viewModel = new TestRequestViewModel(MvvmRequestPausePolicy.CANCEL);
+        final FakeLifecycleOwner owner = new FakeLifecycleOwner();
+        viewModel.bindTaskLifecycle(owner.getLifecycle(), MvvmLifecycleCouple.START_STOP);
+        owner.dispatch(viewModel, Lifecycle.Event.ON_START);
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicInteger callbackCount = new AtomicInteger(0);
+        viewModel.request(attempt -> {
+            // 注册取消回调，模拟取消不响应中断的网络请求
+            MvvmCancellationToken.current().onCancel(callbackCount::incrementAndGet);
+            started.countDown();
+            Thread.sleep(5_000L);
+            return new MvvmRequest<>("late");
+        }, 0, MvvmRequestRetryPolicy.NONE);
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        owner.dispatch(viewModel, Lifecycle.Event.ON_STOP);
+        assertTrue(viewModel.mCancelled.await(1, TimeUnit.SECONDS));
+        assertEquals(1, callbackCount.get());
+        assertEquals(0, viewModel.getTimedOutRequestCount());
+    }
+
+    @Test
+    public void pipelineTask_postsOnlyFinalResult() throws InterruptedException {
+        final TestRequestViewModel viewModel = startedViewModel();
+        final RecordingLiveData<String> liveData = new RecordingLiveData<>();
+        viewModel.request(liveData, MvvmRequestPipeline.from(() -> new MvvmRequest<>("user-1"))
+                .then(userId -> new MvvmRequest<>(Arrays.asList(userId + "/a", userId + "/b")))
+                .fanOut(paths -> {
+                    final List<MvvmRequestPipeline<String>> pipelines = new ArrayList<>();
+                    for (String path : paths) {
+                        pipelines.add(MvvmRequestPipeline.from(() -> new MvvmRequest<>("thumb:" + path)));
+                    }
+                    return pipelines;
+                })
+                .then(thumbnails -> new MvvmRequest<>(String.join(",", thumbnails))));
+        assertTrue(liveData.mPosted.await(5, TimeUnit.SECONDS));
+        assertEquals(1, liveData.mValues.size());
+        assertEquals("thumb:user-1/a,thumb:user-1/b", liveData.mValue.getResponse());
+        assertEquals(1, viewModel.getExecutedRequestCount());
+    }
+
+    /**
+     * 资料→动态→3张缩略图的请求链，逐级由主线程观察者发起下一请求需要5次主线程跳转，使用流水线一次执行只需1次
+     */
+    @Test
+    public void pipeline_removesMainThreadHops() throws InterruptedException {
+        final SimulatedMainThread mainThread = new SimulatedMainThread();
+        final TestRequestViewModel viewModel = startedViewModel();
+        runChained(viewModel, mainThread);
+        assertEquals(5, mainThread.mHopCount.getAndSet(0));
+        runPipeline(viewModel, mainThread);
+        assertEquals(1, mainThread.mHopCount.getAndSet(0));
+        mainThread.shutdown();
+    }
+
+    static void runChained(final TestRequestViewModel viewModel, final SimulatedMainThread mainThread) throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(1);
+        viewModel.request(new MainThreadLiveData<>(mainThread, profile ->
+                viewModel.request(new MainThreadLiveData<>(mainThread, feed -> {
+                    final AtomicInteger remaining = new AtomicInteger(3);
+                    for (int i = 0; i < 3; i++) {
+                        viewModel.request(new MainThreadLiveData<>(mainThread, thumbnail -> {
+                            if (remaining.decrementAndGet() == 0) {
+                                done.countDown();
+                            }
+                        }), attempt -> delayed("thumbnail"), 0, MvvmRequestRetryPolicy.NONE);
+                    }
+                }), attempt -> delayed("feed"), 0, MvvmRequestRetryPolicy.NONE)
+        ), attempt -> delayed("profile"), 0, MvvmRequestRetryPolicy.NONE);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    static void runPipeline(final TestRequestViewModel viewModel, final SimulatedMainThread mainThread) throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(1);
+        viewModel.request(new MainThreadLiveData<List<String>>(mainThread, thumbnails -> done.countDown()),
+                MvvmRequestPipeline.from(() -> delayed("profile"))
+                        .then(profile -> delayed("feed"))
+                        .fanOut(feed -> Arrays.asList(MvvmRequestPipeline.from(() -> delayed("thumbnail")),
+                                MvvmRequestPipeline.from(() -> delayed("thumbnail")), MvvmRequestPipeline.from(() -> delayed("thumbnail")))));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    private static MvvmRequest<String> delayed(final String response) throws InterruptedException {
+        Thread.sleep(10L);
+        return new MvvmRequest<>(response);
+    }
+
+    @Test
+    public void streaming_conflatedPostsLoseNoChunk() throws InterruptedException {
+        final TestRequestViewModel viewModel = startedViewModel();
+        final int chunkCount = 1000;
+        final RecordingLiveData<MvvmRequestStream<Integer>> liveData = viewModel.stream(chunkCount, 0);
+        assertTrue(liveData.mPosted.await(5, TimeUnit.SECONDS));
+        while (liveData.mValues.size() < chunkCount + 1) {
+            Thread.sleep(5L);
+        }
+        // 模拟postValue()合并：主线程只收到其中少数几次推送
+        final List<MvvmRequestChunk<Integer>> received = new ArrayList<>();
+        final MvvmRequestStream.ChunkObserver<Integer> observer = new MvvmRequestStream.ChunkObserver<Integer>() {
+            @Override
+            protected void onChunk(@NonNull MvvmRequestChunk<Integer> chunk) {
+                received.add(chunk);
+            }
+        };
+        for (int i = 0; i < liveData.mValues.size(); i += 97) {
+            observer.onChanged(liveData.mValues.get(i));
+        }
+        observer.onChanged(liveData.mValue);
+        assertEquals(chunkCount + 1, received.size());
+        for (int i = 0; i < received.size(); i++) {
+            assertEquals(i, received.get(i).getSequence());
+            assertEquals(i == chunkCount, received.get(i).isTerminal());
+        }
+        assertEquals(Integer.valueOf(chunkCount - 1), received.get(chunkCount - 1).getResponse());
+        assertTrue(liveData.mValue.getResponse().isComplete());
+    }
+
+    @Test
+    public void resultChannel_deliversBurstWithoutLossInOneMainThreadMessage() throws InterruptedException {
+        final TestRequestViewModel viewModel = startedViewModel();
+        final List<Runnable> frameQueue = new CopyOnWriteArrayList<>();
+        viewModel.mFrameQueue = frameQueue;
+        final RecordingLiveData<String> liveData = new RecordingLiveData<>();
+        final int requestCount = 32;
+        for (int i = 0; i < requestCount; i++) {
+            final String response = String.valueOf(i);
+            viewModel.request(liveData, attempt -> new MvvmRequest<>(response), 0, MvvmRequestRetryPolicy.NONE);
+        }
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (viewModel.getPendingResultCount() < requestCount && System.nanoTime() < deadline) {
+            Thread.sleep(1L);
+        }
+        // 主线程尚未排空前结果全部在通道中等待，只占用一条主线程消息
+        assertEquals(requestCount, viewModel.getPendingResultCount());
+        assertTrue(liveData.mValues.isEmpty());
+        assertEquals(1, frameQueue.size());
+
+        frameQueue.remove(0).run();
+        assertEquals(0, viewModel.getPendingResultCount());
+        assertEquals(1, viewModel.getResultDrainCount());
+        final List<String> responses = new ArrayList<>();
+        for (MvvmRequest<String> request : liveData.mValues) {
+            responses.add(request.getResponse());
+        }
+        assertEquals(requestCount, responses.size());
+        for (int i = 0; i < requestCount; i++) {
+            assertTrue(responses.contains(String.valueOf(i)));
+        }
+        assertTrue(frameQueue.isEmpty());
+    }
+
+    @Test
+    public void resultChannel_deliversEachFrameInOneBatch() throws InterruptedException {
+        final TestRequestViewModel viewModel = startedViewModel();
+        final List<Runnable> frameQueue = new CopyOnWriteArrayList<>();
+        viewModel.mFrameQueue = frameQueue;
+        final RecordingLiveData<String> liveData = new RecordingLiveData<>();
+        for (int frame = 0; frame < 3; frame++) {
+            for (int i = 0; i < 8; i++) {
+                final String response = frame + ":" + i;
+                viewModel.request(liveData, attempt -> new MvvmRequest<>(response), 0, MvvmRequestRetryPolicy.NONE);
+            }
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (viewModel.getPendingResultCount() < 8 && System.nanoTime() < deadline) {
+                Thread.sleep(1L);
+            }
+            assertEquals(1, frameQueue.size());
+            frameQueue.remove(0).run();
+        }
+        assertEquals(3, viewModel.getResultDrainCount());
+        assertEquals(24, liveData.mValues.size());
+        // 每一帧推送的正是该帧之前完成的结果，帧之间不交错
+        for (int frame = 0; frame < 3; frame++) {
+            for (MvvmRequest<String> request : liveData.mValues.subList(frame * 8, frame * 8 + 8)) {
+                assertTrue(request.getResponse().startsWith(frame + ":"));
+            }
+        }
+    }
+
+    @Test
+    public void tracer_recordsEveryStageAndNotifiesListener() throws InterruptedException {
+        final TestRequestViewModel viewModel = new TracedRequestViewModel();
+        final FakeLifecycleOwner owner = new FakeLifecycleOwner();
+        viewModel.bindTaskLifecycle(owner.getLifecycle(), MvvmLifecycleCouple.START_STOP);
+        final MvvmRequestTracer tracer = viewModel.getRequestTracer();
+        assertNotNull(tracer);
+        final List<MvvmRequestTraceStage> stages = new CopyOnWriteArrayList<>();
+        tracer.addListener((stage, taskName, nanos) -> stages.add(stage));
+
+        // 生命周期活跃前提交，排队耗时包括等待生命周期的时间
+        final RecordingLiveData<String> liveData = viewModel.request("a", 20L);
+        Thread.sleep(50L);
+        owner.dispatch(viewModel, Lifecycle.Event.ON_START);
+        assertTrue(liveData.mPosted.await(1, TimeUnit.SECONDS));
+        // 推送耗时在setValue()返回后记录
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (stages.size() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(1L);
+        }
+
+        assertEquals(Arrays.asList(MvvmRequestTraceStage.QUEUE_WAIT, MvvmRequestTraceStage.EXECUTION, MvvmRequestTraceStage.DELIVERY), stages);
+        assertTrue(tracer.getHistogram(MvvmRequestTraceStage.QUEUE_WAIT).getMaxNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(tracer.getHistogram(MvvmRequestTraceStage.EXECUTION).getMaxNanos() >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(1, tracer.getHistogram(MvvmRequestTraceStage.DELIVERY).getCount());
+        assertTrue(tracer.dump().startsWith("QUEUE_WAIT count=1"));
+    }
+
+    @Test
+    public void tracer_disabledByDefault() throws InterruptedException {
+        final TestRequestViewModel viewModel = startedViewModel();
+        assertNull(viewModel.getRequestTracer());
+        assertTrue(viewModel.request("a", 0).mPosted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void writeAheadLog_replaysUnfinishedRequestsAfterProcessDeath() throws Exception {
+        final File logFile = new File(Files.createTempDirectory("mvvm-wal").toFile(), "request.log");
+        final DurableRequestViewModel first = DurableRequestViewModel.create(logFile);
+        final FakeLifecycleOwner firstOwner = new FakeLifecycleOwner();
+        first.bindTaskLifecycle(firstOwner.getLifecycle(), MvvmLifecycleCouple.START_STOP);
+        firstOwner.dispatch(first, Lifecycle.Event.ON_START);
+        // 活跃期间完成的请求已提交
+        final RecordingLiveData<String> done = first.submit("order-0");
+        assertTrue(done.mPosted.await(1, TimeUnit.SECONDS));
+        firstOwner.dispatch(first, Lifecycle.Event.ON_STOP);
+        // 非活跃期间提交的请求只在待执行队列和日志中
+        first.submit("order-1");
+        first.submit("order-2");
+        final List<String> expectedKeys = new ArrayList<>(first.mIdempotencyKeys.subList(1, 3));
+        awaitPendingLogCount(first, 2);
+        assertEquals(1, first.mExecutedKeys.size());
+        // 模拟进程被杀死
+        first.mRequestLog.close();
+
+        final DurableRequestViewModel second = DurableRequestViewModel.create(logFile);
+        final FakeLifecycleOwner secondOwner = new FakeLifecycleOwner();
+        second.bindTaskLifecycle(secondOwner.getLifecycle(), MvvmLifecycleCouple.START_STOP);
+        secondOwner.dispatch(second, Lifecycle.Event.ON_START);
+        awaitPendingLogCount(second, 0);
+        assertEquals(2, second.getReplayedRequestCount());
+        // 重放沿用原幂等键，已完成的请求不重放
+        assertEquals(expectedKeys.size(), second.mExecutedKeys.size());
+        assertTrue(second.mExecutedKeys.containsAll(expectedKeys));
+        assertEquals(Arrays.asList("order-1", "order-2"), second.mRestoredOrders);
+        second.mRequestLog.close();
+
+        final DurableRequestViewModel third = DurableRequestViewModel.create(logFile);
+        final FakeLifecycleOwner thirdOwner = new FakeLifecycleOwner();
+        third.bindTaskLifecycle(thirdOwner.getLifecycle(), MvvmLifecycleCouple.START_STOP);
+        thirdOwner.dispatch(third, Lifecycle.Event.ON_START);
+        awaitPendingLogCount(third, 0);
+        assertEquals(0, third.getReplayedRequestCount());
+        third.mRequestLog.close();
+    }
+
+    @Test
+    public void writeAheadLog_opensOffTheSubmittingThread() throws Exception {
+        final File logFile = new File(Files.createTempDirectory("mvvm-wal").toFile(), "request.log");
+        final DurableRequestViewModel viewModel = DurableRequestViewModel.create(logFile);
+        // 构造时不打开日志
+        assertNull(viewModel.mRequestLog);
+        viewModel.submit("order-0");
+        awaitPendingLogCount(viewModel, 1);
+        assertFalse(Thread.currentThread() == viewModel.mLogThread);
+        viewModel.mRequestLog.close();
+    }
+
+    @Test
+    public void writeAheadLog_commitsOnlyTerminalResults() throws Exception {
+        final File logFile = new File(Files.createTempDirectory("mvvm-wal").toFile(), "request.log");
+        final DurableRequestViewModel viewModel = DurableRequestViewModel.create(logFile);
+        final FakeLifecycleOwner owner = new FakeLifecycleOwner();
+        viewModel.bindTaskLifecycle(owner.getLifecycle(), MvvmLifecycleCouple.START_STOP);
+        owner.dispatch(viewModel, Lifecycle.Event.ON_START);
+        // 失败的结果留在日志中等待重放
+        assertTrue(viewModel.submit("failed:order-0").mPosted.await(5, TimeUnit.SECONDS));
+        assertEquals(1, viewModel.mRequestLog.getPendingCount());
+        // 终态的失败结果提交
+        assertTrue(viewModel.submit("rejected:order-1").mPosted.await(5, TimeUnit.SECONDS));
+        assertTrue(viewModel.submit("order-2").mPosted.await(5, TimeUnit.SECONDS));
+        assertEquals(1, viewModel.mRequestLog.getPendingCount());
+        viewModel.mRequestLog.close();
+    }
+
+    @Test
+    public void writeAheadLog_syncFailureCancelsWithoutExecuting() throws Exception {
+        final File logFile = new File(Files.createTempDirectory("mvvm-wal").toFile(), "request.log");
+        final DurableRequestViewModel viewModel = DurableRequestViewModel.create(logFile);
+        final FakeLifecycleOwner owner = new FakeLifecycleOwner();
+        viewModel.bindTaskLifecycle(owner.getLifecycle(), MvvmLifecycleCouple.START_STOP);
+        final RecordingLiveData<String> liveData = viewModel.submit("order-0");
+        awaitPendingLogCount(viewModel, 1);
+        // 关闭日志后无法落盘
+        viewModel.mRequestLog.close();
+        owner.dispatch(viewModel, Lifecycle.Event.ON_START);
+        assertTrue(viewModel.mCancelled.await(5, TimeUnit.SECONDS));
+        assertTrue(viewModel.mExecutedKeys.isEmpty());
+        assertEquals(0, liveData.mValues.size());
+    }
+
+    // 等待日志通道打开日志且未提交的请求数量达到预期
+    private static void awaitPendingLogCount(final DurableRequestViewModel viewModel, final int pendingCount) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((viewModel.mRequestLog == null || viewModel.mRequestLog.getPendingCount() != pendingCount
+                || viewModel.mExecutedKeys.size() < viewModel.getReplayedRequestCount()) && System.nanoTime() < deadline) {
+            Thread.sleep(1L);
+        }
+        assertNotNull(viewModel.mRequestLog);
+        assertEquals(pendingCount, viewModel.mRequestLog.getPendingCount());
+    }
+
+    static TestRequestViewModel startedViewModel() {
+        return startedViewModel(new TestRequestViewModel(MvvmRequestPausePolicy.CANCEL));
+    }
+
+    private static TestRequestViewModel startedViewModel(final TestRequestViewModel viewModel) {
+        final FakeLifecycleOwner owner = new FakeLifecycleOwner();
+        viewModel.bindTaskLifecycle(owner.getLifecycle(), MvvmLifecycleCouple.START_STOP);
+        owner.dispatch(viewModel, Lifecycle.Event.ON_START);
+        return viewModel;
+    }
+
+    // 只有一个IO线程的ViewModel
+    private static class SingleThreadRequestViewModel extends TestRequestViewModel {
+
+        private SingleThreadRequestViewModel() {
+            super(MvvmRequestPausePolicy.CANCEL);
+        }
+
+        @NonNull
+        @Override
+        protected MvvmRequestScheduler initRequestScheduler() {
+            return new MvvmRequestScheduler(1, 1);
+        }
+
+    }
+
+    static class TestRequestViewModel extends MvvmAbstractRequestViewModel {
+
+        private final MvvmRequestPausePolicy mPausePolicy;
+        final AtomicInteger mCancelCount = new AtomicInteger(0);
+        final CountDownLatch mCancelled = new CountDownLatch(1);
+        private String mCacheKey;
+        // 模拟主线程消息队列，为Null时结果通道的排空任务在推送线程上直接执行
+        private volatile List<Runnable> mFrameQueue;
+
+        TestRequestViewModel(final MvvmRequestPausePolicy pausePolicy) {
+            mPausePolicy = pausePolicy;
+        }
+
+        @Nullable
+        @Override
+        protected IMvvmRequestCache initRequestCache() {
+            return new MvvmMemoryRequestCache(16, 60_000L);
+        }
+
+        @Nullable
+        @Override
+        protected MvvmMessagePostDrainer.IDrainScheduler initRequestResultScheduler() {
+            return drainRunnable -> {
+                final List<Runnable> frameQueue = mFrameQueue;
+                if (frameQueue == null) {
+                    drainRunnable.run();
+                } else {
+                    frameQueue.add(drainRunnable);
+                }
+            };
+        }
+
+        @Override
+        protected int initRequestPendingCapacity() {
+            return 4;
+        }
+
+        @NonNull
+        @Override
+        protected MvvmRequestPausePolicy initRequestPausePolicy() {
+            return mPausePolicy;
+        }
+
+        RecordingLiveData<String> request(final String response, final long requestTime) {
+            return request(null, response, requestTime);
+        }
+
+        private RecordingLiveData<String> request(final Object requestKey, final String response, final long requestTime) {
+            final RecordingLiveData<String> liveData = new RecordingLiveData<>();
+            execute(new MvvmAbstractRequestTask<String>(liveData) {
+                @Override
+                protected MvvmRequest<String> doRequest() throws InterruptedException {
+                    Thread.sleep(requestTime);
+                    return new MvvmRequest<>(response);
+                }
+
+                @Override
+                protected void doCancel() {
+                    mCancelCount.incrementAndGet();
+                    mCancelled.countDown();
+                }
+
+                @Override
+                protected Object getRequestKey() {
+                    return requestKey;
+                }
+
+                @Nullable
+                @Override
+                protected String getCacheKey() {
+                    return mCacheKey;
+                }
+            });
+            return liveData;
+        }
+
+        RecordingLiveData<String> request(final IAttempt attempt, final long timeoutMillis, final MvvmRequestRetryPolicy retryPolicy) {
+            final RecordingLiveData<String> liveData = new RecordingLiveData<>();
+            request(liveData, attempt, timeoutMillis, retryPolicy);
+            return liveData;
+        }
+
+        private void request(final MutableLiveData<MvvmRequest<String>> liveData, final IAttempt attempt,
+                             final long timeoutMillis, final MvvmRequestRetryPolicy retryPolicy) {
+            final AtomicInteger attemptCount = new AtomicInteger(0);
+            execute(new MvvmAbstractRequestTask<String>(liveData) {
+                @Override
+                protected MvvmRequest<String> doRequest() throws InterruptedException {
+                    return attempt.attempt(attemptCount.incrementAndGet());
+                }
+
+                @Override
+                protected void doCancel() {
+                    mCancelCount.incrementAndGet();
+                    mCancelled.countDown();
+                }
+
+                @Override
+                protected long getTimeoutMillis() {
+                    return timeoutMillis;
+                }
+
+                @NonNull
+                @Override
+                protected MvvmRequestRetryPolicy getRetryPolicy() {
+                    return retryPolicy;
+                }
+            });
+        }
+
+        RecordingLiveData<MvvmRequestStream<Integer>> stream(final int chunkCount, final long parseMillis) {
+            final RecordingLiveData<MvvmRequestStream<Integer>> liveData = new RecordingLiveData<>();
+            execute(new MvvmAbstractStreamingRequestTask<Integer>(liveData) {
+                @NonNull
+                @Override
+                protected MvvmRequest<Integer> doStream(@NonNull IRequestChunkEmitter<Integer> emitter) throws InterruptedException {
+                    for (int i = 0; i < chunkCount; i++) {
+                        if (parseMillis > 0) {
+                            Thread.sleep(parseMillis);
+                        }
+                        emitter.emit(new MvvmRequest<>(i));
+                    }
+                    return new MvvmRequest<>(null);
+                }
+
+                @Override
+                protected void doCancel() {
+                    mCancelCount.incrementAndGet();
+                    mCancelled.countDown();
+                }
+            });
+            return liveData;
+        }
+
+        private <T> void request(final MutableLiveData<MvvmRequest<T>> liveData, final MvvmRequestPipeline<T> pipeline) {
+            execute(new MvvmRequestPipelineTask<T>(liveData, pipeline) {
+                @Override
+                protected void doCancel() {
+                    mCancelCount.incrementAndGet();
+                    mCancelled.countDown();
+                }
+            });
+        }
+
+    }
+
+    private static class TracedRequestViewModel extends TestRequestViewModel {
+
+        private TracedRequestViewModel() {
+            super(MvvmRequestPausePolicy.CANCEL);
+        }
+
+        @Nullable
+        @Override
+        protected MvvmRequestTracer initRequestTracer() {
+            return new MvvmRequestTracer();
+        }
+
+    }
+
+    private static class DurableRequestViewModel extends TestRequestViewModel {
+
+        private final File mLogFile;
+        // 日志在日志通道上打开，记录打开日志的线程
+        private volatile MvvmRequestWriteAheadLog mRequestLog;
+        private volatile Thread mLogThread;
+        private final List<String> mIdempotencyKeys = new CopyOnWriteArrayList<>();
+        private final List<String> mExecutedKeys = new CopyOnWriteArrayList<>();
+        private final List<String> mRestoredOrders = new CopyOnWriteArrayList<>();
+
+        private static DurableRequestViewModel create(final File logFile) {
+            return new DurableRequestViewModel(logFile);
+        }
+
+        private DurableRequestViewModel(final File logFile) {
+            super(MvvmRequestPausePolicy.CANCEL);
+            mLogFile = logFile;
+        }
+
+        @Nullable
+        @Override
+        protected MvvmRequestWriteAheadLog initRequestWriteAheadLog() {
+            mLogThread = Thread.currentThread();
+            try {
+                return mRequestLog = new MvvmRequestWriteAheadLog(mLogFile);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Nullable
+        @Override
+        protected MvvmAbstractDurableRequestTask<?> restoreRequest(@NonNull MvvmRequestWriteAheadLog.Entry entry) {
+            final String order = new String(entry.getPayload(), StandardCharsets.UTF_8);
+            mRestoredOrders.add(order);
+            return new SubmitOrderTask(new RecordingLiveData<>(), order, entry.getIdempotencyKey());
+        }
+
+        private RecordingLiveData<String> submit(final String order) {
+            final RecordingLiveData<String> liveData = new RecordingLiveData<>();
+            final SubmitOrderTask task = new SubmitOrderTask(liveData, order, null);
+            mIdempotencyKeys.add(task.getIdempotencyKey());
+            execute(task);
+            return liveData;
+        }
+
+        private class SubmitOrderTask extends MvvmAbstractDurableRequestTask<String> {
+
+            private final String mOrder;
+
+            private SubmitOrderTask(final MutableLiveData<MvvmRequest<String>> liveData, final String order, final String idempotencyKey) {
+                super(liveData, idempotencyKey != null ? idempotencyKey : UUID.randomUUID().toString());
+                mOrder = order;
+            }
+
+            @NonNull
+            @Override
+            protected String getOperation() {
+                return "submit-order";
+            }
+
+            @NonNull
+            @Override
+            protected byte[] encodeOperation() {
+                return mOrder.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            protected MvvmRequest<String> doRequest() {
+                mExecutedKeys.add(getIdempotencyKey());
+                // 订单前缀决定结果：failed为可重放的失败，rejected为服务端拒绝的终态失败
+                if (mOrder.startsWith("failed:")) {
+                    return new MvvmRequest<>(new MvvmRequest.Status("503", false, MvvmRequest.Source.NETWORK), mOrder);
+                }
+                if (mOrder.startsWith("rejected:")) {
+                    return new MvvmRequest<>(new MvvmRequest.Status("400", false, MvvmRequest.Source.NETWORK), mOrder);
+                }
+                return new MvvmRequest<>(mOrder);
+            }
+
+            @Override
+            protected boolean isCommittable(@NonNull MvvmRequest<String> request) {
+                return request.isSuccess() || "400".equals(request.getStatus().getCode());
+            }
+
+            @Override
+            protected void doCancel() {
+                mCancelCount.incrementAndGet();
+                mCancelled.countDown();
+            }
+
+        }
+
+    }
+
+    interface IAttempt {
+
+        MvvmRequest<String> attempt(int attempt) throws InterruptedException;
+
+    }
+
+    static class RecordingLiveData<T> extends MutableLiveData<MvvmRequest<T>> {
+
+        final CountDownLatch mPosted = new CountDownLatch(1);
+        private final List<MvvmRequest<T>> mValues = new CopyOnWriteArrayList<>();
+        private volatile MvvmRequest<T> mValue;
+        // 首次推送的时间，供基准测试统计延迟
+        volatile long mPostedNanos;
+
+        @Override
+        public void setValue(final MvvmRequest<T> value) {
+            mValues.add(value);
+            mValue = value;
+            if (mPosted.getCount() > 0) {
+                mPostedNanos = System.nanoTime();
+            }
+            mPosted.countDown();
+        }
+
+        @Override
+        public void postValue(final MvvmRequest<T> value) {
+            setValue(value);
+        }
+
+    }
+
+    // 模拟主线程，postValue()跳转至该线程执行观察者，统计跳转次数
+    static class SimulatedMainThread {
+
+        private final ExecutorService mExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "simulated-main");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final AtomicInteger mHopCount = new AtomicInteger(0);
+        private ScheduledExecutorService mVsync;
+
+        private void post(final Runnable runnable) {
+            mHopCount.incrementAndGet();
+            mExecutor.execute(runnable);
+        }
+
+        // 每16ms执行一次8ms的帧任务，模拟繁忙的主线程，仅基准测试使用
+        void simulateFrames() {
+            mVsync = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "simulated-vsync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            mVsync.scheduleAtFixedRate(() -> mExecutor.execute(() -> {
+                final long endNanos = System.nanoTime() + 8_000_000L;
+                while (System.nanoTime() < endNanos) {
+                    Thread.yield();
+                }
+            }), 0, 16, TimeUnit.MILLISECONDS);
+        }
+
+        void shutdown() {
+            if (mVsync != null) {
+                mVsync.shutdownNow();
+            }
+            mExecutor.shutdownNow();
+        }
+
+    }
+
+    private static class MainThreadLiveData<T> extends MutableLiveData<MvvmRequest<T>> {
+
+        private final SimulatedMainThread mMainThread;
+        private final IObserver<T> mObserver;
+
+        private MainThreadLiveData(final SimulatedMainThread mainThread, final IObserver<T> observer) {
+            mMainThread = mainThread;
+            mObserver = observer;
+        }
+
+        @Override
+        public void setValue(final MvvmRequest<T> value) {
+            mMainThread.post(() -> mObserver.onChanged(value.getResponse()));
+        }
+
+        @Override
+        public void postValue(final MvvmRequest<T> value) {
+            setValue(value);
+        }
+
+    }
+
+    private interface IObserver<T> {
+
+        void onChanged(T response);
+
+    }
+
+    static class FakeLifecycleOwner implements LifecycleOwner {
+
+        private volatile Lifecycle.State mState = Lifecycle.State.INITIALIZED;
+
+        private final Lifecycle mLifecycle = new Lifecycle() {
+            @Override
+            public void addObserver(LifecycleObserver observer) {
+            }
+
+            @Override
+            public void removeObserver(LifecycleObserver observer) {
+            }
+
+            @Override
+            public State getCurrentState() {
+                return mState;
+            }
+        };
+
+        @Override
+        public Lifecycle getLifecycle() {
+            return mLifecycle;
+        }
+
+        void dispatch(final MvvmAbstractRequestViewModel viewModel, final Lifecycle.Event event) {
+            switch (event) {
+                case ON_CREATE:
+                case ON_STOP:
+                    mState = Lifecycle.State.CREATED;
+                    break;
+                case ON_START:
+                case ON_PAUSE:
+                    mState = Lifecycle.State.STARTED;
+                    break;
+                case ON_RESUME:
+                    mState = Lifecycle.State.RESUMED;
+                    break;
+                case ON_DESTROY:
+                    mState = Lifecycle.State.DESTROYED;
+                    break;
+                default:
+                    break;
+            }
+            viewModel.onStateChanged(this, event);
+        }
+
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.soulkun.mvvm.viewmodel;
+
+import androidx.annotation.NonNull;
+
+import com.soulkun.mvvm.MvvmBenchmark;
+import com.soulkun.mvvm.model.MvvmMessage;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 多通道共用事件总线与每通道独立消息总线的内存与分发开销对比，默认跳过
+ */
+public class MvvmEventBusViewModelBenchmark {
+
+    private static final int CHANNEL_COUNT = 20;
+    private static final int EVENTS_PER_CHANNEL = 10_000;
+    private static final int MEMORY_SAMPLE_COUNT = 200;
+
+    /**
+     * 基准测试：20个通道共用一个事件总线，与20个独立消息总线对比每通道的内存与分发开销
+     */
+    @Test
+    public void benchmark_perChannelOverhead() {
+        MvvmBenchmark.assumeEnabled();
+        final long standaloneBytes = measureBytes(() -> {
+            final StandaloneViewModel[] viewModels = new StandaloneViewModel[CHANNEL_COUNT];
+            for (int i = 0; i < CHANNEL_COUNT; i++) {
+                viewModels[i] = new StandaloneViewModel();
+            }
+            return viewModels;
+        });
+        final long busBytes = measureBytes(() -> {
+            final MvvmEventBusViewModel bus = new BenchmarkEventBusViewModel();
+            for (int i = 0; i < CHANNEL_COUNT; i++) {
+                bus.getChannel("channel-" + i, Integer.class);
+            }
+            return bus;
+        });
+
+        final long[] received = new long[1];
+        final StandaloneViewModel[] viewModels = new StandaloneViewModel[CHANNEL_COUNT];
+        for (int i = 0; i < CHANNEL_COUNT; i++) {
+            viewModels[i] = new StandaloneViewModel();
+            viewModels[i].observeForever(message -> received[0]++);
+        }
+        final MvvmEventBusViewModel bus = new BenchmarkEventBusViewModel();
+        final List<MvvmEventChannel<Integer>> channels = new ArrayList<>();
+        for (int i = 0; i < CHANNEL_COUNT; i++) {
+            final MvvmEventChannel<Integer> channel = bus.getChannel("channel-" + i, Integer.class);
+            channel.observeForever(event -> received[0]++);
+            channels.add(channel);
+        }
+
+        // 预热
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < EVENTS_PER_CHANNEL; i++) {
+                for (int c = 0; c < CHANNEL_COUNT; c++) {
+                    viewModels[c].send(new MvvmMessage<>(c, i));
+                    channels.get(c).send(i);
+                }
+            }
+        }
+        received[0] = 0;
+
+        final long standaloneStart = System.nanoTime();
+        for (int i = 0; i < EVENTS_PER_CHANNEL; i++) {
+            for (int c = 0; c < CHANNEL_COUNT; c++) {
+                viewModels[c].send(new MvvmMessage<>(c, i));
+            }
+        }
+        final long standaloneCost = System.nanoTime() - standaloneStart;
+
+        final long busStart = System.nanoTime();
+        for (int i = 0; i < EVENTS_PER_CHANNEL; i++) {
+            for (int c = 0; c < CHANNEL_COUNT; c++) {
+                channels.get(c).send(i);
+            }
+        }
+        final long busCost = System.nanoTime() - busStart;
+
+        final long total = (long) CHANNEL_COUNT * EVENTS_PER_CHANNEL;
+        assertEquals(total * 2, received[0]);
+        // 共用引擎后每通道只占用一个通道对象，内存开销必须远小于独立消息总线
+        assertTrue(busBytes < standaloneBytes);
+        System.out.println(String.format("standalone=%dB/channel %.1fns/event  bus=%dB/channel %.1fns/event",
+                standaloneBytes / CHANNEL_COUNT, standaloneCost / (double) total,
+                busBytes / CHANNEL_COUNT, busCost / (double) total));
+    }
+
+    // 多次采样取中位数，估算对象图的内存占用
+    private static long measureBytes(final Allocation allocation) {
+        final long[] samples = new long[5];
+        for (int s = 0; s < samples.length; s++) {
+            final Object[] retained = new Object[MEMORY_SAMPLE_COUNT];
+            final long before = usedMemory();
+            for (int i = 0; i < MEMORY_SAMPLE_COUNT; i++) {
+                retained[i] = allocation.allocate();
+            }
+            final long after = usedMemory();
+            samples[s] = (after - before) / MEMORY_SAMPLE_COUNT;
+            assertNotNull(retained[MEMORY_SAMPLE_COUNT - 1]);
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private interface Allocation {
+        Object allocate();
+    }
+
+    // 使用手动调度器的事件总线，单元测试中没有主线程Looper
+    private static class BenchmarkEventBusViewModel extends MvvmEventBusViewModel {
+
+        @NonNull
+        @Override
+        protected IMessageScheduler initMessageScheduler() {
+            return new MvvmEventBusViewModelTest.ManualMessageScheduler();
+        }
+
+    }
+
+    // 每个通道一个独立消息总线的旧用法
+    private static class StandaloneViewModel extends MvvmAbstractMessageViewModel<MvvmMessage<Integer>> {
+
+        @NonNull
+        @Override
+        protected IMessageScheduler initMessageScheduler() {
+            return new MvvmEventBusViewModelTest.ManualMessageScheduler();
+        }
+
+        @Override
+        protected boolean authenticateMessage(@NonNull MvvmMessage<Integer> message) {
+            return true;
+        }
+
+    }
+
+}
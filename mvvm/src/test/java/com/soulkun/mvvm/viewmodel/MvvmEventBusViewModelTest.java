@@ -0,0 +1,199 @@
+package com.soulkun.mvvm.viewmodel;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Observer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 进程级事件总线的单元测试，使用手动调度器代替主线程Looper
+ */
+public class MvvmEventBusViewModelTest {
+
+    @Test
+    public void channel_deliversOnlyItsOwnEvents() {
+        final MvvmEventBusViewModel bus = new TestEventBusViewModel();
+        final MvvmEventChannel<String> login = bus.getChannel("login", String.class);
+        final MvvmEventChannel<Integer> badge = bus.getChannel("badge", Integer.class);
+        final List<String> logins = new ArrayList<>();
+        final List<Integer> badges = new ArrayList<>();
+        login.observeForever(logins::add);
+        badge.observeForever(badges::add);
+
+        assertTrue(login.send("alice"));
+        assertTrue(badge.send(3));
+        assertTrue(badge.send(4));
+        assertEquals(1, logins.size());
+        assertEquals(2, badges.size());
+        assertEquals(4, (int) badges.get(1));
+        assertSame(login, bus.getChannel("login", String.class));
+        assertEquals(2, bus.getChannelCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getChannel_rejectsMismatchedType() {
+        final MvvmEventBusViewModel bus = new TestEventBusViewModel();
+        bus.getChannel("login", String.class);
+        bus.getChannel("login", Integer.class);
+    }
+
+    @Test
+    public void observeSticky_replaysLatestEventOfChannel() {
+        final MvvmEventBusViewModel bus = new TestEventBusViewModel();
+        final MvvmEventChannel<String> login = bus.getChannel("login", String.class);
+        final MvvmEventChannel<Integer> badge = bus.getChannel("badge", Integer.class);
+        login.send("alice");
+        badge.send(1);
+        final List<String> logins = new ArrayList<>();
+        login.observeStickyForever(logins::add);
+        assertEquals(1, logins.size());
+        assertEquals("alice", logins.get(0));
+    }
+
+    @Test
+    public void unObserve_sameObserverOnTwoChannelsIsIndependent() {
+        final MvvmEventBusViewModel bus = new TestEventBusViewModel();
+        final MvvmEventChannel<Object> first = bus.getChannel("first", Object.class);
+        final MvvmEventChannel<Object> second = bus.getChannel("second", Object.class);
+        final List<Object> received = new ArrayList<>();
+        final Observer<Object> observer = received::add;
+        first.observeForever(observer);
+        second.observeForever(observer);
+        // 重复观察替换之前的观察，不会重复推送
+        first.observeForever(observer);
+        assertEquals(1, first.getObserverCount());
+
+        first.unObserve(observer);
+        assertEquals(0, first.getObserverCount());
+        first.send("a");
+        second.send("b");
+        assertEquals(1, received.size());
+        assertEquals("b", received.get(0));
+    }
+
+    @Test
+    public void post_manyChannelsShareOneDrain() {
+        final TestEventBusViewModel bus = new TestEventBusViewModel();
+        final ManualMessageScheduler scheduler = bus.mScheduler;
+        final int[] received = new int[1];
+        for (int i = 0; i < 20; i++) {
+            final MvvmEventChannel<Integer> channel = bus.getChannel("channel-" + i, Integer.class);
+            channel.observeForever(event -> received[0]++);
+            assertTrue(channel.post(i));
+        }
+        // 所有通道共用同一个排空任务
+        assertEquals(1, scheduler.mPendingRunnables.size());
+        assertEquals(0, received[0]);
+
+        scheduler.runPending();
+        assertEquals(20, received[0]);
+        assertEquals(0, bus.getPostQueueDepth());
+    }
+
+    @Test
+    public void send_expiredEventIsNotReplayedToStickyObserver() {
+        final TestEventBusViewModel bus = new TestEventBusViewModel();
+        final ManualMessageScheduler scheduler = bus.mScheduler;
+        final MvvmEventChannel<String> login = bus.getChannel("login", String.class);
+        login.send("alice");
+
+        // 默认清除时间为5分钟，时间轮最多晚一个tick过期
+        scheduler.mUptimeMillis += 6 * 60 * 1000L;
+        scheduler.runPending();
+        final List<String> logins = new ArrayList<>();
+        login.observeStickyForever(logins::add);
+        assertTrue(logins.isEmpty());
+    }
+
+    @Test
+    public void onCleared_stopsPendingAndLaterPosts() {
+        final TestEventBusViewModel bus = new TestEventBusViewModel();
+        final ManualMessageScheduler scheduler = bus.mScheduler;
+        final MvvmEventChannel<String> login = bus.getChannel("login", String.class);
+        final List<String> logins = new ArrayList<>();
+        login.observeForever(logins::add);
+        assertTrue(login.post("alice"));
+
+        bus.onCleared();
+        // 销毁前发送的消息不再分发，也不会重新调度过期扫描
+        scheduler.runPending();
+        assertTrue(logins.isEmpty());
+        assertTrue(scheduler.mPendingRunnables.isEmpty());
+        assertFalse(login.post("bob"));
+        assertEquals(0, bus.getPostQueueDepth());
+    }
+
+    // 使用手动调度器的事件总线，单元测试中没有主线程Looper
+    private static class TestEventBusViewModel extends MvvmEventBusViewModel {
+
+        // 在父类构造方法中赋值，不能有初始值
+        private ManualMessageScheduler mScheduler;
+
+        @NonNull
+        @Override
+        protected IMessageScheduler initMessageScheduler() {
+            mScheduler = new ManualMessageScheduler();
+            return mScheduler;
+        }
+
+    }
+
+    // 手动推进的主线程调度器，时钟由测试控制，任务在调用runPending()时执行
+    static class ManualMessageScheduler implements MvvmAbstractMessageViewModel.IMessageScheduler {
+
+        private final List<Runnable> mPendingRunnables = new ArrayList<>();
+        private final List<Long> mPendingTimes = new ArrayList<>();
+        private long mUptimeMillis = 1_000;
+
+        @Override
+        public void schedule(@NonNull Runnable drainRunnable) {
+            postDelayed(drainRunnable, 0);
+        }
+
+        @Override
+        public long uptimeMillis() {
+            return mUptimeMillis;
+        }
+
+        @Override
+        public void postDelayed(@NonNull Runnable runnable, long delayMillis) {
+            mPendingRunnables.add(runnable);
+            mPendingTimes.add(mUptimeMillis + delayMillis);
+        }
+
+        @Override
+        public void removeCallbacks(@NonNull Runnable runnable) {
+            for (int i = mPendingRunnables.size() - 1; i >= 0; i--) {
+                if (mPendingRunnables.get(i) == runnable) {
+                    mPendingRunnables.remove(i);
+                    mPendingTimes.remove(i);
+                }
+            }
+        }
+
+        @Override
+        public boolean isMainThread() {
+            return false;
+        }
+
+        // 执行已到期的任务，执行期间新投递的任务若已到期也会执行
+        void runPending() {
+            for (int i = 0; i < mPendingRunnables.size(); ) {
+                if (mPendingTimes.get(i) <= mUptimeMillis) {
+                    mPendingTimes.remove(i);
+                    mPendingRunnables.remove(i).run();
+                    i = 0;
+                } else {
+                    i++;
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.soulkun.mvvm.viewmodel;
+
+import com.soulkun.mvvm.MvvmBenchmark;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+/**
+ * 无锁延迟直方图的记录耗时基准测试，默认跳过
+ */
+public class MvvmLatencyHistogramBenchmark {
+
+    /**
+     * 基准测试：单线程与8线程并发记录分散耗时的单次记录耗时
+     */
+    @Test
+    public void benchmark_recordCost() throws InterruptedException {
+        MvvmBenchmark.assumeEnabled();
+        final double singleNanos = measureRecordCost(1);
+        final double concurrentNanos = measureRecordCost(8);
+        System.out.println(String.format("histogram record 1 thread=%.1fns/op, 8 threads=%.1fns/op", singleNanos, concurrentNanos));
+    }
+
+    private static double measureRecordCost(final int threadCount) throws InterruptedException {
+        final MvvmLatencyHistogram histogram = new MvvmLatencyHistogram();
+        final int perThread = 1_000_000;
+        final CountDownLatch done = new CountDownLatch(threadCount);
+        final long startNanos = System.nanoTime();
+        for (int t = 0; t < threadCount; t++) {
+            final long seed = t;
+            new Thread(() -> {
+                final Random random = new Random(seed);
+                for (int i = 0; i < perThread; i++) {
+                    histogram.record(random.nextInt(100_000_000));
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        assertEquals(threadCount * (long) perThread, histogram.getCount());
+        return (System.nanoTime() - startNanos) / (double) perThread;
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.soulkun.mvvm.viewmodel;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+/**
+ * 无锁延迟直方图的单元测试
+ */
+public class MvvmLatencyHistogramTest {
+
+    @Test
+    public void bucketBoundaries_areContinuous() {
+        for (long value = 0; value < 1 << 20; value++) {
+            final int index = MvvmLatencyHistogram.indexOf(value);
+            assertTrue(value <= MvvmLatencyHistogram.highestValueOf(index));
+            if (index > 0) {
+                assertTrue(value > MvvmLatencyHistogram.highestValueOf(index - 1));
+            }
+        }
+        assertTrue(MvvmLatencyHistogram.highestValueOf(MvvmLatencyHistogram.indexOf(MvvmLatencyHistogram.MAX_TRACKABLE_NANOS))
+                >= MvvmLatencyHistogram.MAX_TRACKABLE_NANOS);
+    }
+
+    @Test
+    public void percentiles_stayWithinRelativeError() {
+        final MvvmLatencyHistogram histogram = new MvvmLatencyHistogram();
+        // 1ms~100ms均匀分布
+        for (int i = 1; i <= 100_000; i++) {
+            histogram.record(i * 1_000L);
+        }
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000_000L, histogram.getMaxNanos());
+        assertEquals(50_000_500.0, histogram.getMeanNanos(), 1.0);
+        assertRelativeError(50_000_000L, histogram.getValueAtPercentile(50));
+        assertRelativeError(99_000_000L, histogram.getValueAtPercentile(99));
+        assertEquals(100_000_000L, histogram.getValueAtPercentile(100));
+        assertRelativeError(1_000L, histogram.getValueAtPercentile(0));
+    }
+
+    @Test
+    public void smallAndOutOfRangeValues_areClamped() {
+        final MvvmLatencyHistogram histogram = new MvvmLatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        histogram.record(-5);
+        histogram.record(7);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(0, histogram.getValueAtPercentile(10));
+        assertEquals(7, histogram.getValueAtPercentile(50));
+        assertEquals(MvvmLatencyHistogram.MAX_TRACKABLE_NANOS, histogram.getMaxNanos());
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxNanos());
+    }
+
+    @Test
+    public void concurrentRecord_losesNoSample() throws InterruptedException {
+        final MvvmLatencyHistogram histogram = new MvvmLatencyHistogram();
+        final int threadCount = 8;
+        final int perThread = 100_000;
+        final CountDownLatch done = new CountDownLatch(threadCount);
+        for (int t = 0; t < threadCount; t++) {
+            final long seed = t;
+            new Thread(() -> {
+                final Random random = new Random(seed);
+                for (int i = 0; i < perThread; i++) {
+                    histogram.record(random.nextInt(50_000_000));
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        assertEquals(threadCount * perThread, histogram.getCount());
+        assertRelativeError(25_000_000L, histogram.getValueAtPercentile(50));
+    }
+
+    private static void assertRelativeError(final long expected, final long actual) {
+        assertTrue(expected + "!~" + actual, Math.abs(actual - expected) <= expected / 32 + 1);
+    }
+
+}
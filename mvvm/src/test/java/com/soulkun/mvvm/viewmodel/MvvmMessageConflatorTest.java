@@ -0,0 +1,156 @@
+package com.soulkun.mvvm.viewmodel;
+
+import androidx.annotation.NonNull;
+
+import com.soulkun.mvvm.enums.MvvmMessageConflation;
+import com.soulkun.mvvm.model.MvvmMessage;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 消息合并器的单元测试，使用手动推进的时钟模拟主线程Handler
+ */
+public class MvvmMessageConflatorTest {
+
+    private static final int ID_PROGRESS = 1;
+    private static final int ID_THROTTLE = 2;
+    private static final int ID_DEBOUNCE = 3;
+    private static final int ID_NORMAL = 4;
+
+    private final FakeScheduler mScheduler = new FakeScheduler();
+    private final List<MvvmMessage<Integer>> mDispatched = new ArrayList<>();
+    private final List<Long> mDiscarded = new ArrayList<>();
+
+    private final MvvmMessageConflator<MvvmMessage<Integer>> mConflator = new MvvmMessageConflator<>(messageId -> {
+        switch (messageId) {
+            case ID_PROGRESS:
+                return MvvmMessageConflation.LATEST_ONLY;
+            case ID_THROTTLE:
+                return MvvmMessageConflation.throttle(100);
+            case ID_DEBOUNCE:
+                return MvvmMessageConflation.debounce(50);
+            default:
+                return MvvmMessageConflation.KEEP_ALL;
+        }
+    }, mScheduler, new MvvmMessageConflator.IConflationDispatcher<MvvmMessage<Integer>>() {
+        @Override
+        public long dispatch(@NonNull MvvmMessage<Integer> message) {
+            mDispatched.add(message);
+            return mDispatched.size() - 1;
+        }
+
+        @Override
+        public void discard(long sequence) {
+            mDiscarded.add(sequence);
+        }
+    });
+
+    @Test
+    public void keepAll_hasNoState() {
+        assertNull(mConflator.getState(ID_NORMAL));
+        assertNotNull(mConflator.getState(ID_PROGRESS));
+    }
+
+    @Test
+    public void latestOnly_coalescesPendingSlotAndDiscardsPrevious() {
+        final MvvmMessageConflator<MvvmMessage<Integer>>.State state = mConflator.getState(ID_PROGRESS);
+        int drainsRequested = 0;
+        for (int percent = 0; percent <= 100; percent++) {
+            if (mConflator.offerPending(state, new MvvmMessage<>(ID_PROGRESS, percent))) {
+                drainsRequested++;
+            }
+        }
+        assertEquals(1, drainsRequested);
+        mConflator.drain(state);
+        assertEquals(1, mDispatched.size());
+        assertEquals(100, (int) mDispatched.get(0).getData());
+
+        mConflator.offer(state, new MvvmMessage<>(ID_PROGRESS, 101));
+        assertEquals(2, mDispatched.size());
+        // 重放日志中只保留最新值
+        assertEquals(1, mDiscarded.size());
+        assertEquals(0L, (long) mDiscarded.get(0));
+    }
+
+    @Test
+    public void throttle_dispatchesAtMostOncePerWindowWithTrailingValue() {
+        final MvvmMessageConflator<MvvmMessage<Integer>>.State state = mConflator.getState(ID_THROTTLE);
+        for (int i = 0; i < 1_000; i++) {
+            mScheduler.advanceTo(i);
+            mConflator.offer(state, new MvvmMessage<>(ID_THROTTLE, i));
+        }
+        mScheduler.advanceTo(1_100);
+        // 0、100、200...900各推送一次，最后一个窗口推送尾值999
+        assertEquals(11, mDispatched.size());
+        assertEquals(0, (int) mDispatched.get(0).getData());
+        assertEquals(999, (int) mDispatched.get(10).getData());
+        assertEquals(1_000, mConflator.getOfferedCount());
+        assertEquals(11, mConflator.getDispatchedCount());
+    }
+
+    @Test
+    public void debounce_dispatchesLatestAfterQuietPeriod() {
+        final MvvmMessageConflator<MvvmMessage<Integer>>.State state = mConflator.getState(ID_DEBOUNCE);
+        for (int i = 0; i < 10; i++) {
+            mScheduler.advanceTo(i * 10);
+            mConflator.offer(state, new MvvmMessage<>(ID_DEBOUNCE, i));
+        }
+        mScheduler.advanceTo(130);
+        assertTrue(mDispatched.isEmpty());
+        mScheduler.advanceTo(140);
+        assertEquals(1, mDispatched.size());
+        assertEquals(9, (int) mDispatched.get(0).getData());
+        // 同一时刻最多只有一个延时任务
+        assertTrue(mScheduler.mMaxPending <= 1);
+    }
+
+    private static class FakeScheduler implements MvvmMessageConflator.IConflationScheduler {
+
+        private final List<Object[]> mDelayed = new ArrayList<>();
+        private long mNow = 0;
+        private int mMaxPending = 0;
+
+        @Override
+        public long uptimeMillis() {
+            return mNow;
+        }
+
+        @Override
+        public void postDelayed(@NonNull Runnable runnable, long delayMillis) {
+            mDelayed.add(new Object[]{mNow + delayMillis, runnable});
+            mMaxPending = Math.max(mMaxPending, mDelayed.size());
+        }
+
+        @Override
+        public void removeCallbacks(@NonNull Runnable runnable) {
+            mDelayed.removeIf(entry -> entry[1] == runnable);
+        }
+
+        private void advanceTo(final long now) {
+            boolean ran = true;
+            while (ran) {
+                ran = false;
+                final Iterator<Object[]> iterator = mDelayed.iterator();
+                while (iterator.hasNext()) {
+                    final Object[] entry = iterator.next();
+                    if ((long) entry[0] <= now) {
+                        iterator.remove();
+                        mNow = (long) entry[0];
+                        ((Runnable) entry[1]).run();
+                        ran = true;
+                        break;
+                    }
+                }
+            }
+            mNow = now;
+        }
+
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.soulkun.mvvm.viewmodel;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 消息过期时间轮的单元测试
+ */
+public class MvvmMessageExpiryWheelTest {
+
+    @Test
+    public void advance_expiresDueEntriesInOneBatch() {
+        final MvvmMessageExpiryWheel wheel = new MvvmMessageExpiryWheel(10, 8);
+        wheel.advance(0, sequence -> fail("no entry yet"));
+        for (long sequence = 0; sequence < 1_000; sequence++) {
+            wheel.schedule(sequence, 50);
+        }
+        wheel.schedule(1_000, 70);
+
+        final List<Long> expired = new ArrayList<>();
+        assertEquals(0, wheel.advance(40, expired::add));
+        assertEquals(1_000, wheel.advance(55, expired::add));
+        assertEquals(1_000, wheel.getLastSweepExpiredCount());
+        assertEquals(1, wheel.getPendingCount());
+        // 相同过期时间的条目按序号逐一过期，互不覆盖
+        assertEquals(999L, (long) expired.get(999));
+
+        assertEquals(1, wheel.advance(70, expired::add));
+        assertTrue(wheel.isEmpty());
+        assertEquals(1_001, wheel.getTotalExpiredCount());
+        assertEquals(1_000, wheel.getMaxSweepExpiredCount());
+        assertEquals(4, wheel.getSweepCount());
+    }
+
+    @Test
+    public void schedule_beyondOneLapWaitsForRemainingRounds() {
+        final MvvmMessageExpiryWheel wheel = new MvvmMessageExpiryWheel(10, 4);
+        wheel.advance(0, sequence -> {
+        });
+        // 250ms超过一圈（40ms），与20ms落在同一槽位
+        wheel.schedule(1, 250);
+        wheel.schedule(2, 20);
+
+        final List<Long> expired = new ArrayList<>();
+        wheel.advance(20, expired::add);
+        assertEquals(1, expired.size());
+        assertEquals(2L, (long) expired.get(0));
+
+        wheel.advance(240, expired::add);
+        assertEquals(1, expired.size());
+        wheel.advance(250, expired::add);
+        assertEquals(2, expired.size());
+    }
+
+    @Test
+    public void advance_catchesUpAfterLongPause() {
+        final MvvmMessageExpiryWheel wheel = new MvvmMessageExpiryWheel(10, 4);
+        wheel.advance(0, sequence -> {
+        });
+        for (long sequence = 0; sequence < 10; sequence++) {
+            wheel.schedule(sequence, 10 + sequence * 10);
+        }
+        assertEquals(10, wheel.advance(10_000, sequence -> {
+        }));
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void schedule_neverExpiresEarly() {
+        final MvvmMessageExpiryWheel wheel = new MvvmMessageExpiryWheel(100, 16);
+        wheel.advance(1_000, sequence -> {
+        });
+        wheel.schedule(7, 1_150);
+        assertEquals(0, wheel.advance(1_100, sequence -> {
+        }));
+        assertEquals(1, wheel.advance(1_200, sequence -> {
+        }));
+    }
+
+    @Test
+    public void advance_expiresEntriesScheduledBeforeFirstSweep() {
+        final MvvmMessageExpiryWheel wheel = new MvvmMessageExpiryWheel(100, 16);
+        wheel.schedule(1, 1_150);
+        wheel.schedule(2, 50_000);
+        // 首次推进已晚于两者的过期时间
+        assertEquals(2, wheel.advance(60_000, sequence -> {
+        }));
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void purge_dropsStaleEntriesAndKeepsLiveOnes() {
+        final MvvmMessageExpiryWheel wheel = new MvvmMessageExpiryWheel(10, 8);
+        wheel.advance(0, sequence -> {
+        });
+        // 模拟容量为16的重放日志，超过阈值32时删除已被覆盖的条目
+        final int capacity = 16;
+        final long[] nextSequence = {0};
+        for (int i = 0; i < 10_000; i++) {
+            wheel.schedule(nextSequence[0]++, 1_000 + i % 100);
+            if (wheel.getPendingCount() > capacity * 2) {
+                wheel.purge(sequence -> sequence < nextSequence[0] - capacity);
+            }
+            assertTrue(wheel.getPendingCount() <= capacity * 2);
+        }
+
+        final List<Long> expired = new ArrayList<>();
+        wheel.advance(10_000, expired::add);
+        // 未被覆盖的条目仍然按时过期
+        for (long sequence = nextSequence[0] - capacity; sequence < nextSequence[0]; sequence++) {
+            assertTrue(expired.contains(sequence));
+        }
+        assertTrue(wheel.isEmpty());
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.soulkun.mvvm.viewmodel;
+
+import com.soulkun.mvvm.MvvmBenchmark;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 消息观察者登记表的注册与解绑基准测试，默认跳过
+ */
+public class MvvmMessageObserverRegistryBenchmark {
+
+    private static final int OBSERVER_COUNT = 10_000;
+    private static final int OWNER_COUNT = 500;
+
+    /**
+     * 基准：10000个哈希冲突的观察者分布于500个生命周期持有者，统计注册与逐个解绑持有者的耗时
+     */
+    @Test
+    public void benchmark_registerAndUnbindOwners() {
+        MvvmBenchmark.assumeEnabled();
+        final MvvmMessageObserverRegistry<Object> registry = new MvvmMessageObserverRegistry<>();
+        final Object[] owners = new Object[OWNER_COUNT];
+        for (int i = 0; i < OWNER_COUNT; i++) {
+            owners[i] = new Object();
+        }
+        final long registerStart = System.nanoTime();
+        for (int i = 0; i < OBSERVER_COUNT; i++) {
+            registry.put(new MvvmMessageObserverRegistryTest.CollidingObserver(), owners[i % OWNER_COUNT], new Object());
+        }
+        final long registerCost = System.nanoTime() - registerStart;
+        assertEquals(OBSERVER_COUNT, registry.size());
+
+        long maxUnbindCost = 0;
+        final long unbindStart = System.nanoTime();
+        for (Object owner : owners) {
+            final long start = System.nanoTime();
+            assertEquals(OBSERVER_COUNT / OWNER_COUNT, registry.removeOwner(owner).length);
+            maxUnbindCost = Math.max(maxUnbindCost, System.nanoTime() - start);
+        }
+        final long unbindCost = System.nanoTime() - unbindStart;
+
+        assertEquals(0, registry.size());
+        System.out.println(String.format("register=%.1fns/observer unbind=%.1fus/owner maxUnbind=%.1fus",
+                registerCost / (double) OBSERVER_COUNT, unbindCost / 1e3 / OWNER_COUNT, maxUnbindCost / 1e3));
+    }
+
+}
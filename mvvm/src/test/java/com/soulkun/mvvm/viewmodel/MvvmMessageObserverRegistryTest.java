@@ -0,0 +1,97 @@
+package com.soulkun.mvvm.viewmodel;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 消息观察者登记表的单元测试及压力测试
+ */
+public class MvvmMessageObserverRegistryTest {
+
+    private static final int OBSERVER_COUNT = 10_000;
+    private static final int OWNER_COUNT = 500;
+
+    @Test
+    public void put_collidingHashCodesDoNotEvictEachOther() {
+        final MvvmMessageObserverRegistry<String> registry = new MvvmMessageObserverRegistry<>();
+        final Object first = new CollidingObserver();
+        final Object second = new CollidingObserver();
+        assertNull(registry.put(first, null, "first"));
+        assertNull(registry.put(second, null, "second"));
+        assertEquals(2, registry.size());
+        assertEquals("first", registry.get(first));
+        assertEquals("second", registry.get(second));
+    }
+
+    @Test
+    public void put_sameObserverReplacesPrevious() {
+        final MvvmMessageObserverRegistry<String> registry = new MvvmMessageObserverRegistry<>();
+        final Object observer = new Object();
+        final Object owner = new Object();
+        registry.put(observer, owner, "old");
+        assertEquals("old", registry.put(observer, owner, "new"));
+        assertEquals(1, registry.getSubscribers(owner).length);
+        assertEquals("new", registry.getSubscribers(owner)[0]);
+    }
+
+    @Test
+    public void remove_keepsOtherSubscribersOfOwner() {
+        final MvvmMessageObserverRegistry<Integer> registry = new MvvmMessageObserverRegistry<>();
+        final Object owner = new Object();
+        final List<Object> observers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final Object observer = new Object();
+            observers.add(observer);
+            registry.put(observer, owner, i);
+        }
+        assertEquals(0, (int) registry.remove(observers.get(0)));
+        assertEquals(2, (int) registry.remove(observers.get(2)));
+        assertEquals(3, registry.getSubscribers(owner).length);
+        assertEquals(3, registry.removeOwner(owner).length);
+        assertEquals(0, registry.size());
+        assertEquals(0, registry.getOwnerCount());
+    }
+
+    /**
+     * 压力测试：10000个观察者分布于500个生命周期持有者，逐个解绑持有者，每次只访问该持有者的20个订阅者
+     */
+    @Test
+    public void stress_unbindOwnersTouchesOnlyTheirSubscribers() {
+        final MvvmMessageObserverRegistry<Object> registry = new MvvmMessageObserverRegistry<>();
+        final Object[] owners = new Object[OWNER_COUNT];
+        for (int i = 0; i < OWNER_COUNT; i++) {
+            owners[i] = new Object();
+        }
+        for (int i = 0; i < OBSERVER_COUNT; i++) {
+            registry.put(new CollidingObserver(), owners[i % OWNER_COUNT], new Object());
+        }
+        assertEquals(OBSERVER_COUNT, registry.size());
+
+        for (Object owner : owners) {
+            assertEquals(OBSERVER_COUNT / OWNER_COUNT, registry.removeOwner(owner).length);
+        }
+
+        assertEquals(0, registry.size());
+        assertEquals(0, registry.getOwnerCount());
+    }
+
+    // 所有实例哈希值相同的观察者
+    static class CollidingObserver {
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof CollidingObserver;
+        }
+
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.soulkun.mvvm.viewmodel;
+
+import com.soulkun.mvvm.MvvmBenchmark;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * 跨线程消息合并队列的合并效果基准测试，默认跳过
+ */
+public class MvvmMessagePostDrainerBenchmark {
+
+    private static final int PRODUCER_COUNT = 8;
+    private static final int POSTS_PER_PRODUCER = 20_000;
+
+    /**
+     * 基准：8个线程并发发送160000条消息，排空次数应远小于消息数量
+     */
+    @Test
+    public void benchmark_coalescedDrainsUnderContention() throws InterruptedException {
+        MvvmBenchmark.assumeEnabled();
+        final LinkedBlockingQueue<Runnable> looper = new LinkedBlockingQueue<>();
+        final long[] received = new long[1];
+        final MvvmMessagePostDrainer<long[]> drainer = new MvvmMessagePostDrainer<>(looper::add,
+                element -> received[0]++, 512, TimeUnit.MILLISECONDS.toNanos(4));
+
+        final CountDownLatch done = new CountDownLatch(PRODUCER_COUNT);
+        for (int p = 0; p < PRODUCER_COUNT; p++) {
+            final int producer = p;
+            new Thread(() -> {
+                for (int i = 0; i < POSTS_PER_PRODUCER; i++) {
+                    drainer.post(new long[]{producer, i});
+                }
+                done.countDown();
+            }).start();
+        }
+
+        // 模拟主线程Looper
+        final long total = (long) PRODUCER_COUNT * POSTS_PER_PRODUCER;
+        while (received[0] < total) {
+            final Runnable runnable = looper.poll(5, TimeUnit.SECONDS);
+            assertNotNull(runnable);
+            runnable.run();
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(total, drainer.getDrainedCount());
+        // 合并效果：排空次数远小于消息数量
+        assertTrue(drainer.getDrainCount() < total / 10);
+        System.out.println(String.format("posted=%d drains=%d maxDepth=%d maxLatency=%.2fms",
+                total, drainer.getDrainCount(), drainer.getMaxQueueDepth(), drainer.getMaxDrainLatencyNanos() / 1e6));
+    }
+
+}
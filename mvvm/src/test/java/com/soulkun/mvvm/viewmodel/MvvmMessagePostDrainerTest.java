@@ -0,0 +1,206 @@
+package com.soulkun.mvvm.viewmodel;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * 跨线程消息合并队列的单元测试
+ */
+public class MvvmMessagePostDrainerTest {
+
+    private static final int PRODUCER_COUNT = 8;
+    private static final int POSTS_PER_PRODUCER = 20_000;
+
+    @Test
+    public void drain_respectsCountBudgetAndReschedules() {
+        final List<Runnable> scheduled = new ArrayList<>();
+        final List<Integer> received = new ArrayList<>();
+        final MvvmMessagePostDrainer<Integer> drainer = new MvvmMessagePostDrainer<>(
+                scheduled::add, received::add, 10, TimeUnit.SECONDS.toNanos(1));
+        for (int i = 0; i < 25; i++) {
+            drainer.post(i);
+        }
+        // 多次发送只调度一个排空任务
+        assertEquals(1, scheduled.size());
+        assertEquals(25, drainer.getQueueDepth());
+
+        scheduled.remove(0).run();
+        assertEquals(10, received.size());
+        assertEquals(1, scheduled.size());
+        scheduled.remove(0).run();
+        scheduled.remove(0).run();
+        assertEquals(25, received.size());
+        assertTrue(scheduled.isEmpty());
+        assertEquals(0, drainer.getQueueDepth());
+        assertEquals(25, drainer.getMaxQueueDepth());
+        assertEquals(3, drainer.getDrainCount());
+        for (int i = 0; i < 25; i++) {
+            assertEquals(i, (int) received.get(i));
+        }
+    }
+
+    @Test
+    public void drain_higherPriorityLaneFirst() {
+        final List<Runnable> scheduled = new ArrayList<>();
+        final List<String> received = new ArrayList<>();
+        final MvvmMessagePostDrainer<String> drainer = new MvvmMessagePostDrainer<>(
+                scheduled::add, received::add, 100, TimeUnit.SECONDS.toNanos(1), new int[]{4, 4, 4});
+        drainer.post("low-0", 2);
+        drainer.post("normal-0", 1);
+        drainer.post("low-1", 2);
+        drainer.post("critical-0", 0);
+        scheduled.remove(0).run();
+        assertEquals(Arrays.asList("critical-0", "normal-0", "low-0", "low-1"), received);
+    }
+
+    @Test
+    public void drain_consumerExceptionDoesNotStallLaterPosts() {
+        final List<Runnable> scheduled = new ArrayList<>();
+        final List<Integer> received = new ArrayList<>();
+        final MvvmMessagePostDrainer<Integer> drainer = new MvvmMessagePostDrainer<>(scheduled::add, element -> {
+            if (element == 1) {
+                throw new IllegalStateException("observer failed");
+            }
+            received.add(element);
+        }, 100, TimeUnit.SECONDS.toNanos(1), new int[]{4, 4});
+        drainer.post(0, 1);
+        drainer.post(1, 1);
+        drainer.post(2, 1);
+        try {
+            scheduled.remove(0).run();
+            fail("consumer exception must propagate");
+        } catch (IllegalStateException e) {
+            assertEquals("observer failed", e.getMessage());
+        }
+        // 异常后剩余消息已重新调度，计数与队列一致
+        assertEquals(1, scheduled.size());
+        assertEquals(1, drainer.getQueueDepth());
+        assertEquals(1, drainer.getQueueDepth(1));
+        scheduled.remove(0).run();
+        assertEquals(Arrays.asList(0, 2), received);
+
+        drainer.post(3, 0);
+        assertEquals(1, scheduled.size());
+        scheduled.remove(0).run();
+        assertEquals(Arrays.asList(0, 2, 3), received);
+        assertEquals(0, drainer.getQueueDepth());
+        assertEquals(4, drainer.getRemainingCapacity(1));
+    }
+
+    @Test
+    public void offer_rejectsWhenLaneFullAndWaitsForDrain() throws InterruptedException {
+        final LinkedBlockingQueue<Runnable> looper = new LinkedBlockingQueue<>();
+        final List<Integer> received = new ArrayList<>();
+        final MvvmMessagePostDrainer<Integer> drainer = new MvvmMessagePostDrainer<>(
+                looper::add, received::add, 100, TimeUnit.SECONDS.toNanos(1), new int[]{1, 2});
+        assertTrue(drainer.offer(0, 1));
+        assertTrue(drainer.offer(1, 1));
+        assertFalse(drainer.offer(2, 1));
+        // 通道之间容量互不影响
+        assertTrue(drainer.offer(3, 0));
+        assertEquals(1, drainer.getRejectedCount());
+        assertEquals(0, drainer.getRemainingCapacity(1));
+        // 超时仍无容量
+        assertFalse(drainer.offer(4, 1, 10, TimeUnit.MILLISECONDS));
+
+        final CountDownLatch accepted = new CountDownLatch(1);
+        new Thread(() -> {
+            try {
+                if (drainer.offer(5, 1, 5, TimeUnit.SECONDS)) {
+                    accepted.countDown();
+                }
+            } catch (InterruptedException ignored) {
+            }
+        }).start();
+        assertFalse(accepted.await(50, TimeUnit.MILLISECONDS));
+        looper.take().run();
+        assertTrue(accepted.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(3, 0, 1), received.subList(0, 3));
+    }
+
+    @Test
+    public void clear_dropsQueuedAndRejectsLaterPosts() throws InterruptedException {
+        final List<Runnable> scheduled = new ArrayList<>();
+        final List<Integer> received = new ArrayList<>();
+        final MvvmMessagePostDrainer<Integer> drainer = new MvvmMessagePostDrainer<>(
+                scheduled::add, received::add, 100, TimeUnit.SECONDS.toNanos(1), new int[]{1});
+        assertTrue(drainer.post(0, 0));
+        assertFalse(drainer.offer(1, 0));
+
+        // 通道已满时阻塞的生产者
+        final CountDownLatch returned = new CountDownLatch(1);
+        final boolean[] isAccepted = {true};
+        new Thread(() -> {
+            try {
+                isAccepted[0] = drainer.offer(2, 0, 5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+            }
+            returned.countDown();
+        }).start();
+        assertFalse(returned.await(50, TimeUnit.MILLISECONDS));
+
+        drainer.clear();
+        // 清空时唤醒阻塞的生产者并拒绝其消息
+        assertTrue(returned.await(1, TimeUnit.SECONDS));
+        assertFalse(isAccepted[0]);
+        assertEquals(0, drainer.getQueueDepth());
+        assertFalse(drainer.post(3));
+        assertFalse(drainer.offer(4, 0));
+
+        // 清空前已调度的排空任务不再分发
+        scheduled.remove(0).run();
+        assertTrue(received.isEmpty());
+        assertTrue(scheduled.isEmpty());
+    }
+
+    @Test
+    public void post_fromManyThreadsIsLosslessAndOrderedPerProducer() throws InterruptedException {
+        final LinkedBlockingQueue<Runnable> looper = new LinkedBlockingQueue<>();
+        final int[] lastSeen = new int[PRODUCER_COUNT];
+        Arrays.fill(lastSeen, -1);
+        final long[] received = new long[1];
+        final MvvmMessagePostDrainer<long[]> drainer = new MvvmMessagePostDrainer<>(looper::add, element -> {
+            final int producer = (int) element[0];
+            final int index = (int) element[1];
+            assertEquals(lastSeen[producer] + 1, index);
+            lastSeen[producer] = index;
+            received[0]++;
+        }, 512, TimeUnit.MILLISECONDS.toNanos(4));
+
+        final CountDownLatch done = new CountDownLatch(PRODUCER_COUNT);
+        for (int p = 0; p < PRODUCER_COUNT; p++) {
+            final int producer = p;
+            new Thread(() -> {
+                for (int i = 0; i < POSTS_PER_PRODUCER; i++) {
+                    drainer.post(new long[]{producer, i});
+                }
+                done.countDown();
+            }).start();
+        }
+
+        // 模拟主线程Looper
+        final long total = (long) PRODUCER_COUNT * POSTS_PER_PRODUCER;
+        long runCount = 0;
+        while (received[0] < total) {
+            final Runnable runnable = looper.poll(5, TimeUnit.SECONDS);
+            assertNotNull(runnable);
+            runnable.run();
+            runCount++;
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(total, drainer.getDrainedCount());
+        assertEquals(0, drainer.getQueueDepth());
+        // 任意时刻最多只有一个待执行的排空任务
+        assertEquals(runCount, drainer.getDrainCount());
+        assertTrue(looper.isEmpty());
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.soulkun.mvvm.viewmodel;
+
+import com.soulkun.mvvm.MvvmBenchmark;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 消息重放日志的发送基准测试，默认跳过
+ */
+public class MvvmMessageRingBufferBenchmark {
+
+    private static final int SEND_COUNT = 10_000;
+    private static final int SUBSCRIBER_COUNT = 100;
+
+    /**
+     * 基准：100个观察者订阅，连续发送10000条消息，每次发送仅为一次数组写入与游标推进
+     */
+    @Test
+    public void benchmark_sendWithSubscribers() {
+        MvvmBenchmark.assumeEnabled();
+        final MvvmMessageRingBuffer<Integer> buffer = new MvvmMessageRingBuffer<>(16);
+        final MvvmMessageSubscriberIndex<long[]> index = new MvvmMessageSubscriberIndex<>();
+        final List<long[]> cursors = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBER_COUNT; i++) {
+            final long[] cursor = {buffer.getNextSequence()};
+            cursors.add(cursor);
+            index.add(null, cursor);
+        }
+        final long[] received = new long[1];
+        final MvvmMessageRingBuffer.IMessageVisitor<Integer> visitor = (message, nextCursor) -> {
+            received[0]++;
+            return true;
+        };
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < SEND_COUNT; i++) {
+            buffer.add(i);
+            index.dispatch(0, cursor -> cursor[0] = buffer.deliver(cursor[0], null, visitor));
+        }
+        final long cost = System.nanoTime() - start;
+
+        assertEquals((long) SEND_COUNT * SUBSCRIBER_COUNT, received[0]);
+        for (long[] cursor : cursors) {
+            assertEquals(SEND_COUNT, cursor[0]);
+        }
+        System.out.println(String.format("sends=%d subscribers=%d total=%.2fms per-send=%.1fns",
+                SEND_COUNT, SUBSCRIBER_COUNT, cost / 1e6, cost / (double) SEND_COUNT));
+    }
+
+}
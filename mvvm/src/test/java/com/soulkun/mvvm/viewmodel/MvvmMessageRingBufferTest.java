@@ -0,0 +1,114 @@
+package com.soulkun.mvvm.viewmodel;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 消息重放日志的单元测试
+ */
+public class MvvmMessageRingBufferTest {
+
+    private static final int SEND_COUNT = 10_000;
+    private static final int SUBSCRIBER_COUNT = 100;
+
+    @Test
+    public void add_overwritesOldestWhenFull() {
+        final MvvmMessageRingBuffer<String> buffer = new MvvmMessageRingBuffer<>(3);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, buffer.add("m" + i));
+        }
+        assertEquals(2, buffer.getFirstSequence());
+        assertEquals(5, buffer.getNextSequence());
+        assertNull(buffer.get(1));
+        assertEquals("m2", buffer.get(2));
+        assertEquals("m4", buffer.get(4));
+        assertNull(buffer.get(5));
+    }
+
+    @Test
+    public void remove_ignoresOverwrittenSequence() {
+        final MvvmMessageRingBuffer<String> buffer = new MvvmMessageRingBuffer<>(2);
+        buffer.add("m0");
+        buffer.add("m1");
+        buffer.add("m2");
+        // 序号0所在槽位已被序号2覆盖
+        assertFalse(buffer.remove(0));
+        assertEquals("m2", buffer.get(2));
+        assertTrue(buffer.remove(2));
+        assertNull(buffer.get(2));
+    }
+
+    @Test
+    public void cursor_stickyStartsAtLatestAndNonStickyAtNext() {
+        final MvvmMessageRingBuffer<String> buffer = new MvvmMessageRingBuffer<>(8);
+        buffer.add("a1");
+        buffer.add("b1");
+        buffer.add("a2");
+        buffer.add("b2");
+
+        final MvvmMessageRingBuffer.IMessageFilter<String> onlyA = message -> message.startsWith("a");
+        final List<String> received = new ArrayList<>();
+        long cursor = buffer.findLatestSequence(onlyA);
+        assertEquals(2, cursor);
+        cursor = buffer.deliver(cursor, onlyA, (message, nextCursor) -> received.add(message));
+        assertEquals(1, received.size());
+        assertEquals("a2", received.get(0));
+        assertEquals(4, cursor);
+
+        received.clear();
+        long nonSticky = buffer.getNextSequence();
+        buffer.add("a3");
+        buffer.add("b3");
+        nonSticky = buffer.deliver(nonSticky, null, (message, nextCursor) -> received.add(message));
+        assertEquals(2, received.size());
+        assertEquals(buffer.getNextSequence(), nonSticky);
+    }
+
+    @Test
+    public void deliver_skipsEvictedMessagesForStaleCursor() {
+        final MvvmMessageRingBuffer<Integer> buffer = new MvvmMessageRingBuffer<>(4);
+        final long cursor = buffer.getNextSequence();
+        for (int i = 0; i < 10; i++) {
+            buffer.add(i);
+        }
+        final List<Integer> received = new ArrayList<>();
+        buffer.deliver(cursor, null, (message, nextCursor) -> received.add(message));
+        assertEquals(4, received.size());
+        assertEquals(6, (int) received.get(0));
+    }
+
+    /**
+     * 100个观察者订阅，连续发送10000条消息，每个观察者的游标随发送推进，不会遗漏或重复
+     */
+    @Test
+    public void deliver_manySubscribersKeepUpWithSends() {
+        final MvvmMessageRingBuffer<Integer> buffer = new MvvmMessageRingBuffer<>(16);
+        final MvvmMessageSubscriberIndex<long[]> index = new MvvmMessageSubscriberIndex<>();
+        final List<long[]> cursors = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBER_COUNT; i++) {
+            final long[] cursor = {buffer.getNextSequence()};
+            cursors.add(cursor);
+            index.add(null, cursor);
+        }
+        final long[] received = new long[1];
+        final MvvmMessageRingBuffer.IMessageVisitor<Integer> visitor = (message, nextCursor) -> {
+            received[0]++;
+            return true;
+        };
+
+        for (int i = 0; i < SEND_COUNT; i++) {
+            buffer.add(i);
+            index.dispatch(0, cursor -> cursor[0] = buffer.deliver(cursor[0], null, visitor));
+        }
+
+        assertEquals((long) SEND_COUNT * SUBSCRIBER_COUNT, received[0]);
+        for (long[] cursor : cursors) {
+            assertEquals(SEND_COUNT, cursor[0]);
+        }
+    }
+
+}
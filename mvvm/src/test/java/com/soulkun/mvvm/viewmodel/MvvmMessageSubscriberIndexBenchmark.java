@@ -0,0 +1,53 @@
+package com.soulkun.mvvm.viewmodel;
+
+import com.soulkun.mvvm.MvvmBenchmark;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 消息订阅者索引的分发基准测试，默认跳过
+ */
+public class MvvmMessageSubscriberIndexBenchmark {
+
+    private static final int TARGET_ID = 7;
+    private static final int TARGET_SUBSCRIBERS = 8;
+    private static final int DISPATCH_ROUNDS = 200_000;
+
+    /**
+     * 基准：目标ID的订阅者数量不变，无关订阅者从0增长到10000，单次分发访问的订阅者数量与耗时应保持平稳
+     */
+    @Test
+    public void benchmark_dispatchCostFlatAsUnrelatedObserversGrow() {
+        MvvmBenchmark.assumeEnabled();
+        final int[] unrelatedCounts = {0, 150, 1_000, 10_000};
+        final long[] costs = new long[unrelatedCounts.length];
+        for (int i = 0; i < unrelatedCounts.length; i++) {
+            final MvvmMessageSubscriberIndex<Object> index = new MvvmMessageSubscriberIndex<>();
+            for (int j = 0; j < TARGET_SUBSCRIBERS; j++) {
+                index.add(new int[]{TARGET_ID}, new Object());
+            }
+            for (int j = 0; j < unrelatedCounts[i]; j++) {
+                index.add(new int[]{1_000 + j}, new Object());
+            }
+
+            final int[] visits = new int[1];
+            final MvvmMessageSubscriberIndex.ISubscriberVisitor<Object> visitor = subscriber -> visits[0]++;
+            // 预热
+            for (int round = 0; round < DISPATCH_ROUNDS; round++) {
+                index.dispatch(TARGET_ID, visitor);
+            }
+            visits[0] = 0;
+            final long start = System.nanoTime();
+            for (int round = 0; round < DISPATCH_ROUNDS; round++) {
+                index.dispatch(TARGET_ID, visitor);
+            }
+            costs[i] = System.nanoTime() - start;
+
+            assertEquals(TARGET_SUBSCRIBERS * DISPATCH_ROUNDS, visits[0]);
+            System.out.println(String.format("unrelated=%d dispatch=%.1fns/msg", unrelatedCounts[i], costs[i] / (double) DISPATCH_ROUNDS));
+        }
+    }
+
+}
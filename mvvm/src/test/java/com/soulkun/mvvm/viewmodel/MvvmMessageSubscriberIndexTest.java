@@ -0,0 +1,85 @@
+package com.soulkun.mvvm.viewmodel;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 消息订阅者索引的单元测试
+ */
+public class MvvmMessageSubscriberIndexTest {
+
+    private static final int TARGET_ID = 7;
+    private static final int TARGET_SUBSCRIBERS = 8;
+
+    @Test
+    public void dispatch_onlyVisitsSubscribersOfId() {
+        final MvvmMessageSubscriberIndex<String> index = new MvvmMessageSubscriberIndex<>();
+        index.add(new int[]{1, 2}, "a");
+        index.add(new int[]{2}, "b");
+        index.add(null, "all");
+
+        final List<String> visited = new ArrayList<>();
+        assertEquals(3, index.dispatch(2, visited::add));
+        assertEquals(3, visited.size());
+        assertTrue(visited.contains("a") && visited.contains("b") && visited.contains("all"));
+
+        visited.clear();
+        assertEquals(2, index.dispatch(1, visited::add));
+        assertFalse(visited.contains("b"));
+
+        visited.clear();
+        assertEquals(1, index.dispatch(3, visited::add));
+        assertEquals("all", visited.get(0));
+    }
+
+    @Test
+    public void remove_detachesOnlyGivenSubscriber() {
+        final MvvmMessageSubscriberIndex<String> index = new MvvmMessageSubscriberIndex<>();
+        final int[] ids = {5, 6};
+        index.add(ids, "a");
+        index.add(ids, "b");
+        index.remove(ids, "a");
+
+        assertEquals(1, index.getSubscribers(5).length);
+        assertSame("b", index.getSubscribers(6)[0]);
+        assertEquals(0, index.getSubscribers(42).length);
+    }
+
+    @Test
+    public void grow_keepsAllKeys() {
+        final MvvmMessageSubscriberIndex<Integer> index = new MvvmMessageSubscriberIndex<>(4);
+        for (int i = -500; i < 500; i++) {
+            index.add(new int[]{i}, i);
+        }
+        for (int i = -500; i < 500; i++) {
+            assertEquals(1, index.getSubscribers(i).length);
+            assertEquals(i, index.getSubscribers(i)[0]);
+        }
+    }
+
+    /**
+     * 目标ID的订阅者数量不变，无关订阅者从0增长到10000，单次分发只访问目标ID的订阅者
+     */
+    @Test
+    public void dispatch_visitsOnlyTargetSubscribersAsUnrelatedGrow() {
+        final int[] unrelatedCounts = {0, 150, 1_000, 10_000};
+        for (int unrelatedCount : unrelatedCounts) {
+            final MvvmMessageSubscriberIndex<Object> index = new MvvmMessageSubscriberIndex<>();
+            for (int j = 0; j < TARGET_SUBSCRIBERS; j++) {
+                index.add(new int[]{TARGET_ID}, new Object());
+            }
+            for (int j = 0; j < unrelatedCount; j++) {
+                index.add(new int[]{1_000 + j}, new Object());
+            }
+
+            final int[] visits = new int[1];
+            index.dispatch(TARGET_ID, subscriber -> visits[0]++);
+            assertEquals(TARGET_SUBSCRIBERS, visits[0]);
+        }
+    }
+
+}
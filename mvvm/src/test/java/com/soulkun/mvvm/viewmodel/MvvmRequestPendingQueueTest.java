@@ -0,0 +1,100 @@
+package com.soulkun.mvvm.viewmodel;
+
+import com.soulkun.mvvm.enums.MvvmRequestOverflowPolicy;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * 有界待执行任务队列的单元测试
+ */
+public class MvvmRequestPendingQueueTest {
+
+    @Test
+    public void dropOldest_evictsHeadAndKeepsOrder() {
+        final List<String> overflow = new ArrayList<>();
+        final MvvmRequestPendingQueue<String> queue = new MvvmRequestPendingQueue<>(2, MvvmRequestOverflowPolicy.DROP_OLDEST,
+                element -> null, overflow::add);
+        assertTrue(queue.offer("a"));
+        assertTrue(queue.offer("b"));
+        assertTrue(queue.offer("c"));
+        assertEquals(Arrays.asList("a"), overflow);
+        assertEquals(Arrays.asList("b", "c"), queue.clear());
+        assertEquals(1, queue.getDroppedCount());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void reject_refusesNewElement() {
+        final List<String> overflow = new ArrayList<>();
+        final MvvmRequestPendingQueue<String> queue = new MvvmRequestPendingQueue<>(2, MvvmRequestOverflowPolicy.REJECT,
+                element -> null, overflow::add);
+        queue.offer("a");
+        queue.offer("b");
+        assertFalse(queue.offer("c"));
+        assertEquals(Arrays.asList("c"), overflow);
+        assertEquals(Arrays.asList("a", "b"), queue.clear());
+        assertEquals(1, queue.getRejectedCount());
+    }
+
+    @Test
+    public void coalesceByKey_replacesPendingElementWithSameKey() {
+        final List<String> overflow = new ArrayList<>();
+        // 合并键为首字母
+        final MvvmRequestPendingQueue<String> queue = new MvvmRequestPendingQueue<>(2, MvvmRequestOverflowPolicy.COALESCE_BY_KEY,
+                element -> element.charAt(0), overflow::add);
+        queue.offer("a1");
+        queue.offer("b1");
+        assertTrue(queue.offer("a2"));
+        assertFalse(queue.offer("c1"));
+        assertEquals(Arrays.asList("a1", "c1"), overflow);
+        assertEquals(Arrays.asList("b1", "a2"), queue.clear());
+        assertEquals(1, queue.getCoalescedCount());
+
+        // 出队后同一合并键重新占用容量
+        assertTrue(queue.offer("a3"));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void concurrentOffer_neverExceedsCapacityAndLosesNothing() throws InterruptedException {
+        final int threadCount = 8;
+        final int offerCount = 10_000;
+        final int capacity = 64;
+        final List<Integer> overflow = new CopyOnWriteArrayList<>();
+        final MvvmRequestPendingQueue<Integer> queue = new MvvmRequestPendingQueue<>(capacity, MvvmRequestOverflowPolicy.DROP_OLDEST,
+                element -> null, overflow::add);
+        final AtomicInteger drained = new AtomicInteger(0);
+        final AtomicInteger maxSize = new AtomicInteger(0);
+        final CountDownLatch done = new CountDownLatch(threadCount);
+        for (int t = 0; t < threadCount; t++) {
+            final int base = t * offerCount;
+            new Thread(() -> {
+                final List<Integer> batch = new ArrayList<>();
+                for (int i = 0; i < offerCount; i++) {
+                    queue.offer(base + i);
+                    maxSize.accumulateAndGet(queue.size(), Math::max);
+                    if (i % 7 == 0) {
+                        drained.addAndGet(queue.drainTo(batch, 16));
+                        batch.clear();
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        drained.addAndGet(queue.clear().size());
+        assertTrue(maxSize.get() <= capacity);
+        assertEquals(threadCount * offerCount, drained.get() + overflow.size());
+        assertEquals(overflow.size(), queue.getDroppedCount());
+    }
+
+}
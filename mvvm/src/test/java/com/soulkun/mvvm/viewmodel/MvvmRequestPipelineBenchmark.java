@@ -0,0 +1,63 @@
+package com.soulkun.mvvm.viewmodel;
+
+import com.soulkun.mvvm.MvvmBenchmark;
+import com.soulkun.mvvm.model.MvvmRequest;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+/**
+ * 请求流水线并行分支的耗时基准测试，默认跳过
+ */
+public class MvvmRequestPipelineBenchmark {
+
+    private final ExecutorService mExecutor = Executors.newFixedThreadPool(4, MvvmRequestPipelineTest::newDaemonThread);
+    private final MvvmRequestPipeline.IBranchExecutor mBranchExecutor = mExecutor::execute;
+
+    /**
+     * 基准测试：两侧各耗时100ms的zip，并行执行的总耗时应接近单侧耗时
+     */
+    @Test
+    public void benchmark_zipElapsed() throws InterruptedException {
+        MvvmBenchmark.assumeEnabled();
+        final long startNanos = System.nanoTime();
+        final MvvmRequest<String> request = MvvmRequestPipeline.from(() -> MvvmRequestPipelineTest.delayed("left", 100L))
+                .zip(MvvmRequestPipeline.from(() -> MvvmRequestPipelineTest.delayed("right", 100L)), (left, right) -> new MvvmRequest<>(left + "+" + right))
+                .execute(mBranchExecutor);
+        final long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000L;
+        assertEquals("left+right", request.getResponse());
+        assertTrue(elapsedMillis < 180L);
+        System.out.println(String.format("zip elapsed=%dms", elapsedMillis));
+    }
+
+    /**
+     * 基准测试：耗时80/10/50/30ms的4个分支fanOut，总耗时应接近最慢的分支
+     */
+    @Test
+    public void benchmark_fanOutElapsed() throws InterruptedException {
+        MvvmBenchmark.assumeEnabled();
+        final long startNanos = System.nanoTime();
+        final MvvmRequest<String> request = MvvmRequestPipeline.from(() -> new MvvmRequest<>(Arrays.asList(80L, 10L, 50L, 30L)))
+                .fanOut(delays -> {
+                    final List<MvvmRequestPipeline<String>> pipelines = new ArrayList<>();
+                    for (Long delay : delays) {
+                        pipelines.add(MvvmRequestPipeline.from(() -> MvvmRequestPipelineTest.delayed("t" + delay, delay)));
+                    }
+                    return pipelines;
+                })
+                .then(thumbnails -> new MvvmRequest<>(String.join(",", thumbnails)))
+                .execute(mBranchExecutor);
+        final long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000L;
+        assertEquals("t80,t10,t50,t30", request.getResponse());
+        assertTrue(elapsedMillis < 150L);
+        System.out.println(String.format("fanOut elapsed=%dms", elapsedMillis));
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.soulkun.mvvm.viewmodel;
+
+import com.soulkun.mvvm.model.MvvmRequest;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * 请求流水线的单元测试，并行分支提交至普通线程池
+ */
+public class MvvmRequestPipelineTest {
+
+    private final ExecutorService mExecutor = Executors.newFixedThreadPool(4, MvvmRequestPipelineTest::newDaemonThread);
+    private final MvvmRequestPipeline.IBranchExecutor mBranchExecutor = mExecutor::execute;
+
+    @Test
+    public void then_chainsStagesInOrder() throws InterruptedException {
+        final List<String> order = new CopyOnWriteArrayList<>();
+        final MvvmRequest<Integer> request = MvvmRequestPipeline.from(() -> {
+            order.add("profile");
+            return new MvvmRequest<>("user-1");
+        }).then(userId -> {
+            order.add("feed:" + userId);
+            return new MvvmRequest<>(Arrays.asList(1, 2, 3));
+        }).then(feed -> {
+            order.add("count");
+            return new MvvmRequest<>(feed.size());
+        }).execute(mBranchExecutor);
+        assertTrue(request.isSuccess());
+        assertEquals(Integer.valueOf(3), request.getResponse());
+        assertEquals(Arrays.asList("profile", "feed:user-1", "count"), order);
+    }
+
+    @Test
+    public void then_shortCircuitsOnFailure() throws InterruptedException {
+        final AtomicInteger invoked = new AtomicInteger(0);
+        final MvvmRequest<String> request = MvvmRequestPipeline.from(() ->
+                new MvvmRequest<>(new MvvmRequest.Status("401", false, MvvmRequest.Source.NETWORK), "denied"))
+                .then(response -> {
+                    invoked.incrementAndGet();
+                    return new MvvmRequest<>("feed");
+                }).execute(mBranchExecutor);
+        assertFalse(request.isSuccess());
+        assertEquals("401", request.getStatus().getCode());
+        assertNull(request.getResponse());
+        assertEquals(0, invoked.get());
+    }
+
+    @Test
+    public void zip_runsBothSidesInParallel() throws InterruptedException {
+        // 两侧互相等待对方开始，串行执行时会超时失败
+        final CountDownLatch started = new CountDownLatch(2);
+        final MvvmRequest<String> request = MvvmRequestPipeline.from(() -> rendezvous("left", started))
+                .zip(MvvmRequestPipeline.from(() -> rendezvous("right", started)), (left, right) -> new MvvmRequest<>(left + "+" + right))
+                .execute(mBranchExecutor);
+        assertTrue(request.isSuccess());
+        assertEquals("left+right", request.getResponse());
+    }
+
+    @Test
+    public void fanOut_collectsResultsInExpansionOrder() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(4);
+        final MvvmRequest<String> request = MvvmRequestPipeline.from(() -> new MvvmRequest<>(Arrays.asList(80L, 10L, 50L, 30L)))
+                .fanOut(delays -> {
+                    final List<MvvmRequestPipeline<String>> pipelines = new ArrayList<>();
+                    for (Long delay : delays) {
+                        // 全部分支开始后再按不同耗时完成，完成顺序与展开顺序不同
+                        pipelines.add(MvvmRequestPipeline.from(() -> rendezvous(delay, started).isSuccess()
+                                ? delayed("t" + delay, delay)
+                                : new MvvmRequest<>(false, MvvmRequest.Source.NETWORK, "t" + delay)));
+                    }
+                    return pipelines;
+                })
+                .then(thumbnails -> new MvvmRequest<>(String.join(",", thumbnails)))
+                .execute(mBranchExecutor);
+        assertTrue(request.isSuccess());
+        assertEquals("t80,t10,t50,t30", request.getResponse());
+    }
+
+    @Test
+    public void failedBranch_cancelsSiblings() throws InterruptedException {
+        final CountDownLatch siblingInterrupted = new CountDownLatch(1);
+        final MvvmRequest<List<String>> request = MvvmRequestPipeline.all(Arrays.asList(
+                MvvmRequestPipeline.from(() -> {
+                    try {
+                        return delayed("slow", 5_000L);
+                    } catch (InterruptedException e) {
+                        siblingInterrupted.countDown();
+                        throw e;
+                    }
+                }),
+                MvvmRequestPipeline.from(() -> delayed(new MvvmRequest<>(false, MvvmRequest.Source.NETWORK, "failed"), 20L))
+        )).execute(mBranchExecutor);
+        assertFalse(request.isSuccess());
+        assertEquals(0, siblingInterrupted.getCount());
+        // 执行流水线的线程不残留分支取消造成的中断
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void branchException_rethrownOnCaller() throws InterruptedException {
+        MvvmRequestPipeline.from(() -> new MvvmRequest<>("a"))
+                .zip(MvvmRequestPipeline.<String>from(() -> {
+                    throw new IllegalStateException("broken");
+                }), (first, second) -> new MvvmRequest<>(first + second))
+                .execute(mBranchExecutor);
+    }
+
+    @Test
+    public void saturatedExecutor_runsBranchesOnCaller() throws InterruptedException {
+        // 唯一的线程被永久占用，分支只能由执行流水线的线程执行
+        final ExecutorService saturated = Executors.newSingleThreadExecutor(MvvmRequestPipelineTest::newDaemonThread);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        saturated.execute(() -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        final MvvmRequest<List<String>> request = MvvmRequestPipeline.all(Arrays.asList(
+                MvvmRequestPipeline.from(() -> new MvvmRequest<>("a")),
+                MvvmRequestPipeline.from(() -> new MvvmRequest<>("b")),
+                MvvmRequestPipeline.from(() -> new MvvmRequest<>("c"))
+        )).execute(saturated::execute);
+        assertEquals(Arrays.asList("a", "b", "c"), request.getResponse());
+        blocker.countDown();
+        saturated.shutdown();
+    }
+
+    static Thread newDaemonThread(final Runnable runnable) {
+        final Thread thread = new Thread(runnable);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    // 等待所有分支开始执行，超时则返回失败
+    private static <T> MvvmRequest<T> rendezvous(final T response, final CountDownLatch started) throws InterruptedException {
+        started.countDown();
+        if (!started.await(5, TimeUnit.SECONDS)) {
+            return new MvvmRequest<>(false, MvvmRequest.Source.NETWORK, response);
+        }
+        return new MvvmRequest<>(response);
+    }
+
+    static <T> MvvmRequest<T> delayed(final T response, final long delayMillis) throws InterruptedException {
+        return delayed(new MvvmRequest<>(response), delayMillis);
+    }
+
+    private static <T> MvvmRequest<T> delayed(final MvvmRequest<T> request, final long delayMillis) throws InterruptedException {
+        Thread.sleep(delayMillis);
+        return request;
+    }
+
+}
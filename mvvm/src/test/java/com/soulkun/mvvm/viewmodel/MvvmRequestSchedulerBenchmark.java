@@ -0,0 +1,120 @@
+package com.soulkun.mvvm.viewmodel;
+
+import com.soulkun.mvvm.MvvmBenchmark;
+import com.soulkun.mvvm.enums.MvvmRequestLane;
+import com.soulkun.mvvm.enums.MvvmRequestPriority;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * 共享请求调度器的基准测试，包括与原无界线程池的线程创建数与延迟对比，以及平台线程与虚拟线程后端的吞吐量对比，默认跳过
+ */
+public class MvvmRequestSchedulerBenchmark {
+
+    private static final int CONCURRENT_REQUEST_COUNT = 500;
+    private static final long REQUEST_BLOCKING_TIME = 20L;
+
+    /**
+     * 基准测试：1000个耗时20ms的阻塞请求，对比默认有界平台线程池与每任务一个虚拟线程的吞吐量，当前JVM不支持虚拟线程时只测平台线程池
+     */
+    @Test
+    public void benchmark_platformVersusVirtualThreadThroughput() throws InterruptedException {
+        MvvmBenchmark.assumeEnabled();
+        final double platformThroughput = measureThroughput(new MvvmRequestScheduler(MvvmPlatformRequestExecutorBackend.FACTORY));
+        if (!MvvmVirtualThreadRequestExecutorBackend.isSupported()) {
+            System.out.println(String.format("blocking throughput platform=%.0f/s virtual=unsupported on java %s",
+                    platformThroughput, System.getProperty("java.version")));
+            return;
+        }
+        final double virtualThroughput = measureThroughput(new MvvmRequestScheduler(MvvmVirtualThreadRequestExecutorBackend.FACTORY));
+        assertTrue(virtualThroughput > platformThroughput);
+        System.out.println(String.format("blocking throughput platform=%.0f/s virtual=%.0f/s", platformThroughput, virtualThroughput));
+    }
+
+    // 返回每秒完成的阻塞请求数
+    private static double measureThroughput(final MvvmRequestScheduler scheduler) throws InterruptedException {
+        final int requestCount = 1000;
+        final CountDownLatch done = new CountDownLatch(requestCount);
+        final MvvmRequestScheduler.Scope scope = scheduler.newScope();
+        final long startNanos = System.nanoTime();
+        for (int i = 0; i < requestCount; i++) {
+            scope.execute(() -> {
+                try {
+                    Thread.sleep(20L);
+                } catch (InterruptedException ignored) {
+                }
+                done.countDown();
+            }, MvvmRequestLane.IO, MvvmRequestPriority.NORMAL);
+        }
+        assertTrue(done.await(60, TimeUnit.SECONDS));
+        final double throughput = requestCount / ((System.nanoTime() - startNanos) / 1e9);
+        scheduler.shutdownNow();
+        return throughput;
+    }
+
+    /**
+     * 基准测试：500个并发阻塞请求，对比原无界、零保活线程池与共享有界调度器的线程创建数与请求延迟
+     */
+    @Test
+    public void benchmark_threadCreationAndLatency() throws InterruptedException {
+        MvvmBenchmark.assumeEnabled();
+        final AtomicInteger legacyThreadCount = new AtomicInteger(0);
+        final ThreadPoolExecutor legacy = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0L, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<Runnable>(), runnable -> {
+            legacyThreadCount.incrementAndGet();
+            return new Thread(runnable);
+        });
+        final long[] legacyLatencies = runConcurrentRequests(legacy);
+        legacy.shutdownNow();
+
+        final MvvmRequestScheduler scheduler = new MvvmRequestScheduler(32, 4);
+        final MvvmRequestScheduler.Scope scope = scheduler.newScope();
+        final long[] scheduledLatencies = runConcurrentRequests(runnable -> scope.execute(runnable, MvvmRequestLane.IO, MvvmRequestPriority.NORMAL));
+        // 再执行一轮，线程被复用而非重新创建
+        runConcurrentRequests(runnable -> scope.execute(runnable, MvvmRequestLane.IO, MvvmRequestPriority.NORMAL));
+        scheduler.shutdownNow();
+
+        assertTrue(scheduler.getCreatedThreadCount() <= 32);
+        assertTrue(legacyThreadCount.get() > scheduler.getCreatedThreadCount());
+        System.out.println(String.format("legacy threads=%d p50=%.1fms p99=%.1fms  scheduler threads=%d (2 rounds) p50=%.1fms p99=%.1fms",
+                legacyThreadCount.get(), percentile(legacyLatencies, 0.5), percentile(legacyLatencies, 0.99),
+                scheduler.getCreatedThreadCount(), percentile(scheduledLatencies, 0.5), percentile(scheduledLatencies, 0.99)));
+    }
+
+    // 并发提交阻塞请求，返回每个请求从提交到完成的耗时
+    private static long[] runConcurrentRequests(final Executor executor) throws InterruptedException {
+        final long[] latencies = new long[CONCURRENT_REQUEST_COUNT];
+        final CountDownLatch done = new CountDownLatch(CONCURRENT_REQUEST_COUNT);
+        for (int i = 0; i < CONCURRENT_REQUEST_COUNT; i++) {
+            final int index = i;
+            final long submitNanos = System.nanoTime();
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(REQUEST_BLOCKING_TIME);
+                } catch (InterruptedException ignored) {
+                }
+                latencies[index] = System.nanoTime() - submitNanos;
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        return latencies;
+    }
+
+    private static double percentile(final long[] latencies, final double percentile) {
+        final long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * percentile))] / 1e6;
+    }
+
+}
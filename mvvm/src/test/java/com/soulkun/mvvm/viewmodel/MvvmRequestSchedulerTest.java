@@ -0,0 +1,199 @@
+package com.soulkun.mvvm.viewmodel;
+
+import com.soulkun.mvvm.enums.MvvmRequestLane;
+import com.soulkun.mvvm.enums.MvvmRequestPriority;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * 共享请求调度器的单元测试
+ */
+public class MvvmRequestSchedulerTest {
+
+    private static final int CONCURRENT_REQUEST_COUNT = 500;
+    private static final long REQUEST_BLOCKING_TIME = 20L;
+
+    @Test
+    public void execute_ordersByPriorityThenSubmission() throws InterruptedException {
+        final MvvmRequestScheduler scheduler = new MvvmRequestScheduler(1, 1);
+        final MvvmRequestScheduler.Scope scope = scheduler.newScope();
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(4);
+        final List<String> order = new CopyOnWriteArrayList<>();
+        scope.execute(() -> awaitQuietly(blocker), MvvmRequestLane.IO, MvvmRequestPriority.NORMAL);
+        scope.execute(record(order, "low", done), MvvmRequestLane.IO, MvvmRequestPriority.LOW);
+        scope.execute(record(order, "normal-1", done), MvvmRequestLane.IO, MvvmRequestPriority.NORMAL);
+        scope.execute(record(order, "high", done), MvvmRequestLane.IO, MvvmRequestPriority.HIGH);
+        scope.execute(record(order, "normal-2", done), MvvmRequestLane.IO, MvvmRequestPriority.NORMAL);
+        blocker.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("high", "normal-1", "normal-2", "low"), order);
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void cancelAll_onlyAffectsItsOwnScope() throws InterruptedException {
+        final MvvmRequestScheduler scheduler = new MvvmRequestScheduler(1, 1);
+        final MvvmRequestScheduler.Scope first = scheduler.newScope();
+        final MvvmRequestScheduler.Scope second = scheduler.newScope();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final CountDownLatch secondDone = new CountDownLatch(1);
+        first.execute(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        }, MvvmRequestLane.IO, MvvmRequestPriority.NORMAL);
+        final Runnable queued = () -> fail("已取消的任务不应执行");
+        first.execute(queued, MvvmRequestLane.IO, MvvmRequestPriority.NORMAL);
+        second.execute(secondDone::countDown, MvvmRequestLane.IO, MvvmRequestPriority.NORMAL);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertEquals(Collections.singletonList(queued), first.cancelAll());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertTrue(secondDone.await(5, TimeUnit.SECONDS));
+        assertFalse(first.execute(queued, MvvmRequestLane.IO, MvvmRequestPriority.NORMAL));
+        assertEquals(1, scheduler.getCancelledCount());
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void pause_parksQueuedTasksUntilResume() throws InterruptedException {
+        final MvvmRequestScheduler scheduler = new MvvmRequestScheduler(2, 1);
+        final MvvmRequestScheduler.Scope scope = scheduler.newScope();
+        final CountDownLatch done = new CountDownLatch(3);
+        scope.pause();
+        for (int i = 0; i < 3; i++) {
+            scope.execute(done::countDown, MvvmRequestLane.IO, MvvmRequestPriority.NORMAL);
+        }
+        assertFalse(done.await(50, TimeUnit.MILLISECONDS));
+        assertEquals(3, scope.getParkedCount());
+        // 搁置任务不占用线程
+        assertEquals(0, scheduler.getQueuedCount(MvvmRequestLane.IO));
+
+        scope.resume();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(0, scope.getParkedCount());
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void backendFactory_createsOneBackendPerLane() throws InterruptedException {
+        final List<MvvmRequestLane> createdLanes = new CopyOnWriteArrayList<>();
+        final List<MvvmRequestLane> executedLanes = new CopyOnWriteArrayList<>();
+        final MvvmRequestScheduler scheduler = new MvvmRequestScheduler(lane -> {
+            createdLanes.add(lane);
+            final IMvvmRequestExecutorBackend delegate = new MvvmPlatformRequestExecutorBackend("test-" + lane, 1);
+            return new IMvvmRequestExecutorBackend() {
+                @Override
+                public void execute(Runnable task) {
+                    executedLanes.add(lane);
+                    delegate.execute(task);
+                }
+
+                @Override
+                public boolean remove(Runnable task) {
+                    return delegate.remove(task);
+                }
+
+                @Override
+                public void shutdownNow() {
+                    delegate.shutdownNow();
+                }
+
+                @Override
+                public int getCreatedThreadCount() {
+                    return delegate.getCreatedThreadCount();
+                }
+
+                @Override
+                public int getPoolSize() {
+                    return delegate.getPoolSize();
+                }
+
+                @Override
+                public int getMaxPoolSize() {
+                    return delegate.getMaxPoolSize();
+                }
+
+                @Override
+                public int getQueuedCount() {
+                    return delegate.getQueuedCount();
+                }
+            };
+        });
+        final CountDownLatch done = new CountDownLatch(2);
+        final MvvmRequestScheduler.Scope scope = scheduler.newScope();
+        scope.execute(done::countDown, MvvmRequestLane.CPU, MvvmRequestPriority.NORMAL);
+        scope.execute(done::countDown, MvvmRequestLane.IO, MvvmRequestPriority.NORMAL);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(MvvmRequestLane.IO, MvvmRequestLane.CPU), createdLanes);
+        assertEquals(Arrays.asList(MvvmRequestLane.CPU, MvvmRequestLane.IO), executedLanes);
+        assertEquals(2, scheduler.getCreatedThreadCount());
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void virtualThreadFactory_fallsBackWhenUnsupported() {
+        final IMvvmRequestExecutorBackend backend = MvvmVirtualThreadRequestExecutorBackend.FACTORY.create(MvvmRequestLane.IO);
+        assertEquals(MvvmVirtualThreadRequestExecutorBackend.isSupported(), backend instanceof MvvmVirtualThreadRequestExecutorBackend);
+        backend.shutdownNow();
+    }
+
+    /**
+     * 500个并发阻塞请求执行两轮，共享调度器创建的线程数不超过上限，不会像原无界线程池一样每个请求创建一个线程
+     */
+    @Test
+    public void concurrentRequests_threadCountStaysBounded() throws InterruptedException {
+        final MvvmRequestScheduler scheduler = new MvvmRequestScheduler(32, 4);
+        final MvvmRequestScheduler.Scope scope = scheduler.newScope();
+        runConcurrentRequests(runnable -> scope.execute(runnable, MvvmRequestLane.IO, MvvmRequestPriority.NORMAL));
+        runConcurrentRequests(runnable -> scope.execute(runnable, MvvmRequestLane.IO, MvvmRequestPriority.NORMAL));
+        scheduler.shutdownNow();
+        assertTrue(scheduler.getCreatedThreadCount() <= 32);
+    }
+
+    // 并发提交阻塞请求并等待全部完成
+    private static void runConcurrentRequests(final Executor executor) throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(CONCURRENT_REQUEST_COUNT);
+        for (int i = 0; i < CONCURRENT_REQUEST_COUNT; i++) {
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(REQUEST_BLOCKING_TIME);
+                } catch (InterruptedException ignored) {
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+    }
+
+    private static Runnable record(final List<String> order, final String name, final CountDownLatch done) {
+        return () -> {
+            order.add(name);
+            done.countDown();
+        };
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ignored) {
+        }
+    }
+
+}